@@ -0,0 +1,92 @@
+package frc.lib.trajectory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pathplanner.lib.path.PathPlannerPath;
+import com.pathplanner.lib.path.PathPlannerTrajectory;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.Filesystem;
+
+/**
+ * Loading and sampling a path compiled by compileBenchmarkTrajectories, against parsing and
+ * generating it with PathPlanner at runtime.  Needs {@code ./gradlew compileBenchmarkTrajectories}
+ * to have run, which {@code ./gradlew jmh} does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrajectoryBenchmark {
+    private static final String pathName = "To Speaker";
+    private static final File compiled = new File(Filesystem.getOperatingDirectory(),
+        "build/jmh/trajectories/" + CompactTrajectory.paths + "/" + pathName + CompactTrajectory.extension);
+
+    private CompactTrajectory compact;
+    private CompactTrajectory.Sample sample;
+    private PathPlannerTrajectory generated;
+    private double time;
+
+    @Setup
+    public void setup() throws IOException {
+        if (!HAL.initialize(500, 0)) {
+            throw new IllegalStateException("Failed to initialize the HAL");
+        }
+        compact = CompactTrajectory.load(compiled).get(0);
+        sample = compact.newSample();
+        generated = generate();
+    }
+
+    private static PathPlannerTrajectory generate() {
+        PathPlannerPath path = PathPlannerPath.fromPathFile(pathName);
+        return path.getTrajectory(new ChassisSpeeds(), path.getPreviewStartingHolonomicPose().getRotation());
+    }
+
+    // Step through the trajectory as a follower would, wrapping at the end
+    private double nextTime(double duration) {
+        time += 0.02;
+        if (time > duration) {
+            time = 0.0;
+        }
+        return time;
+    }
+
+    @Benchmark
+    public CompactTrajectory.Sample sampleCompact() {
+        return compact.sample(nextTime(compact.getTotalTime()), sample);
+    }
+
+    @Benchmark
+    public PathPlannerTrajectory.State samplePathPlanner() {
+        return generated.sample(nextTime(generated.getTotalTimeSeconds()));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<CompactTrajectory> loadCompact() throws IOException {
+        return CompactTrajectory.load(compiled);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public PathPlannerTrajectory loadPathPlanner() {
+        return generate();
+    }
+}
@@ -0,0 +1,52 @@
+package frc.robot;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import frc.robot.io.GyroIO;
+import frc.robot.io.IndexIO;
+import frc.robot.io.ModuleIO;
+import frc.robot.io.ShooterIO;
+import frc.robot.io.VisionIO;
+import frc.robot.subsystems.IndexSubsystem;
+import frc.robot.subsystems.PoseSubsystem;
+import frc.robot.subsystems.ShooterSubsystem;
+import frc.robot.subsystems.Swerve;
+import frc.robot.subsystems.VisionSubsystem;
+
+/**
+ * The subsystems the per-loop code depends on, wired to IO that does nothing so only the robot
+ * code itself is measured.
+ *
+ * <p>Subsystems are singletons, so there is one of these per benchmark JVM; JMH forks a fresh JVM
+ * for every benchmark, and the trial setup runs once in each.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkRobot {
+    public Swerve swerve;
+    public VisionSubsystem vision;
+    public PoseSubsystem pose;
+    public ShooterSubsystem shooter;
+    public IndexSubsystem index;
+
+    @Setup
+    public void setup() {
+        if (!HAL.initialize(500, 0)) {
+            throw new IllegalStateException("Failed to initialize the HAL");
+        }
+        Robot.setMode(Robot.Mode.SIM);
+
+        swerve = new Swerve(new ModuleIO() {}, new ModuleIO() {}, new ModuleIO() {}, new ModuleIO() {});
+        vision = new VisionSubsystem(new VisionIO() {});
+        pose = new PoseSubsystem(swerve, vision, new GyroIO() {});
+        shooter = new ShooterSubsystem(new ShooterIO() {});
+        index = new IndexSubsystem(new IndexIO() {});
+
+        // Somewhere mid-field, facing roughly at the speaker
+        pose.setPose(new Pose2d(4.0, 6.0, Rotation2d.fromDegrees(160.0)));
+    }
+}
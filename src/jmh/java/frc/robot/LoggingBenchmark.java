@@ -0,0 +1,50 @@
+package frc.robot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.doglog.DogLog;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+
+/** What it costs to publish a value, which the subsystems do dozens of times per loop */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark {
+    private final Pose2d pose = new Pose2d(4.0, 6.0, Rotation2d.fromDegrees(160.0));
+    private double value = 0.0;
+
+    @Benchmark
+    public void dogLogDouble(BenchmarkRobot robot) {
+        DogLog.log("Benchmark/Double", value++);
+    }
+
+    @Benchmark
+    public void dogLogPose(BenchmarkRobot robot) {
+        DogLog.log("Benchmark/Pose", pose);
+    }
+
+    @Benchmark
+    public void smartDashboardNumber(BenchmarkRobot robot) {
+        SmartDashboard.putNumber("Benchmark/Number", value++);
+    }
+
+    @Benchmark
+    public void smartDashboardString(BenchmarkRobot robot) {
+        SmartDashboard.putString("Benchmark/String", "Speaker");
+    }
+}
@@ -0,0 +1,39 @@
+package frc.robot.commands;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import frc.robot.BenchmarkRobot;
+
+/** One loop of the default drive command, with the sticks held part way over */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeleopSwerveBenchmark {
+    private TeleopSwerve teleop;
+
+    @Setup
+    public void setup(BenchmarkRobot robot) {
+        teleop = new TeleopSwerve(robot.swerve, robot.shooter, robot.vision,
+            () -> 0.6, () -> -0.3, () -> 0.2, robot.swerve::getSpeedLimitRot);
+        teleop.initialize();
+    }
+
+    @Benchmark
+    public void execute() {
+        teleop.execute();
+    }
+}
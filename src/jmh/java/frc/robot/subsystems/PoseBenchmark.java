@@ -0,0 +1,47 @@
+package frc.robot.subsystems;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import frc.robot.BenchmarkRobot;
+
+/** The field geometry helpers used for aiming, which run several times every loop */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PoseBenchmark {
+    @Benchmark
+    public double distanceToSpeaker(BenchmarkRobot robot) {
+        return robot.pose.distanceToSpeaker();
+    }
+
+    @Benchmark
+    public double distanceToShuttle(BenchmarkRobot robot) {
+        return robot.pose.distanceToShuttle();
+    }
+
+    @Benchmark
+    public Rotation2d angleToSpeaker(BenchmarkRobot robot) {
+        return robot.pose.angleToSpeaker();
+    }
+
+    @Benchmark
+    public Rotation2d angleError(BenchmarkRobot robot) {
+        return robot.pose.angleError();
+    }
+
+    @Benchmark
+    public double angleErrorToSpeed(BenchmarkRobot robot) {
+        return PoseSubsystem.angleErrorToSpeed(robot.pose.dumpShotError());
+    }
+}
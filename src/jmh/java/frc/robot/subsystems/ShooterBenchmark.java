@@ -0,0 +1,37 @@
+package frc.robot.subsystems;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Looking up flywheel speeds from the calibration tables */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShooterBenchmark {
+    // Subwoofer, between entries near the podium, and past the end of the table
+    @Param({"0.9", "2.6", "4.0"})
+    public double meters;
+
+    @Benchmark
+    public ShooterSubsystem.ShooterSpeed speakerShot() {
+        return ShooterSubsystem.speedFromDistance(meters, ShooterSubsystem.shooterCalibration);
+    }
+
+    @Benchmark
+    public ShooterSubsystem.ShooterSpeed shuttleShot() {
+        return ShooterSubsystem.speedFromDistance(meters * 3.0, ShooterSubsystem.shuttleCalibration);
+    }
+}
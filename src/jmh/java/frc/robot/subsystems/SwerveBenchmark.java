@@ -0,0 +1,47 @@
+package frc.robot.subsystems;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import frc.robot.BenchmarkRobot;
+import frc.robot.Constants;
+
+/** The drivetrain's kinematics path, from chassis speeds down to module setpoints */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwerveBenchmark {
+    private final ChassisSpeeds speeds = new ChassisSpeeds(2.5, -1.0, 1.5);
+    private final SwerveModuleState state = new SwerveModuleState(3.0, Rotation2d.fromDegrees(30.0));
+    private final Rotation2d currentAngle = Rotation2d.fromDegrees(-140.0);
+
+    @Benchmark
+    public void driveRobotRelative(BenchmarkRobot robot) {
+        robot.swerve.driveRobotRelative(speeds, true);
+    }
+
+    @Benchmark
+    public SwerveModuleState[] toSwerveModuleStates() {
+        return Constants.Swerve.swerveKinematics.toSwerveModuleStates(speeds);
+    }
+
+    @Benchmark
+    public SwerveModuleState optimizeModuleState() {
+        return SwerveModuleState.optimize(state, currentAngle);
+    }
+}
@@ -0,0 +1,60 @@
+package frc.robot.subsystems;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
+import org.photonvision.targeting.TargetCorner;
+
+import edu.wpi.first.math.geometry.Transform3d;
+import frc.robot.BenchmarkRobot;
+
+/** Working out which field elements the camera can see */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisionBenchmark {
+    private PhotonPipelineResult noTargets;
+    private PhotonPipelineResult speakerTargets;
+
+    @Setup
+    public void setup() {
+        noTargets = new PhotonPipelineResult(20.0, new ArrayList<>());
+
+        // Both blue speaker tags and the tag beside the amp, as seen from the podium
+        List<PhotonTrackedTarget> targets = new ArrayList<>();
+        for (int id : new int[] {7, 8, 6}) {
+            targets.add(new PhotonTrackedTarget(5.0, 10.0, 0.4, 0.0, id, new Transform3d(), new Transform3d(), 0.1,
+                List.of(new TargetCorner(0, 0), new TargetCorner(1, 0), new TargetCorner(1, 1), new TargetCorner(0, 1)),
+                List.of(new TargetCorner(0, 0), new TargetCorner(1, 0), new TargetCorner(1, 1), new TargetCorner(0, 1))));
+        }
+        speakerTargets = new PhotonPipelineResult(20.0, targets);
+    }
+
+    @Benchmark
+    public boolean classifyNoTargets(BenchmarkRobot robot) {
+        robot.vision.classifyTargets(noTargets);
+        return robot.vision.haveTarget();
+    }
+
+    @Benchmark
+    public boolean classifySpeakerTargets(BenchmarkRobot robot) {
+        robot.vision.classifyTargets(speakerTargets);
+        return robot.vision.haveSpeakerTarget();
+    }
+}
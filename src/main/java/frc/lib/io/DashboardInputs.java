@@ -0,0 +1,118 @@
+package frc.lib.io;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.lib.util.TunableNumber;
+import frc.lib.util.TunableOption;
+
+/**
+ * Dashboard values that change robot behavior (tunable options and numbers, choosers, numeric tweaks).
+ * These are operator inputs just like the joysticks, so they have to be logged for replay.
+ */
+public class DashboardInputs implements LoggableInputs {
+    private final List<String> numberKeys = new ArrayList<>();
+    private final List<String> stringKeys = new ArrayList<>();
+    private boolean[] options = new boolean[0];
+    private double[] tunables = new double[0];
+    private double[] numbers = new double[0];
+    private String[] strings = new String[0];
+
+    /** Record a numeric dashboard value every loop */
+    public void registerNumber(String key) {
+        numberKeys.add(key);
+        numbers = new double[numberKeys.size()];
+    }
+
+    /** Record a string dashboard value (such as a chooser's "selected" entry) every loop */
+    public void registerString(String key) {
+        stringKeys.add(key);
+        strings = new String[stringKeys.size()];
+    }
+
+    public void capture() {
+        List<TunableOption> all = TunableOption.getAll();
+        if (options.length != all.size()) {
+            options = new boolean[all.size()];
+        }
+        for (int i = 0; i < options.length; i++) {
+            options[i] = all.get(i).get();
+        }
+        List<TunableNumber> allNumbers = TunableNumber.getAll();
+        if (tunables.length != allNumbers.size()) {
+            tunables = new double[allNumbers.size()];
+        }
+        for (int i = 0; i < tunables.length; i++) {
+            tunables[i] = allNumbers.get(i).get();
+        }
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = SmartDashboard.getNumber(numberKeys.get(i), 0.0);
+        }
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = SmartDashboard.getString(stringKeys.get(i), "");
+        }
+    }
+
+    /** Push these values back onto the dashboard (used by replay) */
+    public void apply() {
+        List<TunableOption> all = TunableOption.getAll();
+        for (int i = 0; i < options.length && i < all.size(); i++) {
+            SmartDashboard.putBoolean(all.get(i).getKey(), options[i]);
+        }
+        List<TunableNumber> allNumbers = TunableNumber.getAll();
+        for (int i = 0; i < tunables.length && i < allNumbers.size(); i++) {
+            SmartDashboard.putNumber(allNumbers.get(i).getKey(), tunables[i]);
+        }
+        for (int i = 0; i < numbers.length; i++) {
+            SmartDashboard.putNumber(numberKeys.get(i), numbers[i]);
+        }
+        for (int i = 0; i < strings.length; i++) {
+            if (!strings[i].isEmpty()) {
+                SmartDashboard.putString(stringKeys.get(i), strings[i]);
+            }
+        }
+    }
+
+    @Override
+    public void toLog(LogTable table) {
+        List<TunableOption> all = TunableOption.getAll();
+        for (int i = 0; i < options.length; i++) {
+            table.put("Options/" + all.get(i).getKey(), options[i]);
+        }
+        List<TunableNumber> allNumbers = TunableNumber.getAll();
+        for (int i = 0; i < tunables.length; i++) {
+            table.put("Tunables/" + allNumbers.get(i).getKey(), tunables[i]);
+        }
+        for (int i = 0; i < numbers.length; i++) {
+            table.put("Numbers/" + numberKeys.get(i), numbers[i]);
+        }
+        for (int i = 0; i < strings.length; i++) {
+            table.put("Strings/" + stringKeys.get(i), strings[i]);
+        }
+    }
+
+    @Override
+    public void fromLog(LogTable table) {
+        List<TunableOption> all = TunableOption.getAll();
+        if (options.length != all.size()) {
+            options = new boolean[all.size()];
+        }
+        for (int i = 0; i < options.length; i++) {
+            options[i] = table.get("Options/" + all.get(i).getKey(), all.get(i).getDefault());
+        }
+        List<TunableNumber> allNumbers = TunableNumber.getAll();
+        if (tunables.length != allNumbers.size()) {
+            tunables = new double[allNumbers.size()];
+        }
+        for (int i = 0; i < tunables.length; i++) {
+            tunables[i] = table.get("Tunables/" + allNumbers.get(i).getKey(), allNumbers.get(i).getDefault());
+        }
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = table.get("Numbers/" + numberKeys.get(i), numbers[i]);
+        }
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = table.get("Strings/" + stringKeys.get(i), "");
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package frc.lib.io;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+
+/**
+ * Driver station state that the robot code reacts to: mode, alliance, match time and the driver controller.
+ */
+public class DriverStationInputs implements LoggableInputs {
+    public static final int driverPort = 0;
+
+    public boolean enabled = false;
+    public boolean autonomous = false;
+    public boolean test = false;
+    public boolean dsAttached = false;
+    public boolean fmsAttached = false;
+    public String alliance = "";
+    public long location = 0;
+    public double matchTime = -1.0;
+    public double[] axes = new double[0];
+    public long buttons = 0;
+    public long buttonCount = 0;
+    public long[] povs = new long[0];
+
+    /** Read the current state from the driver station */
+    public void capture() {
+        enabled = DriverStation.isEnabled();
+        autonomous = DriverStation.isAutonomous();
+        test = DriverStation.isTest();
+        dsAttached = DriverStation.isDSAttached();
+        fmsAttached = DriverStation.isFMSAttached();
+        Optional<Alliance> currentAlliance = DriverStation.getAlliance();
+        alliance = currentAlliance.isPresent() ? currentAlliance.get().toString() : "";
+        OptionalInt currentLocation = DriverStation.getLocation();
+        location = currentLocation.isPresent() ? currentLocation.getAsInt() : 0;
+        matchTime = DriverStation.getMatchTime();
+
+        int axisCount = DriverStation.getStickAxisCount(driverPort);
+        if (axes.length != axisCount) {
+            axes = new double[axisCount];
+        }
+        for (int i = 0; i < axisCount; i++) {
+            axes[i] = DriverStation.getStickAxis(driverPort, i);
+        }
+        buttons = DriverStation.getStickButtons(driverPort);
+        buttonCount = DriverStation.getStickButtonCount(driverPort);
+        int povCount = DriverStation.getStickPOVCount(driverPort);
+        if (povs.length != povCount) {
+            povs = new long[povCount];
+        }
+        for (int i = 0; i < povCount; i++) {
+            povs[i] = DriverStation.getStickPOV(driverPort, i);
+        }
+    }
+
+    /** Push this state into the simulated driver station (used by replay) */
+    public void apply() {
+        DriverStationSim.setEnabled(enabled);
+        DriverStationSim.setAutonomous(autonomous);
+        DriverStationSim.setTest(test);
+        DriverStationSim.setDsAttached(dsAttached);
+        DriverStationSim.setFmsAttached(fmsAttached);
+        DriverStationSim.setAllianceStationId(allianceStation());
+        DriverStationSim.setMatchTime(matchTime);
+
+        DriverStationSim.setJoystickAxisCount(driverPort, axes.length);
+        for (int i = 0; i < axes.length; i++) {
+            DriverStationSim.setJoystickAxis(driverPort, i, axes[i]);
+        }
+        DriverStationSim.setJoystickButtonCount(driverPort, (int) buttonCount);
+        DriverStationSim.setJoystickButtons(driverPort, (int) buttons);
+        DriverStationSim.setJoystickPOVCount(driverPort, povs.length);
+        for (int i = 0; i < povs.length; i++) {
+            DriverStationSim.setJoystickPOV(driverPort, i, (int) povs[i]);
+        }
+        DriverStationSim.notifyNewData();
+    }
+
+    private AllianceStationID allianceStation() {
+        if (alliance.isEmpty() || location < 1 || location > 3) {
+            return AllianceStationID.Unknown;
+        }
+        return AllianceStationID.valueOf(alliance + location);
+    }
+
+    @Override
+    public void toLog(LogTable table) {
+        table.put("Enabled", enabled);
+        table.put("Autonomous", autonomous);
+        table.put("Test", test);
+        table.put("DSAttached", dsAttached);
+        table.put("FMSAttached", fmsAttached);
+        table.put("Alliance", alliance);
+        table.put("Location", location);
+        table.put("MatchTime", matchTime);
+        table.put("Joystick/Axes", axes);
+        table.put("Joystick/Buttons", buttons);
+        table.put("Joystick/ButtonCount", buttonCount);
+        table.put("Joystick/POVs", povs);
+    }
+
+    @Override
+    public void fromLog(LogTable table) {
+        enabled = table.get("Enabled", enabled);
+        autonomous = table.get("Autonomous", autonomous);
+        test = table.get("Test", test);
+        dsAttached = table.get("DSAttached", dsAttached);
+        fmsAttached = table.get("FMSAttached", fmsAttached);
+        alliance = table.get("Alliance", alliance);
+        location = table.get("Location", location);
+        matchTime = table.get("MatchTime", matchTime);
+        axes = table.get("Joystick/Axes", axes);
+        buttons = table.get("Joystick/Buttons", buttons);
+        buttonCount = table.get("Joystick/ButtonCount", buttonCount);
+        povs = table.get("Joystick/POVs", povs);
+    }
+}
@@ -0,0 +1,123 @@
+package frc.lib.io;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.wpi.first.util.datalog.BooleanArrayLogEntry;
+import edu.wpi.first.util.datalog.BooleanLogEntry;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DataLogEntry;
+import edu.wpi.first.util.datalog.DoubleArrayLogEntry;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.util.datalog.IntegerArrayLogEntry;
+import edu.wpi.first.util.datalog.IntegerLogEntry;
+import edu.wpi.first.util.datalog.RawLogEntry;
+import edu.wpi.first.util.datalog.StringLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.RobotController;
+
+/**
+ * Records every subsystem's hardware inputs to the on-robot log, once per loop.
+ *
+ * <p>Inputs are written under {@value #root} using the same DataLog that DogLog writes to, with a
+ * cycle marker at the start of every loop so that {@link ReplayLogSource} can split the log back
+ * into loops.
+ */
+public final class InputsLogger {
+    public static final String root = "/Inputs/";
+    public static final String cycleKey = root + "Cycle";
+
+    private static final Map<String, LogTable> tables = new HashMap<>();
+    private static final Map<String, DataLogEntry> entries = new HashMap<>();
+    private static final DriverStationInputs driverStationInputs = new DriverStationInputs();
+    private static final DashboardInputs dashboardInputs = new DashboardInputs();
+    private static IntegerLogEntry cycleEntry = null;
+    private static long cycle = 0;
+
+    private InputsLogger() {}
+
+    public static DashboardInputs getDashboardInputs() {
+        return dashboardInputs;
+    }
+
+    /** Mark the start of a loop, and record the driver station and dashboard state it will run with */
+    public static void beginCycle() {
+        if (cycleEntry == null) {
+            cycleEntry = new IntegerLogEntry(getLog(), cycleKey);
+        }
+        cycle++;
+        cycleEntry.append(cycle, RobotController.getFPGATime());
+
+        driverStationInputs.capture();
+        process("DriverStation", driverStationInputs);
+        dashboardInputs.capture();
+        process("Dashboard", dashboardInputs);
+    }
+
+    /** Record one set of inputs under /Inputs/{key}/ */
+    public static void process(String key, LoggableInputs inputs) {
+        LogTable table = tables.get(key);
+        if (table == null) {
+            table = new LogTable(root + key + "/");
+            tables.put(key, table);
+        }
+        inputs.toLog(table);
+
+        long timestamp = RobotController.getFPGATime();
+        for (Map.Entry<String, Object> value : table.getValues().entrySet()) {
+            append(value.getKey(), value.getValue(), timestamp);
+        }
+    }
+
+    private static DataLog getLog() {
+        return DataLogManager.getLog();
+    }
+
+    private static void append(String name, Object value, long timestamp) {
+        DataLogEntry entry = entries.get(name);
+        if (entry == null) {
+            entry = createEntry(name, value);
+            entries.put(name, entry);
+        }
+
+        if (value instanceof Double) {
+            ((DoubleLogEntry) entry).append((Double) value, timestamp);
+        } else if (value instanceof Boolean) {
+            ((BooleanLogEntry) entry).append((Boolean) value, timestamp);
+        } else if (value instanceof Long) {
+            ((IntegerLogEntry) entry).append((Long) value, timestamp);
+        } else if (value instanceof String) {
+            ((StringLogEntry) entry).append((String) value, timestamp);
+        } else if (value instanceof double[]) {
+            ((DoubleArrayLogEntry) entry).append((double[]) value, timestamp);
+        } else if (value instanceof long[]) {
+            ((IntegerArrayLogEntry) entry).append((long[]) value, timestamp);
+        } else if (value instanceof boolean[]) {
+            ((BooleanArrayLogEntry) entry).append((boolean[]) value, timestamp);
+        } else if (value instanceof byte[]) {
+            ((RawLogEntry) entry).append((byte[]) value, timestamp);
+        }
+    }
+
+    private static DataLogEntry createEntry(String name, Object value) {
+        DataLog log = getLog();
+
+        if (value instanceof Double) {
+            return new DoubleLogEntry(log, name);
+        } else if (value instanceof Boolean) {
+            return new BooleanLogEntry(log, name);
+        } else if (value instanceof Long) {
+            return new IntegerLogEntry(log, name);
+        } else if (value instanceof String) {
+            return new StringLogEntry(log, name);
+        } else if (value instanceof double[]) {
+            return new DoubleArrayLogEntry(log, name);
+        } else if (value instanceof long[]) {
+            return new IntegerArrayLogEntry(log, name);
+        } else if (value instanceof boolean[]) {
+            return new BooleanArrayLogEntry(log, name);
+        } else {
+            return new RawLogEntry(log, name);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package frc.lib.io;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A flat key/value view of one set of logged inputs.
+ * Keys are stored with the table prefix applied, so a table can be read straight back from a log.
+ */
+public class LogTable {
+    private final String prefix;
+    private final Map<String, Object> values;
+
+    public LogTable(String prefix) {
+        this(prefix, new HashMap<>());
+    }
+
+    public LogTable(String prefix, Map<String, Object> values) {
+        this.prefix = prefix;
+        this.values = values;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    Map<String, Object> getValues() {
+        return values;
+    }
+
+    public void put(String key, boolean value) { values.put(prefix + key, value); }
+    public void put(String key, long value) { values.put(prefix + key, value); }
+    public void put(String key, double value) { values.put(prefix + key, value); }
+    public void put(String key, String value) { values.put(prefix + key, value); }
+    public void put(String key, boolean[] value) { values.put(prefix + key, value); }
+    public void put(String key, long[] value) { values.put(prefix + key, value); }
+    public void put(String key, double[] value) { values.put(prefix + key, value); }
+    public void put(String key, byte[] value) { values.put(prefix + key, value); }
+
+    public boolean get(String key, boolean defaultValue) {
+        Object value = values.get(prefix + key);
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
+    }
+
+    public long get(String key, long defaultValue) {
+        Object value = values.get(prefix + key);
+        return value instanceof Long ? (Long) value : defaultValue;
+    }
+
+    public double get(String key, double defaultValue) {
+        Object value = values.get(prefix + key);
+        return value instanceof Double ? (Double) value : defaultValue;
+    }
+
+    public String get(String key, String defaultValue) {
+        Object value = values.get(prefix + key);
+        return value instanceof String ? (String) value : defaultValue;
+    }
+
+    public boolean[] get(String key, boolean[] defaultValue) {
+        Object value = values.get(prefix + key);
+        return value instanceof boolean[] ? (boolean[]) value : defaultValue;
+    }
+
+    public long[] get(String key, long[] defaultValue) {
+        Object value = values.get(prefix + key);
+        return value instanceof long[] ? (long[]) value : defaultValue;
+    }
+
+    public double[] get(String key, double[] defaultValue) {
+        Object value = values.get(prefix + key);
+        return value instanceof double[] ? (double[]) value : defaultValue;
+    }
+
+    public byte[] get(String key, byte[] defaultValue) {
+        Object value = values.get(prefix + key);
+        return value instanceof byte[] ? (byte[]) value : defaultValue;
+    }
+}
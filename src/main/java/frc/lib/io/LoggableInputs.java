@@ -0,0 +1,12 @@
+package frc.lib.io;
+
+/**
+ * A set of hardware inputs that is recorded every loop, and can be restored from a log for replay.
+ */
+public interface LoggableInputs {
+    /** Copy every field into the table */
+    void toLog(LogTable table);
+
+    /** Restore every field from the table, keeping the current value of anything missing */
+    void fromLog(LogTable table);
+}
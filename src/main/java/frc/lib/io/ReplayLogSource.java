@@ -0,0 +1,139 @@
+package frc.lib.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.wpi.first.util.datalog.DataLogReader;
+import edu.wpi.first.util.datalog.DataLogRecord;
+
+/**
+ * Reads the inputs recorded by {@link InputsLogger} back out of a WPILOG file, one loop at a time.
+ */
+public final class ReplayLogSource {
+    private static ReplayLogSource instance = null;
+
+    private final List<Map<String, Object>> cycles;
+    private final List<Long> timestamps;
+    private final DriverStationInputs driverStationInputs = new DriverStationInputs();
+    private int index = -1;
+
+    private ReplayLogSource(List<Map<String, Object>> cycles, List<Long> timestamps) {
+        this.cycles = cycles;
+        this.timestamps = timestamps;
+    }
+
+    /** Load a log and make it the source used by every replay IO implementation */
+    public static ReplayLogSource open(String filename) throws IOException {
+        DataLogReader reader = new DataLogReader(filename);
+        if (!reader.isValid()) {
+            throw new IOException("Not a valid WPILOG file: " + filename);
+        }
+
+        Map<Integer, String> names = new HashMap<>();
+        Map<Integer, String> types = new HashMap<>();
+        List<Map<String, Object>> cycles = new ArrayList<>();
+        List<Long> timestamps = new ArrayList<>();
+        Map<String, Object> current = null;
+
+        for (DataLogRecord record : reader) {
+            if (record.isStart()) {
+                DataLogRecord.StartRecordData start = record.getStartData();
+                if (start.name.startsWith(InputsLogger.root)) {
+                    names.put(start.entry, start.name);
+                    types.put(start.entry, start.type);
+                }
+                continue;
+            }
+            if (record.isControl()) {
+                continue;
+            }
+
+            String name = names.get(record.getEntry());
+            if (name == null) {
+                continue;
+            }
+            if (name.equals(InputsLogger.cycleKey)) {
+                current = new HashMap<>();
+                cycles.add(current);
+                timestamps.add(record.getTimestamp());
+            } else if (current != null) {
+                Object value = decode(record, types.get(record.getEntry()));
+                if (value != null) {
+                    current.put(name, value);
+                }
+            }
+        }
+
+        instance = new ReplayLogSource(cycles, timestamps);
+        return instance;
+    }
+
+    public static ReplayLogSource getInstance() {
+        return instance;
+    }
+
+    private static Object decode(DataLogRecord record, String type) {
+        switch (type) {
+            case "double":
+                return record.getDouble();
+            case "boolean":
+                return record.getBoolean();
+            case "int64":
+                return record.getInteger();
+            case "string":
+                return record.getString();
+            case "double[]":
+                return record.getDoubleArray();
+            case "int64[]":
+                return record.getIntegerArray();
+            case "boolean[]":
+                return record.getBooleanArray();
+            case "raw":
+                return record.getRaw();
+            default:
+                return null;
+        }
+    }
+
+    public int getCycleCount() {
+        return cycles.size();
+    }
+
+    public int getCycle() {
+        return index;
+    }
+
+    /** FPGA timestamp of the current loop, in microseconds */
+    public long getTimestamp() {
+        return timestamps.get(index);
+    }
+
+    /** Move to the next recorded loop, returning false at the end of the log */
+    public boolean advance() {
+        if (index + 1 >= cycles.size()) {
+            return false;
+        }
+        index++;
+        return true;
+    }
+
+    /** Restore the driver station and dashboard to their state at the start of the current loop */
+    public void applyOperatorInputs() {
+        read("DriverStation", driverStationInputs);
+        driverStationInputs.apply();
+        DashboardInputs dashboardInputs = InputsLogger.getDashboardInputs();
+        read("Dashboard", dashboardInputs);
+        dashboardInputs.apply();
+    }
+
+    /** Fill one set of inputs from the current loop */
+    public void read(String key, LoggableInputs inputs) {
+        if (index < 0) {
+            return;
+        }
+        inputs.fromLog(new LogTable(InputsLogger.root + key + "/", cycles.get(index)));
+    }
+}
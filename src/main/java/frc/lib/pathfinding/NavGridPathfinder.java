@@ -0,0 +1,367 @@
+package frc.lib.pathfinding;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+
+import com.pathplanner.lib.path.GoalEndState;
+import com.pathplanner.lib.path.PathConstraints;
+import com.pathplanner.lib.path.PathPlannerPath;
+import com.pathplanner.lib.pathfinding.Pathfinder;
+
+import edu.wpi.first.math.Pair;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+
+/**
+ * PathPlanner pathfinder on the deployed navgrid, built to answer the common goals quickly.
+ *
+ * <p>At startup the grid is read once and turned into a distance field: how far each cell is from
+ * the nearest obstacle or wall.  Cells closer than the inflation radius are blocked, and cells
+ * closer than the preferred clearance cost more to cross, so paths keep away from walls where
+ * there's room.
+ *
+ * <p>For each goal, a Dijkstra search outward from the goal gives every cell its cost to reach
+ * it; a path from any start is then just a walk downhill, shortened by cutting corners wherever
+ * there's a clear line.  Goals given to {@link #warmGoal(Supplier)} are searched in the
+ * background at startup, and finished paths are cached per start and goal cell, so following a
+ * known goal can start on the next loop.  Other goals are searched when first asked for.  All
+ * planning is on the background thread, and a path is only handed out if its start and goal are
+ * still the latest asked for.
+ *
+ * <p>Install with {@code Pathfinding.setPathfinder(...)} before any pathfinding command is made.
+ */
+public class NavGridPathfinder implements Pathfinder {
+    private static final int[] neighborColumns = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] neighborRows = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    private final double nodeSize;
+    private final int columns;
+    private final int rows;
+    private final boolean[] blocked;
+    private final double[] stepCostScale; // extra cost for entering each cell, from its clearance
+
+    private final ExecutorService planner;
+    private final Map<Integer, double[]> costToGo = new ConcurrentHashMap<>();
+    private final Map<Long, List<Translation2d>> pathCache = new ConcurrentHashMap<>();
+
+    private Translation2d start = null;
+    private Translation2d goal = null;
+    private volatile long request = 0;
+    private volatile List<Translation2d> currentPath = Collections.emptyList();
+    private volatile boolean newPathAvailable = false;
+
+    /**
+     * @param navgrid the navgrid.json written by PathPlanner
+     * @param inflationRadius m; cells closer than this to an obstacle are blocked
+     * @param preferredClearance m; cells closer than this cost more to cross
+     * @param clearanceWeight how much more, at the inflation radius
+     */
+    public NavGridPathfinder(File navgrid, double inflationRadius, double preferredClearance, double clearanceWeight) {
+        JSONObject json;
+        try (Reader reader = new FileReader(navgrid)) {
+            json = (JSONObject) new JSONParser().parse(reader);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to read " + navgrid, e);
+        }
+        nodeSize = ((Number) json.get("nodeSizeMeters")).doubleValue();
+        JSONArray grid = (JSONArray) json.get("grid");
+        rows = grid.size();
+        columns = ((JSONArray) grid.get(0)).size();
+
+        boolean[] obstacle = new boolean[rows * columns];
+        for (int row = 0; row < rows; row++) {
+            JSONArray cells = (JSONArray) grid.get(row);
+            for (int column = 0; column < columns; column++) {
+                obstacle[cell(column, row)] = (Boolean) cells.get(column);
+            }
+        }
+
+        double[] clearance = distanceField(obstacle);
+        blocked = new boolean[rows * columns];
+        stepCostScale = new double[rows * columns];
+        for (int i = 0; i < blocked.length; i++) {
+            blocked[i] = obstacle[i] || clearance[i] < inflationRadius;
+            double shortfall = Math.max(0.0, preferredClearance - clearance[i]) / Math.max(1e-6, preferredClearance - inflationRadius);
+            stepCostScale[i] = 1.0 + clearanceWeight * Math.min(1.0, shortfall);
+        }
+
+        planner = Executors.newSingleThreadExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "NavGridPathfinder");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY); // Stay out of the way of the main loop
+            return thread;
+        });
+    }
+
+    private int cell(int column, int row) {
+        return row * columns + column;
+    }
+
+    private int cellAt(Translation2d position) {
+        int column = Math.max(0, Math.min(columns - 1, (int) Math.floor(position.getX() / nodeSize)));
+        int row = Math.max(0, Math.min(rows - 1, (int) Math.floor(position.getY() / nodeSize)));
+        return cell(column, row);
+    }
+
+    private Translation2d center(int cell) {
+        return new Translation2d((cell % columns + 0.5) * nodeSize, (cell / columns + 0.5) * nodeSize);
+    }
+
+    // Distance from each cell to the nearest obstacle or the edge of the field, by Dijkstra from all of them
+    private double[] distanceField(boolean[] obstacle) {
+        double[] distance = new double[rows * columns];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int i = cell(column, row);
+                if (obstacle[i]) {
+                    distance[i] = 0.0;
+                } else if (row == 0 || column == 0 || row == rows - 1 || column == columns - 1) {
+                    distance[i] = 0.5 * nodeSize; // the wall is half a cell away
+                } else {
+                    continue;
+                }
+                queue.add(new double[] {distance[i], i});
+            }
+        }
+        relax(queue, distance, false);
+        return distance;
+    }
+
+    // Dijkstra over the grid from whatever is already queued, optionally weighting steps by clearance and avoiding blocked cells
+    private void relax(PriorityQueue<double[]> queue, double[] cost, boolean traversal) {
+        while (!queue.isEmpty()) {
+            double[] entry = queue.poll();
+            int i = (int) entry[1];
+            if (entry[0] > cost[i]) {
+                continue;
+            }
+            int column = i % columns;
+            int row = i / columns;
+            for (int n = 0; n < neighborColumns.length; n++) {
+                int nextColumn = column + neighborColumns[n];
+                int nextRow = row + neighborRows[n];
+                if (nextColumn < 0 || nextRow < 0 || nextColumn >= columns || nextRow >= rows) {
+                    continue;
+                }
+                int next = cell(nextColumn, nextRow);
+                double step = (n < 4 ? 1.0 : Math.sqrt(2.0)) * nodeSize;
+                if (traversal) {
+                    // No squeezing diagonally between two blocked cells
+                    if (blocked[next] || (n >= 4 && (blocked[cell(nextColumn, row)] || blocked[cell(column, nextRow)]))) {
+                        continue;
+                    }
+                    step *= stepCostScale[i];
+                }
+                double nextCost = cost[i] + step;
+                if (nextCost < cost[next]) {
+                    cost[next] = nextCost;
+                    queue.add(new double[] {nextCost, next});
+                }
+            }
+        }
+    }
+
+    // The nearest cell a robot can be in, for when it's pushed up against something
+    private int nearestFree(int start) {
+        if (!blocked[start]) {
+            return start;
+        }
+        boolean[] seen = new boolean[blocked.length];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+        seen[start] = true;
+        while (!queue.isEmpty()) {
+            int i = queue.poll();
+            if (!blocked[i]) {
+                return i;
+            }
+            for (int n = 0; n < neighborColumns.length; n++) {
+                int column = i % columns + neighborColumns[n];
+                int row = i / columns + neighborRows[n];
+                if (column >= 0 && row >= 0 && column < columns && row < rows && !seen[cell(column, row)]) {
+                    seen[cell(column, row)] = true;
+                    queue.add(cell(column, row));
+                }
+            }
+        }
+        return start;
+    }
+
+    // Cost from every cell to the goal
+    private double[] costToGo(int goalCell) {
+        return costToGo.computeIfAbsent(goalCell, (cell) -> {
+            double[] cost = new double[blocked.length];
+            Arrays.fill(cost, Double.POSITIVE_INFINITY);
+            cost[cell] = 0.0;
+            PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+            queue.add(new double[] {0.0, cell});
+            relax(queue, cost, true);
+            return cost;
+        });
+    }
+
+    /**
+     * Search for a goal in the background now, so paths to it are ready the moment they're asked
+     * for.  The goal is only asked for on the background thread, so it can come from a file that's
+     * still loading.
+     */
+    public void warmGoal(Supplier<Translation2d> goalPosition) {
+        planner.execute(() -> costToGo(nearestFree(cellAt(goalPosition.get()))));
+    }
+
+    private static long key(int startCell, int goalCell) {
+        return ((long) startCell << 32) | goalCell;
+    }
+
+    // Downhill from the start, then cut corners wherever there's a clear line
+    private List<Translation2d> plan(Translation2d startPosition, Translation2d goalPosition, int startCell, int goalCell) {
+        List<Translation2d> cached = pathCache.get(key(startCell, goalCell));
+        if (cached == null) {
+            double[] cost = costToGo(goalCell);
+            if (Double.isInfinite(cost[startCell])) {
+                return Collections.emptyList();
+            }
+            List<Integer> cells = new ArrayList<>();
+            int current = startCell;
+            cells.add(current);
+            while (current != goalCell) {
+                int column = current % columns;
+                int row = current / columns;
+                int best = current;
+                for (int n = 0; n < neighborColumns.length; n++) {
+                    int nextColumn = column + neighborColumns[n];
+                    int nextRow = row + neighborRows[n];
+                    if (nextColumn >= 0 && nextRow >= 0 && nextColumn < columns && nextRow < rows
+                            && cost[cell(nextColumn, nextRow)] < cost[best]) {
+                        best = cell(nextColumn, nextRow);
+                    }
+                }
+                if (best == current) {
+                    break;
+                }
+                current = best;
+                cells.add(current);
+            }
+
+            // Interior corners only; the real start and goal positions are added below
+            List<Translation2d> corners = new ArrayList<>();
+            int anchor = 0;
+            for (int i = 2; i < cells.size(); i++) {
+                if (!clearLine(center(cells.get(anchor)), center(cells.get(i)))) {
+                    anchor = i - 1;
+                    corners.add(center(cells.get(anchor)));
+                }
+            }
+            cached = Collections.unmodifiableList(corners);
+            pathCache.put(key(startCell, goalCell), cached);
+        }
+
+        List<Translation2d> path = new ArrayList<>(cached.size() + 2);
+        path.add(startPosition);
+        path.addAll(cached);
+        path.add(goalPosition);
+        return path;
+    }
+
+    private boolean clearLine(Translation2d from, Translation2d to) {
+        double distance = from.getDistance(to);
+        int steps = (int) Math.ceil(distance / (nodeSize * 0.25));
+        for (int s = 1; s < steps; s++) {
+            if (blocked[cellAt(from.interpolate(to, (double) s / steps))]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Always on the background thread, even for known goals, so the main loop never waits on a search
+    private synchronized void replan() {
+        if (start == null || goal == null) {
+            return;
+        }
+        long thisRequest = ++request;
+        Translation2d startPosition = start;
+        Translation2d goalPosition = goal;
+        planner.execute(() -> {
+            if (thisRequest != request) {
+                return; // Already replaced before it got a turn
+            }
+            int startCell = nearestFree(cellAt(startPosition));
+            int goalCell = nearestFree(cellAt(goalPosition));
+            publish(thisRequest, goalPosition, plan(startPosition, goalPosition, startCell, goalCell));
+        });
+    }
+
+    private synchronized void publish(long forRequest, Translation2d forGoal, List<Translation2d> path) {
+        // A newer start or goal has come in since, so this is stale
+        if (forRequest != request || !forGoal.equals(goal)) {
+            return;
+        }
+        currentPath = path;
+        newPathAvailable = true;
+    }
+
+    @Override
+    public boolean isNewPathAvailable() {
+        return newPathAvailable;
+    }
+
+    @Override
+    public PathPlannerPath getCurrentPath(PathConstraints constraints, GoalEndState goalEndState) {
+        List<Translation2d> path = currentPath;
+        newPathAvailable = false;
+        if (path.size() < 2 || path.get(0).getDistance(path.get(path.size() - 1)) < 0.01) {
+            return null;
+        }
+
+        // Heading at each point is the direction of travel through it
+        List<Pose2d> poses = new ArrayList<>(path.size());
+        for (int i = 0; i < path.size(); i++) {
+            Translation2d before = path.get(Math.max(0, i - 1));
+            Translation2d after = path.get(Math.min(path.size() - 1, i + 1));
+            poses.add(new Pose2d(path.get(i), new Rotation2d(after.getX() - before.getX(), after.getY() - before.getY())));
+        }
+        return new PathPlannerPath(PathPlannerPath.bezierFromPoses(poses), constraints, goalEndState);
+    }
+
+    @Override
+    public synchronized void setStartPosition(Translation2d startPosition) {
+        start = startPosition;
+        replan();
+    }
+
+    @Override
+    public synchronized void setGoalPosition(Translation2d goalPosition) {
+        if (!goalPosition.equals(goal)) {
+            // Nothing planned for the old goal is any use now
+            currentPath = Collections.emptyList();
+            newPathAvailable = false;
+        }
+        goal = goalPosition;
+        replan();
+    }
+
+    @Override
+    public void setDynamicObstacles(List<Pair<Translation2d, Translation2d>> obstacles, Translation2d currentRobotPosition) {
+        // Only the static field is planned around
+    }
+}
@@ -0,0 +1,156 @@
+package frc.lib.pathfinding;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.Reader;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+
+/**
+ * Distance from any point on the field to the nearest obstacle in the deployed navgrid, for
+ * keeping the driver off the walls, the stage legs and the subwoofer.
+ *
+ * <p>The navgrid's obstacles already allow for the size of a robot, so this is how far the
+ * robot's center can go before its bumpers touch something: positive in the open, negative
+ * inside an obstacle.  Anything past the end of the field counts as an obstacle too, since the
+ * grid runs a little longer than the field.
+ *
+ * <p>The field is worked out once at startup and kept as a float per cell, so looking up a
+ * distance or its gradient is a bilinear interpolation between four cells, with no allocation.
+ */
+public class SignedDistanceField {
+    private final double nodeSize;
+    private final int columns;
+    private final int rows;
+    private final float[] distance;
+
+    /**
+     * @param navgrid the navgrid.json written by PathPlanner
+     * @param fieldLength m; everything past this in x is outside the field
+     */
+    public SignedDistanceField(File navgrid, double fieldLength) {
+        JSONObject json;
+        try (Reader reader = new FileReader(navgrid)) {
+            json = (JSONObject) new JSONParser().parse(reader);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to read " + navgrid, e);
+        }
+        nodeSize = ((Number) json.get("nodeSizeMeters")).doubleValue();
+        JSONArray grid = (JSONArray) json.get("grid");
+        rows = grid.size();
+        columns = ((JSONArray) grid.get(0)).size();
+        double fieldWidth = rows * nodeSize;
+        JSONObject fieldSize = (JSONObject) json.get("field_size");
+        if (fieldSize != null) {
+            fieldWidth = ((Number) fieldSize.get("y")).doubleValue();
+        }
+
+        boolean[] obstacle = new boolean[rows * columns];
+        for (int row = 0; row < rows; row++) {
+            JSONArray cells = (JSONArray) grid.get(row);
+            for (int column = 0; column < columns; column++) {
+                double x = (column + 0.5) * nodeSize;
+                double y = (row + 0.5) * nodeSize;
+                obstacle[row * columns + column] = (Boolean) cells.get(column) || x > fieldLength || y > fieldWidth;
+            }
+        }
+        distance = build(obstacle);
+    }
+
+    // Exact distance from each cell's center to the nearest cell of the other kind, checking only cells on a border
+    private float[] build(boolean[] obstacle) {
+        int[] border = new int[obstacle.length];
+        int borderCount = 0;
+        for (int i = 0; i < obstacle.length; i++) {
+            if (onBorder(obstacle, i)) {
+                border[borderCount++] = i;
+            }
+        }
+
+        float[] field = new float[obstacle.length];
+        for (int i = 0; i < obstacle.length; i++) {
+            double x = (i % columns + 0.5) * nodeSize;
+            double y = (i / columns + 0.5) * nodeSize;
+            double nearest = Double.POSITIVE_INFINITY;
+            for (int b = 0; b < borderCount; b++) {
+                int other = border[b];
+                if (obstacle[other] != obstacle[i]) {
+                    nearest = Math.min(nearest, distanceToCell(x, y, other));
+                }
+            }
+            if (Double.isInfinite(nearest)) {
+                nearest = Math.max(columns, rows) * nodeSize; // nothing of the other kind anywhere
+            }
+            field[i] = (float) (obstacle[i] ? -nearest : nearest);
+        }
+        return field;
+    }
+
+    private boolean onBorder(boolean[] obstacle, int i) {
+        int column = i % columns;
+        int row = i / columns;
+        for (int dRow = -1; dRow <= 1; dRow++) {
+            for (int dColumn = -1; dColumn <= 1; dColumn++) {
+                int c = column + dColumn;
+                int r = row + dRow;
+                if (c >= 0 && r >= 0 && c < columns && r < rows && obstacle[r * columns + c] != obstacle[i]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Distance from a point to the nearest edge of a cell's square
+    private double distanceToCell(double x, double y, int cell) {
+        double left = (cell % columns) * nodeSize;
+        double bottom = (cell / columns) * nodeSize;
+        double dx = Math.max(0.0, Math.max(left - x, x - (left + nodeSize)));
+        double dy = Math.max(0.0, Math.max(bottom - y, y - (bottom + nodeSize)));
+        return Math.hypot(dx, dy);
+    }
+
+    private static double clamp(double value, double max) {
+        return Math.max(0.0, Math.min(max, value));
+    }
+
+    /** Signed distance in meters from a point to the nearest obstacle, negative inside one */
+    public double distance(double x, double y) {
+        double gridX = clamp(x / nodeSize - 0.5, columns - 1);
+        double gridY = clamp(y / nodeSize - 0.5, rows - 1);
+        int column = Math.min((int) gridX, columns - 2);
+        int row = Math.min((int) gridY, rows - 2);
+        double fx = gridX - column;
+        double fy = gridY - row;
+
+        int i = row * columns + column;
+        double bottom = distance[i] + (distance[i + 1] - distance[i]) * fx;
+        double top = distance[i + columns] + (distance[i + columns + 1] - distance[i + columns]) * fx;
+        return bottom + (top - bottom) * fy;
+    }
+
+    /**
+     * The direction the distance grows fastest, which is away from the nearest obstacle, written
+     * into {@code out} as {x, y}.  Its length is about one in the open, but can be shorter where
+     * two obstacles are equally close.
+     */
+    public double[] gradient(double x, double y, double[] out) {
+        double gridX = clamp(x / nodeSize - 0.5, columns - 1);
+        double gridY = clamp(y / nodeSize - 0.5, rows - 1);
+        int column = Math.min((int) gridX, columns - 2);
+        int row = Math.min((int) gridY, rows - 2);
+        double fx = gridX - column;
+        double fy = gridY - row;
+
+        int i = row * columns + column;
+        double d00 = distance[i];
+        double d10 = distance[i + 1];
+        double d01 = distance[i + columns];
+        double d11 = distance[i + columns + 1];
+        out[0] = ((d10 - d00) * (1.0 - fy) + (d11 - d01) * fy) / nodeSize;
+        out[1] = ((d01 - d00) * (1.0 - fx) + (d11 - d10) * fx) / nodeSize;
+        return out;
+    }
+}
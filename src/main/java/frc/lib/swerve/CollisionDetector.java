@@ -0,0 +1,104 @@
+package frc.lib.swerve;
+
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+
+/**
+ * Spots impacts and skids by comparing what the accelerometer felt with what the wheels measured,
+ * so odometry can be trusted less until vision has caught the pose up again.
+ *
+ * <p>The wheels changing speed suddenly explains a jolt; another robot hitting us doesn't.  An
+ * impact is a peak jerk well beyond the jerk of the wheel speeds, and a skid is the accelerometer
+ * staying well away from the acceleration the wheels show, since the wheels are then turning
+ * without the robot following.  Either starts a recovery window, which each later impact or skid
+ * extends.  The commanded speeds aren't used: the modules take time to reach them, so comparing
+ * against them would flag every hard acceleration.
+ *
+ * <p>Accelerations are robot relative, without gravity.
+ */
+public class CollisionDetector {
+    private final double impactJerk;
+    private final double skidAcceleration;
+    private final double recoveryTime;
+
+    private ChassisSpeeds lastWheelSpeeds = null;
+    private double lastWheelAx = 0.0;
+    private double lastWheelAy = 0.0;
+    private double jerkMismatch = 0.0;
+    private double accelerationMismatch = 0.0;
+    private double recoverUntil = Double.NEGATIVE_INFINITY;
+    private boolean impact = false;
+    private boolean skid = false;
+
+    /**
+     * @param impactJerk m/s^3; unexplained jerk beyond this is an impact
+     * @param skidAcceleration m/s^2; unexplained acceleration beyond this is a skid
+     * @param recoveryTime seconds to distrust odometry after the last impact or skid
+     */
+    public CollisionDetector(double impactJerk, double skidAcceleration, double recoveryTime) {
+        this.impactJerk = impactJerk;
+        this.skidAcceleration = skidAcceleration;
+        this.recoveryTime = recoveryTime;
+    }
+
+    /**
+     * Check the latest accelerometer readings against the wheels.
+     *
+     * @param now seconds
+     * @param ax measured robot relative acceleration, m/s^2
+     * @param ay measured robot relative acceleration, m/s^2
+     * @param peakJerk largest jerk measured since the last update, m/s^3
+     * @param wheelSpeeds robot relative speeds measured by the module encoders
+     * @param dt seconds since the last update
+     * @return whether this is a new impact or skid
+     */
+    public boolean update(double now, double ax, double ay, double peakJerk, ChassisSpeeds wheelSpeeds, double dt) {
+        if (lastWheelSpeeds == null || dt <= 0.0) {
+            lastWheelSpeeds = wheelSpeeds;
+            return false;
+        }
+
+        // Acceleration in the robot's frame includes turning the velocity along with the robot
+        double wheelAx = (wheelSpeeds.vxMetersPerSecond - lastWheelSpeeds.vxMetersPerSecond) / dt
+            - wheelSpeeds.omegaRadiansPerSecond * wheelSpeeds.vyMetersPerSecond;
+        double wheelAy = (wheelSpeeds.vyMetersPerSecond - lastWheelSpeeds.vyMetersPerSecond) / dt
+            + wheelSpeeds.omegaRadiansPerSecond * wheelSpeeds.vxMetersPerSecond;
+        double wheelJerk = Math.hypot(wheelAx - lastWheelAx, wheelAy - lastWheelAy) / dt;
+        lastWheelSpeeds = wheelSpeeds;
+        lastWheelAx = wheelAx;
+        lastWheelAy = wheelAy;
+
+        jerkMismatch = Math.max(0.0, peakJerk - wheelJerk);
+        accelerationMismatch = Math.hypot(ax - wheelAx, ay - wheelAy);
+        boolean wasRecovering = isRecovering(now);
+        impact = jerkMismatch > impactJerk;
+        skid = accelerationMismatch > skidAcceleration;
+        if (impact || skid) {
+            recoverUntil = now + recoveryTime;
+            return !wasRecovering;
+        }
+        return false;
+    }
+
+    /** Whether odometry should still be distrusted after an impact or skid */
+    public boolean isRecovering(double now) {
+        return now < recoverUntil;
+    }
+
+    public boolean isImpact() {
+        return impact;
+    }
+
+    public boolean isSkid() {
+        return skid;
+    }
+
+    /** Jerk the wheels don't explain, m/s^3 */
+    public double getJerkMismatch() {
+        return jerkMismatch;
+    }
+
+    /** Acceleration the wheels don't explain, m/s^2 */
+    public double getAccelerationMismatch() {
+        return accelerationMismatch;
+    }
+}
@@ -0,0 +1,225 @@
+package frc.lib.swerve;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.math.system.plant.DCMotor;
+import frc.lib.util.COTSTalonFXSwerveConstants;
+
+/**
+ * Turns the chassis speeds asked for into module states the modules can actually reach in one
+ * loop, starting from the last setpoint.
+ *
+ * <p>Converting chassis speeds straight to module states asks each module for whatever it takes,
+ * however far that is from where it is now: a module can be told to reverse in one loop, or to
+ * push harder than its motor can, while the others carry on.  The modules then fight each other
+ * until they catch up, and the tread slips.
+ *
+ * <p>Here the chassis speeds move from the last setpoint toward the request only as far as every
+ * module can follow, so the modules always agree on where the robot is going:
+ * <ul>
+ * <li>the change in each module's velocity is limited by the force its drive motor can make at its
+ *     current speed, within the supply current limit, and
+ * <li>a moving module's direction only turns as fast as its steering motor can turn it.
+ * </ul>
+ * A module starting from rest can point anywhere, so it's turned toward its setpoint at the
+ * steering limit, driving only with the part of its speed along the way it's pointing.  The next
+ * loop starts from what the module states actually add up to (forward kinematics), not from the
+ * speeds before that scaling, so a module that was held back isn't taken to be at full speed.
+ */
+public class SwerveSetpointGenerator {
+    private static final double nominalVoltage = 12.0;
+    private static final double stoppedSpeed = 0.02; // m/s; slower than this a module has no direction to keep
+    private static final int searchSteps = 8;
+
+    private final double[] moduleX;
+    private final double[] moduleY;
+    private final DCMotor motor;
+    private final double driveGearRatio;
+    private final double wheelRadius;
+    private final double moduleMass;
+    private final double supplyCurrentLimit;
+    private final double maxSpeed;
+    private final double maxSteerVelocity;
+    private final SwerveDriveKinematics kinematics;
+
+    private double lastVx = 0.0;
+    private double lastVy = 0.0;
+    private double lastOmega = 0.0;
+    private final double[] lastAngles; // radians, as commanded
+
+    private final double[] goalX;
+    private final double[] goalY;
+    private final double[] startX;
+    private final double[] startY;
+
+    /**
+     * @param moduleLocations module positions relative to the robot's center, in module order
+     * @param module the module type, for its motor and gear ratios
+     * @param wheelCircumference m, as measured
+     * @param moduleMass kg; each module's share of the robot
+     * @param supplyCurrentLimit A, per drive motor
+     * @param maxSpeed m/s, for any module
+     * @param steerVelocityFraction how much of the steering motor's free speed the steering loop really gets
+     */
+    public SwerveSetpointGenerator(Translation2d[] moduleLocations, COTSTalonFXSwerveConstants module, double wheelCircumference,
+            double moduleMass, double supplyCurrentLimit, double maxSpeed, double steerVelocityFraction) {
+        int modules = moduleLocations.length;
+        moduleX = new double[modules];
+        moduleY = new double[modules];
+        for (int i = 0; i < modules; i++) {
+            moduleX[i] = moduleLocations[i].getX();
+            moduleY[i] = moduleLocations[i].getY();
+        }
+        motor = module.motor;
+        driveGearRatio = module.driveGearRatio;
+        wheelRadius = wheelCircumference / (2.0 * Math.PI);
+        this.moduleMass = moduleMass;
+        this.supplyCurrentLimit = supplyCurrentLimit;
+        this.maxSpeed = maxSpeed;
+        maxSteerVelocity = motor.freeSpeedRadPerSec / module.angleGearRatio * steerVelocityFraction;
+        kinematics = new SwerveDriveKinematics(moduleLocations);
+
+        lastAngles = new double[modules];
+        goalX = new double[modules];
+        goalY = new double[modules];
+        startX = new double[modules];
+        startY = new double[modules];
+    }
+
+    /**
+     * Start again from what the drivetrain is doing now, e.g. after it's been disabled or driven
+     * some other way.
+     */
+    public void reset(ChassisSpeeds speeds, SwerveModuleState[] states) {
+        lastVx = speeds.vxMetersPerSecond;
+        lastVy = speeds.vyMetersPerSecond;
+        lastOmega = speeds.omegaRadiansPerSecond;
+        for (int i = 0; i < lastAngles.length; i++) {
+            lastAngles[i] = states[i].angle.getRadians();
+        }
+    }
+
+    /**
+     * The next setpoint toward the robot relative speeds asked for.
+     *
+     * @param desired robot relative speeds, already discretized
+     * @param dt seconds until the next setpoint
+     * @return module states in module order
+     */
+    public SwerveModuleState[] generate(ChassisSpeeds desired, double dt) {
+        int modules = lastAngles.length;
+        double vx = desired.vxMetersPerSecond;
+        double vy = desired.vyMetersPerSecond;
+        double omega = desired.omegaRadiansPerSecond;
+
+        // Desaturate the request, keeping its direction
+        double fastest = 0.0;
+        for (int i = 0; i < modules; i++) {
+            fastest = Math.max(fastest, Math.hypot(vx - omega * moduleY[i], vy + omega * moduleX[i]));
+        }
+        if (fastest > maxSpeed) {
+            double scale = maxSpeed / fastest;
+            vx *= scale;
+            vy *= scale;
+            omega *= scale;
+        }
+
+        // The largest step s from the last setpoint toward the request that every module can make
+        double s = 1.0;
+        for (int i = 0; i < modules; i++) {
+            startX[i] = lastVx - lastOmega * moduleY[i];
+            startY[i] = lastVy + lastOmega * moduleX[i];
+            goalX[i] = vx - omega * moduleY[i];
+            goalY[i] = vy + omega * moduleX[i];
+
+            double startSpeed = Math.hypot(startX[i], startY[i]);
+            double change = Math.hypot(goalX[i] - startX[i], goalY[i] - startY[i]);
+            double maxChange = maxAcceleration(startSpeed, Math.hypot(goalX[i], goalY[i]) < startSpeed) * dt;
+            if (change > maxChange) {
+                s = Math.min(s, maxChange / change);
+            }
+        }
+        for (int i = 0; i < modules; i++) {
+            if (Math.hypot(startX[i], startY[i]) > stoppedSpeed && !canSteer(i, s, dt)) {
+                // The direction turns steadily as s grows, so search for where it turns too far
+                double low = 0.0;
+                double high = s;
+                for (int step = 0; step < searchSteps; step++) {
+                    double middle = (low + high) / 2.0;
+                    if (canSteer(i, middle, dt)) {
+                        low = middle;
+                    } else {
+                        high = middle;
+                    }
+                }
+                s = low;
+            }
+        }
+
+        double stepVx = lastVx + s * (vx - lastVx);
+        double stepVy = lastVy + s * (vy - lastVy);
+        double stepOmega = lastOmega + s * (omega - lastOmega);
+
+        SwerveModuleState[] states = new SwerveModuleState[modules];
+        for (int i = 0; i < modules; i++) {
+            double moduleVx = stepVx - stepOmega * moduleY[i];
+            double moduleVy = stepVy + stepOmega * moduleX[i];
+            double speed = Math.hypot(moduleVx, moduleVy);
+            if (speed <= stoppedSpeed) {
+                // Hold the last angle rather than snapping back to zero
+                states[i] = new SwerveModuleState(0.0, new Rotation2d(lastAngles[i]));
+                continue;
+            }
+
+            // Steer toward the setpoint at no more than the steering limit, reversing the wheel if that's closer
+            double error = MathUtil.angleModulus(Math.atan2(moduleVy, moduleVx) - lastAngles[i]);
+            if (Math.abs(error) > Math.PI / 2.0) {
+                speed = -speed;
+                error = MathUtil.angleModulus(error + Math.PI);
+            }
+            double turn = MathUtil.clamp(error, -maxSteerVelocity * dt, maxSteerVelocity * dt);
+            lastAngles[i] = MathUtil.angleModulus(lastAngles[i] + turn);
+            // Only drive with the part of the speed along the way the wheel points
+            states[i] = new SwerveModuleState(speed * Math.cos(error - turn), new Rotation2d(lastAngles[i]));
+        }
+
+        // What the modules will really do, with the steering and cosine scaling, is where the next loop starts
+        ChassisSpeeds commanded = kinematics.toChassisSpeeds(states);
+        lastVx = commanded.vxMetersPerSecond;
+        lastVy = commanded.vyMetersPerSecond;
+        lastOmega = commanded.omegaRadiansPerSecond;
+        return states;
+    }
+
+    // Whether module i's direction at step s is within a loop's steering of where it points now, either way round
+    private boolean canSteer(int i, double s, double dt) {
+        double x = startX[i] + s * (goalX[i] - startX[i]);
+        double y = startY[i] + s * (goalY[i] - startY[i]);
+        if (Math.hypot(x, y) <= stoppedSpeed) {
+            return true;
+        }
+        double error = Math.abs(MathUtil.angleModulus(Math.atan2(y, x) - lastAngles[i]));
+        return Math.min(error, Math.PI - error) <= maxSteerVelocity * dt;
+    }
+
+    /**
+     * Most a module's velocity can change per second at a speed, from the drive motor's torque
+     * with the voltage it can get under the supply current limit.  Slowing down, the back EMF
+     * helps the current along.
+     */
+    private double maxAcceleration(double speed, boolean slowing) {
+        double backEmf = speed / wheelRadius * driveGearRatio / motor.KvRadPerSecPerVolt;
+        // Solve V * (V - emf) / (R * Vbus) = limit for V, as the Talon's supply limit does
+        double root = Math.sqrt(backEmf * backEmf + 4.0 * supplyCurrentLimit * motor.rOhms * nominalVoltage);
+        double volts = slowing
+            ? Math.max(-nominalVoltage, (backEmf - root) / 2.0)
+            : Math.min(nominalVoltage, (backEmf + root) / 2.0);
+        double statorCurrent = Math.abs(volts - backEmf) / motor.rOhms;
+        double force = motor.KtNMPerAmp * statorCurrent * driveGearRatio / wheelRadius;
+        return force / moduleMass;
+    }
+}
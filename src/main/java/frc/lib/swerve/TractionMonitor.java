@@ -0,0 +1,158 @@
+package frc.lib.swerve;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+
+/**
+ * Spots swerve modules whose wheels are slipping, by checking each module's measured velocity
+ * against the robot motion the gyro and the other modules agree on.
+ *
+ * <p>The gyro gives the turn rate, so each module on its own implies a velocity for the robot's
+ * center.  Those are averaged, and the module that disagrees most is left out and the rest
+ * averaged again, until every module left agrees to within a threshold that grows with its speed.
+ * A module whose wheel speed changed faster than the tread can grip is left out from the start,
+ * which catches all four wheels spinning together, e.g. pushed against another robot.
+ *
+ * <p>Each module gets a weight for odometry, one while it agrees and falling to zero as it
+ * disagrees by twice its threshold, and the velocity its corner of the robot is really moving at,
+ * so a slipping wheel's distance can be replaced by how far the ground moved under it.
+ */
+public class TractionMonitor {
+    private final double[] moduleX;
+    private final double[] moduleY;
+    private final double threshold;
+    private final double speedFraction;
+    private final double maxAcceleration;
+
+    private final boolean[] included;
+    private final boolean[] slipping;
+    private final double[] residuals;
+    private final double[] weights;
+    private final double[] lastSpeeds;
+    private boolean firstUpdate = true;
+
+    /* Velocity of the robot's center, robot relative, as the modules that aren't slipping see it */
+    private double vx = 0.0;
+    private double vy = 0.0;
+    private double omega = 0.0;
+
+    /**
+     * @param moduleLocations module positions relative to the robot's center, in module order
+     * @param threshold m/s; how far a module can disagree at rest before it counts as slipping
+     * @param speedFraction how much more it can disagree for each m/s it's turning at
+     * @param maxAcceleration m/s^2; a wheel's speed changing faster than this means it isn't gripping
+     */
+    public TractionMonitor(Translation2d[] moduleLocations, double threshold, double speedFraction, double maxAcceleration) {
+        int modules = moduleLocations.length;
+        moduleX = new double[modules];
+        moduleY = new double[modules];
+        for (int i = 0; i < modules; i++) {
+            moduleX[i] = moduleLocations[i].getX();
+            moduleY[i] = moduleLocations[i].getY();
+        }
+        this.threshold = threshold;
+        this.speedFraction = speedFraction;
+        this.maxAcceleration = maxAcceleration;
+
+        included = new boolean[modules];
+        slipping = new boolean[modules];
+        residuals = new double[modules];
+        weights = new double[modules];
+        lastSpeeds = new double[modules];
+    }
+
+    /**
+     * Check the modules' latest measurements.
+     *
+     * @param measured module states as the encoders see them, in module order
+     * @param gyroRate turn rate from the gyro, radians per second, counterclockwise positive
+     * @param dt seconds since the last update
+     */
+    public void update(SwerveModuleState[] measured, double gyroRate, double dt) {
+        int modules = moduleX.length;
+        omega = gyroRate;
+        int count = 0;
+        for (int i = 0; i < modules; i++) {
+            double speed = measured[i].speedMetersPerSecond;
+            included[i] = firstUpdate || dt <= 0.0 || Math.abs(speed - lastSpeeds[i]) / dt <= maxAcceleration;
+            lastSpeeds[i] = speed;
+            if (included[i]) {
+                count++;
+            }
+        }
+        firstUpdate = false;
+
+        // Leave out the worst module until the rest agree, always keeping two to compare; with none
+        // to trust, the robot is taken to carry on as it was
+        while (count > 0) {
+            double sumX = 0.0;
+            double sumY = 0.0;
+            for (int i = 0; i < modules; i++) {
+                if (included[i]) {
+                    sumX += measured[i].speedMetersPerSecond * measured[i].angle.getCos() + omega * moduleY[i];
+                    sumY += measured[i].speedMetersPerSecond * measured[i].angle.getSin() - omega * moduleX[i];
+                }
+            }
+            vx = sumX / count;
+            vy = sumY / count;
+
+            int worst = -1;
+            double worstExcess = 0.0;
+            for (int i = 0; i < modules; i++) {
+                double excess = residual(measured[i], i) / limit(measured[i]);
+                if (included[i] && excess > 1.0 && excess > worstExcess) {
+                    worst = i;
+                    worstExcess = excess;
+                }
+            }
+            if (worst < 0 || count <= 2) {
+                break;
+            }
+            included[worst] = false;
+            count--;
+        }
+
+        for (int i = 0; i < modules; i++) {
+            residuals[i] = residual(measured[i], i);
+            double excess = residuals[i] / limit(measured[i]);
+            slipping[i] = !included[i] || excess > 1.0;
+            weights[i] = included[i] ? MathUtil.clamp(2.0 - excess, 0.0, 1.0) : 0.0;
+        }
+    }
+
+    // Difference between a module's measured velocity and the ground's under it
+    private double residual(SwerveModuleState state, int module) {
+        double groundX = vx - omega * moduleY[module];
+        double groundY = vy + omega * moduleX[module];
+        return Math.hypot(
+            state.speedMetersPerSecond * state.angle.getCos() - groundX,
+            state.speedMetersPerSecond * state.angle.getSin() - groundY);
+    }
+
+    private double limit(SwerveModuleState state) {
+        return threshold + speedFraction * Math.abs(state.speedMetersPerSecond);
+    }
+
+    public boolean isSlipping(int module) {
+        return slipping[module];
+    }
+
+    /** How far to trust a module's wheel for odometry, from zero to one */
+    public double getWeight(int module) {
+        return weights[module];
+    }
+
+    /** How far a module disagrees with the others, m/s */
+    public double getResidual(int module) {
+        return residuals[module];
+    }
+
+    /** How fast the ground under a module is moving along a direction, m/s */
+    public double getGroundSpeed(int module, Rotation2d direction) {
+        double groundX = vx - omega * moduleY[module];
+        double groundY = vy + omega * moduleX[module];
+        return groundX * direction.getCos() + groundY * direction.getSin();
+    }
+}
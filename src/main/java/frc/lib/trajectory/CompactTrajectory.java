@@ -0,0 +1,243 @@
+package frc.lib.trajectory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.RobotBase;
+
+/**
+ * A trajectory precomputed at build time by {@link TrajectoryCompiler}, read straight out of a
+ * memory-mapped file.
+ *
+ * <p>Each quantity is stored as its own column of doubles, so loading is just mapping the file,
+ * and {@link #sample(double, Sample)} does a binary search on the time column and fills in a
+ * caller-owned {@link Sample} without allocating.  Everything is in blue alliance field
+ * coordinates.
+ *
+ * <p>File layout, little endian, with every column starting on an 8 byte boundary:
+ * <pre>
+ *   int magic, int version, int segment count
+ *   per segment: int samples, int modules, int name length, name (UTF-8), padding,
+ *                then the columns time, x, y, heading, vx, vy, omega,
+ *                module force x (one column per module), module force y (likewise)
+ * </pre>
+ * Files compiled from PathPlanner have no module forces; Choreo files have one per module.
+ */
+public class CompactTrajectory {
+    static final int magic = 0x4A525443; // "CTRJ" as little endian bytes
+    static final int version = 1;
+    static final int fixedColumns = 7;
+    static final String extension = ".traj.bin";
+
+    /* Subdirectories of the compiled trajectories, since a PathPlanner path and a Choreo trajectory can share a name */
+    public static final String paths = "paths"; // only compiled for TrajectoryBenchmark
+    public static final String choreo = "choreo";
+
+    private final String name;
+    private final int samples;
+    private final int modules;
+    private final DoubleBuffer time;
+    private final DoubleBuffer x;
+    private final DoubleBuffer y;
+    private final DoubleBuffer heading;
+    private final DoubleBuffer vx;
+    private final DoubleBuffer vy;
+    private final DoubleBuffer omega;
+    private final DoubleBuffer[] forceX;
+    private final DoubleBuffer[] forceY;
+
+    /** One point along a trajectory; reuse one per follower to avoid allocating every loop */
+    public static class Sample {
+        public double time;
+        public double x;
+        public double y;
+        public double heading; // radians
+        public double vx; // m/s, field relative
+        public double vy;
+        public double omega; // rad/s
+        public final double[] forceX; // N, field relative, per module
+        public final double[] forceY;
+
+        public Sample(int modules) {
+            forceX = new double[modules];
+            forceY = new double[modules];
+        }
+    }
+
+    private CompactTrajectory(String name, int samples, int modules, ByteBuffer buffer, int offset) {
+        this.name = name;
+        this.samples = samples;
+        this.modules = modules;
+        int column = 0;
+        time = column(buffer, offset, column++);
+        x = column(buffer, offset, column++);
+        y = column(buffer, offset, column++);
+        heading = column(buffer, offset, column++);
+        vx = column(buffer, offset, column++);
+        vy = column(buffer, offset, column++);
+        omega = column(buffer, offset, column++);
+        forceX = new DoubleBuffer[modules];
+        forceY = new DoubleBuffer[modules];
+        for (int m = 0; m < modules; m++) {
+            forceX[m] = column(buffer, offset, column++);
+        }
+        for (int m = 0; m < modules; m++) {
+            forceY[m] = column(buffer, offset, column++);
+        }
+    }
+
+    private DoubleBuffer column(ByteBuffer buffer, int offset, int column) {
+        int bytes = samples * Double.BYTES;
+        return buffer.slice(offset + column * bytes, bytes).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+    }
+
+    /** Where compiled trajectories live: deployed with the code on the robot, in the build directory otherwise */
+    public static File directory() {
+        if (RobotBase.isReal()) {
+            return new File(Filesystem.getDeployDirectory(), "trajectories");
+        }
+        return new File(Filesystem.getOperatingDirectory(), "build/trajectories");
+    }
+
+    /**
+     * The trajectories compiled from a PathPlanner path or Choreo trajectory; a file can hold
+     * several, though the compiler writes one.
+     *
+     * @param kind {@link #paths} or {@link #choreo}
+     * @param name file name without extension
+     */
+    public static List<CompactTrajectory> load(String kind, String name) throws IOException {
+        return load(new File(new File(directory(), kind), name + extension));
+    }
+
+    public static List<CompactTrajectory> load(File file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != magic || buffer.getInt(4) != version) {
+            throw new IOException(file + " is not a version " + version + " compiled trajectory");
+        }
+
+        int segments = buffer.getInt(8);
+        List<CompactTrajectory> trajectories = new ArrayList<>(segments);
+        int offset = 12;
+        for (int s = 0; s < segments; s++) {
+            int samples = buffer.getInt(offset);
+            int modules = buffer.getInt(offset + 4);
+            int nameLength = buffer.getInt(offset + 8);
+            byte[] nameBytes = new byte[nameLength];
+            buffer.get(offset + 12, nameBytes);
+            offset = align(offset + 12 + nameLength);
+
+            trajectories.add(new CompactTrajectory(new String(nameBytes, StandardCharsets.UTF_8), samples, modules, buffer, offset));
+            offset += columns(modules) * samples * Double.BYTES;
+        }
+        return Collections.unmodifiableList(trajectories);
+    }
+
+    static int columns(int modules) {
+        return fixedColumns + 2 * modules;
+    }
+
+    static int align(int offset) {
+        return (offset + Double.BYTES - 1) / Double.BYTES * Double.BYTES;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return samples;
+    }
+
+    public int getModuleCount() {
+        return modules;
+    }
+
+    public double getTotalTime() {
+        return time.get(samples - 1);
+    }
+
+    /** A sample with room for this trajectory's module forces */
+    public Sample newSample() {
+        return new Sample(modules);
+    }
+
+    /** The stored sample at an index, without interpolation */
+    public Sample get(int index, Sample out) {
+        out.time = time.get(index);
+        out.x = x.get(index);
+        out.y = y.get(index);
+        out.heading = heading.get(index);
+        out.vx = vx.get(index);
+        out.vy = vy.get(index);
+        out.omega = omega.get(index);
+        for (int m = 0; m < Math.min(modules, out.forceX.length); m++) {
+            out.forceX[m] = forceX[m].get(index);
+            out.forceY[m] = forceY[m].get(index);
+        }
+        return out;
+    }
+
+    /**
+     * Where the trajectory is at a time since it started, interpolated between the samples either
+     * side.  Times outside the trajectory give its first or last sample.
+     */
+    public Sample sample(double t, Sample out) {
+        if (t <= time.get(0)) {
+            return get(0, out);
+        }
+        if (t >= time.get(samples - 1)) {
+            return get(samples - 1, out);
+        }
+
+        // Last sample at or before t
+        int low = 0;
+        int high = samples - 1;
+        while (high - low > 1) {
+            int middle = (low + high) >>> 1;
+            if (time.get(middle) <= t) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+
+        double t0 = time.get(low);
+        double fraction = (t - t0) / (time.get(high) - t0);
+        out.time = t;
+        out.x = lerp(x, low, high, fraction);
+        out.y = lerp(y, low, high, fraction);
+        double heading0 = heading.get(low);
+        out.heading = MathUtil.angleModulus(heading0 + MathUtil.angleModulus(heading.get(high) - heading0) * fraction);
+        out.vx = lerp(vx, low, high, fraction);
+        out.vy = lerp(vy, low, high, fraction);
+        out.omega = lerp(omega, low, high, fraction);
+        for (int m = 0; m < Math.min(modules, out.forceX.length); m++) {
+            out.forceX[m] = lerp(forceX[m], low, high, fraction);
+            out.forceY[m] = lerp(forceY[m], low, high, fraction);
+        }
+        return out;
+    }
+
+    private static double lerp(DoubleBuffer column, int low, int high, double fraction) {
+        double start = column.get(low);
+        return start + (column.get(high) - start) * fraction;
+    }
+}
@@ -0,0 +1,208 @@
+package frc.lib.trajectory;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+
+import com.pathplanner.lib.path.PathPlannerPath;
+import com.pathplanner.lib.path.PathPlannerTrajectory;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.Filesystem;
+
+/**
+ * Build step that turns the Choreo trajectories in the deploy directory into
+ * {@link CompactTrajectory} files, so {@link frc.robot.commands.ChoreoFollowCommand} never parses
+ * JSON at runtime.  Choreo samples are copied as they are, module forces included.
+ *
+ * <p>PathPlanner paths can be compiled too, generated starting from rest and facing their preview
+ * starting rotation, but only for comparing against PathPlanner in TrajectoryBenchmark: the robot
+ * follows PathPlanner paths with PathPlanner, so they aren't compiled for it.
+ *
+ * <p>Usage: {@code TrajectoryCompiler <output directory> [paths] [choreo]}, compiling just the kinds
+ * given, or all of them; normally run by {@code ./gradlew compileTrajectories} before deploying or
+ * simulating.
+ */
+public final class TrajectoryCompiler {
+    private TrajectoryCompiler() {}
+
+    /** One trajectory as columns, in the order CompactTrajectory reads them */
+    private static class Segment {
+        final String name;
+        final int samples;
+        final int modules;
+        final double[][] columns;
+
+        Segment(String name, int samples, int modules) {
+            this.name = name;
+            this.samples = samples;
+            this.modules = modules;
+            columns = new double[CompactTrajectory.columns(modules)][samples];
+        }
+    }
+
+    public static void main(String... args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: TrajectoryCompiler <output directory> [paths] [choreo]");
+            System.exit(2);
+        }
+        File output = new File(args[0]);
+        List<String> kinds = args.length > 1 ? List.of(args).subList(1, args.length) : List.of(CompactTrajectory.paths, CompactTrajectory.choreo);
+        for (String kind : kinds) {
+            if (!kind.equals(CompactTrajectory.paths) && !kind.equals(CompactTrajectory.choreo)) {
+                System.err.println("Unknown trajectory kind " + kind);
+                System.exit(2);
+            }
+            Files.createDirectories(new File(output, kind).toPath());
+        }
+        // PathPlanner finds its files through WPILib, which needs the HAL
+        HAL.initialize(500, 0);
+
+        File deploy = Filesystem.getDeployDirectory();
+        int files = 0;
+        if (kinds.contains(CompactTrajectory.paths)) {
+            for (File file : list(new File(deploy, "pathplanner/paths"), ".path")) {
+                String name = baseName(file, ".path");
+                write(output(output, CompactTrajectory.paths, name), List.of(fromPath(name, PathPlannerPath.fromPathFile(name), new ChassisSpeeds())));
+                files++;
+            }
+        }
+        if (kinds.contains(CompactTrajectory.choreo)) {
+            for (File file : list(new File(deploy, "choreo"), ".traj")) {
+                String name = baseName(file, ".traj");
+                write(output(output, CompactTrajectory.choreo, name), List.of(fromChoreo(name, readJson(file))));
+                files++;
+            }
+        }
+        System.out.println("Compiled " + files + " trajectory files into " + output);
+        System.exit(0);
+    }
+
+    private static List<File> list(File directory, String extension) {
+        List<File> files = new ArrayList<>();
+        File[] all = directory.listFiles();
+        if (all != null) {
+            for (File file : all) {
+                if (file.isFile() && file.getName().endsWith(extension)) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort(null);
+        return files;
+    }
+
+    private static File output(File directory, String kind, String name) {
+        return new File(new File(directory, kind), name + CompactTrajectory.extension);
+    }
+
+    private static String baseName(File file, String extension) {
+        String name = file.getName();
+        return name.substring(0, name.length() - extension.length());
+    }
+
+    private static JSONObject readJson(File file) throws Exception {
+        try (Reader reader = new FileReader(file)) {
+            return (JSONObject) new JSONParser().parse(reader);
+        }
+    }
+
+    private static Segment fromPath(String name, PathPlannerPath path, ChassisSpeeds startingSpeeds) {
+        PathPlannerTrajectory trajectory = path.getTrajectory(startingSpeeds, path.getPreviewStartingHolonomicPose().getRotation());
+        List<PathPlannerTrajectory.State> states = trajectory.getStates();
+        Segment segment = new Segment(name, states.size(), 0);
+        for (int i = 0; i < states.size(); i++) {
+            PathPlannerTrajectory.State state = states.get(i);
+            segment.columns[0][i] = state.timeSeconds;
+            segment.columns[1][i] = state.positionMeters.getX();
+            segment.columns[2][i] = state.positionMeters.getY();
+            segment.columns[3][i] = state.targetHolonomicRotation.getRadians();
+            segment.columns[4][i] = state.velocityMps * state.heading.getCos();
+            segment.columns[5][i] = state.velocityMps * state.heading.getSin();
+        }
+        // Turn rate from the rotation targets, since PathPlanner only keeps it for Choreo paths
+        for (int i = 0; i < states.size(); i++) {
+            int previous = Math.max(0, i - 1);
+            int next = Math.min(states.size() - 1, i + 1);
+            double dt = segment.columns[0][next] - segment.columns[0][previous];
+            segment.columns[6][i] = dt <= 0.0 ? 0.0
+                : MathUtil.angleModulus(segment.columns[3][next] - segment.columns[3][previous]) / dt;
+        }
+        return segment;
+    }
+
+    private static Segment fromChoreo(String name, JSONObject trajectory) {
+        JSONArray samples = (JSONArray) trajectory.get("samples");
+        JSONArray firstForces = (JSONArray) ((JSONObject) samples.get(0)).get("moduleForcesX");
+        int modules = firstForces == null ? 0 : firstForces.size();
+        Segment segment = new Segment(name, samples.size(), modules);
+        for (int i = 0; i < samples.size(); i++) {
+            JSONObject sample = (JSONObject) samples.get(i);
+            segment.columns[0][i] = number(sample, "timestamp");
+            segment.columns[1][i] = number(sample, "x");
+            segment.columns[2][i] = number(sample, "y");
+            segment.columns[3][i] = number(sample, "heading");
+            segment.columns[4][i] = number(sample, "velocityX");
+            segment.columns[5][i] = number(sample, "velocityY");
+            segment.columns[6][i] = number(sample, "angularVelocity");
+            for (int m = 0; m < modules; m++) {
+                segment.columns[CompactTrajectory.fixedColumns + m][i] = ((Number) ((JSONArray) sample.get("moduleForcesX")).get(m)).doubleValue();
+                segment.columns[CompactTrajectory.fixedColumns + modules + m][i] = ((Number) ((JSONArray) sample.get("moduleForcesY")).get(m)).doubleValue();
+            }
+        }
+        return segment;
+    }
+
+    private static double number(JSONObject json, String key) {
+        return ((Number) json.get(key)).doubleValue();
+    }
+
+    private static void write(File file, List<Segment> segments) throws IOException {
+        int size = 12;
+        for (Segment segment : segments) {
+            size = CompactTrajectory.align(size + 12 + segment.name.getBytes(StandardCharsets.UTF_8).length);
+            size += segment.columns.length * segment.samples * Double.BYTES;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(CompactTrajectory.magic);
+        buffer.putInt(CompactTrajectory.version);
+        buffer.putInt(segments.size());
+        for (Segment segment : segments) {
+            byte[] name = segment.name.getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(segment.samples);
+            buffer.putInt(segment.modules);
+            buffer.putInt(name.length);
+            buffer.put(name);
+            buffer.position(CompactTrajectory.align(buffer.position()));
+            for (double[] column : segment.columns) {
+                for (double value : column) {
+                    buffer.putDouble(value);
+                }
+            }
+        }
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
@@ -8,6 +8,10 @@ public class SwerveModuleConstants {
     public final int cancoderID;
     public final String canBusID;
     public final Rotation2d angleOffset;
+    /* Drive feedforward characterized for this module alone; NaN to use the drivetrain's */
+    public final double driveKS;
+    public final double driveKV;
+    public final double driveKA;
 
     /**
      * Swerve Module Constants to be used when creating swerve modules.
@@ -18,10 +22,28 @@ public class SwerveModuleConstants {
      * @param angleOffset
      */
     public SwerveModuleConstants(int driveMotorID, int angleMotorID, int canCoderID, String canBusID, Rotation2d angleOffset) {
+        this(driveMotorID, angleMotorID, canCoderID, canBusID, angleOffset, Double.NaN, Double.NaN, Double.NaN);
+    }
+
+    /**
+     * Swerve Module Constants for a module with its own drive characterization, e.g. one with a
+     * different gearbox or a worn wheel.
+     * @param driveKS volts
+     * @param driveKV volts per m/s
+     * @param driveKA volts per m/s^2
+     */
+    public SwerveModuleConstants(int driveMotorID, int angleMotorID, int canCoderID, String canBusID, Rotation2d angleOffset, double driveKS, double driveKV, double driveKA) {
         this.driveMotorID = driveMotorID;
         this.angleMotorID = angleMotorID;
         this.cancoderID = canCoderID;
         this.canBusID = canBusID;
         this.angleOffset = angleOffset;
+        this.driveKS = driveKS;
+        this.driveKV = driveKV;
+        this.driveKA = driveKA;
+    }
+
+    public boolean hasDriveFeedforward() {
+        return !Double.isNaN(driveKS) && !Double.isNaN(driveKV) && !Double.isNaN(driveKA);
     }
 }
@@ -0,0 +1,56 @@
+package frc.lib.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+
+/**
+ * Class for a tunable number.
+ * Abstracts a double, such as a gain, that can be managed via the dashboard.
+ *
+ * <p>A value already on the dashboard when the number is created is kept, so a value can be
+ * chosen before the code that uses it starts up.
+ */
+public class TunableNumber implements DoubleSupplier {
+  private static final String tableKey = "TunableNumbers";
+  private static final List<TunableNumber> numbers = new ArrayList<>();
+
+  private String key;
+  private double defaultValue;
+
+  public TunableNumber(String name, double defaultValue) {
+    if (name.indexOf("/") >= 0) {
+      key = name;
+    } else {
+      key = tableKey + "/" + name;
+    }
+    this.defaultValue = defaultValue;
+    SmartDashboard.setDefaultNumber(key, defaultValue);
+    numbers.add(this);
+  }
+
+  /** Every number created so far */
+  public static List<TunableNumber> getAll() {
+    return Collections.unmodifiableList(numbers);
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public double getDefault() {
+    return defaultValue;
+  }
+
+  public double get() {
+    return SmartDashboard.getNumber(key, defaultValue);
+  }
+
+  @Override
+  public double getAsDouble() {
+    return get();
+  }
+}
@@ -1,5 +1,8 @@
 package frc.lib.util;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.BooleanSupplier;
 
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
@@ -11,6 +14,7 @@ import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 public class TunableOption implements BooleanSupplier {
   // TODO Consider using raw NetworkTables and subscribe to updates, instead of using SmartDashboard
   private static final String tableKey = "TunableOptions";
+  private static final List<TunableOption> options = new ArrayList<>();
 
   private String key;
   private boolean defaultValue;
@@ -23,6 +27,20 @@ public class TunableOption implements BooleanSupplier {
     }
     this.defaultValue = defaultValue;
     SmartDashboard.putBoolean(key, defaultValue);
+    options.add(this);
+  }
+
+  /** Every option created so far, so their values can be logged and replayed */
+  public static List<TunableOption> getAll() {
+    return Collections.unmodifiableList(options);
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public boolean getDefault() {
+    return defaultValue;
   }
 
   public boolean get() {
@@ -0,0 +1,255 @@
+package frc.robot;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+
+import com.pathplanner.lib.auto.AutoBuilder;
+import com.pathplanner.lib.auto.NamedCommands;
+import com.pathplanner.lib.path.PathPlannerPath;
+import com.pathplanner.lib.util.GeometryUtil;
+
+import dev.doglog.DogLog;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.Commands;
+import frc.robot.subsystems.PoseSubsystem;
+
+/**
+ * Loads PathPlanner autos and paths in the background, so the robot is ready to drive sooner
+ * after a restart or brownout.
+ *
+ * <p>Every .path and .auto file is parsed on a pool of background threads as soon as this is
+ * created.  Commands are only ever built on the main thread, since the command scheduler isn't
+ * thread safe: an auto is built when it's picked in the chooser, or when auto starts, whichever
+ * is first.  Anything that isn't parsed yet when it's needed is parsed right then.
+ *
+ * <p>Named commands must be registered before any auto is built.
+ */
+public class AutoLoader {
+    private static final File pathDirectory = new File(Filesystem.getDeployDirectory(), "pathplanner/paths");
+    private static final File autoDirectory = new File(Filesystem.getDeployDirectory(), "pathplanner/autos");
+    private static final String noAuto = "None";
+
+    private final ExecutorService pool;
+    private final Map<String, FutureTask<PathPlannerPath>> paths = new HashMap<>();
+    private final Map<String, FutureTask<JSONObject>> autoFiles = new HashMap<>();
+    private final Map<String, Supplier<Command>> autos = new LinkedHashMap<>();
+    private final Map<String, Command> built = new HashMap<>();
+    private final SendableChooser<String> chooser = new SendableChooser<>();
+
+    public AutoLoader() {
+        double start = System.nanoTime();
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadNumber = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, (runnable) -> {
+            Thread thread = new Thread(runnable, "AutoLoader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY); // Stay out of the way of the main loop
+            return thread;
+        });
+
+        // Paths first, since the autos need them
+        for (String name : fileNames(pathDirectory, ".path")) {
+            paths.put(name, submit(() -> PathPlannerPath.fromPathFile(name)));
+        }
+        for (String name : fileNames(autoDirectory, ".auto")) {
+            autoFiles.put(name, submit(() -> readJson(new File(autoDirectory, name + ".auto"))));
+            autos.put(name, () -> buildAuto(name));
+        }
+
+        List<FutureTask<?>> all = new ArrayList<>(paths.values());
+        all.addAll(autoFiles.values());
+        pool.execute(() -> {
+            for (FutureTask<?> task : all) {
+                try {
+                    task.get();
+                } catch (Exception e) {
+                    // Reported when it's used
+                }
+            }
+            DogLog.log("Auto/Load time", (System.nanoTime() - start) / 1e9);
+            pool.shutdown();
+        });
+
+        chooser.setDefaultOption(noAuto, noAuto);
+        chooser.onChange(this::prepare);
+    }
+
+    private <T> FutureTask<T> submit(Callable<T> callable) {
+        FutureTask<T> task = new FutureTask<>(callable);
+        pool.execute(task);
+        return task;
+    }
+
+    private static TreeSet<String> fileNames(File directory, String extension) {
+        TreeSet<String> names = new TreeSet<>();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (file.isFile() && name.endsWith(extension)) {
+                    names.add(name.substring(0, name.length() - extension.length()));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static JSONObject readJson(File file) throws Exception {
+        try (Reader reader = new FileReader(file)) {
+            return (JSONObject) new JSONParser().parse(reader);
+        }
+    }
+
+    // Wait for a file, parsing it on this thread if the pool hasn't got to it yet
+    private static <T> T await(FutureTask<T> task, String name) {
+        if (task == null) {
+            throw new IllegalArgumentException("No PathPlanner file named " + name);
+        }
+        task.run(); // Does nothing if it's already running or done
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted loading " + name, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load " + name, e.getCause());
+        }
+    }
+
+    public PathPlannerPath getPath(String name) {
+        return await(paths.get(name), name);
+    }
+
+    /** A new command for a PathPlanner auto, built from the parsed file like PathPlannerAuto does */
+    public Command buildAuto(String name) {
+        JSONObject json = await(autoFiles.get(name), name);
+        Command command = commandFromJson((JSONObject) json.get("command"));
+
+        JSONObject startingPose = (JSONObject) json.get("startingPose");
+        if (startingPose != null) {
+            JSONObject position = (JSONObject) startingPose.get("position");
+            Pose2d start = new Pose2d(
+                ((Number) position.get("x")).doubleValue(),
+                ((Number) position.get("y")).doubleValue(),
+                Rotation2d.fromDegrees(((Number) startingPose.get("rotation")).doubleValue()));
+            command = Commands.sequence(
+                Commands.runOnce(() -> {
+                    PoseSubsystem.getInstance().setPose(Robot.isRed() ? GeometryUtil.flipFieldPose(start) : start);
+                }),
+                command);
+        }
+        return command.withName(name);
+    }
+
+    private Command commandFromJson(JSONObject json) {
+        JSONObject data = (JSONObject) json.get("data");
+        switch ((String) json.get("type")) {
+            case "wait":
+                return Commands.waitSeconds(((Number) data.get("waitTime")).doubleValue());
+            case "named":
+                return NamedCommands.getCommand((String) data.get("name"));
+            case "path":
+                String pathName = (String) data.get("pathName");
+                return pathName == null ? Commands.none() : AutoBuilder.followPath(getPath(pathName));
+            case "sequential":
+                return Commands.sequence(commandsFromJson(data));
+            case "parallel":
+                return Commands.parallel(commandsFromJson(data));
+            case "race":
+                return Commands.race(commandsFromJson(data));
+            case "deadline":
+                Command[] commands = commandsFromJson(data);
+                if (commands.length == 0) {
+                    return Commands.none();
+                }
+                Command[] others = new Command[commands.length - 1];
+                System.arraycopy(commands, 1, others, 0, others.length);
+                return Commands.deadline(commands[0], others);
+            default:
+                // Most likely a newer PathPlanner than this loader knows; don't quietly drop part of the auto
+                throw new IllegalArgumentException("Unknown auto command type " + json.get("type"));
+        }
+    }
+
+    private Command[] commandsFromJson(JSONObject data) {
+        JSONArray array = (JSONArray) data.get("commands");
+        Command[] commands = new Command[array.size()];
+        for (int i = 0; i < commands.length; i++) {
+            commands[i] = commandFromJson((JSONObject) array.get(i));
+        }
+        return commands;
+    }
+
+    /** Offer an auto in the chooser, built by the supplier only once it's needed */
+    public void addAuto(String name, Supplier<Command> supplier) {
+        autos.put(name, supplier);
+        chooser.addOption(name, name);
+    }
+
+    /** Offer every PathPlanner auto in the chooser, as AutoBuilder.buildAutoChooser() would */
+    public void addPathPlannerAutos() {
+        for (String name : autoFiles.keySet().stream().sorted().toList()) {
+            chooser.addOption(name, name);
+        }
+    }
+
+    public SendableChooser<String> getChooser() {
+        return chooser;
+    }
+
+    // Build the selected auto ahead of time, so starting auto doesn't have to
+    private void prepare(String name) {
+        getAuto(name);
+    }
+
+    /** The command for an auto by name, building it now if it hasn't been already */
+    public Command getAuto(String name) {
+        if (name == null || name.equals(noAuto)) {
+            return Commands.none();
+        }
+        Command command = built.get(name);
+        if (command == null) {
+            Supplier<Command> supplier = autos.get(name);
+            if (supplier == null) {
+                DogLog.log("Auto/Status", "No auto named " + name);
+                return Commands.none();
+            }
+            double start = System.nanoTime();
+            try {
+                command = supplier.get();
+            } catch (RuntimeException e) {
+                DogLog.log("Auto/Status", "Failed to build " + name + ": " + e.getMessage());
+                return Commands.none();
+            }
+            DogLog.log("Auto/Status", String.format("Built %s in %.1f ms", name, (System.nanoTime() - start) / 1e6));
+            built.put(name, command);
+        }
+        return command;
+    }
+
+    public Command getSelected() {
+        return getAuto(chooser.getSelected());
+    }
+}
@@ -41,11 +41,12 @@ public final class Constants {
 
         /* Swerve Kinematics 
          * No need to ever change this unless you are not doing a traditional rectangular/square 4 module swerve */
-         public static final SwerveDriveKinematics swerveKinematics = new SwerveDriveKinematics(
+         public static final Translation2d[] moduleLocations = {
             new Translation2d(wheelBase / 2.0, trackWidth / 2.0),
             new Translation2d(wheelBase / 2.0, -trackWidth / 2.0),
             new Translation2d(-wheelBase / 2.0, trackWidth / 2.0),
-            new Translation2d(-wheelBase / 2.0, -trackWidth / 2.0));
+            new Translation2d(-wheelBase / 2.0, -trackWidth / 2.0)};
+         public static final SwerveDriveKinematics swerveKinematics = new SwerveDriveKinematics(moduleLocations);
 
         /* Module Gear Ratios */
         public static final double driveGearRatio = chosenModule.driveGearRatio;
@@ -74,6 +75,15 @@ public final class Constants {
         public static final double openLoopRamp = 0.25;
         public static final double closedLoopRamp = 0.0;
 
+        /* Setpoint generator: the steering loop doesn't get the angle motor's whole free speed */
+        public static final double steerVelocityFraction = 0.75;
+
+        /* Steering closes its loop on the CANcoder, fused with the angle motor's rotor */
+        public static final double cancoderBootTimeout = 1.0; // s to wait for each CANcoder's first reading, once it's configured
+        public static final double steerDriftTolerance = 2.0 / 360.0; // rotations the angle motor may disagree with the CANcoder before it's re-seeded
+        public static final double steerDriftSpeed = 0.05; // rotations per second; only compare the two while the module is this still
+        public static final double steerReseedInterval = 0.5; // s between re-seeds, so the last one can take effect first
+
         /* Angle Motor PID Values */
         public static final double angleKP = chosenModule.angleKP;
         public static final double angleKI = chosenModule.angleKI;
@@ -93,6 +103,14 @@ public final class Constants {
         public static final double driveKS = 0.32; 
         public static final double driveKV = 1.51; 
         public static final double driveKA = 0.27;  
+        public static final double robotMass = Units.lbsToKilograms(125.0); // with bumpers and battery, for force feedforward
+        public static final double wheelCOF = 1.19; // tread on carpet; no module can accelerate harder than this many g
+
+        /* Traction monitor: a module disagreeing with the others by more than this is slipping */
+        public static final double slipThreshold = 0.25; // m/s
+        public static final double slipSpeedFraction = 0.1; // extra allowance per m/s of wheel speed
+        public static final double slipAcceleration = 1.5 * wheelCOF * 9.81; // m/s^2; wheel speed changing faster than this isn't gripping
+        public static final double slipAllowance = 0.2; // m/s a slipping wheel may be driven ahead of the ground
 
         /* Swerve Profiling Values */
         /** Meters per Second */
@@ -173,8 +191,32 @@ public final class Constants {
         public static final PIDController rotationPID = new PIDController(0.0070, 0.000, 0.0); // kI was 0.050 for NCCMP
         public static final PIDController maintainPID = new PIDController(0.0040, 0.000, 0.0);
         public static final double rotationKS = 0.015;
+        public static final double pathTranslationKP = 8.0; // PathPlanner auto path following
+        public static final double pathRotationKP = 1.5;
+        public static final double alignTranslationKP = 8.0; // Teleop alignment paths (amp, source, speaker)
+        public static final double alignRotationKP = 2.0;
         public static final double rotationIZone = 2.5; // degrees
 
+        /* Pose estimator trust, as standard deviations (m, and radians for heading) */
+        public static final double odometryStdDev = 0.1;
+        public static final double visionStdDev = 0.9;
+        /* Collisions: jerk or acceleration the wheels don't account for, and how long to lean on vision afterwards */
+        public static final double accelerometerFrequency = 250.0; // Hz
+        public static final double impactJerk = 500.0; // m/s^3
+        public static final double skidAcceleration = 5.0; // m/s^2
+        public static final double collisionRecoveryTime = 0.75; // s
+        public static final double collisionVisionStdDev = 0.2; // m, while recovering
+
+        /* Pathfinding on the navgrid; its obstacles already allow for the size of a robot */
+        public static final double pathfindingInflation = 0.2; // m, keeps the robot's center off the walls
+        public static final double pathfindingClearance = 0.75; // m, kept from obstacles where there's room
+        public static final double pathfindingClearanceWeight = 2.0; // extra cost of a step right at the inflation radius
+
+        /* Teleop field assist: slow down toward obstacles in time to stop this far short of them */
+        public static final double assistDeceleration = 6.0; // m/s^2
+        public static final double assistMargin = 0.1; // m
+        public static final double assistVisionAge = 1.0; // s since vision last corrected the pose, or field assist is off
+
         public static final Translation2d blueSpeakerLocation = new Translation2d(0.0, 5.548);
         public static final Translation2d redSpeakerLocation = new Translation2d(16.579, 5.548);
         public static final Translation2d blueShuttleLocation = new Translation2d(1.25, 6.7);
@@ -235,6 +277,17 @@ public final class Constants {
         public static final double RPMsPerVolt = 490;
         /* Time to complete shot once Note no longer detected */
         public static final double postShotTimeout = 0.1; // in seconds
+        /* Shot supervision in auto */
+        public static final double spinUpRate = 4000.0; // RPM per second, used until the flywheels have been seen to spin up
+        public static final double minSpinUpRate = 1000.0; // RPM per second, so a stalled flywheel still gets an estimate
+        public static final double aimRate = 180.0; // degrees per second the robot can turn to aim
+        public static final double feedTime = 0.15; // seconds from feeding until the note has gone
+        public static final double noTargetTimeout = 0.5; // seconds to wait for a speaker target when shooting with vision
+        public static final double minSupervisedTime = 0.25; // seconds before a shot can be given up as too slow
+        /* Shooting while following a path */
+        public static final double noteVelocity = 15.0; // average speed of a note on its way to the speaker, in m/s
+        public static final double movingShotMaxAngleError = 3.0; // degrees
+        public static final double movingShotMaxTime = 2.0; // seconds
     }
 
     public class Index {
@@ -291,6 +344,15 @@ public final class Constants {
         public static final double timeCutOff = 25.0;
     }
 
+    public static final class Configs {
+        public static final double timeout = 0.25; // s for each apply or read back
+        public static final int attempts = 3; // tries before a device is reported as not configured
+        public static final int rioThreads = 2; // configs in flight at once on the roboRIO's bus
+        public static final int canivoreThreads = 4; // and on each CANivore, which has more bandwidth
+        public static final double tolerance = 1e-3; // settings may read back rounded by this fraction
+        public static final double bootTimeout = 5.0; // s to wait for every config at startup
+    }
+
     public static final class Vision {
         public static final String cameraName = "AprilTagCam";
         public static final Transform3d robotToCam = new Transform3d(
@@ -304,6 +366,46 @@ public final class Constants {
         public static final double calibrationOffsetRed  = atHQ ? calibrationOffsetBlue : Units.inchesToMeters(0.0);
     }
 
+    public static final class Sim {
+        /* Drivetrain physics model */
+        public static final double robotMass = Swerve.robotMass;
+        public static final double wheelCOF = Swerve.wheelCOF; // static coefficient of friction, new tread on carpet
+        public static final double wheelKineticCOF = 0.9; // while sliding
+        public static final double driveMOI = 0.0025; // kg m^2 of wheel, gearing and rotor, as seen at the wheel
+        public static final double angleMOI = 0.004; // kg m^2 of the steering assembly, as seen at the module
+        public static final boolean modelWheelSlip = true;
+        public static final boolean modelCurrentLimit = true;
+
+        /* AprilTag camera model */
+        public static final int cameraResolutionWidth = 1280;
+        public static final int cameraResolutionHeight = 800;
+        public static final double cameraFOV = 70.0; // degrees, diagonal
+        public static final double cameraFPS = 30.0;
+        public static final double cameraLatency = 35.0; // ms, capture to result on the robot
+        public static final double cameraLatencyJitter = 5.0; // ms, standard deviation
+        public static final double cameraPixelNoise = 0.25; // px, average corner error
+        public static final double cameraPixelNoiseJitter = 0.08; // px, standard deviation
+        public static final double tagDropout = 0.05; // chance a visible tag is missed in a frame
+        public static final double frameDropout = 0.0; // chance a whole frame is lost
+        public static final long visionSeed = 2024; // same seed, same noise: runs are repeatable
+
+        /* Monte Carlo ranges: each run draws its own conditions from these */
+        public static final double startPositionError = 0.05; // m, standard deviation of placement error
+        public static final double startHeadingError = 2.0; // degrees, standard deviation
+        public static final double minCameraLatency = 25.0; // ms
+        public static final double maxCameraLatency = 60.0; // ms
+        public static final double minCameraPixelNoise = 0.1; // px
+        public static final double maxCameraPixelNoise = 0.6; // px
+        public static final double maxTagDropout = 0.15;
+        public static final double intakeSuccess = 0.9; // chance an intake attempt gets the note
+        public static final double maxIntakeDelay = 0.3; // s, extra time to reach a note that isn't quite where expected
+
+        /* Judging a shot from the true pose when the note leaves */
+        public static final double scoringAngleTolerance = 4.0; // degrees
+        public static final double maxScoringDistance = Units.inchesToMeters(132.0); // end of the calibration table
+        public static final int pointsPerAutoSpeakerNote = 5;
+    }
+
     public static final class AutoConstants { //TODO: The below constants are used in the example auto, and must be tuned to specific robot
         public static final double kMaxSpeedMetersPerSecond = 3;
         public static final double kMaxAccelerationMetersPerSecondSquared = 3;
@@ -0,0 +1,295 @@
+package frc.robot;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.configs.CANcoderConfiguration;
+import com.ctre.phoenix6.configs.CANcoderConfigurator;
+import com.ctre.phoenix6.configs.Pigeon2Configuration;
+import com.ctre.phoenix6.configs.Pigeon2Configurator;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.configs.TalonFXConfigurator;
+import com.ctre.phoenix6.hardware.CANcoder;
+import com.ctre.phoenix6.hardware.Pigeon2;
+import com.ctre.phoenix6.hardware.TalonFX;
+
+import dev.doglog.DogLog;
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * Applies device configs on background threads at startup, instead of one blocking apply after
+ * another on the main thread.
+ *
+ * <p>Each CAN bus has its own small pool of threads, smaller on the roboRIO's bus than on the
+ * CANivore, so the devices on one bus don't wait on the other and neither bus is flooded.
+ *
+ * <p>A device keeps its config through a reboot, so each device's config is read first and
+ * compared setting by setting, and only the sections that differ (Slot0, CurrentLimits, ...) are
+ * written.  After a brownout, when every device already has its config, nothing is written at
+ * all.  The config is read back after writing; one that fails to write or reads back different is
+ * tried again, up to a few times.  A CANcoder isn't done until it's reporting its position as well,
+ * since the angle motors close their loops on it.
+ *
+ * <p>The IO classes queue their configs as they're created, and {@link #awaitAll()} waits for
+ * all of them once the robot is built, reporting how long each device took and any that never
+ * took their config.
+ */
+public class DeviceConfigurator {
+    private static final String rioBus = "rio";
+
+    private final Map<String, ExecutorService> pools = new HashMap<>();
+    private final List<FutureTask<Outcome>> pending = new ArrayList<>();
+    private final List<String> devices = new ArrayList<>();
+    private final AtomicInteger threadNumber = new AtomicInteger();
+    private final double start = System.nanoTime();
+
+    /** How one device's config went */
+    private static class Outcome {
+        final String error; // null once the device has the config
+        final int writes;
+        final int sections; // written altogether; -1 if a whole config was
+        final String fallback; // why a whole config was written, if it was
+        final double milliseconds;
+
+        Outcome(String error, int writes, int sections, String fallback, double milliseconds) {
+            this.error = error;
+            this.writes = writes;
+            this.sections = sections;
+            this.fallback = fallback;
+            this.milliseconds = milliseconds;
+        }
+    }
+
+    /** Apply a config to a TalonFX, writing only what differs */
+    public void apply(String device, TalonFX talon, TalonFXConfiguration config) {
+        TalonFXConfigurator configurator = talon.getConfigurator();
+        submit(device, talon.getNetwork(), configurator, config,
+            () -> configurator.apply(config, Constants.Configs.timeout),
+            () -> {
+                TalonFXConfiguration current = new TalonFXConfiguration();
+                return configurator.refresh(current, Constants.Configs.timeout).isOK() ? current : null;
+            }, null);
+    }
+
+    /** Apply a config to a CANcoder, writing only what differs, then wait for it to report its position */
+    public void apply(String device, CANcoder cancoder, CANcoderConfiguration config) {
+        CANcoderConfigurator configurator = cancoder.getConfigurator();
+        // A copy of the signal, so waiting here doesn't race the main loop refreshing it
+        StatusSignal<Double> position = cancoder.getAbsolutePosition().clone();
+        submit(device, cancoder.getNetwork(), configurator, config,
+            () -> configurator.apply(config, Constants.Configs.timeout),
+            () -> {
+                CANcoderConfiguration current = new CANcoderConfiguration();
+                return configurator.refresh(current, Constants.Configs.timeout).isOK() ? current : null;
+            },
+            () -> {
+                StatusCode status = position.waitForUpdate(Constants.Swerve.cancoderBootTimeout).getStatus();
+                return status.isOK() ? null : "not reporting its position, " + status;
+            });
+    }
+
+    /** Apply a config to a Pigeon2, writing only what differs */
+    public void apply(String device, Pigeon2 pigeon, Pigeon2Configuration config) {
+        Pigeon2Configurator configurator = pigeon.getConfigurator();
+        submit(device, pigeon.getNetwork(), configurator, config,
+            () -> configurator.apply(config, Constants.Configs.timeout),
+            () -> {
+                Pigeon2Configuration current = new Pigeon2Configuration();
+                return configurator.refresh(current, Constants.Configs.timeout).isOK() ? current : null;
+            }, null);
+    }
+
+    /**
+     * Queue a device's config on its bus's pool.  Until the device reads back the same as the
+     * config, or there have been enough tries, write whatever differs; if the device couldn't be
+     * read, write the whole config.  Once it has the config, {@code ready} (if there is one) says
+     * whether the device is usable yet, or what's wrong.
+     */
+    private synchronized void submit(String device, String bus, Object configurator, Object config,
+            Supplier<StatusCode> applyAll, Supplier<Object> read, Supplier<String> ready) {
+        FutureTask<Outcome> task = new FutureTask<>(() -> {
+            double taskStart = System.nanoTime();
+            StatusCode status = StatusCode.OK;
+            int writes = 0;
+            int sections = 0;
+            String fallback = null;
+            Object current = read.get();
+            String error = current == null ? "couldn't read config" : mismatch("", config, current);
+            // Stop trying once awaitAll() has given up on this device and cancelled it
+            while (error != null && writes < Constants.Configs.attempts && !Thread.currentThread().isInterrupted()) {
+                writes++;
+                List<Field> changed = current == null ? null : changedSections(config, current);
+                String reason = current == null ? "couldn't read config" : applyChanged(configurator, config, changed);
+                if (reason != null) {
+                    status = applyAll.get();
+                    sections = -1;
+                    fallback = reason;
+                } else if (sections >= 0) {
+                    sections += changed.size();
+                }
+                current = read.get();
+                error = current == null ? "couldn't read config" : mismatch("", config, current);
+            }
+            if (error != null && !status.isOK()) {
+                error = status + ", " + error;
+            }
+            if (error == null && ready != null) {
+                error = ready.get();
+            }
+            return new Outcome(error, writes, sections, fallback, (System.nanoTime() - taskStart) / 1e6);
+        });
+        pool(bus).execute(task);
+        pending.add(task);
+        devices.add(device);
+    }
+
+    /**
+     * The sections of a config (Slot0, CurrentLimits, ...) with any setting that differs from the
+     * device's current config.
+     */
+    static List<Field> changedSections(Object config, Object current) {
+        List<Field> changed = new ArrayList<>();
+        for (Field field : config.getClass().getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+                continue;
+            }
+            try {
+                Object section = field.get(config);
+                if (section != null && mismatch("", section, field.get(current)) != null) {
+                    changed.add(field);
+                }
+            } catch (IllegalAccessException e) {
+                changed.add(field);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Write each of a config's changed sections through the configurator's apply() for that
+     * section.  Returns null once they're all written, or why one couldn't be, so the whole config
+     * should be.
+     */
+    private static String applyChanged(Object configurator, Object config, List<Field> changed) {
+        for (Field field : changed) {
+            try {
+                Object section = field.get(config);
+                Method apply = configurator.getClass().getMethod("apply", section.getClass(), double.class);
+                StatusCode status = (StatusCode) apply.invoke(configurator, section, Constants.Configs.timeout);
+                if (!status.isOK()) {
+                    return field.getName() + " " + status;
+                }
+            } catch (ReflectiveOperationException e) {
+                return "can't write " + field.getName() + " alone";
+            }
+        }
+        return null;
+    }
+
+    private ExecutorService pool(String bus) {
+        boolean rio = bus.isEmpty() || bus.equals(rioBus);
+        return pools.computeIfAbsent(rio ? rioBus : bus, (name) ->
+            Executors.newFixedThreadPool(rio ? Constants.Configs.rioThreads : Constants.Configs.canivoreThreads, (runnable) -> {
+                Thread thread = new Thread(runnable, "DeviceConfigurator-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }));
+    }
+
+    // Where two configs of the same kind first differ, comparing each group's settings in turn, or null if they don't
+    static String mismatch(String path, Object sent, Object readBack) {
+        for (Field field : sent.getClass().getFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            Object expected;
+            Object actual;
+            try {
+                expected = field.get(sent);
+                actual = field.get(readBack);
+            } catch (IllegalAccessException e) {
+                continue;
+            }
+            String name = path + field.getName();
+            if (expected instanceof Double) {
+                // Devices keep settings at their own resolution, so allow for rounding
+                double e = (Double) expected;
+                double a = (Double) actual;
+                if (Math.abs(e - a) > Constants.Configs.tolerance * Math.max(1.0, Math.abs(e))) {
+                    return name + " read back " + a + ", not " + e;
+                }
+            } else if (expected instanceof Boolean || expected instanceof Integer || expected instanceof Enum || expected instanceof String) {
+                if (!expected.equals(actual)) {
+                    return name + " read back " + actual + ", not " + expected;
+                }
+            } else if (expected != null) {
+                String error = mismatch(name + ".", expected, actual);
+                if (error != null) {
+                    return error;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Wait for every config queued so far, up to Constants.Configs.bootTimeout altogether, and
+     * report how each went.  Any still going at the timeout are cancelled, so they stop writing
+     * while the robot runs, and are reported as unconfirmed.
+     */
+    public synchronized void awaitAll() {
+        long deadline = System.nanoTime() + (long) (Constants.Configs.bootTimeout * 1e9);
+        int failures = 0;
+        List<String> unconfirmed = new ArrayList<>();
+        for (int i = 0; i < pending.size(); i++) {
+            String device = devices.get(i);
+            Outcome outcome;
+            try {
+                outcome = pending.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                outcome = new Outcome("interrupted", 0, 0, null, Double.NaN);
+            } catch (ExecutionException e) {
+                outcome = new Outcome(e.getCause().toString(), 0, 0, null, Double.NaN);
+            } catch (TimeoutException e) {
+                pending.get(i).cancel(true);
+                unconfirmed.add(device);
+                outcome = new Outcome("timed out", 0, 0, null, Double.NaN);
+            }
+            if (outcome.error == null) {
+                String written = outcome.writes == 0 ? "unchanged"
+                    : outcome.sections < 0 ? "wrote whole config (" + outcome.fallback + ")"
+                    : "wrote " + outcome.sections + " sections";
+                DogLog.log("Configs/" + device, String.format("OK in %.1f ms, %s", outcome.milliseconds, written));
+            } else {
+                failures++;
+                String fallback = outcome.fallback == null ? "" : " (wrote whole config: " + outcome.fallback + ")";
+                DogLog.log("Configs/" + device, String.format("Failed after %d writes: %s%s", outcome.writes, outcome.error, fallback));
+                DriverStation.reportWarning("Failed to configure " + device + ": " + outcome.error, false);
+            }
+        }
+        DogLog.log("Configs/Status", String.format("Configured %d of %d devices in %.1f ms",
+            pending.size() - failures, pending.size(), (System.nanoTime() - start) / 1e6));
+        if (!unconfirmed.isEmpty()) {
+            DogLog.log("Configs/Unconfirmed", unconfirmed.toArray(new String[0]));
+            DriverStation.reportWarning("Gave up waiting for configs on " + String.join(", ", unconfirmed), false);
+        }
+        pending.clear();
+        devices.clear();
+    }
+}
@@ -0,0 +1,19 @@
+package frc.robot;
+
+import frc.lib.util.TunableNumber;
+
+public final class Gains {
+    /*
+     * Controller gains, tunable from the dashboard or by the simulated gain optimizer; defaults from Constants.
+     * They're read every loop, except that PathPlanner's path follower takes the path kPs once, when the
+     * robot starts; Choreo paths read them live.
+     */
+    public static final TunableNumber rotationKP = new TunableNumber("gains/Rotation kP", Constants.Pose.rotationPID.getP());
+    public static final TunableNumber maintainKP = new TunableNumber("gains/Maintain kP", Constants.Pose.maintainPID.getP());
+    public static final TunableNumber rotationKS = new TunableNumber("gains/Rotation kS", Constants.Pose.rotationKS);
+    public static final TunableNumber pathTranslationKP = new TunableNumber("gains/Path translation kP", Constants.Pose.pathTranslationKP);
+    public static final TunableNumber pathRotationKP = new TunableNumber("gains/Path rotation kP", Constants.Pose.pathRotationKP);
+    public static final TunableNumber driveKS = new TunableNumber("gains/Drive kS", Constants.Swerve.driveKS);
+    public static final TunableNumber driveKV = new TunableNumber("gains/Drive kV", Constants.Swerve.driveKV);
+    public static final TunableNumber driveKA = new TunableNumber("gains/Drive kA", Constants.Swerve.driveKA);
+}
@@ -11,6 +11,10 @@ public final class Options {
     public static final TunableOption optBrakeAfterTeleop = new TunableOption("Brake after teleOp", true);
     public static final TunableOption optMaintainAngle = new TunableOption("Maintain angle", true);
     public static final TunableOption optAimAtAmp = new TunableOption("Aim at Amp", true);
+    public static final TunableOption optFieldAssist = new TunableOption("Field assist", false);
+    public static final TunableOption optSetpointGenerator = new TunableOption("Swerve setpoint generator", false);
+    public static final TunableOption optTractionControl = new TunableOption("Traction control", false);
+    public static final TunableOption optSecondOrderKinematics = new TunableOption("Second order kinematics", false);
     // public static final TunableOption optVisionPoseInAuto = new TunableOption("Use Vision Pose in Auto", false);
     // public static final TunableOption optVisionPoseInTeleop = new TunableOption("Disable Vision Pose in Teleop", true);
 }
\ No newline at end of file
@@ -6,10 +6,14 @@ package frc.robot;
 
 import dev.doglog.DogLog;
 import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotBase;
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.lib.io.InputsLogger;
+import frc.robot.sim.SwerveDriveSim;
+import frc.robot.sim.VisionSimMetrics;
 import frc.robot.subsystems.LEDSubsystem;
 import frc.robot.subsystems.LEDSubsystem.BaseState;
 
@@ -25,6 +29,38 @@ public class Robot extends TimedRobot {
   private RobotContainer m_robotContainer;
 
   public static final CTREConfigs ctreConfigs = new CTREConfigs();
+  public static final DeviceConfigurator deviceConfigurator = new DeviceConfigurator();
+
+  /** Where subsystem inputs come from: real hardware, simulated hardware, or a log being replayed */
+  public enum Mode {
+    REAL,
+    SIM,
+    REPLAY
+  }
+
+  private static Mode mode = RobotBase.isReal() ? Mode.REAL : Mode.SIM;
+
+  public static Mode getMode() {
+    return mode;
+  }
+
+  /** Select the input source; must be called before the robot is constructed */
+  public static void setMode(Mode newMode) {
+    mode = newMode;
+  }
+
+  private static boolean stepped = false;
+
+  /** True when the simulated robot is stepped loop by loop by a test harness rather than running in real time */
+  public static boolean isStepped() {
+    return stepped;
+  }
+
+  /** Set by a harness that steps the robot itself; must be called before the robot is constructed */
+  public static void setStepped(boolean isStepped) {
+    stepped = isStepped;
+  }
+
   /**
    * This function is run when the robot is first started up and should be used for any
    * initialization code.
@@ -39,6 +75,19 @@ public class Robot extends TimedRobot {
     DogLog.log("Misc/Robot Status", "Robot has Started");
   }
 
+  /**
+   * Record the driver station and dashboard state for this loop before anything reacts to it.
+   * The mode's init and periodic functions run before robotPeriodic(), and autonomousInit() reads
+   * the auto chooser, so the cycle has to start here, ahead of all of them.
+   */
+  @Override
+  protected void loopFunc() {
+    // super.loopFunc() refreshes the driver station data as well, but too late to record it first
+    DriverStation.refreshData();
+    InputsLogger.beginCycle();
+    super.loopFunc();
+  }
+
   /**
    * This function is called every 20 ms, no matter the mode. Use this for items like diagnostics
    * that you want ran during disabled, autonomous, teleoperated and test.
@@ -82,6 +131,11 @@ public class Robot extends TimedRobot {
     }
   }
 
+  /** The autonomous command most recently started, if any */
+  public Command getAutonomousCommand() {
+    return m_autonomousCommand;
+  }
+
   /** This function is called periodically during autonomous. */
   @Override
   public void autonomousPeriodic() {}
@@ -126,7 +180,23 @@ public class Robot extends TimedRobot {
 
   /** This function is called periodically whilst in simulation. */
   @Override
-  public void simulationPeriodic() {}
+  public void simulationPeriodic() {
+    if (VisionSimMetrics.getInstance() != null) {
+      VisionSimMetrics.getInstance().update();
+    }
+    if (SwerveDriveSim.getInstance() != null) {
+      SwerveDriveSim.getInstance().update(kDefaultPeriod);
+    }
+  }
+
+  /**
+   * Run exactly one iteration of the robot loop (mode transitions, periodic functions and the
+   * scheduler) without waiting for the loop timer.  Used to drive the robot from replay and
+   * simulation harnesses.
+   */
+  public void runLoopIteration() {
+    loopFunc();
+  }
 
   public static boolean isRed() {
     var alliance = DriverStation.getAlliance();
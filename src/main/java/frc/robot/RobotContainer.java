@@ -1,13 +1,15 @@
 package frc.robot;
 
+import java.io.File;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Supplier;
 
-import com.pathplanner.lib.auto.AutoBuilder;
 import com.pathplanner.lib.auto.NamedCommands;
-import com.pathplanner.lib.commands.FollowPathHolonomic;
-import com.pathplanner.lib.commands.PathPlannerAuto;
+import com.pathplanner.lib.commands.PathfindThenFollowPathHolonomic;
 import com.pathplanner.lib.path.PathPlannerPath;
+import com.pathplanner.lib.pathfinding.Pathfinding;
+import com.pathplanner.lib.util.GeometryUtil;
 import com.pathplanner.lib.util.HolonomicPathFollowerConfig;
 import com.pathplanner.lib.util.PIDConstants;
 import com.pathplanner.lib.util.ReplanningConfig;
@@ -16,9 +18,9 @@ import dev.doglog.DogLog;
 import dev.doglog.DogLogOptions;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.Filesystem;
 import edu.wpi.first.wpilibj.GenericHID;
 import edu.wpi.first.wpilibj.XboxController;
-import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
@@ -27,7 +29,14 @@ import edu.wpi.first.wpilibj2.command.DeferredCommand;
 import edu.wpi.first.wpilibj2.command.PrintCommand;
 import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
 import edu.wpi.first.wpilibj2.command.button.Trigger;
+import frc.lib.io.DashboardInputs;
+import frc.lib.io.InputsLogger;
+import frc.lib.pathfinding.NavGridPathfinder;
+import frc.lib.pathfinding.SignedDistanceField;
 import frc.robot.commands.*;
+import frc.robot.io.*;
+import frc.robot.sim.SwerveDriveSim;
+import frc.robot.sim.VisionSimMetrics;
 import frc.robot.subsystems.*;
 import static frc.robot.Options.*;
 import frc.robot.subsystems.ClimberSubsystem.ClimberSelection;
@@ -69,24 +78,98 @@ public class RobotContainer {
     private final Trigger sourceAlignButton = driver.povUp();
 
     /* Subsystems */
-    private final Swerve s_Swerve = new Swerve();
-    private final IntakeSubsystem s_Intake = new IntakeSubsystem();
-    private final ShooterSubsystem s_Shooter = new ShooterSubsystem();
-    private final IndexSubsystem s_Index = new IndexSubsystem();
-    private final ClimberSubsystem s_LeftClimber = new ClimberSubsystem(ClimberSelection.LEFT);
-    private final ClimberSubsystem s_RightClimber = new ClimberSubsystem(ClimberSelection.RIGHT);
+    private final Swerve s_Swerve;
+    private final IntakeSubsystem s_Intake;
+    private final ShooterSubsystem s_Shooter;
+    private final IndexSubsystem s_Index;
+    private final ClimberSubsystem s_LeftClimber;
+    private final ClimberSubsystem s_RightClimber;
     @SuppressWarnings ("unused")
-    private final LEDSubsystem s_Led = new LEDSubsystem();
-    private final VisionSubsystem s_Vision = new VisionSubsystem();
+    private final LEDSubsystem s_Led;
+    private final VisionSubsystem s_Vision;
     @SuppressWarnings ("unused")
-    private final PoseSubsystem s_Pose = new PoseSubsystem(s_Swerve, s_Vision);
+    private final PoseSubsystem s_Pose;
 
-    private final SendableChooser<Command> autoChooser;
+    private final AutoLoader autoLoader;
 
     /**
      * The container for the robot. Contains subsystems, OI devices, and commands.
      */
     public RobotContainer() {
+        // Start parsing autos and paths right away, while the hardware is being set up
+        autoLoader = new AutoLoader();
+
+        // Hardware is only touched through the IO layer, so the same subsystems run on the robot, in simulation, or from a log
+        GyroIO gyroIO;
+        switch (Robot.getMode()) {
+            case SIM:
+                // The vendor simulation only runs in real time, so the accelerated harness uses plain Java motor models
+                if (Robot.isStepped()) {
+                    ModuleIOSim[] modules = {
+                        new ModuleIOSim(Constants.Swerve.Mod0.constants),
+                        new ModuleIOSim(Constants.Swerve.Mod1.constants),
+                        new ModuleIOSim(Constants.Swerve.Mod2.constants),
+                        new ModuleIOSim(Constants.Swerve.Mod3.constants)
+                    };
+                    new SwerveDriveSim(modules, null);
+                    s_Swerve = new Swerve(modules[0], modules[1], modules[2], modules[3]);
+                    gyroIO = new GyroIOSim(() -> SwerveDriveSim.getInstance().getSpeeds());
+                } else {
+                    ModuleIOTalonFXSim[] modules = {
+                        new ModuleIOTalonFXSim(Constants.Swerve.Mod0.constants),
+                        new ModuleIOTalonFXSim(Constants.Swerve.Mod1.constants),
+                        new ModuleIOTalonFXSim(Constants.Swerve.Mod2.constants),
+                        new ModuleIOTalonFXSim(Constants.Swerve.Mod3.constants)
+                    };
+                    GyroIOPigeon2Sim gyro = new GyroIOPigeon2Sim();
+                    new SwerveDriveSim(modules, gyro);
+                    s_Swerve = new Swerve(modules[0], modules[1], modules[2], modules[3]);
+                    gyroIO = gyro;
+                }
+                s_Intake = new IntakeSubsystem(new IntakeIOSim());
+                s_Shooter = new ShooterSubsystem(new ShooterIOSim());
+                s_Index = new IndexSubsystem(new IndexIOSim(true));
+                s_LeftClimber = new ClimberSubsystem(ClimberSelection.LEFT, new ClimberIOSim());
+                s_RightClimber = new ClimberSubsystem(ClimberSelection.RIGHT, new ClimberIOSim());
+                s_Led = new LEDSubsystem();
+                VisionIOSim visionIO = new VisionIOSim(() -> SwerveDriveSim.getInstance().getPose());
+                new VisionSimMetrics(visionIO);
+                s_Vision = new VisionSubsystem(visionIO);
+                s_Pose = new PoseSubsystem(s_Swerve, s_Vision, gyroIO);
+                break;
+
+            case REPLAY:
+                s_Swerve = new Swerve(new ModuleIOReplay("Swerve/Module0"), new ModuleIOReplay("Swerve/Module1"), new ModuleIOReplay("Swerve/Module2"), new ModuleIOReplay("Swerve/Module3"));
+                s_Intake = new IntakeSubsystem(new IntakeIOReplay("Intake"));
+                s_Shooter = new ShooterSubsystem(new ShooterIOReplay("Shooter"));
+                s_Index = new IndexSubsystem(new IndexIOReplay("Index"));
+                s_LeftClimber = new ClimberSubsystem(ClimberSelection.LEFT, new ClimberIOReplay("Climber/LEFT"));
+                s_RightClimber = new ClimberSubsystem(ClimberSelection.RIGHT, new ClimberIOReplay("Climber/RIGHT"));
+                s_Led = new LEDSubsystem();
+                s_Vision = new VisionSubsystem(new VisionIOReplay("Vision"));
+                s_Pose = new PoseSubsystem(s_Swerve, s_Vision, new GyroIOReplay("Pose/Gyro"));
+                break;
+
+            case REAL:
+            default:
+                s_Swerve = new Swerve(
+                    new ModuleIOTalonFX(Constants.Swerve.Mod0.constants),
+                    new ModuleIOTalonFX(Constants.Swerve.Mod1.constants),
+                    new ModuleIOTalonFX(Constants.Swerve.Mod2.constants),
+                    new ModuleIOTalonFX(Constants.Swerve.Mod3.constants));
+                s_Intake = new IntakeSubsystem(new IntakeIOTalonFX());
+                s_Shooter = new ShooterSubsystem(new ShooterIOTalonFX());
+                s_Index = new IndexSubsystem(new IndexIOTalonFX());
+                s_LeftClimber = new ClimberSubsystem(ClimberSelection.LEFT, new ClimberIOTalonFX(ClimberSelection.LEFT));
+                s_RightClimber = new ClimberSubsystem(ClimberSelection.RIGHT, new ClimberIOTalonFX(ClimberSelection.RIGHT));
+                s_Led = new LEDSubsystem();
+                s_Vision = new VisionSubsystem(new VisionIOPhoton());
+                s_Pose = new PoseSubsystem(s_Swerve, s_Vision, new GyroIOPigeon2());
+                break;
+        }
+        // Device configs have been going on in the background while everything was built
+        Robot.deviceConfigurator.awaitAll();
+
         s_Swerve.setDefaultCommand(
                 new TeleopSwerve(
                         s_Swerve,
@@ -95,7 +178,8 @@ public class RobotContainer {
                         () -> -translation.get() * Constants.driveStickSensitivity,
                         () -> -strafe.get() * Constants.driveStickSensitivity,
                         () -> -rotation.get() * Constants.turnStickSensitivity,
-                        s_Swerve::getSpeedLimitRot
+                        s_Swerve::getSpeedLimitRot,
+                        new SignedDistanceField(new File(Filesystem.getDeployDirectory(), "pathplanner/navgrid.json"), Constants.Pose.fieldLength)
                         ));
 
         s_Shooter.setDefaultCommand(Commands.startEnd(s_Shooter::idle, () -> {}, s_Shooter).withName("Shooter Idle"));
@@ -106,115 +190,47 @@ public class RobotContainer {
 
         // Default named commands for PathPlanner
         SmartDashboard.putNumber("auto/Startup delay", 0.0);
-        NamedCommands.registerCommand("Done", new PrintCommand("Done"));
-        NamedCommands.registerCommand("Start", new PrintCommand("Starting"));
-        NamedCommands.registerCommand("Startup delay", new DeferredCommand(() ->Commands.waitSeconds(SmartDashboard.getNumber("auto/Startup delay", 0.0)), Set.of()));
-        NamedCommands.registerCommand("Shoot",
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Named 'Shoot' command starting");})
-            .andThen(
-                (Commands.runOnce(() -> { DogLog.log("Auto/Status", "Before ShootCommand");}).andThen(new ShootCommand(s_Shooter, s_Index, s_Swerve)).andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "After ShootCommand");})))
-                 .raceWith(Commands.runOnce(() -> { DogLog.log("Auto/Status", "Before AimCommand");}).andThen(new AimCommand(s_Swerve, s_Vision)).andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "After AimCommand");})))
-                 .raceWith(Commands.runOnce(() -> { DogLog.log("Auto/Status", "Before waitSeconds");}).andThen(Commands.waitSeconds(2.50)).andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "After waitSeconds");}))))
-            .andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "After race group");}))
-            .andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "Named 'Shoot' command ending");}))
-        );
-        NamedCommands.registerCommand("Shoot without aiming",
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Begin shot w/o aim");})
-            .andThen(
-                (new ShootCommand(s_Shooter, s_Index, s_Swerve, false)
-                .raceWith(Commands.waitSeconds(1.50))))
-            .andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "Shot w/o aim complete");}))  
-        );
-        NamedCommands.registerCommand("Fixed SW shot",
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Begin SW shot");})
-            .andThen(Commands.runOnce(() -> { s_Shooter.setNextShot(Speed.SUBWOOFER); }))
-            .andThen(
-                (new ShootCommand(s_Shooter, s_Index, false)
-                .raceWith(Commands.waitSeconds(1.50))))
-            .andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "SW complete");}))
-        );
-        NamedCommands.registerCommand("Fixed AS shot",
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Begin AS shot");})
-            .andThen(Commands.runOnce(() -> { s_Shooter.setNextShot(Speed.AMPSIDE); }))
-            .andThen(
-                (new ShootCommand(s_Shooter, s_Index, false)
-                .raceWith(Commands.waitSeconds(1.50))))
-            .andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "AS complete");}))
-        );
-        NamedCommands.registerCommand("Shoot OTF",
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Begin OTF");})
-            .andThen(Commands.runOnce(() -> { s_Shooter.setNextShot(Speed.OTF); }))
-            .andThen(
-                (new ShootCommand(s_Shooter, s_Index, false)
-                .raceWith(Commands.waitSeconds(1.50))))
-            .andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "Shot OTF complete");}))
-        );
-        NamedCommands.registerCommand("Amp-side OTF Shot",
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Begin Amp-side OTF Shot");})
-            .andThen(Commands.runOnce(() -> { s_Shooter.setNextShot(Speed.AMPSIDEOTF); }))
-            .andThen(
-                (new ShootCommand(s_Shooter, s_Index, false)
-                .raceWith(Commands.waitSeconds(1.00))))
-            .andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "Amp-side OTF Shot complete");}))
-        );
-        NamedCommands.registerCommand("Source-side OTF Shot",
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Begin Source-side OTF Shot");})
-            .andThen(Commands.runOnce(() -> { s_Shooter.setNextShot(Speed.SOURCESIDEOTF); }))
-            .andThen(
-                (new ShootCommand(s_Shooter, s_Index, false)
-                .raceWith(Commands.waitSeconds(1.00))))
-            .andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "Source-side OTF Shot complete");}))
-        );
-        NamedCommands.registerCommand("Intake note",
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Beginning Intake");})
-            .andThen(new IntakeCommand(s_Intake, s_Index, driver.getHID()))
-            .andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "Intake Complete");}))
-            );
-
-        NamedCommands.registerCommand("Amp Shot",
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Begin Amp Shot");})
-            .andThen(Commands.runOnce(() -> { s_Shooter.setNextShot(Speed.AMP); }))
-            .andThen(
-                (new ShootCommand(s_Shooter, s_Index, false)
-                .raceWith(Commands.waitSeconds(1.00))))
-            .andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "Amp Shot complete");}))
-        );
-        NamedCommands.registerCommand("Bloop Shot",
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Begin Bloop Shot");})
-            .andThen(Commands.runOnce(() -> { s_Shooter.setNextShot(Speed.BLOOP); }))
-            .andThen(
-                (new ShootCommand(s_Shooter, s_Index, false)
-                .raceWith(Commands.waitSeconds(1.00))))
-            .andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "Bloop Shot complete");}))
+        registerNamedCommand("Done", new PrintCommand("Done"));
+        registerNamedCommand("Start", new PrintCommand("Starting"));
+        registerNamedCommand("Startup delay", new DeferredCommand(() ->Commands.waitSeconds(SmartDashboard.getNumber("auto/Startup delay", 0.0)), Set.of()));
+        // Logging is done by LoggedCommand, inside each command's own start and end, since every
+        // extra step in a sequence costs a robot loop
+        registerNamedCommand("Shoot",
+            new LoggedCommand(
+                new ShotSupervisor(
+                    new LoggedCommand(new ShootCommand(s_Shooter, s_Index, s_Swerve), "Before ShootCommand", "After ShootCommand")
+                    .raceWith(new LoggedCommand(new AimCommand(s_Swerve, s_Vision), "Before AimCommand", "After AimCommand")),
+                    s_Shooter, s_Index, s_Vision, true, 2.50),
+                "Named 'Shoot' command starting", "Named 'Shoot' command ending")
         );
-        NamedCommands.registerCommand("Slide Shot",
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Begin Slide shot");})
-            .andThen(Commands.runOnce(() -> { s_Shooter.setNextShot(Speed.SLIDE); }))
-            .andThen(
-                (new ShootCommand(s_Shooter, s_Index, false)
-                .raceWith(Commands.waitSeconds(1.00))))
-            .andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "Slide shot complete");}))
+        // For path event markers: shoots without stopping the path, which keeps driving while aiming
+        registerNamedCommand("Shoot while moving",
+            new LoggedCommand(
+                new MovingShotCommand(s_Shooter, s_Index, s_Swerve, s_Vision).withTimeout(Constants.Shooter.movingShotMaxTime),
+                "Begin moving shot", "Moving shot complete")
         );
-        NamedCommands.registerCommand("Short Slide Shot",
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Begin Short Slide shot");})
-            .andThen(Commands.runOnce(() -> { s_Shooter.setNextShot(Speed.SHORTSLIDE); }))
-            .andThen(
-                (new ShootCommand(s_Shooter, s_Index, false)
-                .raceWith(Commands.waitSeconds(1.00))))
-            .andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "Short Slide shot complete");}))
+        registerNamedCommand("Shoot without aiming",
+            new LoggedCommand(
+                new ShotSupervisor(new ShootCommand(s_Shooter, s_Index, s_Swerve, false), s_Shooter, s_Index, s_Vision, false, 1.50),
+                "Begin shot w/o aim", "Shot w/o aim complete")
         );
-        NamedCommands.registerCommand("Special Shot",
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Begin Special shot");})
-            .andThen(Commands.runOnce(() -> { s_Shooter.setNextShot(Speed.SPECIAL); }))
-            .andThen(
-                (new ShootCommand(s_Shooter, s_Index, false)
-                .raceWith(Commands.waitSeconds(1.00))))
-            .andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "Special shot complete");}))
-        );
-        NamedCommands.registerCommand("Override rotation", Commands.runOnce(s_Vision::enableRotationTargetOverride));
-        NamedCommands.registerCommand("Restore rotation", Commands.runOnce(s_Vision::disableRotationTargetOverride));
-        NamedCommands.registerCommand("Stop", Commands.runOnce(s_Swerve::stopSwerve));
-        NamedCommands.registerCommand("Set Instant Pose", Commands.runOnce(() ->
+        registerNamedCommand("Fixed SW shot", loggedShot(Speed.SUBWOOFER, 1.50, "Begin SW shot", "SW complete"));
+        registerNamedCommand("Fixed AS shot", loggedShot(Speed.AMPSIDE, 1.50, "Begin AS shot", "AS complete"));
+        registerNamedCommand("Shoot OTF", loggedShot(Speed.OTF, 1.50, "Begin OTF", "Shot OTF complete"));
+        registerNamedCommand("Amp-side OTF Shot", loggedShot(Speed.AMPSIDEOTF, 1.00, "Begin Amp-side OTF Shot", "Amp-side OTF Shot complete"));
+        registerNamedCommand("Source-side OTF Shot", loggedShot(Speed.SOURCESIDEOTF, 1.00, "Begin Source-side OTF Shot", "Source-side OTF Shot complete"));
+        registerNamedCommand("Intake note",
+            new LoggedCommand(new IntakeCommand(s_Intake, s_Index, driver.getHID()), "Beginning Intake", "Intake Complete"));
+
+        registerNamedCommand("Amp Shot", loggedShot(Speed.AMP, 1.00, "Begin Amp Shot", "Amp Shot complete"));
+        registerNamedCommand("Bloop Shot", loggedShot(Speed.BLOOP, 1.00, "Begin Bloop Shot", "Bloop Shot complete"));
+        registerNamedCommand("Slide Shot", loggedShot(Speed.SLIDE, 1.00, "Begin Slide shot", "Slide shot complete"));
+        registerNamedCommand("Short Slide Shot", loggedShot(Speed.SHORTSLIDE, 1.00, "Begin Short Slide shot", "Short Slide shot complete"));
+        registerNamedCommand("Special Shot", loggedShot(Speed.SPECIAL, 1.00, "Begin Special shot", "Special shot complete"));
+        registerNamedCommand("Override rotation", Commands.runOnce(s_Vision::enableRotationTargetOverride));
+        registerNamedCommand("Restore rotation", Commands.runOnce(s_Vision::disableRotationTargetOverride));
+        registerNamedCommand("Stop", Commands.runOnce(s_Swerve::stopSwerve));
+        registerNamedCommand("Set Instant Pose", Commands.runOnce(() ->
             {
                 if (s_Vision.haveSpeakerTarget()) {
                     Pose2d pose = s_Vision.lastPose();
@@ -224,13 +240,23 @@ public class RobotContainer {
                     DogLog.log("Auto/Status", "Refusing to update pose from vision without a current speaker target");
                 }
             } ));
-        NamedCommands.registerCommand("Coast after auto", new CoastAfterAuto(s_Swerve));
-        NamedCommands.registerCommand("Coast drive motors", Commands.runOnce(s_Swerve::setDriveMotorsToCoast));
+        registerNamedCommand("Coast after auto", new CoastAfterAuto(s_Swerve));
+        registerNamedCommand("Coast drive motors", Commands.runOnce(s_Swerve::setDriveMotorsToCoast));
+
+        // Plan on the navgrid from wherever the robot is to the start of each alignment path
+        NavGridPathfinder pathfinder = new NavGridPathfinder(
+            new File(Filesystem.getDeployDirectory(), "pathplanner/navgrid.json"),
+            Constants.Pose.pathfindingInflation, Constants.Pose.pathfindingClearance, Constants.Pose.pathfindingClearanceWeight);
+        Pathfinding.setPathfinder(pathfinder);
+        for (String pathName : List.of("To Amp", "To Source", "To Speaker", "To Speaker-AmpSide", "To Speaker-SourceSide")) {
+            pathfinder.warmGoal(() -> autoLoader.getPath(pathName).getPoint(0).position);
+            pathfinder.warmGoal(() -> GeometryUtil.flipFieldPosition(autoLoader.getPath(pathName).getPoint(0).position));
+        }
 
-        // Build an autoChooser (defaults to none)
-        autoChooser = AutoBuilder.buildAutoChooser();
-        SmartDashboard.putData("auto/Auto Chooser", autoChooser);
-        buildAutos(autoChooser);
+        // Build an auto chooser (defaults to none); autos are built once picked
+        autoLoader.addPathPlannerAutos();
+        buildAutos();
+        SmartDashboard.putData("auto/Auto Chooser", autoLoader.getChooser());
 
         // During calibration allow for direct control
         //SmartDashboard.putNumber("Shooter voltage direct", 0.0);
@@ -247,6 +273,19 @@ public class RobotContainer {
         SmartDashboard.putData("Zero heading", Commands.print("Zeroing heading").andThen(Commands.runOnce(s_Pose::zeroHeading, s_Swerve)).andThen(Commands.print("Heading zeroed")).withName("Zero heading")); //TODO: Test
         SmartDashboard.putData("Reset heading", Commands.print("Resetting heading").andThen(Commands.runOnce(s_Pose::resetHeading, s_Swerve)).andThen(Commands.print("Heading reset")).withName("Reset heading"));
 
+        // Dashboard values read by robot code are operator inputs, so they are logged for replay
+        DashboardInputs dashboardInputs = InputsLogger.getDashboardInputs();
+        dashboardInputs.registerNumber("TeleOp Speed Governor");
+        dashboardInputs.registerNumber("auto/Startup delay");
+        dashboardInputs.registerNumber("shooter/Top RPM adjustment");
+        dashboardInputs.registerNumber("shooter/Bottom RPM adjustment");
+        dashboardInputs.registerNumber("Shooter top RPM");
+        dashboardInputs.registerNumber("Shooter bottom RPM");
+        dashboardInputs.registerNumber("Left climber voltage");
+        dashboardInputs.registerNumber("Right climber voltage");
+        dashboardInputs.registerString("auto/Auto Chooser/selected");
+        dashboardInputs.registerString("shooter/Default shot/selected");
+
         // Allow for direct climber control
         SmartDashboard.putData("Stop climbers", Commands.runOnce(() -> { s_LeftClimber.stop(); s_RightClimber.stop(); }, s_LeftClimber, s_RightClimber));
         SmartDashboard.putData("Left down slow", Commands.runOnce(() -> { s_LeftClimber.applyVoltage(Constants.Climber.slowVoltage); }, s_LeftClimber));
@@ -262,9 +301,9 @@ public class RobotContainer {
         SmartDashboard.putNumber("Right climber target position", 0.0);
         SmartDashboard.putData("Set right climber position", new ClimberPositionCommand(SmartDashboard.getNumber("Right climber target position", 0.0), LEDSubsystem.TempState.RETRACTING, s_RightClimber));
 
-        SmartDashboard.putData("autoSetup/SetSwerveCoast", Commands.runOnce(() -> { DogLog.log("Auto/Status", "Coasting Swerve Motors");}).andThen(Commands.runOnce(s_Swerve::setMotorsToCoast, s_Swerve)).andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "Swerve Motors Coasted");})).ignoringDisable(true));
-        SmartDashboard.putData("autoSetup/SetSwerveBrake", Commands.runOnce(() -> { DogLog.log("Auto/Status", "Braking Swerve Motors");}).andThen(Commands.runOnce(s_Swerve::setMotorsToBrake, s_Swerve)).andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "Swerve Motors Braked");})).ignoringDisable(true));
-        SmartDashboard.putData("autoSetup/SetSwerveAligned", Commands.runOnce(() -> { DogLog.log("Auto/Status", "Aligning Swerve Motors");}).andThen(Commands.run(s_Swerve::alignStraight, s_Swerve)).andThen(Commands.runOnce(() -> { DogLog.log("Auto/Status", "Swerve Motors Aligned");})).ignoringDisable(true));
+        SmartDashboard.putData("autoSetup/SetSwerveCoast", new LoggedCommand(Commands.runOnce(s_Swerve::setMotorsToCoast, s_Swerve), "Coasting Swerve Motors", "Swerve Motors Coasted").ignoringDisable(true));
+        SmartDashboard.putData("autoSetup/SetSwerveBrake", new LoggedCommand(Commands.runOnce(s_Swerve::setMotorsToBrake, s_Swerve), "Braking Swerve Motors", "Swerve Motors Braked").ignoringDisable(true));
+        SmartDashboard.putData("autoSetup/SetSwerveAligned", new LoggedCommand(Commands.run(s_Swerve::alignStraight, s_Swerve), "Aligning Swerve Motors", "Swerve Motors Aligned").ignoringDisable(true));
 
         DogLog.setOptions(new DogLogOptions(
             Constants.atHQ, //Whether logged values should be published to NetworkTables
@@ -333,116 +372,70 @@ public class RobotContainer {
 
         ejectButton.whileTrue(new EjectCommand(s_Intake, s_Index, s_Shooter));
 
-        ampShotButton.whileTrue(ampPathCommand().withName("Amp path & shoot"));
-        sourceAlignButton.whileTrue(sourcePathCommand().withName("Source align"));
-        SmartDashboard.putData("Speaker align", pathCommand("To Speaker"));
-        SmartDashboard.putData("Speaker Amp-Side align", pathCommand("To Speaker-AmpSide"));
-        SmartDashboard.putData("Speaker Source-Side align", pathCommand("To Speaker-SourceSide"));
+        // Paths may still be loading, so these are built when first run
+        ampShotButton.whileTrue(new DeferredCommand(this::ampPathCommand, Set.of(s_Swerve, s_Shooter, s_Index)).withName("Amp path & shoot"));
+        sourceAlignButton.whileTrue(new DeferredCommand(this::sourcePathCommand, Set.of(s_Swerve)).withName("Source align"));
+        SmartDashboard.putData("Speaker align", new DeferredCommand(() -> pathCommand("To Speaker"), Set.of(s_Swerve)).withName("To Speaker"));
+        SmartDashboard.putData("Speaker Amp-Side align", new DeferredCommand(() -> pathCommand("To Speaker-AmpSide"), Set.of(s_Swerve)).withName("To Speaker-AmpSide"));
+        SmartDashboard.putData("Speaker Source-Side align", new DeferredCommand(() -> pathCommand("To Speaker-SourceSide"), Set.of(s_Swerve)).withName("To Speaker-SourceSide"));
 
         SmartDashboard.putData("pose/Align to zero", Commands.runOnce(() -> { PoseSubsystem.setTargetAngle(new Rotation2d()); }).withName("Align to zero"));
         SmartDashboard.putData("pose/Align to 90", Commands.runOnce(() -> { PoseSubsystem.setTargetAngle(new Rotation2d(Math.PI / 2.0)); }).withName("Align to 90"));
         SmartDashboard.putData("pose/Clear target angle", Commands.runOnce(() -> { PoseSubsystem.setTargetAngle(null); }).withName("Clear target angle"));
     }
 
+    // Named commands are timed, so autos can be broken down by what they spend their time on
+    private static void registerNamedCommand(String name, Command command) {
+        NamedCommands.registerCommand(name, new TimedCommand(name, command));
+    }
+
+    // A fixed shot without aiming, given up on once it can't finish within maxTime
+    private Command loggedShot(Speed speed, double maxTime, String startMessage, String endMessage) {
+        return new LoggedCommand(
+            new ShotSupervisor(new ShootCommand(s_Shooter, s_Index, false), s_Shooter, s_Index, s_Vision, false, maxTime),
+            () -> { s_Shooter.setNextShot(speed); },
+            startMessage, endMessage);
+    }
+
     /**
      * Use this to pass the autonomous command to the main {@link Robot} class.
      *
      * @return the command to run in autonomous
      */
     public Command getAutonomousCommand() {
-        return autoChooser.getSelected();
+        return autoLoader.getSelected();
     }
 
-    private void buildAutos(SendableChooser<Command> chooser) {
-        Command smartHG =
-            Commands.sequence(
-                new PathPlannerAuto("SS Angled Start to H"),
-                Commands.runOnce(() -> { DogLog.log("Auto/Status", "Ready for conditional part: " + s_Index.haveNote());}),
-                Commands.either(
-                    Commands.runOnce(() -> { DogLog.log("Auto/Status", "Running H-Shoot-G-Shoot");})
-                    .andThen(new PathPlannerAuto("H-Shoot-G-Shoot")),
-                    Commands.runOnce(() -> { DogLog.log("Auto/Status", "H-G-Shoot");}),
-                    s_Index::haveNote
-                ),
-                Commands.runOnce(() -> { DogLog.log("Auto/Status", "Conditional part over");})
-            ).withName("Smart HG");
-        chooser.addOption("Smart HG", smartHG);
-
-        // Command smartOTFHG =
-        //     Commands.sequence(
-        //         new PathPlannerAuto("Source-side OTF to H"),
-        //         Commands.either(
-        //             Commands.print("Running H-Shoot-G-Shoot").andThen(new PathPlannerAuto("H-Shoot-G-Shoot")),
-        //             Commands.print("Running H-G-Shoot").andThen(new PathPlannerAuto("H-G-Shoot")),
-        //             s_Index::haveNote
-        //         )
-        //     ).withName("Smart OTF HG");
-        // chooser.addOption("Smart OTF HG", smartOTFHG);
-
-        Command smartADEClose =
-            Commands.sequence(
-                new PathPlannerAuto("AS Angled + AD"),
-                Commands.runOnce(() -> { DogLog.log("Auto/Status", "Ready for conditional part: " + s_Index.haveNote());}),
-                Commands.either(
-                    Commands.runOnce(() -> { DogLog.log("Auto/Status", "Running DE from close");}).andThen(new PathPlannerAuto("DE from close")),
-                    Commands.runOnce(() -> { DogLog.log("Auto/Status", "Running D-E-Shoot");}).andThen(new PathPlannerAuto("D-E-Shoot")),
-                    s_Index::haveNote
-                ),
-                Commands.runOnce(() -> { DogLog.log("Auto/Status", "Conditional part over");})
-            ).withName("Smart ADE from Close");
-        chooser.addOption("Smart ADE from Close", smartADEClose);
-
-        Command smartADE =
-            Commands.sequence(
-                new PathPlannerAuto("AS Angled + AD"),
-                Commands.runOnce(() -> { DogLog.log("Auto/Status", "Ready for conditional part: " + s_Index.haveNote());}),
+    /**
+     * An auto that runs {@code start}, then carries on with {@code withNote} if it still has a note,
+     * or else {@code withoutNote} (null to stop there).  Each part is logged as it starts and ends.
+     */
+    private Command smartAuto(String start, String withNote, String withoutNote) {
+        Command noNote = withoutNote == null
+            ? new LoggedCommand(Commands.none(), "No note, stopping after " + start, null)
+            : new LoggedCommand(autoLoader.buildAuto(withoutNote), "Running " + withoutNote, null);
+        return Commands.sequence(
+            new LoggedCommand(autoLoader.buildAuto(start), null, "Ready for conditional part"),
+            new LoggedCommand(
                 Commands.either(
-                    Commands.runOnce(() -> { DogLog.log("Auto/Status", "Running DE from A");}).andThen(new PathPlannerAuto("DE from A")),
-                    Commands.runOnce(() -> { DogLog.log("Auto/Status", "Running D-E-Shoot");}).andThen(new PathPlannerAuto("D-E-Shoot")),
-                    s_Index::haveNote
-                ),
-                Commands.runOnce(() -> { DogLog.log("Auto/Status", "Conditional part over");})
-            ).withName("Smart ADE");
-        chooser.addOption("Smart ADE", smartADE);
-
-        Command smartBCAD =
-        Commands.sequence(
-            new PathPlannerAuto("BCAD start"),
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Ready for conditional part: " + s_Index.haveNote());}),
-            Commands.either(
-                Commands.runOnce(() -> { DogLog.log("Auto/Status", "Running DE from A");}).andThen(new PathPlannerAuto("DE from A")),
-                Commands.runOnce(() -> { DogLog.log("Auto/Status", "Running D-E-Shoot");}).andThen(new PathPlannerAuto("D-E-Shoot")),
-                s_Index::haveNote
-            ),
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Conditional part over");})
-        ).withName("Smart BCAD");
-        chooser.addOption("Smart BCAD", smartBCAD);
-
-        Command smartBCdirectAD =
-        Commands.sequence(
-            new PathPlannerAuto("BC-direct-AD start"),
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Ready for conditional part: " + s_Index.haveNote());}),
-            Commands.either(
-                Commands.runOnce(() -> { DogLog.log("Auto/Status", "Running DE from A");}).andThen(new PathPlannerAuto("DE from A")),
-                Commands.runOnce(() -> { DogLog.log("Auto/Status", "Running D-E-Shoot");}).andThen(new PathPlannerAuto("D-E-Shoot")),
-                s_Index::haveNote
-            ),
-            Commands.runOnce(() -> { DogLog.log("Auto/Status", "Conditional part over");})
-        ).withName("Smart BC-direct-AD");
-        chooser.addOption("Smart BC-direct-AD", smartBCdirectAD);
+                    new LoggedCommand(autoLoader.buildAuto(withNote), "Running " + withNote, null),
+                    noNote,
+                    s_Index::haveNote),
+                null, "Conditional part over"));
+    }
 
-        Command smartADEOTF =
-            Commands.sequence(
-                new PathPlannerAuto("Amp-side OTF + AD"),
-                Commands.either(
-                    new PathPlannerAuto("DE from A"),
-                    new PathPlannerAuto("D-E-Shoot"),
-                    s_Index::haveNote
-                )
-            ).withName("Smart ADE OTF");
-        chooser.addOption("Smart ADE OTF", smartADEOTF);
-
-        chooser.addOption("Choreo Test", choreoTestCommand());
+    private void buildAutos() {
+        autoLoader.addAuto("Smart HG", () -> smartAuto("SS Angled Start to H", "H-Shoot-G-Shoot", null).withName("Smart HG"));
+
+        // autoLoader.addAuto("Smart OTF HG", () -> smartAuto("Source-side OTF to H", "H-Shoot-G-Shoot", "H-G-Shoot").withName("Smart OTF HG"));
+
+        autoLoader.addAuto("Smart ADE from Close", () -> smartAuto("AS Angled + AD", "DE from close", "D-E-Shoot").withName("Smart ADE from Close"));
+        autoLoader.addAuto("Smart ADE", () -> smartAuto("AS Angled + AD", "DE from A", "D-E-Shoot").withName("Smart ADE"));
+        autoLoader.addAuto("Smart BCAD", () -> smartAuto("BCAD start", "DE from A", "D-E-Shoot").withName("Smart BCAD"));
+        autoLoader.addAuto("Smart BC-direct-AD", () -> smartAuto("BC-direct-AD start", "DE from A", "D-E-Shoot").withName("Smart BC-direct-AD"));
+        autoLoader.addAuto("Smart ADE OTF", () -> smartAuto("Amp-side OTF + AD", "DE from A", "D-E-Shoot").withName("Smart ADE OTF"));
+
+        autoLoader.addAuto("Choreo Test", this::choreoTestCommand);
     }
 
     public void teleopInit() {
@@ -458,25 +451,11 @@ public class RobotContainer {
     }
 
     private Command ampPathCommand() {
-        PathPlannerPath path = PathPlannerPath.fromPathFile("To Amp");
+        PathPlannerPath path = autoLoader.getPath("To Amp");
 
         return Commands.sequence(
             Commands.runOnce(s_Vision::enableRotationAmpOverride),
-            new FollowPathHolonomic(
-                path,
-                s_Pose::getPose, // Robot pose supplier
-                s_Swerve::getSpeeds, // ChassisSpeeds supplier. MUST BE ROBOT RELATIVE
-                s_Swerve::driveRobotRelativeAuto, // Method that will drive the robot given ROBOT RELATIVE ChassisSpeeds
-                new HolonomicPathFollowerConfig( // HolonomicPathFollowerConfig, this should likely live in your Constants class
-                    new PIDConstants(8.0, 0.0, 0.0), // Translation PID constants
-                    new PIDConstants(2.0, 0.0, 0.0), // Rotation PID constants
-                    Constants.Swerve.maxSpeed, // Max module speed, in m/s
-                    Constants.Swerve.driveRadius, // Drive base radius in meters. Distance from robot center to furthest module.
-                    new ReplanningConfig() // Default path replanning config. See the API for the options here
-                ),
-                Robot::isRed,
-                s_Swerve // Reference to this subsystem to set requirements
-            ),
+            pathfindThenFollow(path),
             Commands.runOnce(s_Vision::disableRotationAmpOverride),
             Commands.runOnce(() -> { s_Shooter.setNextShot(Speed.AMP); }),
             new ShootCommand(s_Shooter, s_Index, false)
@@ -484,73 +463,48 @@ public class RobotContainer {
     }
 
     private Command sourcePathCommand() {
-        PathPlannerPath path = PathPlannerPath.fromPathFile("To Source");
+        PathPlannerPath path = autoLoader.getPath("To Source");
 
         return Commands.sequence(
             Commands.runOnce(s_Vision::enableRotationSourceOverride),
-            new FollowPathHolonomic(
-                path,
-                s_Pose::getPose, // Robot pose supplier
-                s_Swerve::getSpeeds, // ChassisSpeeds supplier. MUST BE ROBOT RELATIVE
-                s_Swerve::driveRobotRelativeAuto, // Method that will drive the robot given ROBOT RELATIVE ChassisSpeeds
-                new HolonomicPathFollowerConfig( // HolonomicPathFollowerConfig, this should likely live in your Constants class
-                    new PIDConstants(8.0, 0.0, 0.0), // Translation PID constants
-                    new PIDConstants(2.0, 0.0, 0.0), // Rotation PID constants
-                    Constants.Swerve.maxSpeed, // Max module speed, in m/s
-                    Constants.Swerve.driveRadius, // Drive base radius in meters. Distance from robot center to furthest module.
-                    new ReplanningConfig() // Default path replanning config. See the API for the options here
-                ),
-                Robot::isRed,
-                s_Swerve // Reference to this subsystem to set requirements
-            ),
+            pathfindThenFollow(path),
             Commands.runOnce(s_Vision::disableRotationSourceOverride)
         ).handleInterrupt(s_Vision::disableRotationSourceOverride);
     }
 
     private Command pathCommand(String pathName) {
-        PathPlannerPath path = PathPlannerPath.fromPathFile(pathName);
+        PathPlannerPath path = autoLoader.getPath(pathName);
 
         return Commands.sequence(
             Commands.runOnce(s_Vision::enableRotationTargetOverride),
-            new FollowPathHolonomic(
-                path,
-                s_Pose::getPose, // Robot pose supplier
-                s_Swerve::getSpeeds, // ChassisSpeeds supplier. MUST BE ROBOT RELATIVE
-                s_Swerve::driveRobotRelativeAuto, // Method that will drive the robot given ROBOT RELATIVE ChassisSpeeds
-                new HolonomicPathFollowerConfig( // HolonomicPathFollowerConfig, this should likely live in your Constants class
-                    new PIDConstants(8.0, 0.0, 0.0), // Translation PID constants
-                    new PIDConstants(2.0, 0.0, 0.0), // Rotation PID constants
-                    Constants.Swerve.maxSpeed, // Max module speed, in m/s
-                    Constants.Swerve.driveRadius, // Drive base radius in meters. Distance from robot center to furthest module.
-                    new ReplanningConfig() // Default path replanning config. See the API for the options here
-                ),
-                Robot::isRed,
-                s_Swerve // Reference to this subsystem to set requirements
-            ),
+            pathfindThenFollow(path),
             Commands.runOnce(s_Vision::disableRotationTargetOverride)
         ).handleInterrupt(s_Vision::disableRotationTargetOverride)
         .withName(pathName);
     }
 
-    private Command choreoTestCommand() {
-        PathPlannerPath path = PathPlannerPath.fromChoreoTrajectory("Choreo-Straight");
+    // Drive to the start of a path from wherever the robot is, then follow it, with the alignment gains rather than the auto ones
+    private Command pathfindThenFollow(PathPlannerPath path) {
+        return new PathfindThenFollowPathHolonomic(
+            path,
+            path.getGlobalConstraints(),
+            s_Pose::getPose, // Robot pose supplier
+            s_Swerve::getSpeeds, // ChassisSpeeds supplier. MUST BE ROBOT RELATIVE
+            s_Swerve::driveRobotRelativeAuto, // Method that will drive the robot given ROBOT RELATIVE ChassisSpeeds
+            new HolonomicPathFollowerConfig(
+                new PIDConstants(Constants.Pose.alignTranslationKP, 0.0, 0.0), // Translation PID constants
+                new PIDConstants(Constants.Pose.alignRotationKP, 0.0, 0.0), // Rotation PID constants
+                Constants.Swerve.maxSpeed, // Max module speed, in m/s
+                Constants.Swerve.driveRadius, // Drive base radius in meters. Distance from robot center to furthest module.
+                new ReplanningConfig() // Default path replanning config. See the API for the options here
+            ),
+            Robot::isRed,
+            s_Swerve // Reference to this subsystem to set requirements
+        );
+    }
 
-        return Commands.sequence(
-            new FollowPathHolonomic(
-                path,
-                s_Pose::getPose, // Robot pose supplier
-                s_Swerve::getSpeeds, // ChassisSpeeds supplier. MUST BE ROBOT RELATIVE
-                s_Swerve::driveRobotRelativeAuto, // Method that will drive the robot given ROBOT RELATIVE ChassisSpeeds
-                new HolonomicPathFollowerConfig( // HolonomicPathFollowerConfig, this should likely live in your Constants class
-                    new PIDConstants(8.0, 0.0, 0.0), // Translation PID constants
-                    new PIDConstants(2.0, 0.0, 0.0), // Rotation PID constants
-                    Constants.Swerve.maxSpeed, // Max module speed, in m/s
-                    Constants.Swerve.driveRadius, // Drive base radius in meters. Distance from robot center to furthest module.
-                    new ReplanningConfig() // Default path replanning config. See the API for the options here
-                ),
-                Robot::isRed,
-                s_Swerve // Reference to this subsystem to set requirements
-            )
-        ).handleInterrupt(s_Vision::disableRotationSourceOverride);
+    private Command choreoTestCommand() {
+        // Followed with Choreo's module forces as feedforward, rather than converted to a PathPlannerPath
+        return new ChoreoFollowCommand(s_Swerve, "Choreo-Straight");
     }
 }
\ No newline at end of file
@@ -1,107 +1,203 @@
 package frc.robot;
 
-import com.ctre.phoenix6.controls.DutyCycleOut;
-import com.ctre.phoenix6.controls.PositionVoltage;
-import com.ctre.phoenix6.controls.VelocityVoltage;
-import com.ctre.phoenix6.hardware.CANcoder;
-import com.ctre.phoenix6.hardware.TalonFX;
+import java.util.function.DoubleSupplier;
+
 import com.ctre.phoenix6.signals.NeutralModeValue;
 
-import edu.wpi.first.math.controller.SimpleMotorFeedforward;
+import dev.doglog.DogLog;
+import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.kinematics.SwerveModulePosition;
 import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.wpilibj.Timer;
+import frc.lib.io.InputsLogger;
 import frc.lib.math.Conversions;
 import frc.lib.util.SwerveModuleConstants;
+import frc.robot.io.ModuleIO;
+import frc.robot.io.ModuleIO.ModuleIOInputs;
 
 public class SwerveModule {
     public int moduleNumber;
     private Rotation2d angleOffset;
 
-    private TalonFX mAngleMotor;
-    private TalonFX mDriveMotor;
-    private CANcoder angleEncoder;
-
-    private final SimpleMotorFeedforward driveFeedForward = new SimpleMotorFeedforward(Constants.Swerve.driveKS, Constants.Swerve.driveKV, Constants.Swerve.driveKA);
-
-    /* drive motor control requests */
-    private final DutyCycleOut driveDutyCycle = new DutyCycleOut(0).withEnableFOC(true);
-    private final VelocityVoltage driveVelocity = new VelocityVoltage(0).withEnableFOC(true);
-
-    /* angle motor control requests */
-    private final PositionVoltage anglePosition = new PositionVoltage(0).withEnableFOC(true);
-
-    public SwerveModule(int moduleNumber, SwerveModuleConstants moduleConstants){
+    private final ModuleIO io;
+    private final ModuleIOInputs inputs = new ModuleIOInputs();
+    private final String inputsKey;
+
+    // Drive feedforward gains, the module's own or else the shared ones, which are read each loop so they can be tuned
+    private final DoubleSupplier driveKS;
+    private final DoubleSupplier driveKV;
+    private final DoubleSupplier driveKA;
+    // kA was characterized accelerating the whole robot, so each module's share of the mass converts a force to an acceleration
+    private static final double moduleMass = Constants.Swerve.robotMass / 4.0;
+    // Past what the tread can grip, a jump in setpoint isn't an acceleration the motor should be fed forward for
+    private static final double maxAcceleration = Constants.Swerve.wheelCOF * 9.81;
+    // Volts to turn the module at one radian per second, from the angle motor's back EMF
+    private static final double angleVoltsPerRadPerSec = Constants.Swerve.angleGearRatio / Constants.Swerve.chosenModule.motor.KvRadPerSecPerVolt;
+
+    /* Last setpoint, to find the acceleration between it and the next */
+    private double lastSpeed = 0.0;
+    private Rotation2d lastAngle = new Rotation2d();
+    private double lastSetpointTime = Double.NEGATIVE_INFINITY;
+    private double lastReseedTime = Double.NEGATIVE_INFINITY;
+
+    public SwerveModule(int moduleNumber, SwerveModuleConstants moduleConstants, ModuleIO io){
         this.moduleNumber = moduleNumber;
         this.angleOffset = moduleConstants.angleOffset;
-        
-        /* Angle Encoder Config */
-        angleEncoder = new CANcoder(moduleConstants.cancoderID, moduleConstants.canBusID);
-        angleEncoder.getConfigurator().apply(Robot.ctreConfigs.swerveCANcoderConfig);
+        this.io = io;
+        this.inputsKey = "Swerve/Module" + moduleNumber;
+        if (moduleConstants.hasDriveFeedforward()) {
+            driveKS = () -> moduleConstants.driveKS;
+            driveKV = () -> moduleConstants.driveKV;
+            driveKA = () -> moduleConstants.driveKA;
+        } else {
+            driveKS = Gains.driveKS;
+            driveKV = Gains.driveKV;
+            driveKA = Gains.driveKA;
+        }
 
-        /* Angle Motor Config */
-        mAngleMotor = new TalonFX(moduleConstants.angleMotorID, moduleConstants.canBusID);
-        mAngleMotor.getConfigurator().apply(Robot.ctreConfigs.swerveAngleFXConfig);
-        resetToAbsolute();
+        // The angle motor starts out at the CANcoder's position, and checkSteerDrift() re-seeds it
+        // if they come apart, so it isn't reset here, before the CANcoder may have reported
+        updateInputs();
+    }
+
+    /** Read and log this module's sensors; called once per loop before anything uses them */
+    public void updateInputs(){
+        io.updateInputs(inputs);
+        InputsLogger.process(inputsKey, inputs);
+        checkSteerDrift();
+    }
 
-        /* Drive Motor Config */
-        mDriveMotor = new TalonFX(moduleConstants.driveMotorID, moduleConstants.canBusID);
-        mDriveMotor.getConfigurator().apply(Robot.ctreConfigs.swerveDriveFXConfig);
-        mDriveMotor.getConfigurator().setPosition(0.0);
+    /**
+     * Re-seed the angle motor if its position has wandered from the CANcoder's, e.g. after it
+     * rebooted from a brownout.  Only compared while the module is nearly still, so the two
+     * readings being taken at slightly different times doesn't look like drift, and not again until
+     * the last re-seed has had time to take effect.
+     */
+    private void checkSteerDrift(){
+        double now = Timer.getFPGATimestamp();
+        if (Math.abs(inputs.angleVelocityRPS) > Constants.Swerve.steerDriftSpeed
+                || now - lastReseedTime < Constants.Swerve.steerReseedInterval) {
+            return;
+        }
+        double drift = MathUtil.inputModulus(
+            getCANcoder().getRotations() - angleOffset.getRotations() - inputs.anglePositionRotations, -0.5, 0.5);
+        if (Math.abs(drift) > Constants.Swerve.steerDriftTolerance) {
+            DogLog.log(inputsKey + "/SteerDriftDegrees", drift * 360.0);
+            lastReseedTime = now;
+            resetToAbsolute();
+        }
     }
 
     public void setDesiredState(SwerveModuleState desiredState, boolean isOpenLoop){
         desiredState = SwerveModuleState.optimize(desiredState, getState().angle); 
-        mAngleMotor.setControl(anglePosition.withPosition(desiredState.angle.getRotations()));
-        setSpeed(desiredState, isOpenLoop);
+        io.setAnglePosition(desiredState.angle.getRotations());
+        setSpeed(desiredState, isOpenLoop, acceleration(desiredState));
     }
 
-    private void setSpeed(SwerveModuleState desiredState, boolean isOpenLoop){
+    /**
+     * With second order kinematics: the wheel acceleration and the rate the module is turning at
+     * come from how the chassis speeds are changing, rather than from the last setpoint.
+     *
+     * @param acceleration m/s^2 along the wheel
+     * @param steerVelocity rad/s, counterclockwise positive
+     */
+    public void setDesiredState(SwerveModuleState desiredState, boolean isOpenLoop, double acceleration, double steerVelocity){
+        Rotation2d requestedAngle = desiredState.angle;
+        desiredState = SwerveModuleState.optimize(desiredState, getState().angle); 
+        if (desiredState.angle.minus(requestedAngle).getCos() < 0.0) {
+            acceleration = -acceleration; // Reversed the wheel
+        }
+        io.setAnglePosition(desiredState.angle.getRotations(), steerVelocity * angleVoltsPerRadPerSec);
+        acceleration(desiredState); // Only to keep track
+        setSpeed(desiredState, isOpenLoop, MathUtil.clamp(acceleration, -maxAcceleration, maxAcceleration));
+    }
+
+    /**
+     * Closed loop, with the force this module should push with as extra feedforward, e.g. from a
+     * Choreo trajectory.
+     *
+     * @param forceX robot relative force on this module, in newtons
+     * @param forceY robot relative force on this module, in newtons
+     */
+    public void setDesiredState(SwerveModuleState desiredState, double forceX, double forceY){
+        desiredState = SwerveModuleState.optimize(desiredState, getState().angle); 
+        io.setAnglePosition(desiredState.angle.getRotations());
+        // Only the part of the force along the wheel can come from the drive motor
+        double force = forceX * desiredState.angle.getCos() + forceY * desiredState.angle.getSin();
+        acceleration(desiredState); // Only to keep track; the trajectory's force says how hard to accelerate
+        setSpeed(desiredState, false, MathUtil.clamp(force / moduleMass, -maxAcceleration, maxAcceleration));
+    }
+
+    /**
+     * Wheel acceleration from the last setpoint to this one, which is how PathPlanner paths and the
+     * setpoint generator pass on how hard to accelerate.  Only the last velocity's part along the
+     * new wheel angle counts, so steering isn't mistaken for speeding up.
+     */
+    private double acceleration(SwerveModuleState desiredState){
+        double now = Timer.getFPGATimestamp();
+        double dt = now - lastSetpointTime;
+        double acceleration = 0.0;
+        if (dt > 0.0 && dt < 0.1) {
+            double lastAlong = lastSpeed * desiredState.angle.minus(lastAngle).getCos();
+            acceleration = MathUtil.clamp((desiredState.speedMetersPerSecond - lastAlong) / dt, -maxAcceleration, maxAcceleration);
+        }
+        lastSpeed = desiredState.speedMetersPerSecond;
+        lastAngle = desiredState.angle;
+        lastSetpointTime = now;
+        return acceleration;
+    }
+
+    private void setSpeed(SwerveModuleState desiredState, boolean isOpenLoop, double acceleration){
         if(isOpenLoop){
-            driveDutyCycle.Output = desiredState.speedMetersPerSecond / Constants.Swerve.maxSpeed;
-            mDriveMotor.setControl(driveDutyCycle);
+            io.setDriveDutyCycle(desiredState.speedMetersPerSecond / Constants.Swerve.maxSpeed);
         }
         else {
-            driveVelocity.Velocity = Conversions.MPSToRPS(desiredState.speedMetersPerSecond, Constants.Swerve.wheelCircumference);
-            driveVelocity.FeedForward = driveFeedForward.calculate(desiredState.speedMetersPerSecond);
-            mDriveMotor.setControl(driveVelocity);
+            io.setDriveVelocity(
+                Conversions.MPSToRPS(desiredState.speedMetersPerSecond, Constants.Swerve.wheelCircumference),
+                driveFeedForward(desiredState.speedMetersPerSecond, acceleration));
         }
     }
 
+    // Volts for a wheel speed and acceleration, as SimpleMotorFeedforward would give
+    private double driveFeedForward(double speed, double acceleration){
+        return driveKS.getAsDouble() * Math.signum(speed) + driveKV.getAsDouble() * speed + driveKA.getAsDouble() * acceleration;
+    }
+
     public Rotation2d getCANcoder(){
-        return Rotation2d.fromRotations(angleEncoder.getAbsolutePosition().getValue());
+        return Rotation2d.fromRotations(inputs.absolutePositionRotations);
     }
 
     public void resetToAbsolute(){
         double absolutePosition = getCANcoder().getRotations() - angleOffset.getRotations();
-        mAngleMotor.setPosition(absolutePosition);
+        io.resetAnglePosition(absolutePosition);
     }
 
     public void setCoastMode(){
-        mDriveMotor.setNeutralMode(NeutralModeValue.Coast);
-        mAngleMotor.setNeutralMode(NeutralModeValue.Coast);
+        io.setDriveNeutralMode(NeutralModeValue.Coast);
+        io.setAngleNeutralMode(NeutralModeValue.Coast);
     }
 
     public void setDriveCoastMode(){
-        mDriveMotor.setNeutralMode(NeutralModeValue.Coast);
+        io.setDriveNeutralMode(NeutralModeValue.Coast);
     }
 
     public void setBrakeMode(){
-        mDriveMotor.setNeutralMode(NeutralModeValue.Brake);
-        mAngleMotor.setNeutralMode(NeutralModeValue.Brake);
+        io.setDriveNeutralMode(NeutralModeValue.Brake);
+        io.setAngleNeutralMode(NeutralModeValue.Brake);
     }
 
     public SwerveModuleState getState(){
         return new SwerveModuleState(
-            Conversions.RPSToMPS(mDriveMotor.getVelocity().getValue(), Constants.Swerve.wheelCircumference), 
-            Rotation2d.fromRotations(mAngleMotor.getPosition().getValue())
+            Conversions.RPSToMPS(inputs.driveVelocityRPS, Constants.Swerve.wheelCircumference), 
+            Rotation2d.fromRotations(inputs.anglePositionRotations)
         );
     }
 
     public SwerveModulePosition getPosition(){
         return new SwerveModulePosition(
-            Conversions.rotationsToMeters(mDriveMotor.getPosition().getValue(), Constants.Swerve.wheelCircumference), 
-            Rotation2d.fromRotations(mAngleMotor.getPosition().getValue())
+            Conversions.rotationsToMeters(inputs.drivePositionRotations, Constants.Swerve.wheelCircumference), 
+            Rotation2d.fromRotations(inputs.anglePositionRotations)
         );
     }
 }
@@ -0,0 +1,115 @@
+package frc.robot.commands;
+
+import java.io.IOException;
+
+import dev.doglog.DogLog;
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.lib.trajectory.CompactTrajectory;
+import frc.robot.Constants;
+import frc.robot.Gains;
+import frc.robot.Robot;
+import frc.robot.subsystems.PoseSubsystem;
+import frc.robot.subsystems.Swerve;
+
+/**
+ * Follows a Choreo trajectory, precompiled by compileTrajectories, using the force Choreo planned
+ * for each module as drive feedforward and proportional feedback on the pose error.
+ *
+ * <p>Converting a Choreo trajectory to a PathPlannerPath keeps only the poses and speeds, so the
+ * drive motors only find out the robot should accelerate once it has fallen behind.  With the
+ * module forces they push as hard as the trajectory needs from the start, which matters most on
+ * aggressive trajectories like rushes to the center line.
+ *
+ * <p>Choreo module forces are taken as field relative, in the order front left, front right,
+ * back left, back right, which is also our module order.  Mirrored for the red alliance, the
+ * robot's left and right swap, so each module takes the force planned for the one beside it.
+ *
+ * <p>A trajectory that hasn't been compiled can't be followed, so constructing this throws.
+ */
+public class ChoreoFollowCommand extends Command {
+    private final Swerve s_Swerve;
+    private final String trajectoryName;
+    private final CompactTrajectory trajectory;
+    private final CompactTrajectory.Sample sample;
+    private final Timer timer = new Timer();
+
+    private final double[] robotForcesX = new double[4];
+    private final double[] robotForcesY = new double[4];
+    private boolean flip;
+
+    public ChoreoFollowCommand(Swerve s_Swerve, String trajectoryName) {
+        this.s_Swerve = s_Swerve;
+        this.trajectoryName = trajectoryName;
+        try {
+            trajectory = CompactTrajectory.load(CompactTrajectory.choreo, trajectoryName).get(0);
+        } catch (IOException e) {
+            // Most likely compileTrajectories didn't run before deploying or simulating
+            throw new IllegalStateException("Failed to load Choreo trajectory " + trajectoryName, e);
+        }
+        sample = trajectory.newSample();
+        addRequirements(s_Swerve);
+        setName("Choreo " + trajectoryName);
+    }
+
+    @Override
+    public void initialize() {
+        flip = Robot.isRed();
+        timer.restart();
+        DogLog.log("Auto/Status", "Following Choreo trajectory " + trajectoryName);
+    }
+
+    @Override
+    public void execute() {
+        trajectory.sample(timer.get(), sample);
+
+        // Trajectories are planned for the blue alliance; mirror them for red as PathPlanner does
+        double x = flip ? Constants.Pose.fieldLength - sample.x : sample.x;
+        double vx = flip ? -sample.vx : sample.vx;
+        double heading = flip ? MathUtil.angleModulus(Math.PI - sample.heading) : sample.heading;
+        double omega = flip ? -sample.omega : sample.omega;
+
+        Pose2d pose = PoseSubsystem.getInstance().getPose();
+        double translationKP = Gains.pathTranslationKP.get();
+        double fieldVx = vx + translationKP * (x - pose.getX());
+        double fieldVy = sample.vy + translationKP * (sample.y - pose.getY());
+        double fieldOmega = omega + Gains.pathRotationKP.get() * MathUtil.angleModulus(heading - pose.getRotation().getRadians());
+        ChassisSpeeds speeds = ChassisSpeeds.fromFieldRelativeSpeeds(fieldVx, fieldVy, fieldOmega, pose.getRotation());
+
+        // Module forces into the robot's frame
+        double cos = pose.getRotation().getCos();
+        double sin = pose.getRotation().getSin();
+        for (int m = 0; m < robotForcesX.length; m++) {
+            // Mirrored, front left and front right swap, as do back left and back right
+            int planned = flip ? m ^ 1 : m;
+            double forceX = planned < sample.forceX.length ? (flip ? -sample.forceX[planned] : sample.forceX[planned]) : 0.0;
+            double forceY = planned < sample.forceY.length ? sample.forceY[planned] : 0.0;
+            robotForcesX[m] = forceX * cos + forceY * sin;
+            robotForcesY[m] = -forceX * sin + forceY * cos;
+        }
+        s_Swerve.driveRobotRelative(speeds, robotForcesX, robotForcesY);
+
+        Pose2d target = new Pose2d(x, sample.y, new Rotation2d(heading));
+        PoseSubsystem.getInstance().setAutoTargetPose(target);
+        DogLog.log("Auto/Choreo/Translation error", target.getTranslation().getDistance(pose.getTranslation()));
+        DogLog.log("Auto/Choreo/Module forces X", robotForcesX);
+        DogLog.log("Auto/Choreo/Module forces Y", robotForcesY);
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        PoseSubsystem.getInstance().setAutoTargetPose(null);
+        s_Swerve.driveRobotRelative(new ChassisSpeeds(), false);
+        timer.stop();
+        DogLog.log("Auto/Status", "Choreo trajectory " + trajectoryName + (interrupted ? " interrupted" : " complete"));
+    }
+
+    @Override
+    public boolean isFinished() {
+        return timer.hasElapsed(trajectory.getTotalTime());
+    }
+}
@@ -0,0 +1,61 @@
+package frc.robot.commands;
+
+import dev.doglog.DogLog;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.WrapperCommand;
+
+/**
+ * Logs when a command starts, finishes or is interrupted, from inside the command's own
+ * lifecycle.
+ *
+ * <p>Chaining {@code Commands.runOnce(() -> DogLog.log(...))} steps in a sequence costs a whole
+ * robot loop for each step, since a sequence only starts the next command on the following loop.
+ * Wrapping the command instead logs in the same loops the command starts and ends in.
+ */
+public class LoggedCommand extends WrapperCommand {
+    public static final String defaultKey = "Auto/Status";
+
+    private final String key;
+    private final String startMessage;
+    private final String endMessage;
+    private final Runnable onStart;
+
+    public LoggedCommand(Command command, String startMessage, String endMessage) {
+        this(command, null, startMessage, endMessage);
+    }
+
+    /**
+     * @param onStart run just before the wrapped command is initialized, in the same loop; for
+     *     setup such as picking the next shot that used to be its own sequence step
+     */
+    public LoggedCommand(Command command, Runnable onStart, String startMessage, String endMessage) {
+        this(defaultKey, command, onStart, startMessage, endMessage);
+    }
+
+    public LoggedCommand(String key, Command command, Runnable onStart, String startMessage, String endMessage) {
+        super(command);
+        this.key = key;
+        this.onStart = onStart;
+        this.startMessage = startMessage;
+        this.endMessage = endMessage;
+    }
+
+    @Override
+    public void initialize() {
+        if (startMessage != null) {
+            DogLog.log(key, startMessage);
+        }
+        if (onStart != null) {
+            onStart.run();
+        }
+        super.initialize();
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        super.end(interrupted);
+        if (endMessage != null) {
+            DogLog.log(key, interrupted ? endMessage + " (interrupted)" : endMessage);
+        }
+    }
+}
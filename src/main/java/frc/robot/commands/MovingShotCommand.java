@@ -0,0 +1,133 @@
+package frc.robot.commands;
+
+import dev.doglog.DogLog;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.Constants;
+import frc.robot.subsystems.IndexSubsystem;
+import frc.robot.subsystems.LEDSubsystem;
+import frc.robot.subsystems.PoseSubsystem;
+import frc.robot.subsystems.ShooterSubsystem;
+import frc.robot.subsystems.Swerve;
+import frc.robot.subsystems.VisionSubsystem;
+import frc.robot.subsystems.LEDSubsystem.TempState;
+
+/**
+ * Shoots at the speaker while a path keeps running, e.g. from a path event marker.
+ *
+ * <p>The note keeps the robot's velocity after it leaves, so the shot is aimed at where the
+ * speaker will appear to be: the speaker moved back along the robot's velocity by the note's time
+ * of flight.  The path's holonomic rotation is overridden to face that point, the flywheels track
+ * the distance to it, and the note is fed as soon as both are within tolerance.
+ *
+ * <p>Doesn't require Swerve, which belongs to the path.
+ */
+public class MovingShotCommand extends Command {
+  private final ShooterSubsystem shooter;
+  private final IndexSubsystem index;
+  private final Swerve swerve;
+  private final VisionSubsystem vision;
+  private final Timer postShotTimer = new Timer();
+  private boolean cancelled = false;
+  private boolean feeding = false;
+  private boolean gone = false;
+
+  public MovingShotCommand(ShooterSubsystem shooter, IndexSubsystem index, Swerve swerve, VisionSubsystem vision) {
+    addRequirements(shooter, index);
+    this.shooter = shooter;
+    this.index = index;
+    this.swerve = swerve;
+    this.vision = vision;
+  }
+
+  @Override
+  public void initialize() {
+    LEDSubsystem.setTempState(TempState.SHOOTING);
+    cancelled = false;
+    feeding = false;
+    gone = false;
+
+    if (!index.haveNote()) {
+      DogLog.log("Shooter/Status", "ERROR: Cancelling MovingShotCommand without note");
+      cancelled = true;
+      LEDSubsystem.setTempState(TempState.ERROR);
+    }
+  }
+
+  @Override
+  public void execute() {
+    if (cancelled) {
+      return;
+    }
+
+    PoseSubsystem pose = PoseSubsystem.getInstance();
+    Pose2d robotPose = pose.getPose();
+    Translation2d target = compensatedTarget(robotPose, pose.speakerLocation());
+    double distance = robotPose.getTranslation().getDistance(target) + Constants.Vision.centerToReferenceOffset;
+
+    // Same convention as PoseSubsystem.angleToSpeaker(): the shooter faces away from the heading
+    Rotation2d heading = robotPose.getTranslation().minus(target).getAngle();
+    vision.setShotRotationOverride(heading);
+    double angleError = heading.minus(robotPose.getRotation()).getDegrees();
+
+    DogLog.log("Shooter/Moving shot distance", distance);
+    DogLog.log("Shooter/Moving shot angle error", angleError);
+
+    if (feeding) {
+      if (!gone && !index.haveNote()) {
+        postShotTimer.restart();
+        gone = true;
+      }
+      return;
+    }
+
+    if (!shooter.shootFromDistance(distance)) {
+      DogLog.log("Shooter/Status", "Cancelling MovingShotCommand: out of calibration range");
+      cancelled = true;
+      LEDSubsystem.setTempState(TempState.ERROR);
+      return;
+    }
+
+    if (shooter.isReady(false) && Math.abs(angleError) < Constants.Shooter.movingShotMaxAngleError) {
+      index.feed();
+      feeding = true;
+      DogLog.log("Shooter/Status", String.format("Shooting on the move @ %01.1f inches, %01.1f deg off", Units.metersToInches(distance), angleError));
+    }
+  }
+
+  // Where the speaker appears to be from a moving robot, refined a couple of times since the time of flight depends on it
+  private Translation2d compensatedTarget(Pose2d robotPose, Translation2d speaker) {
+    ChassisSpeeds fieldSpeeds = ChassisSpeeds.fromRobotRelativeSpeeds(swerve.getSpeeds(), robotPose.getRotation());
+    Translation2d velocity = new Translation2d(fieldSpeeds.vxMetersPerSecond, fieldSpeeds.vyMetersPerSecond);
+
+    Translation2d target = speaker;
+    for (int i = 0; i < 3; i++) {
+      double timeOfFlight = robotPose.getTranslation().getDistance(target) / Constants.Shooter.noteVelocity;
+      target = speaker.minus(velocity.times(timeOfFlight));
+    }
+    return target;
+  }
+
+  @Override
+  public void end(boolean interrupted) {
+    vision.clearShotRotationOverride();
+    index.stop();
+    shooter.idle();
+
+    if (interrupted || cancelled) {
+      LEDSubsystem.setTempState(TempState.ERROR);
+    } else {
+      LEDSubsystem.clearTempState();
+    }
+  }
+
+  @Override
+  public boolean isFinished() {
+    return cancelled || (gone && postShotTimer.hasElapsed(Constants.Shooter.postShotTimeout));
+  }
+}
@@ -0,0 +1,149 @@
+package frc.robot.commands;
+
+import dev.doglog.DogLog;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.WrapperCommand;
+import frc.robot.Constants;
+import frc.robot.subsystems.IndexSubsystem;
+import frc.robot.subsystems.PoseSubsystem;
+import frc.robot.subsystems.ShooterSubsystem;
+import frc.robot.subsystems.VisionSubsystem;
+
+/**
+ * Supervises a shot in auto, in place of racing it against a fixed wait.
+ *
+ * <p>The shot ends as soon as the note has left, as it always has.  Each loop the supervisor
+ * also predicts how long the shot still needs: the flywheel error over the rate the flywheels are
+ * seen to spin up, plus the aiming error over how fast the robot turns, plus the time to feed the
+ * note.  The shot is given up as soon as it is clearly impossible (no note, or no speaker target
+ * for a vision shot) or can't finish within the time allowed, so the auto can move on.
+ */
+public class ShotSupervisor extends WrapperCommand {
+    private final ShooterSubsystem shooter;
+    private final IndexSubsystem index;
+    private final VisionSubsystem vision;
+    private final boolean aiming;
+    private final double maxTime;
+    private final Timer timer = new Timer();
+    private final Timer noTargetTimer = new Timer();
+    private double lastRPMError;
+    private double lastTime;
+    private double spinUpRate;
+    private String abortReason;
+    private boolean started; // whether the shot itself was initialized, so it has to be ended
+
+    /**
+     * @param shot the shot to supervise, usually a ShootCommand or one raced with an AimCommand
+     * @param aiming whether the shot turns the robot to aim before shooting
+     * @param maxTime longest the shot may take, in seconds
+     */
+    public ShotSupervisor(Command shot, ShooterSubsystem shooter, IndexSubsystem index, VisionSubsystem vision, boolean aiming, double maxTime) {
+        super(shot);
+        this.shooter = shooter;
+        this.index = index;
+        this.vision = vision;
+        this.aiming = aiming;
+        this.maxTime = maxTime;
+    }
+
+    @Override
+    public void initialize() {
+        timer.restart();
+        noTargetTimer.stop();
+        noTargetTimer.reset();
+        lastRPMError = Double.NaN;
+        spinUpRate = Constants.Shooter.spinUpRate;
+        abortReason = null;
+        started = false;
+
+        if (!index.haveNote()) {
+            abort("no note");
+            return;
+        }
+        super.initialize();
+        started = true;
+    }
+
+    @Override
+    public void execute() {
+        if (abortReason != null) {
+            return;
+        }
+        super.execute();
+        if (super.isFinished()) {
+            return;
+        }
+        // Once the note is on its way there's nothing left to decide
+        if (!index.haveNote()) {
+            return;
+        }
+        if (timer.hasElapsed(maxTime)) {
+            abort("timed out");
+            return;
+        }
+
+        if (shooter.usingVision() && !vision.haveSpeakerTarget()) {
+            noTargetTimer.start();
+            if (noTargetTimer.hasElapsed(Constants.Shooter.noTargetTimeout)) {
+                abort("no speaker target");
+                return;
+            }
+        } else {
+            noTargetTimer.stop();
+            noTargetTimer.reset();
+        }
+
+        double predicted = predictRemainingTime();
+        DogLog.log("Shooter/Predicted shot time", timer.get() + predicted);
+        if (timer.hasElapsed(Constants.Shooter.minSupervisedTime) && timer.get() + predicted > maxTime) {
+            abort(String.format("predicted to take %01.2f s, allowed %01.2f s", timer.get() + predicted, maxTime));
+        }
+    }
+
+    // Time the shot still needs, assuming spin up and aiming happen together
+    private double predictRemainingTime() {
+        double rpmError = shooter.getRPMError();
+        double now = timer.get();
+        if (!Double.isNaN(lastRPMError) && now > lastTime) {
+            double observedRate = (lastRPMError - rpmError) / (now - lastTime);
+            spinUpRate = Math.max(0.8 * spinUpRate + 0.2 * observedRate, Constants.Shooter.minSpinUpRate);
+        }
+        lastRPMError = rpmError;
+        lastTime = now;
+
+        double spinUpTime = rpmError < Constants.Shooter.maxRPMError ? 0.0 : rpmError / spinUpRate;
+        double aimTime = aiming ? Math.abs(alignmentError()) / Constants.Shooter.aimRate : 0.0;
+        return Math.max(spinUpTime, aimTime) + Constants.Shooter.feedTime;
+    }
+
+    // Degrees the robot still has to turn to face the speaker
+    private double alignmentError() {
+        if (!shooter.usingVision()) {
+            return 0.0;
+        }
+        if (vision.haveTarget()) {
+            return vision.angleError().getDegrees();
+        }
+        return PoseSubsystem.getInstance().angleError().getDegrees();
+    }
+
+    private void abort(String reason) {
+        abortReason = reason;
+        DogLog.log("Auto/Status", "Giving up on shot: " + reason);
+    }
+
+    @Override
+    public boolean isFinished() {
+        return abortReason != null || super.isFinished();
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        // A shot given up on before it started never initialized, so there's nothing to end
+        if (started) {
+            super.end(interrupted || abortReason != null);
+        }
+        DogLog.log("Auto/Shot time", timer.get());
+    }
+}
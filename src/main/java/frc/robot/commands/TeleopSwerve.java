@@ -1,5 +1,6 @@
 package frc.robot.commands;
 
+import frc.lib.pathfinding.SignedDistanceField;
 import frc.lib.util.TunableOption;
 import frc.robot.Constants;
 import frc.robot.subsystems.PoseSubsystem;
@@ -14,6 +15,7 @@ import static frc.robot.Options.*;
 import java.util.function.DoubleSupplier;
 
 import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.util.Units;
@@ -28,6 +30,8 @@ public class TeleopSwerve extends Command {
     private final DoubleSupplier strafeSup;
     private final DoubleSupplier rotationSup;
     private DoubleSupplier speedLimitRotSupplier;
+    private final SignedDistanceField fieldDistance;
+    private final double[] awayFromObstacle = new double[2];
     private PoseSubsystem s_Pose = null;
     private Rotation2d lastAngle = null;
     private AimingMode aimingMode = AimingMode.MANUAL;
@@ -39,7 +43,7 @@ public class TeleopSwerve extends Command {
         MAINTAIN
     }
 
-    public TeleopSwerve(Swerve s_Swerve, ShooterSubsystem s_Shooter, VisionSubsystem s_Vision, DoubleSupplier translationSup, DoubleSupplier strafeSup, DoubleSupplier rotationSup, DoubleSupplier speedLimitRotSupplier) {
+    public TeleopSwerve(Swerve s_Swerve, ShooterSubsystem s_Shooter, VisionSubsystem s_Vision, DoubleSupplier translationSup, DoubleSupplier strafeSup, DoubleSupplier rotationSup, DoubleSupplier speedLimitRotSupplier, SignedDistanceField fieldDistance) {
         this.s_Swerve = s_Swerve;
         this.s_Shooter = s_Shooter;
         this.s_Vision = s_Vision;
@@ -49,6 +53,7 @@ public class TeleopSwerve extends Command {
         this.strafeSup = strafeSup;
         this.rotationSup = rotationSup;
         this.speedLimitRotSupplier = speedLimitRotSupplier;
+        this.fieldDistance = fieldDistance;
     }
 
     @Override
@@ -189,6 +194,27 @@ public class TeleopSwerve extends Command {
             aimingMode = AimingMode.MANUAL;
         }
 
+        /* Slow down toward the walls, stage and subwoofer, leaving motion along them alone; only when the pose can be trusted */
+        if (fieldDistance != null && optFieldAssist.get() && s_Pose.isPoseConfident()) {
+            Pose2d pose = s_Pose.getPose();
+            double vx = translationVal * Constants.Swerve.maxSpeed;
+            double vy = strafeVal * Constants.Swerve.maxSpeed;
+            fieldDistance.gradient(pose.getX(), pose.getY(), awayFromObstacle);
+            double norm = Math.hypot(awayFromObstacle[0], awayFromObstacle[1]);
+            if (norm > 1e-6) {
+                double awayX = awayFromObstacle[0] / norm;
+                double awayY = awayFromObstacle[1] / norm;
+                double room = fieldDistance.distance(pose.getX(), pose.getY()) - Pose.assistMargin;
+                // Fastest approach that can still stop in the room left
+                double allowed = Math.sqrt(2.0 * Pose.assistDeceleration * Math.max(0.0, room));
+                double approach = -(vx * awayX + vy * awayY);
+                if (approach > allowed) {
+                    translationVal = (vx + (approach - allowed) * awayX) / Constants.Swerve.maxSpeed;
+                    strafeVal = (vy + (approach - allowed) * awayY) / Constants.Swerve.maxSpeed;
+                }
+            }
+        }
+
         /* Drive */
         s_Swerve.drive(
             new Translation2d(translationVal, strafeVal).times(Constants.Swerve.maxSpeed),
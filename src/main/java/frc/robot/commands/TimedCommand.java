@@ -0,0 +1,49 @@
+package frc.robot.commands;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import dev.doglog.DogLog;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.WrapperCommand;
+
+/**
+ * Records how long a named command runs for, so an auto's time can be broken down by what it was
+ * waiting on.  Each run is logged, and the totals since {@link #resetTotals()} are kept by name.
+ */
+public class TimedCommand extends WrapperCommand {
+    private static final Map<String, Double> totals = new LinkedHashMap<>();
+
+    private final String name;
+    private double start;
+
+    public TimedCommand(String name, Command command) {
+        super(command);
+        this.name = name;
+    }
+
+    @Override
+    public void initialize() {
+        start = Timer.getFPGATimestamp();
+        super.initialize();
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        super.end(interrupted);
+        double seconds = Timer.getFPGATimestamp() - start;
+        totals.merge(name, seconds, Double::sum);
+        DogLog.log("Auto/Named command/" + name, seconds);
+    }
+
+    /** Seconds spent in each named command since the last reset, in the order they first ran */
+    public static Map<String, Double> getTotals() {
+        return Collections.unmodifiableMap(totals);
+    }
+
+    public static void resetTotals() {
+        totals.clear();
+    }
+}
@@ -0,0 +1,35 @@
+package frc.robot.io;
+
+import frc.lib.io.LogTable;
+import frc.lib.io.LoggableInputs;
+
+/** Hardware interface for one climber arm. Positions are in motor rotations. */
+public interface ClimberIO {
+    public static class ClimberIOInputs implements LoggableInputs {
+        public double positionRotations = 0.0;
+        public double velocityRPS = 0.0;
+        public double appliedVolts = 0.0;
+
+        @Override
+        public void toLog(LogTable table) {
+            table.put("PositionRotations", positionRotations);
+            table.put("VelocityRPS", velocityRPS);
+            table.put("AppliedVolts", appliedVolts);
+        }
+
+        @Override
+        public void fromLog(LogTable table) {
+            positionRotations = table.get("PositionRotations", positionRotations);
+            velocityRPS = table.get("VelocityRPS", velocityRPS);
+            appliedVolts = table.get("AppliedVolts", appliedVolts);
+        }
+    }
+
+    public default void updateInputs(ClimberIOInputs inputs) {}
+
+    public default void setVoltage(double volts) {}
+
+    public default void setPosition(double rotations) {}
+
+    public default void resetPosition(double rotations) {}
+}
@@ -0,0 +1,16 @@
+package frc.robot.io;
+
+import frc.lib.io.ReplayLogSource;
+
+public class ClimberIOReplay implements ClimberIO {
+    private final String key;
+
+    public ClimberIOReplay(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public void updateInputs(ClimberIOInputs inputs) {
+        ReplayLogSource.getInstance().read(key, inputs);
+    }
+}
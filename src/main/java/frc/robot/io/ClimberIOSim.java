@@ -0,0 +1,50 @@
+package frc.robot.io;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.controller.PIDController;
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.wpilibj.simulation.DCMotorSim;
+import frc.robot.Constants;
+import frc.robot.Robot;
+
+/** Simulated climber arm, modeled at the motor shaft */
+public class ClimberIOSim implements ClimberIO {
+    private final DCMotorSim climberSim = new DCMotorSim(DCMotor.getKrakenX60Foc(1), 1.0, 0.0005);
+    private final PIDController feedback = new PIDController(Constants.Climber.kP, Constants.Climber.kI, Constants.Climber.kD);
+    private boolean closedLoop = false;
+    private double setpointRotations = 0.0;
+    private double appliedVolts = 0.0;
+    private double positionOffset = 0.0;
+
+    @Override
+    public void updateInputs(ClimberIOInputs inputs) {
+        double position = climberSim.getAngularPositionRotations() + positionOffset;
+        if (closedLoop) {
+            appliedVolts = feedback.calculate(position, setpointRotations);
+        }
+        appliedVolts = MathUtil.clamp(appliedVolts, Constants.Climber.peakReverseVoltage, Constants.Climber.peakForwardVoltage);
+        climberSim.setInputVoltage(appliedVolts);
+        climberSim.update(Robot.kDefaultPeriod);
+
+        inputs.positionRotations = climberSim.getAngularPositionRotations() + positionOffset;
+        inputs.velocityRPS = climberSim.getAngularVelocityRPM() / 60.0;
+        inputs.appliedVolts = appliedVolts;
+    }
+
+    @Override
+    public void setVoltage(double volts) {
+        closedLoop = false;
+        appliedVolts = volts;
+    }
+
+    @Override
+    public void setPosition(double rotations) {
+        closedLoop = true;
+        setpointRotations = rotations;
+    }
+
+    @Override
+    public void resetPosition(double rotations) {
+        positionOffset = rotations - climberSim.getAngularPositionRotations();
+    }
+}
@@ -0,0 +1,83 @@
+package frc.robot.io;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.controls.PositionVoltage;
+import com.ctre.phoenix6.controls.VoltageOut;
+import com.ctre.phoenix6.hardware.TalonFX;
+
+import frc.robot.Constants;
+import frc.robot.Robot;
+import frc.robot.subsystems.ClimberSubsystem.ClimberSelection;
+
+public class ClimberIOTalonFX implements ClimberIO {
+    private final TalonFX motor;
+    private final VoltageOut voltageOut = new VoltageOut(0).withEnableFOC(true);
+    private final PositionVoltage positionVoltage = new PositionVoltage(1.5).withEnableFOC(true);
+    private final StatusSignal<Double> position;
+    private final StatusSignal<Double> velocity;
+    private final StatusSignal<Double> appliedVolts;
+
+    public ClimberIOTalonFX(ClimberSelection which) {
+        motor = new TalonFX(which == ClimberSelection.LEFT ? Constants.Climber.leftID : Constants.Climber.rightID, Constants.Climber.CanBus);
+        applyConfigs(which);
+
+        position = motor.getPosition();
+        velocity = motor.getVelocity();
+        appliedVolts = motor.getMotorVoltage();
+    }
+
+    private void applyConfigs(ClimberSelection which) {
+        /* Configure the Shooter Motors */
+        var m_ClimberMotorsConfiguration = new TalonFXConfiguration();
+        /* Set Shooter motors to Brake */
+        m_ClimberMotorsConfiguration.MotorOutput.NeutralMode = Constants.Climber.motorNeutralValue;
+        /* Set the Shooters motor direction */
+        m_ClimberMotorsConfiguration.MotorOutput.Inverted = Constants.Climber.motorOutputInverted;
+        /* Config the peak outputs */
+        m_ClimberMotorsConfiguration.Voltage.PeakForwardVoltage = Constants.Climber.peakForwardVoltage;
+        m_ClimberMotorsConfiguration.Voltage.PeakReverseVoltage = Constants.Climber.peakReverseVoltage;
+
+        // PID & FF configuration
+        m_ClimberMotorsConfiguration.Slot0.kP = Constants.Climber.kP;
+        m_ClimberMotorsConfiguration.Slot0.kI = Constants.Climber.kI;
+        m_ClimberMotorsConfiguration.Slot0.kD = Constants.Climber.kD;
+        m_ClimberMotorsConfiguration.Slot0.kS = Constants.Climber.kS;
+        m_ClimberMotorsConfiguration.Slot0.kV = Constants.Climber.kV;
+        m_ClimberMotorsConfiguration.Slot0.kA = Constants.Climber.kA;
+        m_ClimberMotorsConfiguration.Slot0.kG = Constants.Climber.kG;
+
+        // set Motion Magic settings
+        var motionMagicConfigs = m_ClimberMotorsConfiguration.MotionMagic;
+        motionMagicConfigs.MotionMagicCruiseVelocity = Constants.Climber.cruiseVelocity;
+        motionMagicConfigs.MotionMagicAcceleration = Constants.Climber.acceleration;
+        // motionMagicConfigs.MotionMagicJerk = Constants.Climber.jerk;
+
+        /* Apply Shooters Motor Configs */
+        Robot.deviceConfigurator.apply(which + " climber", motor, m_ClimberMotorsConfiguration);
+    }
+
+    @Override
+    public void updateInputs(ClimberIOInputs inputs) {
+        BaseStatusSignal.refreshAll(position, velocity, appliedVolts);
+        inputs.positionRotations = position.getValue();
+        inputs.velocityRPS = velocity.getValue();
+        inputs.appliedVolts = appliedVolts.getValue();
+    }
+
+    @Override
+    public void setVoltage(double volts) {
+        motor.setControl(voltageOut.withOutput(volts));
+    }
+
+    @Override
+    public void setPosition(double rotations) {
+        motor.setControl(positionVoltage.withPosition(rotations));
+    }
+
+    @Override
+    public void resetPosition(double rotations) {
+        motor.setPosition(rotations);
+    }
+}
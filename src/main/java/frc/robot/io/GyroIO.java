@@ -0,0 +1,44 @@
+package frc.robot.io;
+
+import frc.lib.io.LogTable;
+import frc.lib.io.LoggableInputs;
+
+/** Hardware interface for the Pigeon2 used by PoseSubsystem */
+public interface GyroIO {
+    public static class GyroIOInputs implements LoggableInputs {
+        public boolean connected = false;
+        public double yawDegrees = 0.0;
+        public double yawRateDegreesPerSecond = 0.0;
+        /* Robot relative, without gravity */
+        public double accelerationX = 0.0; // m/s^2
+        public double accelerationY = 0.0; // m/s^2
+        public double peakJerk = 0.0; // m/s^3, largest between accelerometer samples since the last update
+
+        @Override
+        public void toLog(LogTable table) {
+            table.put("Connected", connected);
+            table.put("YawDegrees", yawDegrees);
+            table.put("YawRateDegreesPerSecond", yawRateDegreesPerSecond);
+            table.put("AccelerationX", accelerationX);
+            table.put("AccelerationY", accelerationY);
+            table.put("PeakJerk", peakJerk);
+        }
+
+        @Override
+        public void fromLog(LogTable table) {
+            connected = table.get("Connected", connected);
+            yawDegrees = table.get("YawDegrees", yawDegrees);
+            yawRateDegreesPerSecond = table.get("YawRateDegreesPerSecond", yawRateDegreesPerSecond);
+            accelerationX = table.get("AccelerationX", accelerationX);
+            accelerationY = table.get("AccelerationY", accelerationY);
+            peakJerk = table.get("PeakJerk", peakJerk);
+        }
+    }
+
+    public default void updateInputs(GyroIOInputs inputs) {}
+
+    public default void setYaw(double degrees) {}
+
+    /** Stop any background sampling; the IO isn't used again after this */
+    public default void close() {}
+}
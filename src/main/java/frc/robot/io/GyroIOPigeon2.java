@@ -0,0 +1,118 @@
+package frc.robot.io;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.configs.Pigeon2Configuration;
+import com.ctre.phoenix6.hardware.Pigeon2;
+
+import frc.robot.Constants;
+import frc.robot.Robot;
+
+public class GyroIOPigeon2 implements GyroIO {
+    private static final double gravity = 9.81;
+    private static final long errorBackoffMillis = 100; // after a failed wait for samples, e.g. with the Pigeon missing
+
+    protected final Pigeon2 gyro;
+    private final StatusSignal<Double> yaw;
+    private final StatusSignal<Double> yawRate;
+
+    /* Accelerometer, sampled faster than the main loop on its own thread so short impacts aren't missed */
+    private final StatusSignal<Double> accelX;
+    private final StatusSignal<Double> accelY;
+    private final StatusSignal<Double> gravityX;
+    private final StatusSignal<Double> gravityY;
+    private final Object accelLock = new Object();
+    private double latestAccelX = 0.0;
+    private double latestAccelY = 0.0;
+    private double lastSampleTime = Double.NaN;
+    private double peakJerk = 0.0;
+    private final Thread sampler; // null where the accelerometer isn't sampled
+
+    public GyroIOPigeon2() {
+        this(true);
+    }
+
+    /** @param sampleAccelerometer whether to start the accelerometer sampler, which simulation can't feed */
+    protected GyroIOPigeon2(boolean sampleAccelerometer) {
+        gyro = new Pigeon2(Constants.Pose.pigeonID, Constants.Swerve.swerveCanBus);
+        Robot.deviceConfigurator.apply("Pigeon2", gyro, new Pigeon2Configuration());
+        gyro.setYaw(0);
+
+        yaw = gyro.getYaw();
+        yawRate = gyro.getAngularVelocityZWorld();
+
+        accelX = gyro.getAccelerationX();
+        accelY = gyro.getAccelerationY();
+        gravityX = gyro.getGravityVectorX();
+        gravityY = gyro.getGravityVectorY();
+        BaseStatusSignal.setUpdateFrequencyForAll(Constants.Pose.accelerometerFrequency, accelX, accelY, gravityX, gravityY);
+
+        if (sampleAccelerometer) {
+            sampler = new Thread(this::sampleAcceleration, "GyroAccelerometer");
+            sampler.setDaemon(true);
+            sampler.start();
+        } else {
+            sampler = null;
+        }
+    }
+
+    // Wait for each new accelerometer sample and keep the largest jerk between samples, until closed
+    private void sampleAcceleration() {
+        while (!Thread.currentThread().isInterrupted()) {
+            if (BaseStatusSignal.waitForAll(0.1, accelX, accelY, gravityX, gravityY) != StatusCode.OK) {
+                // An error can come back at once, so don't spin on it
+                try {
+                    Thread.sleep(errorBackoffMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                continue;
+            }
+            // The Pigeon reports in g with gravity included; take gravity out so a tilt isn't an acceleration
+            double x = (accelX.getValue() - gravityX.getValue()) * gravity;
+            double y = (accelY.getValue() - gravityY.getValue()) * gravity;
+            double time = accelX.getTimestamp().getTime();
+            synchronized (accelLock) {
+                if (time > lastSampleTime) {
+                    peakJerk = Math.max(peakJerk, Math.hypot(x - latestAccelX, y - latestAccelY) / (time - lastSampleTime));
+                }
+                latestAccelX = x;
+                latestAccelY = y;
+                lastSampleTime = time;
+            }
+        }
+    }
+
+    @Override
+    public void updateInputs(GyroIOInputs inputs) {
+        inputs.connected = BaseStatusSignal.refreshAll(yaw, yawRate) == StatusCode.OK;
+        inputs.yawDegrees = yaw.getValue();
+        inputs.yawRateDegreesPerSecond = yawRate.getValue();
+        synchronized (accelLock) {
+            inputs.accelerationX = latestAccelX;
+            inputs.accelerationY = latestAccelY;
+            inputs.peakJerk = peakJerk;
+            peakJerk = 0.0;
+        }
+    }
+
+    @Override
+    public void setYaw(double degrees) {
+        gyro.setYaw(degrees);
+    }
+
+    @Override
+    public void close() {
+        if (sampler == null) {
+            return;
+        }
+        sampler.interrupt();
+        try {
+            // A wait for samples times out within 0.1 s, after which the sampler sees the interrupt
+            sampler.join(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
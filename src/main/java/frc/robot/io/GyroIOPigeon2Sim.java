@@ -0,0 +1,41 @@
+package frc.robot.io;
+
+import com.ctre.phoenix6.sim.Pigeon2SimState;
+
+/** Real Pigeon2 code running against Phoenix 6 simulation, fed with the simulated robot's rotation */
+public class GyroIOPigeon2Sim extends GyroIOPigeon2 {
+    private final Pigeon2SimState simState;
+
+    /* Phoenix 6 can't simulate the accelerometer, so it's passed straight through */
+    private double accelX = 0.0;
+    private double accelY = 0.0;
+    private double peakJerk = 0.0;
+
+    public GyroIOPigeon2Sim() {
+        super(false);
+        simState = gyro.getSimState();
+    }
+
+    /** Update the simulated sensor with the robot's true motion; accelerations are robot relative, in m/s^2 */
+    public void updateSensor(double yawDegrees, double yawRateDegreesPerSecond, double accelX, double accelY, double dt, double busVolts) {
+        simState.setSupplyVoltage(busVolts);
+        simState.setRawYaw(yawDegrees);
+        simState.setAngularVelocityZ(yawRateDegreesPerSecond);
+        synchronized (this) {
+            peakJerk = Math.max(peakJerk, Math.hypot(accelX - this.accelX, accelY - this.accelY) / dt);
+            this.accelX = accelX;
+            this.accelY = accelY;
+        }
+    }
+
+    @Override
+    public void updateInputs(GyroIOInputs inputs) {
+        super.updateInputs(inputs);
+        synchronized (this) {
+            inputs.accelerationX = accelX;
+            inputs.accelerationY = accelY;
+            inputs.peakJerk = peakJerk;
+            peakJerk = 0.0;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package frc.robot.io;
+
+import frc.lib.io.ReplayLogSource;
+
+public class GyroIOReplay implements GyroIO {
+    private final String key;
+
+    public GyroIOReplay(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public void updateInputs(GyroIOInputs inputs) {
+        ReplayLogSource.getInstance().read(key, inputs);
+    }
+}
@@ -0,0 +1,48 @@
+package frc.robot.io;
+
+import java.util.function.Supplier;
+
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.util.Units;
+import frc.robot.Robot;
+
+/** Simulated gyro that integrates the drivetrain's rotation rate */
+public class GyroIOSim implements GyroIO {
+    private final Supplier<ChassisSpeeds> speedsSupplier;
+    private double yawDegrees = 0.0;
+    private ChassisSpeeds lastSpeeds = new ChassisSpeeds();
+    private double lastAccelX = 0.0;
+    private double lastAccelY = 0.0;
+
+    public GyroIOSim(Supplier<ChassisSpeeds> speedsSupplier) {
+        this.speedsSupplier = speedsSupplier;
+    }
+
+    @Override
+    public void updateInputs(GyroIOInputs inputs) {
+        ChassisSpeeds speeds = speedsSupplier.get();
+        double rateDegreesPerSecond = Units.radiansToDegrees(speeds.omegaRadiansPerSecond);
+        yawDegrees += rateDegreesPerSecond * Robot.kDefaultPeriod;
+
+        // What an accelerometer turning with the robot would feel
+        double dt = Robot.kDefaultPeriod;
+        double accelX = (speeds.vxMetersPerSecond - lastSpeeds.vxMetersPerSecond) / dt - speeds.omegaRadiansPerSecond * speeds.vyMetersPerSecond;
+        double accelY = (speeds.vyMetersPerSecond - lastSpeeds.vyMetersPerSecond) / dt + speeds.omegaRadiansPerSecond * speeds.vxMetersPerSecond;
+
+        inputs.connected = true;
+        inputs.yawDegrees = yawDegrees;
+        inputs.yawRateDegreesPerSecond = rateDegreesPerSecond;
+        inputs.accelerationX = accelX;
+        inputs.accelerationY = accelY;
+        inputs.peakJerk = Math.hypot(accelX - lastAccelX, accelY - lastAccelY) / dt;
+
+        lastSpeeds = speeds;
+        lastAccelX = accelX;
+        lastAccelY = accelY;
+    }
+
+    @Override
+    public void setYaw(double degrees) {
+        yawDegrees = degrees;
+    }
+}
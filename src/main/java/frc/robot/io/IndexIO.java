@@ -0,0 +1,35 @@
+package frc.robot.io;
+
+import frc.lib.io.LogTable;
+import frc.lib.io.LoggableInputs;
+
+/** Hardware interface for the indexer motor and its note sensors */
+public interface IndexIO {
+    public static class IndexIOInputs implements LoggableInputs {
+        /* Raw sensor values; the beam break sensors read false while a note is present */
+        public boolean leftSensor = true;
+        public boolean rightSensor = true;
+        public double appliedOutput = 0.0;
+        public double currentAmps = 0.0;
+
+        @Override
+        public void toLog(LogTable table) {
+            table.put("LeftSensor", leftSensor);
+            table.put("RightSensor", rightSensor);
+            table.put("AppliedOutput", appliedOutput);
+            table.put("CurrentAmps", currentAmps);
+        }
+
+        @Override
+        public void fromLog(LogTable table) {
+            leftSensor = table.get("LeftSensor", leftSensor);
+            rightSensor = table.get("RightSensor", rightSensor);
+            appliedOutput = table.get("AppliedOutput", appliedOutput);
+            currentAmps = table.get("CurrentAmps", currentAmps);
+        }
+    }
+
+    public default void updateInputs(IndexIOInputs inputs) {}
+
+    public default void setDutyCycle(double output) {}
+}
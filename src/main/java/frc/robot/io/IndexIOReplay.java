@@ -0,0 +1,16 @@
+package frc.robot.io;
+
+import frc.lib.io.ReplayLogSource;
+
+public class IndexIOReplay implements IndexIO {
+    private final String key;
+
+    public IndexIOReplay(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public void updateInputs(IndexIOInputs inputs) {
+        ReplayLogSource.getInstance().read(key, inputs);
+    }
+}
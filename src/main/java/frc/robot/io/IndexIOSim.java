@@ -0,0 +1,82 @@
+package frc.robot.io;
+
+import java.util.Random;
+
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.Constants;
+import frc.robot.sim.SimVariation;
+
+/**
+ * Simulated indexer.  A note arrives after the indexer has been pulling one in for
+ * {@link #intakeTime} seconds, and leaves {@link #feedTime} seconds after feeding starts.
+ *
+ * <p>The current {@link SimVariation} can make pickups slower (a note that isn't quite where it
+ * was expected) or miss altogether; a missed note stays missed until the intake is stopped.
+ */
+public class IndexIOSim implements IndexIO {
+    public static final double intakeTime = 0.5;
+    public static final double feedTime = 0.1;
+
+    private boolean notePresent;
+    private double output = 0.0;
+    private final Timer intakeTimer = new Timer();
+    private final Timer feedTimer = new Timer();
+    private final SimVariation variation = SimVariation.get();
+    private final Random random = new Random(variation.seed + 1);
+    private double pickupTime = nextPickupTime();
+    private boolean missed = false;
+
+    public IndexIOSim(boolean preloaded) {
+        notePresent = preloaded;
+    }
+
+    private double nextPickupTime() {
+        return intakeTime + random.nextDouble() * variation.maxIntakeDelay;
+    }
+
+    /** Place or remove a note, e.g. from a simulation script */
+    public void setNotePresent(boolean present) {
+        notePresent = present;
+    }
+
+    @Override
+    public void updateInputs(IndexIOInputs inputs) {
+        if (!notePresent && !missed && output > 0.0 && output < Constants.Index.feedSpeed) {
+            intakeTimer.start();
+            if (intakeTimer.hasElapsed(pickupTime)) {
+                if (random.nextDouble() < variation.intakeSuccess) {
+                    notePresent = true;
+                } else {
+                    missed = true;
+                }
+                pickupTime = nextPickupTime();
+            }
+        } else {
+            intakeTimer.stop();
+            intakeTimer.reset();
+            if (output <= 0.0) {
+                missed = false;
+            }
+        }
+
+        if (notePresent && output >= Constants.Index.feedSpeed) {
+            feedTimer.start();
+            if (feedTimer.hasElapsed(feedTime)) {
+                notePresent = false;
+            }
+        } else {
+            feedTimer.stop();
+            feedTimer.reset();
+        }
+
+        inputs.leftSensor = !notePresent;
+        inputs.rightSensor = !notePresent;
+        inputs.appliedOutput = output;
+        inputs.currentAmps = 0.0;
+    }
+
+    @Override
+    public void setDutyCycle(double output) {
+        this.output = output;
+    }
+}
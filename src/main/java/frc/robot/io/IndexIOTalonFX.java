@@ -0,0 +1,60 @@
+package frc.robot.io;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.controls.DutyCycleOut;
+import com.ctre.phoenix6.hardware.TalonFX;
+
+import edu.wpi.first.wpilibj.DigitalInput;
+import frc.robot.Constants;
+import frc.robot.Robot;
+
+public class IndexIOTalonFX implements IndexIO {
+    private final TalonFX indexMotor;
+    private final DutyCycleOut indexSpeedDutyCycleOut;
+    private final DigitalInput leftIndexSensor;
+    private final DigitalInput rightIndexSensor;
+    private final StatusSignal<Double> dutyCycle;
+    private final StatusSignal<Double> current;
+
+    public IndexIOTalonFX() {
+        indexMotor = new TalonFX(Constants.Index.indexMotorID, Constants.Index.indexMotorCanBus);
+        indexSpeedDutyCycleOut = new DutyCycleOut(0);
+        applyConfigs();
+
+        leftIndexSensor = new DigitalInput(Constants.Index.leftIndexSensorID);
+        rightIndexSensor = new DigitalInput(Constants.Index.rightIndexSensorID);
+
+        dutyCycle = indexMotor.getDutyCycle();
+        current = indexMotor.getStatorCurrent();
+    }
+
+    public void applyConfigs() {
+        /* Configure the Index Motor */
+        var m_indexConfiguration = new TalonFXConfiguration();
+        /* Set Index motor to Brake */
+        m_indexConfiguration.MotorOutput.NeutralMode = Constants.Index.motorNeutralValue;
+        /* Set the motor direction */
+        m_indexConfiguration.MotorOutput.Inverted = Constants.Index.motorOutputInverted;
+        /* Config the peak outputs */
+        m_indexConfiguration.Voltage.PeakForwardVoltage = Constants.Index.peakForwardVoltage;
+        m_indexConfiguration.Voltage.PeakReverseVoltage = Constants.Index.peakReverseVoltage;
+        /* Apply Index Motor Configs */
+        Robot.deviceConfigurator.apply("Index", indexMotor, m_indexConfiguration);
+    }
+
+    @Override
+    public void updateInputs(IndexIOInputs inputs) {
+        BaseStatusSignal.refreshAll(dutyCycle, current);
+        inputs.leftSensor = leftIndexSensor.get();
+        inputs.rightSensor = rightIndexSensor.get();
+        inputs.appliedOutput = dutyCycle.getValue();
+        inputs.currentAmps = current.getValue();
+    }
+
+    @Override
+    public void setDutyCycle(double output) {
+        indexMotor.setControl(indexSpeedDutyCycleOut.withOutput(output));
+    }
+}
@@ -0,0 +1,28 @@
+package frc.robot.io;
+
+import frc.lib.io.LogTable;
+import frc.lib.io.LoggableInputs;
+
+/** Hardware interface for the ground intake motor */
+public interface IntakeIO {
+    public static class IntakeIOInputs implements LoggableInputs {
+        public double appliedOutput = 0.0;
+        public double torqueCurrentAmps = 0.0;
+
+        @Override
+        public void toLog(LogTable table) {
+            table.put("AppliedOutput", appliedOutput);
+            table.put("TorqueCurrentAmps", torqueCurrentAmps);
+        }
+
+        @Override
+        public void fromLog(LogTable table) {
+            appliedOutput = table.get("AppliedOutput", appliedOutput);
+            torqueCurrentAmps = table.get("TorqueCurrentAmps", torqueCurrentAmps);
+        }
+    }
+
+    public default void updateInputs(IntakeIOInputs inputs) {}
+
+    public default void setDutyCycle(double output) {}
+}
@@ -0,0 +1,16 @@
+package frc.robot.io;
+
+import frc.lib.io.ReplayLogSource;
+
+public class IntakeIOReplay implements IntakeIO {
+    private final String key;
+
+    public IntakeIOReplay(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public void updateInputs(IntakeIOInputs inputs) {
+        ReplayLogSource.getInstance().read(key, inputs);
+    }
+}
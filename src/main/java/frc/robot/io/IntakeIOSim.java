@@ -0,0 +1,25 @@
+package frc.robot.io;
+
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.wpilibj.simulation.DCMotorSim;
+import frc.robot.Robot;
+
+/** Simulated intake rollers */
+public class IntakeIOSim implements IntakeIO {
+    private final DCMotorSim rollerSim = new DCMotorSim(DCMotor.getKrakenX60(1), 1.0, 0.001);
+    private double output = 0.0;
+
+    @Override
+    public void updateInputs(IntakeIOInputs inputs) {
+        rollerSim.setInputVoltage(output * 12.0);
+        rollerSim.update(Robot.kDefaultPeriod);
+
+        inputs.appliedOutput = output;
+        inputs.torqueCurrentAmps = rollerSim.getCurrentDrawAmps();
+    }
+
+    @Override
+    public void setDutyCycle(double output) {
+        this.output = output;
+    }
+}
@@ -0,0 +1,53 @@
+package frc.robot.io;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.controls.DutyCycleOut;
+import com.ctre.phoenix6.hardware.TalonFX;
+
+import frc.robot.Constants;
+import frc.robot.Robot;
+
+public class IntakeIOTalonFX implements IntakeIO {
+    private final TalonFX intakeMotor;
+    private final DutyCycleOut intakeSpeedDutyCycleOut;
+    private final StatusSignal<Double> dutyCycle;
+    private final StatusSignal<Double> torqueCurrent;
+
+    public IntakeIOTalonFX() {
+        intakeMotor = new TalonFX(Constants.Intake.intakeMotorID, Constants.Intake.intakeMotorCanBus);
+        intakeSpeedDutyCycleOut = new DutyCycleOut(0);
+
+        applyConfigs();
+
+        dutyCycle = intakeMotor.getDutyCycle();
+        torqueCurrent = intakeMotor.getTorqueCurrent();
+    }
+
+    public void applyConfigs() {
+        /* Configure the Intake Motor */
+        var m_intakeConfiguration = new TalonFXConfiguration();
+        /* Set Intake motor to Brake */
+        m_intakeConfiguration.MotorOutput.NeutralMode = Constants.Intake.motorNeutralValue;
+        /* Set the motor direction */
+        m_intakeConfiguration.MotorOutput.Inverted = Constants.Intake.motorOutputInverted;
+        /* Config the peak outputs */
+        m_intakeConfiguration.Voltage.PeakForwardVoltage = Constants.Intake.peakForwardVoltage;
+        m_intakeConfiguration.Voltage.PeakReverseVoltage = Constants.Intake.peakReverseVoltage;
+        /* Apply Intake Motor Configs */
+        Robot.deviceConfigurator.apply("Intake", intakeMotor, m_intakeConfiguration);
+    }
+
+    @Override
+    public void updateInputs(IntakeIOInputs inputs) {
+        BaseStatusSignal.refreshAll(dutyCycle, torqueCurrent);
+        inputs.appliedOutput = dutyCycle.getValue();
+        inputs.torqueCurrentAmps = torqueCurrent.getValue();
+    }
+
+    @Override
+    public void setDutyCycle(double output) {
+        intakeMotor.setControl(intakeSpeedDutyCycleOut.withOutput(output));
+    }
+}
@@ -0,0 +1,77 @@
+package frc.robot.io;
+
+import com.ctre.phoenix6.signals.NeutralModeValue;
+
+import frc.lib.io.LogTable;
+import frc.lib.io.LoggableInputs;
+
+/**
+ * Hardware interface for one swerve module: a drive motor, an angle motor and an absolute CANcoder.
+ * Positions and velocities are in mechanism rotations (after SensorToMechanismRatio is applied).
+ */
+public interface ModuleIO {
+    public static class ModuleIOInputs implements LoggableInputs {
+        public double drivePositionRotations = 0.0;
+        public double driveVelocityRPS = 0.0;
+        public double driveAppliedVolts = 0.0;
+        public double driveCurrentAmps = 0.0;
+
+        public double anglePositionRotations = 0.0;
+        public double angleVelocityRPS = 0.0;
+        public double angleAppliedVolts = 0.0;
+        public double angleCurrentAmps = 0.0;
+
+        public double absolutePositionRotations = 0.0;
+
+        @Override
+        public void toLog(LogTable table) {
+            table.put("DrivePositionRotations", drivePositionRotations);
+            table.put("DriveVelocityRPS", driveVelocityRPS);
+            table.put("DriveAppliedVolts", driveAppliedVolts);
+            table.put("DriveCurrentAmps", driveCurrentAmps);
+            table.put("AnglePositionRotations", anglePositionRotations);
+            table.put("AngleVelocityRPS", angleVelocityRPS);
+            table.put("AngleAppliedVolts", angleAppliedVolts);
+            table.put("AngleCurrentAmps", angleCurrentAmps);
+            table.put("AbsolutePositionRotations", absolutePositionRotations);
+        }
+
+        @Override
+        public void fromLog(LogTable table) {
+            drivePositionRotations = table.get("DrivePositionRotations", drivePositionRotations);
+            driveVelocityRPS = table.get("DriveVelocityRPS", driveVelocityRPS);
+            driveAppliedVolts = table.get("DriveAppliedVolts", driveAppliedVolts);
+            driveCurrentAmps = table.get("DriveCurrentAmps", driveCurrentAmps);
+            anglePositionRotations = table.get("AnglePositionRotations", anglePositionRotations);
+            angleVelocityRPS = table.get("AngleVelocityRPS", angleVelocityRPS);
+            angleAppliedVolts = table.get("AngleAppliedVolts", angleAppliedVolts);
+            angleCurrentAmps = table.get("AngleCurrentAmps", angleCurrentAmps);
+            absolutePositionRotations = table.get("AbsolutePositionRotations", absolutePositionRotations);
+        }
+    }
+
+    public default void updateInputs(ModuleIOInputs inputs) {}
+
+    /** Open loop drive, as a fraction of full output */
+    public default void setDriveDutyCycle(double output) {}
+
+    /** Closed loop drive velocity with an additional feedforward voltage */
+    public default void setDriveVelocity(double velocityRPS, double feedForwardVolts) {}
+
+    /** Closed loop angle position */
+    public default void setAnglePosition(double rotations) {}
+
+    /** Closed loop angle position with an additional feedforward voltage, e.g. for the rate it's turning at */
+    public default void setAnglePosition(double rotations, double feedForwardVolts) {
+        setAnglePosition(rotations);
+    }
+
+    /** Seed the angle motor's position, e.g. from the CANcoder */
+    public default void resetAnglePosition(double rotations) {}
+
+    public default void resetDrivePosition(double rotations) {}
+
+    public default void setDriveNeutralMode(NeutralModeValue mode) {}
+
+    public default void setAngleNeutralMode(NeutralModeValue mode) {}
+}
@@ -0,0 +1,16 @@
+package frc.robot.io;
+
+import frc.lib.io.ReplayLogSource;
+
+public class ModuleIOReplay implements ModuleIO {
+    private final String key;
+
+    public ModuleIOReplay(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public void updateInputs(ModuleIOInputs inputs) {
+        ReplayLogSource.getInstance().read(key, inputs);
+    }
+}
@@ -0,0 +1,102 @@
+package frc.robot.io;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.controller.PIDController;
+import frc.lib.util.SwerveModuleConstants;
+import frc.robot.Constants;
+import frc.robot.sim.SimulatedModule;
+import frc.robot.sim.SwerveModulePhysics;
+
+/**
+ * Simulated swerve module with the Talons' onboard closed loops stood in for by PID controllers using
+ * the same gains.  Unlike {@link ModuleIOTalonFXSim} this does not depend on the vendor simulation
+ * running in real time, so it is used when the robot is stepped faster than real time.
+ */
+public class ModuleIOSim implements ModuleIO, SimulatedModule {
+    private final SwerveModulePhysics physics = new SwerveModulePhysics();
+    private final double absoluteOffsetRotations;
+    private final PIDController driveFeedback = new PIDController(Constants.Swerve.driveKP, 0.0, 0.0);
+    private final PIDController angleFeedback = new PIDController(Constants.Swerve.angleKP, 0.0, 0.0);
+
+    private boolean driveClosedLoop = false;
+    private double driveSetpointRPS = 0.0;
+    private double driveFeedForwardVolts = 0.0;
+    private double driveRequestedVolts = 0.0;
+    private boolean angleClosedLoop = false;
+    private double angleSetpointRotations = 0.0;
+    private double angleFeedForwardVolts = 0.0;
+    private double angleAppliedVolts = 0.0;
+    private double drivePositionOffset = 0.0;
+    private double anglePositionOffset = 0.0;
+
+    public ModuleIOSim(SwerveModuleConstants moduleConstants) {
+        // The CANcoder reads the module angle plus its mounting offset, just like the real one
+        absoluteOffsetRotations = moduleConstants.angleOffset.getRotations();
+        angleFeedback.enableContinuousInput(-0.5, 0.5);
+    }
+
+    @Override
+    public SwerveModulePhysics getPhysics() {
+        return physics;
+    }
+
+    @Override
+    public void simulationStep(double busVolts, double dt) {
+        if (driveClosedLoop) {
+            driveRequestedVolts = driveFeedback.calculate(physics.getDriveVelocityRPS(), driveSetpointRPS) + driveFeedForwardVolts;
+        }
+        if (angleClosedLoop) {
+            angleAppliedVolts = angleFeedback.calculate(physics.getAnglePositionRotations() + anglePositionOffset, angleSetpointRotations) + angleFeedForwardVolts;
+        }
+        angleAppliedVolts = MathUtil.clamp(angleAppliedVolts, -busVolts, busVolts);
+        physics.update(driveRequestedVolts, angleAppliedVolts, busVolts, dt);
+    }
+
+    @Override
+    public void updateInputs(ModuleIOInputs inputs) {
+        inputs.drivePositionRotations = physics.getDrivePositionRotations() + drivePositionOffset;
+        inputs.driveVelocityRPS = physics.getDriveVelocityRPS();
+        inputs.driveAppliedVolts = physics.getDriveAppliedVolts();
+        inputs.driveCurrentAmps = Math.abs(physics.getDriveStatorCurrent());
+        inputs.anglePositionRotations = physics.getAnglePositionRotations() + anglePositionOffset;
+        inputs.angleVelocityRPS = physics.getAngleVelocityRPS();
+        inputs.angleAppliedVolts = angleAppliedVolts;
+        inputs.angleCurrentAmps = Math.abs(physics.getAngleCurrent());
+        inputs.absolutePositionRotations = MathUtil.inputModulus(physics.getAnglePositionRotations() + absoluteOffsetRotations, -0.5, 0.5);
+    }
+
+    @Override
+    public void setDriveDutyCycle(double output) {
+        driveClosedLoop = false;
+        driveRequestedVolts = output * 12.0;
+    }
+
+    @Override
+    public void setDriveVelocity(double velocityRPS, double feedForwardVolts) {
+        driveClosedLoop = true;
+        driveSetpointRPS = velocityRPS;
+        driveFeedForwardVolts = feedForwardVolts;
+    }
+
+    @Override
+    public void setAnglePosition(double rotations) {
+        setAnglePosition(rotations, 0.0);
+    }
+
+    @Override
+    public void setAnglePosition(double rotations, double feedForwardVolts) {
+        angleClosedLoop = true;
+        angleSetpointRotations = rotations;
+        angleFeedForwardVolts = feedForwardVolts;
+    }
+
+    @Override
+    public void resetAnglePosition(double rotations) {
+        anglePositionOffset = rotations - physics.getAnglePositionRotations();
+    }
+
+    @Override
+    public void resetDrivePosition(double rotations) {
+        drivePositionOffset = rotations - physics.getDrivePositionRotations();
+    }
+}
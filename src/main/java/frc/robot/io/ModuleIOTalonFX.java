@@ -0,0 +1,149 @@
+package frc.robot.io;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.configs.FeedbackConfigs;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.controls.DutyCycleOut;
+import com.ctre.phoenix6.controls.PositionVoltage;
+import com.ctre.phoenix6.controls.VelocityVoltage;
+import com.ctre.phoenix6.hardware.CANcoder;
+import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.signals.FeedbackSensorSourceValue;
+import com.ctre.phoenix6.signals.NeutralModeValue;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.lib.util.SwerveModuleConstants;
+import frc.robot.Constants;
+import frc.robot.Robot;
+
+/**
+ * The angle motor closes its loop on the module's CANcoder, fused with its own rotor between
+ * CANcoder updates, so its position is the CANcoder's.  If the two come apart anyway (the motor
+ * rebooted on its own), its position is set back to the CANcoder's.  The CANcoder has no magnet
+ * offset configured; the module's angle offset is taken off here instead, so the absolute
+ * position reported is the same raw reading as before.
+ */
+public class ModuleIOTalonFX implements ModuleIO {
+    protected final TalonFX mAngleMotor;
+    protected final TalonFX mDriveMotor;
+    protected final CANcoder angleEncoder;
+    private final double angleOffsetRotations;
+
+    /* drive motor control requests */
+    private final DutyCycleOut driveDutyCycle = new DutyCycleOut(0).withEnableFOC(true);
+    private final VelocityVoltage driveVelocity = new VelocityVoltage(0).withEnableFOC(true);
+
+    /* angle motor control requests */
+    private final PositionVoltage anglePosition = new PositionVoltage(0).withEnableFOC(true);
+
+    /* status signals */
+    private final StatusSignal<Double> drivePosition;
+    private final StatusSignal<Double> driveVelocitySignal;
+    private final StatusSignal<Double> driveAppliedVolts;
+    private final StatusSignal<Double> driveCurrent;
+    private final StatusSignal<Double> anglePositionSignal;
+    private final StatusSignal<Double> angleVelocity;
+    private final StatusSignal<Double> angleAppliedVolts;
+    private final StatusSignal<Double> angleCurrent;
+    private final StatusSignal<Double> absolutePosition;
+
+    public ModuleIOTalonFX(SwerveModuleConstants moduleConstants) {
+        /* Angle Encoder Config */
+        angleEncoder = new CANcoder(moduleConstants.cancoderID, moduleConstants.canBusID);
+        Robot.deviceConfigurator.apply("CANcoder " + moduleConstants.cancoderID, angleEncoder, Robot.ctreConfigs.swerveCANcoderConfig);
+
+        /* Angle Motor Config */
+        mAngleMotor = new TalonFX(moduleConstants.angleMotorID, moduleConstants.canBusID);
+        // Each angle motor reads its own CANcoder, so it gets its own copy of the shared config
+        TalonFXConfiguration angleConfig = new TalonFXConfiguration();
+        angleConfig.deserialize(Robot.ctreConfigs.swerveAngleFXConfig.serialize());
+        angleConfig.Feedback = new FeedbackConfigs()
+            .withFeedbackRemoteSensorID(moduleConstants.cancoderID)
+            .withFeedbackSensorSource(FeedbackSensorSourceValue.FusedCANcoder)
+            .withRotorToSensorRatio(Constants.Swerve.angleGearRatio)
+            .withSensorToMechanismRatio(1.0);
+        Robot.deviceConfigurator.apply("Angle motor " + moduleConstants.angleMotorID, mAngleMotor, angleConfig);
+        angleOffsetRotations = moduleConstants.angleOffset.getRotations();
+
+        /* Drive Motor Config */
+        mDriveMotor = new TalonFX(moduleConstants.driveMotorID, moduleConstants.canBusID);
+        Robot.deviceConfigurator.apply("Drive motor " + moduleConstants.driveMotorID, mDriveMotor, Robot.ctreConfigs.swerveDriveFXConfig);
+        mDriveMotor.getConfigurator().setPosition(0.0);
+
+        drivePosition = mDriveMotor.getPosition();
+        driveVelocitySignal = mDriveMotor.getVelocity();
+        driveAppliedVolts = mDriveMotor.getMotorVoltage();
+        driveCurrent = mDriveMotor.getStatorCurrent();
+        anglePositionSignal = mAngleMotor.getPosition();
+        angleVelocity = mAngleMotor.getVelocity();
+        angleAppliedVolts = mAngleMotor.getMotorVoltage();
+        angleCurrent = mAngleMotor.getStatorCurrent();
+        absolutePosition = angleEncoder.getAbsolutePosition();
+    }
+
+    @Override
+    public void updateInputs(ModuleIOInputs inputs) {
+        BaseStatusSignal.refreshAll(
+            drivePosition, driveVelocitySignal, driveAppliedVolts, driveCurrent,
+            anglePositionSignal, angleVelocity, angleAppliedVolts, angleCurrent,
+            absolutePosition);
+
+        inputs.drivePositionRotations = drivePosition.getValue();
+        inputs.driveVelocityRPS = driveVelocitySignal.getValue();
+        inputs.driveAppliedVolts = driveAppliedVolts.getValue();
+        inputs.driveCurrentAmps = driveCurrent.getValue();
+        inputs.anglePositionRotations = anglePositionSignal.getValue() - angleOffsetRotations;
+        inputs.angleVelocityRPS = angleVelocity.getValue();
+        inputs.angleAppliedVolts = angleAppliedVolts.getValue();
+        inputs.angleCurrentAmps = angleCurrent.getValue();
+        inputs.absolutePositionRotations = absolutePosition.getValue();
+    }
+
+    @Override
+    public void setDriveDutyCycle(double output) {
+        driveDutyCycle.Output = output;
+        mDriveMotor.setControl(driveDutyCycle);
+    }
+
+    @Override
+    public void setDriveVelocity(double velocityRPS, double feedForwardVolts) {
+        driveVelocity.Velocity = velocityRPS;
+        driveVelocity.FeedForward = feedForwardVolts;
+        mDriveMotor.setControl(driveVelocity);
+    }
+
+    @Override
+    public void setAnglePosition(double rotations) {
+        setAnglePosition(rotations, 0.0);
+    }
+
+    @Override
+    public void setAnglePosition(double rotations, double feedForwardVolts) {
+        mAngleMotor.setControl(anglePosition.withPosition(rotations + angleOffsetRotations).withFeedForward(feedForwardVolts));
+    }
+
+    @Override
+    public void resetAnglePosition(double rotations) {
+        StatusCode status = mAngleMotor.setPosition(rotations + angleOffsetRotations, Constants.Configs.timeout);
+        if (!status.isOK()) {
+            DriverStation.reportWarning("Couldn't reset angle motor " + mAngleMotor.getDeviceID() + ": " + status, false);
+        }
+    }
+
+    @Override
+    public void resetDrivePosition(double rotations) {
+        mDriveMotor.setPosition(rotations);
+    }
+
+    @Override
+    public void setDriveNeutralMode(NeutralModeValue mode) {
+        mDriveMotor.setNeutralMode(mode);
+    }
+
+    @Override
+    public void setAngleNeutralMode(NeutralModeValue mode) {
+        mAngleMotor.setNeutralMode(mode);
+    }
+}
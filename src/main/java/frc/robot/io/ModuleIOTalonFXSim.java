@@ -0,0 +1,69 @@
+package frc.robot.io;
+
+import com.ctre.phoenix6.signals.InvertedValue;
+import com.ctre.phoenix6.signals.SensorDirectionValue;
+import com.ctre.phoenix6.sim.CANcoderSimState;
+import com.ctre.phoenix6.sim.ChassisReference;
+import com.ctre.phoenix6.sim.TalonFXSimState;
+
+import frc.lib.util.SwerveModuleConstants;
+import frc.robot.Constants;
+import frc.robot.sim.SimulatedModule;
+import frc.robot.sim.SwerveModulePhysics;
+
+/**
+ * Real TalonFX/CANcoder module code running against Phoenix 6 simulation.  The Talons' own control
+ * loops run in the vendor simulation; their output voltage drives the module physics, and the
+ * resulting motion is written back through TalonFXSimState and CANcoderSimState.
+ *
+ * <p>The vendor simulation runs in real time, so this is only used for interactive simulation.
+ */
+public class ModuleIOTalonFXSim extends ModuleIOTalonFX implements SimulatedModule {
+    private final SwerveModulePhysics physics = new SwerveModulePhysics();
+    private final TalonFXSimState driveSimState;
+    private final TalonFXSimState angleSimState;
+    private final CANcoderSimState encoderSimState;
+    private final double absoluteOffsetRotations;
+    private final double encoderDirection;
+
+    public ModuleIOTalonFXSim(SwerveModuleConstants moduleConstants) {
+        super(moduleConstants);
+
+        driveSimState = mDriveMotor.getSimState();
+        angleSimState = mAngleMotor.getSimState();
+        encoderSimState = angleEncoder.getSimState();
+        driveSimState.Orientation = orientation(Constants.Swerve.driveMotorInvert);
+        angleSimState.Orientation = orientation(Constants.Swerve.angleMotorInvert);
+
+        absoluteOffsetRotations = moduleConstants.angleOffset.getRotations();
+        encoderDirection = Constants.Swerve.cancoderInvert == SensorDirectionValue.Clockwise_Positive ? -1.0 : 1.0;
+        updateSensors();
+    }
+
+    private static ChassisReference orientation(InvertedValue invert) {
+        return invert == InvertedValue.Clockwise_Positive ? ChassisReference.Clockwise_Positive : ChassisReference.CounterClockwise_Positive;
+    }
+
+    @Override
+    public SwerveModulePhysics getPhysics() {
+        return physics;
+    }
+
+    @Override
+    public void simulationStep(double busVolts, double dt) {
+        driveSimState.setSupplyVoltage(busVolts);
+        angleSimState.setSupplyVoltage(busVolts);
+        encoderSimState.setSupplyVoltage(busVolts);
+        physics.update(driveSimState.getMotorVoltage(), angleSimState.getMotorVoltage(), busVolts, dt);
+    }
+
+    @Override
+    public void updateSensors() {
+        driveSimState.setRawRotorPosition(physics.getDrivePositionRotations() * Constants.Swerve.driveGearRatio);
+        driveSimState.setRotorVelocity(physics.getDriveVelocityRPS() * Constants.Swerve.driveGearRatio);
+        angleSimState.setRawRotorPosition(physics.getAnglePositionRotations() * Constants.Swerve.angleGearRatio);
+        angleSimState.setRotorVelocity(physics.getAngleVelocityRPS() * Constants.Swerve.angleGearRatio);
+        encoderSimState.setRawPosition(encoderDirection * (physics.getAnglePositionRotations() + absoluteOffsetRotations));
+        encoderSimState.setVelocity(encoderDirection * physics.getAngleVelocityRPS());
+    }
+}
@@ -0,0 +1,42 @@
+package frc.robot.io;
+
+import frc.lib.io.LogTable;
+import frc.lib.io.LoggableInputs;
+
+/** Hardware interface for the top and bottom shooter flywheels. Velocities are in rotations per second. */
+public interface ShooterIO {
+    public static class ShooterIOInputs implements LoggableInputs {
+        public double topVelocityRPS = 0.0;
+        public double topAppliedVolts = 0.0;
+        public double topCurrentAmps = 0.0;
+        public double bottomVelocityRPS = 0.0;
+        public double bottomAppliedVolts = 0.0;
+        public double bottomCurrentAmps = 0.0;
+
+        @Override
+        public void toLog(LogTable table) {
+            table.put("TopVelocityRPS", topVelocityRPS);
+            table.put("TopAppliedVolts", topAppliedVolts);
+            table.put("TopCurrentAmps", topCurrentAmps);
+            table.put("BottomVelocityRPS", bottomVelocityRPS);
+            table.put("BottomAppliedVolts", bottomAppliedVolts);
+            table.put("BottomCurrentAmps", bottomCurrentAmps);
+        }
+
+        @Override
+        public void fromLog(LogTable table) {
+            topVelocityRPS = table.get("TopVelocityRPS", topVelocityRPS);
+            topAppliedVolts = table.get("TopAppliedVolts", topAppliedVolts);
+            topCurrentAmps = table.get("TopCurrentAmps", topCurrentAmps);
+            bottomVelocityRPS = table.get("BottomVelocityRPS", bottomVelocityRPS);
+            bottomAppliedVolts = table.get("BottomAppliedVolts", bottomAppliedVolts);
+            bottomCurrentAmps = table.get("BottomCurrentAmps", bottomCurrentAmps);
+        }
+    }
+
+    public default void updateInputs(ShooterIOInputs inputs) {}
+
+    public default void setVelocity(double topRPS, double bottomRPS) {}
+
+    public default void setVoltage(double volts) {}
+}
@@ -0,0 +1,16 @@
+package frc.robot.io;
+
+import frc.lib.io.ReplayLogSource;
+
+public class ShooterIOReplay implements ShooterIO {
+    private final String key;
+
+    public ShooterIOReplay(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public void updateInputs(ShooterIOInputs inputs) {
+        ReplayLogSource.getInstance().read(key, inputs);
+    }
+}
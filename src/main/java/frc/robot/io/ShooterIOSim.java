@@ -0,0 +1,67 @@
+package frc.robot.io;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.controller.PIDController;
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.wpilibj.simulation.FlywheelSim;
+import frc.robot.Constants;
+import frc.robot.Robot;
+
+/** Simulated shooter flywheels, closed loop with the same gains as the Talons */
+public class ShooterIOSim implements ShooterIO {
+    private static final double flywheelMomentOfInertia = 0.002; // kg m^2
+
+    private final FlywheelSim topSim = new FlywheelSim(DCMotor.getKrakenX60Foc(1), 1.0, flywheelMomentOfInertia);
+    private final FlywheelSim bottomSim = new FlywheelSim(DCMotor.getKrakenX60Foc(1), 1.0, flywheelMomentOfInertia);
+    private final PIDController topFeedback = new PIDController(Constants.Shooter.kP, Constants.Shooter.kI, Constants.Shooter.kD);
+    private final PIDController bottomFeedback = new PIDController(Constants.Shooter.kP, Constants.Shooter.kI, Constants.Shooter.kD);
+
+    private boolean closedLoop = false;
+    private double topSetpointRPS = 0.0;
+    private double bottomSetpointRPS = 0.0;
+    private double topAppliedVolts = 0.0;
+    private double bottomAppliedVolts = 0.0;
+
+    @Override
+    public void updateInputs(ShooterIOInputs inputs) {
+        double topRPS = topSim.getAngularVelocityRPM() / 60.0;
+        double bottomRPS = bottomSim.getAngularVelocityRPM() / 60.0;
+
+        if (closedLoop) {
+            topAppliedVolts = topFeedback.calculate(topRPS, topSetpointRPS) + feedForward(topSetpointRPS);
+            bottomAppliedVolts = bottomFeedback.calculate(bottomRPS, bottomSetpointRPS) + feedForward(bottomSetpointRPS);
+        }
+        topAppliedVolts = MathUtil.clamp(topAppliedVolts, Constants.Shooter.peakReverseVoltage, Constants.Shooter.peakForwardVoltage);
+        bottomAppliedVolts = MathUtil.clamp(bottomAppliedVolts, Constants.Shooter.peakReverseVoltage, Constants.Shooter.peakForwardVoltage);
+
+        topSim.setInputVoltage(topAppliedVolts);
+        bottomSim.setInputVoltage(bottomAppliedVolts);
+        topSim.update(Robot.kDefaultPeriod);
+        bottomSim.update(Robot.kDefaultPeriod);
+
+        inputs.topVelocityRPS = topSim.getAngularVelocityRPM() / 60.0;
+        inputs.topAppliedVolts = topAppliedVolts;
+        inputs.topCurrentAmps = Math.abs(topSim.getCurrentDrawAmps());
+        inputs.bottomVelocityRPS = bottomSim.getAngularVelocityRPM() / 60.0;
+        inputs.bottomAppliedVolts = bottomAppliedVolts;
+        inputs.bottomCurrentAmps = Math.abs(bottomSim.getCurrentDrawAmps());
+    }
+
+    private double feedForward(double rps) {
+        return Constants.Shooter.kS * Math.signum(rps) + rps * 60.0 / Constants.Shooter.RPMsPerVolt;
+    }
+
+    @Override
+    public void setVelocity(double topRPS, double bottomRPS) {
+        closedLoop = true;
+        topSetpointRPS = topRPS;
+        bottomSetpointRPS = bottomRPS;
+    }
+
+    @Override
+    public void setVoltage(double volts) {
+        closedLoop = false;
+        topAppliedVolts = volts;
+        bottomAppliedVolts = volts;
+    }
+}
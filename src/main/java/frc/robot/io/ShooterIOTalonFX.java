@@ -0,0 +1,93 @@
+package frc.robot.io;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+//import com.ctre.phoenix6.controls.VelocityTorqueCurrentFOC;
+import com.ctre.phoenix6.controls.VelocityVoltage;
+import com.ctre.phoenix6.controls.VoltageOut;
+import com.ctre.phoenix6.hardware.TalonFX;
+
+import frc.robot.Constants;
+import frc.robot.Robot;
+
+public class ShooterIOTalonFX implements ShooterIO {
+    private final TalonFX top;
+    private final TalonFX bottom;
+    //private final VelocityTorqueCurrentFOC velocityTorqueCurrentFOC = new VelocityTorqueCurrentFOC(0);
+    private final VoltageOut voltageOut = new VoltageOut(0).withEnableFOC(true);
+    private final VelocityVoltage topControl = new VelocityVoltage(0).withEnableFOC(true);
+    private final VelocityVoltage bottomControl = new VelocityVoltage(0).withEnableFOC(true);
+
+    private final StatusSignal<Double> topVelocity;
+    private final StatusSignal<Double> topAppliedVolts;
+    private final StatusSignal<Double> topCurrent;
+    private final StatusSignal<Double> bottomVelocity;
+    private final StatusSignal<Double> bottomAppliedVolts;
+    private final StatusSignal<Double> bottomCurrent;
+
+    public ShooterIOTalonFX() {
+        top = new TalonFX(Constants.Shooter.topShooterID, Constants.Shooter.shooterMotorCanBus);
+        bottom = new TalonFX(Constants.Shooter.bottomShooterID, Constants.Shooter.shooterMotorCanBus);
+        applyConfigs();
+
+        topVelocity = top.getVelocity();
+        topAppliedVolts = top.getMotorVoltage();
+        topCurrent = top.getStatorCurrent();
+        bottomVelocity = bottom.getVelocity();
+        bottomAppliedVolts = bottom.getMotorVoltage();
+        bottomCurrent = bottom.getStatorCurrent();
+    }
+
+    private void applyConfigs() {
+        /* Configure the Shooter Motors */
+        var m_ShooterMotorsConfiguration = new TalonFXConfiguration();
+        /* Set Shooter motors to Brake */
+        m_ShooterMotorsConfiguration.MotorOutput.NeutralMode = Constants.Shooter.motorNeutralValue;
+        /* Set the Shooters motor direction */
+        m_ShooterMotorsConfiguration.MotorOutput.Inverted = Constants.Shooter.motorOutputInverted;
+        /* Config the peak outputs */
+        m_ShooterMotorsConfiguration.Voltage.PeakForwardVoltage = Constants.Shooter.peakForwardVoltage;
+        m_ShooterMotorsConfiguration.Voltage.PeakReverseVoltage = Constants.Shooter.peakReverseVoltage;
+
+        // PID & FF configuration
+        m_ShooterMotorsConfiguration.Slot0.kP = Constants.Shooter.kP;
+        m_ShooterMotorsConfiguration.Slot0.kI = Constants.Shooter.kI;
+        m_ShooterMotorsConfiguration.Slot0.kD = Constants.Shooter.kD;
+        m_ShooterMotorsConfiguration.Slot0.kS = Constants.Shooter.kS;
+        m_ShooterMotorsConfiguration.Slot0.kV = 60.0 / Constants.Shooter.RPMsPerVolt;
+        m_ShooterMotorsConfiguration.Slot0.kA = 0.0;
+        m_ShooterMotorsConfiguration.Slot0.kG = 0.0;
+
+        /* Apply Shooters Motor Configs */
+        Robot.deviceConfigurator.apply("Top shooter", top, m_ShooterMotorsConfiguration);
+        Robot.deviceConfigurator.apply("Bottom shooter", bottom, m_ShooterMotorsConfiguration);
+    }
+
+    @Override
+    public void updateInputs(ShooterIOInputs inputs) {
+        BaseStatusSignal.refreshAll(topVelocity, topAppliedVolts, topCurrent, bottomVelocity, bottomAppliedVolts, bottomCurrent);
+        inputs.topVelocityRPS = topVelocity.getValue();
+        inputs.topAppliedVolts = topAppliedVolts.getValue();
+        inputs.topCurrentAmps = topCurrent.getValue();
+        inputs.bottomVelocityRPS = bottomVelocity.getValue();
+        inputs.bottomAppliedVolts = bottomAppliedVolts.getValue();
+        inputs.bottomCurrentAmps = bottomCurrent.getValue();
+    }
+
+    /*private void setVelocityTorque(TalonFX motor, double rps) {
+        motor.setControl(velocityTorqueCurrentFOC.withVelocity(rps));
+    }*/
+
+    @Override
+    public void setVelocity(double topRPS, double bottomRPS) {
+        top.setControl(topControl.withVelocity(topRPS));
+        bottom.setControl(bottomControl.withVelocity(bottomRPS));
+    }
+
+    @Override
+    public void setVoltage(double volts) {
+        top.setControl(voltageOut.withOutput(volts));
+        bottom.setControl(voltageOut.withOutput(volts));
+    }
+}
@@ -0,0 +1,50 @@
+package frc.robot.io;
+
+import org.photonvision.common.dataflow.structures.Packet;
+import org.photonvision.targeting.PhotonPipelineResult;
+
+import frc.lib.io.LogTable;
+import frc.lib.io.LoggableInputs;
+
+/** Interface to the AprilTag camera */
+public interface VisionIO {
+    public static class VisionIOInputs implements LoggableInputs {
+        public boolean connected = false;
+        public double timestampSeconds = 0.0;
+        /** The latest result, serialized exactly as PhotonVision sends it over NetworkTables */
+        public byte[] resultPacket = new byte[0];
+        /** The latest result, decoded (not logged separately) */
+        public PhotonPipelineResult result = new PhotonPipelineResult();
+
+        /** Set the latest result, keeping the serialized copy in sync */
+        public void setResult(PhotonPipelineResult newResult) {
+            result = newResult;
+            timestampSeconds = newResult.getTimestampSeconds();
+            Packet packet = new Packet(newResult.getPacketSize());
+            PhotonPipelineResult.serde.pack(packet, newResult);
+            resultPacket = packet.getData();
+        }
+
+        @Override
+        public void toLog(LogTable table) {
+            table.put("Connected", connected);
+            table.put("TimestampSeconds", timestampSeconds);
+            table.put("ResultPacket", resultPacket);
+        }
+
+        @Override
+        public void fromLog(LogTable table) {
+            connected = table.get("Connected", connected);
+            timestampSeconds = table.get("TimestampSeconds", timestampSeconds);
+            resultPacket = table.get("ResultPacket", resultPacket);
+            if (resultPacket.length > 0) {
+                result = PhotonPipelineResult.serde.unpack(new Packet(resultPacket));
+            } else {
+                result = new PhotonPipelineResult();
+            }
+            result.setTimestampSeconds(timestampSeconds);
+        }
+    }
+
+    public default void updateInputs(VisionIOInputs inputs) {}
+}
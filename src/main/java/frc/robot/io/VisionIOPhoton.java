@@ -0,0 +1,19 @@
+package frc.robot.io;
+
+import org.photonvision.PhotonCamera;
+
+import frc.robot.Constants;
+
+public class VisionIOPhoton implements VisionIO {
+    protected final PhotonCamera camera;
+
+    public VisionIOPhoton() {
+        camera = new PhotonCamera(Constants.Vision.cameraName);
+    }
+
+    @Override
+    public void updateInputs(VisionIOInputs inputs) {
+        inputs.connected = camera.isConnected();
+        inputs.setResult(camera.getLatestResult());
+    }
+}
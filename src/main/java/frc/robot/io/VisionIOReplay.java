@@ -0,0 +1,16 @@
+package frc.robot.io;
+
+import frc.lib.io.ReplayLogSource;
+
+public class VisionIOReplay implements VisionIO {
+    private final String key;
+
+    public VisionIOReplay(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public void updateInputs(VisionIOInputs inputs) {
+        ReplayLogSource.getInstance().read(key, inputs);
+    }
+}
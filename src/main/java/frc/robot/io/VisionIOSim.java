@@ -0,0 +1,177 @@
+package frc.robot.io;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.photonvision.PhotonCamera;
+import org.photonvision.estimation.TargetModel;
+import org.photonvision.estimation.VisionEstimation;
+import org.photonvision.simulation.PhotonCameraSim;
+import org.photonvision.simulation.VisionSystemSim;
+import org.photonvision.simulation.VisionTargetSim;
+import org.photonvision.targeting.MultiTargetPNPResult;
+import org.photonvision.targeting.PNPResult;
+import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
+
+import edu.wpi.first.apriltag.AprilTag;
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.Constants;
+import frc.robot.sim.SeededCameraProperties;
+import frc.robot.sim.SimVariation;
+import frc.robot.subsystems.VisionSubsystem;
+
+/**
+ * Simulated AprilTag camera, seeing the field from the supplied (true) robot pose.
+ *
+ * <p>Frames are captured at the camera's frame rate and handed to the robot code after a jittered
+ * latency, with per-corner pixel noise and randomly missed tags.  All randomness comes from one
+ * seeded generator, so the same run produces the same frames every time.  Latency, noise and
+ * dropout come from the current {@link SimVariation}.  Multi-tag results are solved against the
+ * same field layout the robot uses (including the HQ layout), just as the coprocessor would with
+ * that layout uploaded.
+ */
+public class VisionIOSim implements VisionIO {
+    private final Supplier<Pose2d> poseSupplier;
+    private final AprilTagFieldLayout layout;
+    private final SeededCameraProperties properties;
+    private final PhotonCameraSim cameraSim;
+    private final VisionSystemSim visionSim;
+    private final List<VisionTargetSim> targets = new ArrayList<>();
+    private final Random random;
+    private final ArrayDeque<PendingFrame> pending = new ArrayDeque<>();
+    private final double tagDropout;
+
+    private PhotonPipelineResult latest = new PhotonPipelineResult();
+    private double nextFrameTime = 0.0;
+    private double lastArrivalTime = 0.0;
+    private int framesCaptured = 0;
+    private int framesDropped = 0;
+    private int tagsDropped = 0;
+
+    private static class PendingFrame {
+        final double arrivalTime;
+        final PhotonPipelineResult result;
+
+        PendingFrame(double arrivalTime, PhotonPipelineResult result) {
+            this.arrivalTime = arrivalTime;
+            this.result = result;
+        }
+    }
+
+    public VisionIOSim(Supplier<Pose2d> poseSupplier) {
+        this.poseSupplier = poseSupplier;
+        layout = VisionSubsystem.loadFieldLayout();
+
+        SimVariation variation = SimVariation.get();
+        properties = new SeededCameraProperties(variation.seed);
+        properties.setCalibration(Constants.Sim.cameraResolutionWidth, Constants.Sim.cameraResolutionHeight, Rotation2d.fromDegrees(Constants.Sim.cameraFOV));
+        properties.setCalibError(variation.cameraPixelNoise, Constants.Sim.cameraPixelNoiseJitter);
+        properties.setFPS(Constants.Sim.cameraFPS);
+        properties.setAvgLatencyMs(variation.cameraLatency);
+        properties.setLatencyStdDevMs(Constants.Sim.cameraLatencyJitter);
+        random = properties.getRandom();
+        tagDropout = variation.tagDropout;
+
+        cameraSim = new PhotonCameraSim(new PhotonCamera(Constants.Vision.cameraName), properties);
+        // Rendering the video streams costs far more than the vision itself
+        cameraSim.enableRawStream(false);
+        cameraSim.enableProcessedStream(false);
+        cameraSim.enableDrawWireframe(false);
+
+        visionSim = new VisionSystemSim("main");
+        visionSim.addAprilTags(layout);
+
+        // A fixed order (unlike the sim's set of targets) keeps the dropout draws repeatable
+        for (AprilTag tag : layout.getTags()) {
+            targets.add(new VisionTargetSim(tag.pose, TargetModel.kAprilTag36h11, tag.ID));
+        }
+    }
+
+    @Override
+    public void updateInputs(VisionIOInputs inputs) {
+        double now = Timer.getFPGATimestamp();
+
+        if (now >= nextFrameTime) {
+            capture(now);
+            double framePeriod = 1.0 / properties.getFPS();
+            nextFrameTime = Math.max(nextFrameTime + framePeriod, now);
+        }
+
+        while (!pending.isEmpty() && pending.peek().arrivalTime <= now) {
+            latest = pending.poll().result;
+        }
+
+        inputs.connected = true;
+        inputs.setResult(latest);
+    }
+
+    private void capture(double now) {
+        Pose2d robotPose = poseSupplier.get();
+        visionSim.getDebugField().setRobotPose(robotPose);
+
+        framesCaptured++;
+        if (random.nextDouble() < Constants.Sim.frameDropout) {
+            framesDropped++;
+            return;
+        }
+
+        List<VisionTargetSim> seen = new ArrayList<>(targets.size());
+        for (VisionTargetSim target : targets) {
+            if (random.nextDouble() < tagDropout) {
+                tagsDropped++;
+            } else {
+                seen.add(target);
+            }
+        }
+
+        Pose3d cameraPose = new Pose3d(robotPose).transformBy(Constants.Vision.robotToCam);
+        double latencyMs = properties.estLatencyMs();
+        PhotonPipelineResult result = solveMultiTag(cameraSim.process(latencyMs, cameraPose, seen), latencyMs);
+        result.setTimestampSeconds(now);
+
+        // The pipeline handles one frame at a time, so results can't arrive out of order
+        double arrivalTime = Math.max(now + latencyMs / 1000.0, lastArrivalTime);
+        lastArrivalTime = arrivalTime;
+        pending.add(new PendingFrame(arrivalTime, result));
+    }
+
+    private PhotonPipelineResult solveMultiTag(PhotonPipelineResult result, double latencyMs) {
+        List<PhotonTrackedTarget> tags = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        for (PhotonTrackedTarget target : result.getTargets()) {
+            if (layout.getTagPose(target.getFiducialId()).isPresent()) {
+                tags.add(target);
+                ids.add(target.getFiducialId());
+            }
+        }
+
+        MultiTargetPNPResult multiTag = new MultiTargetPNPResult();
+        if (tags.size() > 1) {
+            PNPResult pnp = VisionEstimation.estimateCamPosePNP(properties.getIntrinsics(), properties.getDistCoeffs(), tags, layout, TargetModel.kAprilTag36h11);
+            if (pnp.isPresent) {
+                multiTag = new MultiTargetPNPResult(pnp, ids);
+            }
+        }
+        return new PhotonPipelineResult(latencyMs, result.getTargets(), multiTag);
+    }
+
+    public int getFramesCaptured() {
+        return framesCaptured;
+    }
+
+    public int getFramesDropped() {
+        return framesDropped;
+    }
+
+    public int getTagsDropped() {
+        return tagsDropped;
+    }
+}
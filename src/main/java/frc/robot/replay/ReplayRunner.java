@@ -0,0 +1,73 @@
+package frc.robot.replay;
+
+import java.io.File;
+import java.io.IOException;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import frc.lib.io.ReplayLogSource;
+import frc.robot.Robot;
+
+/**
+ * Re-runs the robot code against the inputs recorded in a match log.
+ *
+ * <p>The robot is stepped one loop at a time, as fast as the desktop allows, with the simulated
+ * FPGA clock set to each loop's recorded timestamp.  Every subsystem reads its inputs from the log
+ * instead of hardware, so the replayed outputs (written to a new log) can be compared with the
+ * original, or the code can be changed and re-run against the same match.
+ *
+ * <p>Usage: {@code ReplayRunner <input.wpilog> [output.wpilog]}
+ */
+public final class ReplayRunner {
+    private ReplayRunner() {}
+
+    public static void main(String... args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayRunner <input.wpilog> [output.wpilog]");
+            System.exit(1);
+        }
+
+        File input = new File(args[0]);
+        File output = new File(args.length > 1 ? args[1] : input.getPath().replaceAll("\\.wpilog$", "") + "_replay.wpilog");
+
+        if (!HAL.initialize(500, 0)) {
+            throw new IllegalStateException("Failed to initialize the HAL");
+        }
+
+        ReplayLogSource source = ReplayLogSource.open(input.getPath());
+        System.out.printf("Replaying %d loops from %s%n", source.getCycleCount(), input.getPath());
+
+        File outputDir = output.getAbsoluteFile().getParentFile();
+        DataLogManager.start(outputDir.getPath(), output.getName());
+
+        Robot.setMode(Robot.Mode.REPLAY);
+        SimHooks.pauseTiming();
+        SimHooks.restartTiming();
+
+        Robot robot = new Robot();
+        robot.robotInit();
+
+        long start = System.nanoTime();
+        long lastTimestamp = 0;
+        while (source.advance()) {
+            long timestamp = source.getTimestamp();
+            if (timestamp > lastTimestamp) {
+                SimHooks.stepTiming((timestamp - lastTimestamp) / 1e6);
+            }
+            lastTimestamp = timestamp;
+
+            source.applyOperatorInputs();
+            robot.runLoopIteration();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Replayed %d loops (%.1f s of robot time) in %.1f s; output written to %s%n",
+            source.getCycleCount(), lastTimestamp / 1e6, elapsed, output.getPath());
+
+        DataLogManager.stop();
+        robot.close();
+        HAL.shutdown();
+        System.exit(0);
+    }
+}
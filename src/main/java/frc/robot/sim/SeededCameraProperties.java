@@ -0,0 +1,67 @@
+package frc.robot.sim;
+
+import java.util.Random;
+
+import org.opencv.core.Point;
+import org.photonvision.simulation.SimCameraProperties;
+
+/**
+ * Camera properties whose pixel noise and latency jitter come from a seeded generator, so that a
+ * simulated run produces exactly the same frames every time.
+ */
+public class SeededCameraProperties extends SimCameraProperties {
+    private final Random random;
+    // No initializers: the base constructor may call the setters below before they would run
+    private double avgErrorPx;
+    private double errorStdDevPx;
+    private double avgLatencyMs;
+    private double latencyStdDevMs;
+
+    public SeededCameraProperties(long seed) {
+        random = new Random(seed);
+    }
+
+    @Override
+    public void setCalibError(double avgErrorPx, double errorStdDevPx) {
+        super.setCalibError(avgErrorPx, errorStdDevPx);
+        this.avgErrorPx = avgErrorPx;
+        this.errorStdDevPx = errorStdDevPx;
+    }
+
+    @Override
+    public void setAvgLatencyMs(double avgLatencyMs) {
+        super.setAvgLatencyMs(avgLatencyMs);
+        this.avgLatencyMs = avgLatencyMs;
+    }
+
+    @Override
+    public void setLatencyStdDevMs(double latencyStdDevMs) {
+        super.setLatencyStdDevMs(latencyStdDevMs);
+        this.latencyStdDevMs = latencyStdDevMs;
+    }
+
+    @Override
+    public Point[] estPixelNoise(Point[] points) {
+        if (avgErrorPx == 0 && errorStdDevPx == 0) {
+            return points;
+        }
+
+        Point[] noisyPts = new Point[points.length];
+        for (int i = 0; i < points.length; i++) {
+            // Error in a random direction, with a normally distributed magnitude
+            double error = avgErrorPx + random.nextGaussian() * errorStdDevPx;
+            double errorAngle = random.nextDouble() * 2 * Math.PI - Math.PI;
+            noisyPts[i] = new Point(points[i].x + error * Math.cos(errorAngle), points[i].y + error * Math.sin(errorAngle));
+        }
+        return noisyPts;
+    }
+
+    @Override
+    public double estLatencyMs() {
+        return Math.max(avgLatencyMs + random.nextGaussian() * latencyStdDevMs, 0);
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+}
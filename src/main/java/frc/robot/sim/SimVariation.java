@@ -0,0 +1,77 @@
+package frc.robot.sim;
+
+import java.util.Random;
+
+import frc.robot.Constants;
+
+/**
+ * The conditions a simulated run happens under: how the camera performs, how reliably notes are
+ * picked up and how accurately the robot was placed.  Normally the nominal values from
+ * {@link Constants.Sim}; Monte Carlo runs draw a different set from a seed for each run.
+ *
+ * <p>Must be set before the robot is constructed, since the simulated devices read it then.
+ */
+public final class SimVariation {
+    public final long seed;
+    public final double startErrorX; // m, how far the robot was actually placed from where the auto expects
+    public final double startErrorY; // m
+    public final double startErrorHeading; // degrees
+    public final double cameraLatency;
+    public final double cameraPixelNoise;
+    public final double tagDropout;
+    public final double intakeSuccess;
+    public final double maxIntakeDelay;
+
+    private static SimVariation current = nominal();
+
+    private SimVariation(long seed, double startErrorX, double startErrorY, double startErrorHeading,
+            double cameraLatency, double cameraPixelNoise, double tagDropout, double intakeSuccess, double maxIntakeDelay) {
+        this.seed = seed;
+        this.startErrorX = startErrorX;
+        this.startErrorY = startErrorY;
+        this.startErrorHeading = startErrorHeading;
+        this.cameraLatency = cameraLatency;
+        this.cameraPixelNoise = cameraPixelNoise;
+        this.tagDropout = tagDropout;
+        this.intakeSuccess = intakeSuccess;
+        this.maxIntakeDelay = maxIntakeDelay;
+    }
+
+    /** Exactly the conditions in Constants.Sim, with the robot placed perfectly and every pickup working */
+    public static SimVariation nominal() {
+        return new SimVariation(Constants.Sim.visionSeed, 0.0, 0.0, 0.0,
+            Constants.Sim.cameraLatency, Constants.Sim.cameraPixelNoise, Constants.Sim.tagDropout, 1.0, 0.0);
+    }
+
+    /** Conditions drawn at random from the Monte Carlo ranges; the same seed gives the same conditions */
+    public static SimVariation random(long seed) {
+        Random random = new Random(seed);
+        return new SimVariation(seed,
+            random.nextGaussian() * Constants.Sim.startPositionError,
+            random.nextGaussian() * Constants.Sim.startPositionError,
+            random.nextGaussian() * Constants.Sim.startHeadingError,
+            uniform(random, Constants.Sim.minCameraLatency, Constants.Sim.maxCameraLatency),
+            uniform(random, Constants.Sim.minCameraPixelNoise, Constants.Sim.maxCameraPixelNoise),
+            uniform(random, 0.0, Constants.Sim.maxTagDropout),
+            Constants.Sim.intakeSuccess,
+            Constants.Sim.maxIntakeDelay);
+    }
+
+    private static double uniform(Random random, double min, double max) {
+        return min + random.nextDouble() * (max - min);
+    }
+
+    public static SimVariation get() {
+        return current;
+    }
+
+    public static void set(SimVariation variation) {
+        current = variation;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("seed %d: start error (%.3f, %.3f) m %.1f deg, latency %.0f ms, pixel noise %.2f px, tag dropout %.2f",
+            seed, startErrorX, startErrorY, startErrorHeading, cameraLatency, cameraPixelNoise, tagDropout);
+    }
+}
@@ -0,0 +1,12 @@
+package frc.robot.sim;
+
+/** A simulated swerve module IO whose physics are stepped by {@link SwerveDriveSim} */
+public interface SimulatedModule {
+    public SwerveModulePhysics getPhysics();
+
+    /** Run the motor controllers' control loops and step the module's physics */
+    public void simulationStep(double busVolts, double dt);
+
+    /** Push the stepped physics out to the simulated sensors */
+    public default void updateSensors() {}
+}
@@ -0,0 +1,96 @@
+package frc.robot.sim;
+
+import dev.doglog.DogLog;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Twist2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.wpilibj.RobotController;
+import frc.robot.Constants;
+import frc.robot.io.GyroIOPigeon2Sim;
+
+/**
+ * Ground truth for the simulated drivetrain.  Each loop the modules' physics are stepped, the
+ * corners are constrained to move as one rigid robot, and the robot's true pose is integrated.
+ *
+ * <p>The true pose is what simulated sensors (gyro, camera) see; the robot code only ever sees
+ * those sensors, so its pose estimate can be compared against {@link #getPose()}.
+ */
+public class SwerveDriveSim {
+    private static SwerveDriveSim instance = null;
+
+    private final SimulatedModule[] modules;
+    private final GyroIOPigeon2Sim gyro;
+    private final SwerveModuleState[] groundStates = new SwerveModuleState[4];
+    private ChassisSpeeds speeds = new ChassisSpeeds();
+    private ChassisSpeeds lastSpeeds = new ChassisSpeeds();
+    private Pose2d pose = new Pose2d();
+    private double yawDegrees = 0.0;
+
+    /**
+     * @param modules module IOs, in kinematics order
+     * @param gyro simulated Pigeon2 to keep up to date, or null if the gyro simulates itself from {@link #getSpeeds()}
+     */
+    public SwerveDriveSim(SimulatedModule[] modules, GyroIOPigeon2Sim gyro) {
+        assert(instance == null);
+        instance = this;
+
+        this.modules = modules;
+        this.gyro = gyro;
+    }
+
+    public static SwerveDriveSim getInstance() {
+        return instance;
+    }
+
+    public void update(double dt) {
+        double busVolts = RobotController.getBatteryVoltage();
+
+        for (int i = 0; i < modules.length; i++) {
+            modules[i].simulationStep(busVolts, dt);
+            groundStates[i] = modules[i].getPhysics().getGroundState();
+        }
+
+        // The corners can't move independently, so settle on the one motion that best fits all of them
+        speeds = Constants.Swerve.swerveKinematics.toChassisSpeeds(groundStates);
+        SwerveModuleState[] rigidStates = Constants.Swerve.swerveKinematics.toSwerveModuleStates(speeds);
+        for (int i = 0; i < modules.length; i++) {
+            modules[i].getPhysics().setGroundState(rigidStates[i]);
+            modules[i].updateSensors();
+        }
+
+        pose = pose.exp(new Twist2d(speeds.vxMetersPerSecond * dt, speeds.vyMetersPerSecond * dt, speeds.omegaRadiansPerSecond * dt));
+        double yawRate = Units.radiansToDegrees(speeds.omegaRadiansPerSecond);
+        yawDegrees += yawRate * dt;
+        if (gyro != null) {
+            // What an accelerometer turning with the robot feels
+            double accelX = (speeds.vxMetersPerSecond - lastSpeeds.vxMetersPerSecond) / dt - speeds.omegaRadiansPerSecond * speeds.vyMetersPerSecond;
+            double accelY = (speeds.vyMetersPerSecond - lastSpeeds.vyMetersPerSecond) / dt + speeds.omegaRadiansPerSecond * speeds.vxMetersPerSecond;
+            gyro.updateSensor(yawDegrees, yawRate, accelX, accelY, dt, busVolts);
+        }
+        lastSpeeds = speeds;
+
+        DogLog.log("Sim/Pose", pose);
+        DogLog.log("Sim/Speeds", new double[] { speeds.vxMetersPerSecond, speeds.vyMetersPerSecond, speeds.omegaRadiansPerSecond });
+    }
+
+    /** The robot's true pose on the field */
+    public Pose2d getPose() {
+        return pose;
+    }
+
+    /** The robot's true robot-relative velocity */
+    public ChassisSpeeds getSpeeds() {
+        return speeds;
+    }
+
+    /** Place the robot on the field, e.g. at the start of an auto */
+    public void resetPose(Pose2d newPose) {
+        pose = newPose;
+        speeds = new ChassisSpeeds();
+        for (SimulatedModule module : modules) {
+            module.getPhysics().reset();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package frc.robot.sim;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.wpilibj.simulation.DCMotorSim;
+import frc.robot.Constants;
+
+/**
+ * Physics for one swerve module: a Kraken drive motor pushing a quarter of the robot's mass through
+ * the wheel, and a Kraken steering motor turning the module.
+ *
+ * <p>The wheel and the ground are tracked separately.  While the force the wheel asks for is within
+ * the tread's grip they move together; beyond it the wheel spins (or locks) against kinetic friction,
+ * so the drive encoder no longer matches how far the robot actually moved.  The drive motor's supply
+ * current limit is applied the same way the Talon does it, by reducing the output voltage.
+ */
+public class SwerveModulePhysics {
+    private static final double gravity = 9.81;
+
+    private final DCMotor driveMotor = DCMotor.getKrakenX60Foc(1);
+    private final DCMotorSim angleSim = new DCMotorSim(DCMotor.getKrakenX60Foc(1), Constants.Swerve.angleGearRatio, Constants.Sim.angleMOI);
+
+    private final double wheelRadius = Constants.Swerve.wheelCircumference / (2.0 * Math.PI);
+    private final double gearRatio = Constants.Swerve.driveGearRatio;
+    private final double mass = Constants.Sim.robotMass / 4.0;
+    private final double wheelMOI = Constants.Sim.driveMOI;
+    private final double maxStaticForce = Constants.Sim.wheelCOF * mass * gravity;
+    private final double kineticForce = Constants.Sim.wheelKineticCOF * mass * gravity;
+
+    private double wheelVelocity = 0.0; // rad/s
+    private double wheelPosition = 0.0; // rad
+    private double groundVelocity = 0.0; // m/s along the wheel's heading
+    private boolean slipping = false;
+    private double driveAppliedVolts = 0.0;
+    private double driveStatorCurrent = 0.0;
+    private double driveSupplyCurrent = 0.0;
+
+    /**
+     * Advance the module by one step.
+     *
+     * @param driveVolts voltage the drive motor controller is asking for
+     * @param angleVolts voltage the angle motor controller is asking for
+     * @param busVolts battery voltage
+     * @param dt step length in seconds
+     */
+    public void update(double driveVolts, double angleVolts, double busVolts, double dt) {
+        angleSim.setInputVoltage(MathUtil.clamp(angleVolts, -busVolts, busVolts));
+        angleSim.update(dt);
+
+        double motorSpeed = wheelVelocity * gearRatio;
+        double backEmf = motorSpeed / driveMotor.KvRadPerSecPerVolt;
+        driveAppliedVolts = MathUtil.clamp(driveVolts, -busVolts, busVolts);
+        if (Constants.Sim.modelCurrentLimit && Constants.Swerve.driveEnableCurrentLimit) {
+            driveAppliedVolts = limitSupplyCurrent(driveAppliedVolts, backEmf, busVolts, Constants.Swerve.driveCurrentLimit);
+        }
+        driveStatorCurrent = (driveAppliedVolts - backEmf) / driveMotor.rOhms;
+        driveSupplyCurrent = driveStatorCurrent * Math.abs(driveAppliedVolts / busVolts);
+        double wheelTorque = driveMotor.KtNMPerAmp * driveStatorCurrent * gearRatio;
+
+        if (!slipping) {
+            double acceleration = (wheelTorque / wheelRadius) / (mass + wheelMOI / (wheelRadius * wheelRadius));
+            if (Constants.Sim.modelWheelSlip && Math.abs(mass * acceleration) > maxStaticForce) {
+                slipping = true;
+            } else {
+                groundVelocity += acceleration * dt;
+                wheelVelocity = groundVelocity / wheelRadius;
+            }
+        }
+        if (slipping) {
+            double slip = wheelVelocity * wheelRadius - groundVelocity;
+            double direction = Math.signum(slip != 0.0 ? slip : wheelTorque);
+            double friction = kineticForce * direction;
+            double newWheelVelocity = wheelVelocity + (wheelTorque - friction * wheelRadius) / wheelMOI * dt;
+            double newGroundVelocity = groundVelocity + friction / mass * dt;
+
+            if (Math.signum(newWheelVelocity * wheelRadius - newGroundVelocity) != direction) {
+                // Wheel and ground speeds crossed, so the tread has regained grip
+                double effectiveMass = wheelMOI / (wheelRadius * wheelRadius);
+                groundVelocity = (mass * newGroundVelocity + effectiveMass * newWheelVelocity * wheelRadius) / (mass + effectiveMass);
+                wheelVelocity = groundVelocity / wheelRadius;
+                slipping = false;
+            } else {
+                wheelVelocity = newWheelVelocity;
+                groundVelocity = newGroundVelocity;
+            }
+        }
+        wheelPosition += wheelVelocity * dt;
+    }
+
+    /** Reduce the output so that supply current (stator current times duty cycle) stays within the limit */
+    private double limitSupplyCurrent(double volts, double backEmf, double busVolts, double limit) {
+        double supplyCurrent = (volts - backEmf) / driveMotor.rOhms * (volts / busVolts);
+        if (Math.abs(supplyCurrent) <= limit || volts == 0.0) {
+            return volts;
+        }
+        // Solve V * (V - emf) / (R * Vbus) = limit for the V on the same side as the request
+        double root = Math.sqrt(backEmf * backEmf + 4.0 * limit * driveMotor.rOhms * busVolts);
+        return volts > 0.0 ? (backEmf + root) / 2.0 : (backEmf - root) / 2.0;
+    }
+
+    /** The module as the ground sees it: how fast the robot is actually moving at this corner */
+    public SwerveModuleState getGroundState() {
+        return new SwerveModuleState(groundVelocity, getAngle());
+    }
+
+    /**
+     * Constrain this corner to the motion of the whole (rigid) robot.  Sideways motion of the wheel
+     * is scrubbed off, leaving only the component along the wheel's heading.
+     */
+    public void setGroundState(SwerveModuleState state) {
+        double along = state.speedMetersPerSecond * state.angle.minus(getAngle()).getCos();
+        if (!slipping) {
+            wheelVelocity = along / wheelRadius;
+        }
+        groundVelocity = along;
+    }
+
+    public void reset() {
+        wheelVelocity = 0.0;
+        groundVelocity = 0.0;
+        slipping = false;
+    }
+
+    public Rotation2d getAngle() {
+        return Rotation2d.fromRotations(angleSim.getAngularPositionRotations());
+    }
+
+    public boolean isSlipping() {
+        return slipping;
+    }
+
+    /** Drive wheel position in rotations */
+    public double getDrivePositionRotations() {
+        return wheelPosition / (2.0 * Math.PI);
+    }
+
+    /** Drive wheel velocity in rotations per second */
+    public double getDriveVelocityRPS() {
+        return wheelVelocity / (2.0 * Math.PI);
+    }
+
+    /** Module angle in rotations (not wrapped) */
+    public double getAnglePositionRotations() {
+        return angleSim.getAngularPositionRotations();
+    }
+
+    public double getAngleVelocityRPS() {
+        return angleSim.getAngularVelocityRPM() / 60.0;
+    }
+
+    public double getDriveAppliedVolts() {
+        return driveAppliedVolts;
+    }
+
+    public double getDriveStatorCurrent() {
+        return driveStatorCurrent;
+    }
+
+    public double getDriveSupplyCurrent() {
+        return driveSupplyCurrent;
+    }
+
+    public double getAngleCurrent() {
+        return angleSim.getCurrentDrawAmps();
+    }
+}
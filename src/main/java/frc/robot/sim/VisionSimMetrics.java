@@ -0,0 +1,117 @@
+package frc.robot.sim;
+
+import dev.doglog.DogLog;
+import edu.wpi.first.math.geometry.Pose2d;
+import frc.robot.io.VisionIOSim;
+import frc.robot.subsystems.PoseSubsystem;
+import frc.robot.subsystems.VisionSubsystem;
+
+/**
+ * Measures how well the vision and pose estimation paths do against the simulated ground truth:
+ * pose error, frame-to-fusion latency and the CPU time spent on vision each loop.
+ */
+public class VisionSimMetrics {
+    private static VisionSimMetrics instance = null;
+
+    private final VisionIOSim camera;
+    private final Stat positionError = new Stat();
+    private final Stat headingError = new Stat();
+    private final Stat latency = new Stat();
+    private final Stat processing = new Stat();
+    private int lastMeasurementCount = 0;
+
+    /** Running mean, RMS and maximum of a series of samples */
+    public static class Stat {
+        private long count = 0;
+        private double sum = 0.0;
+        private double sumSquares = 0.0;
+        private double max = 0.0;
+
+        public void add(double value) {
+            count++;
+            sum += value;
+            sumSquares += value * value;
+            max = Math.max(max, Math.abs(value));
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0.0 : sum / count;
+        }
+
+        public double getRMS() {
+            return count == 0 ? 0.0 : Math.sqrt(sumSquares / count);
+        }
+
+        public double getMax() {
+            return max;
+        }
+    }
+
+    public VisionSimMetrics(VisionIOSim camera) {
+        assert(instance == null);
+        instance = this;
+
+        this.camera = camera;
+    }
+
+    public static VisionSimMetrics getInstance() {
+        return instance;
+    }
+
+    /** Sample the metrics for this loop; call before the simulation is stepped past the loop */
+    public void update() {
+        SwerveDriveSim drive = SwerveDriveSim.getInstance();
+        PoseSubsystem pose = PoseSubsystem.getInstance();
+        VisionSubsystem vision = VisionSubsystem.getInstance();
+        if (drive == null || pose == null || vision == null) {
+            return;
+        }
+
+        Pose2d truth = drive.getPose();
+        Pose2d estimate = pose.getPose();
+        double error = estimate.getTranslation().getDistance(truth.getTranslation());
+        double heading = estimate.getRotation().minus(truth.getRotation()).getDegrees();
+        positionError.add(error);
+        headingError.add(heading);
+
+        if (vision.getMeasurementCount() != lastMeasurementCount) {
+            lastMeasurementCount = vision.getMeasurementCount();
+            latency.add(vision.getLastMeasurementLatency());
+        }
+        processing.add(vision.getProcessingSeconds());
+
+        DogLog.log("Sim/Vision/Position error", error);
+        DogLog.log("Sim/Vision/Heading error", heading);
+    }
+
+    public Stat getPositionError() {
+        return positionError;
+    }
+
+    public Stat getHeadingError() {
+        return headingError;
+    }
+
+    public Stat getLatency() {
+        return latency;
+    }
+
+    public Stat getProcessing() {
+        return processing;
+    }
+
+    public String summary() {
+        return String.format(
+            "Pose error: %.3f m RMS, %.3f m max; heading %.2f deg RMS, %.2f deg max%n" +
+            "Vision: %d frames (%d dropped, %d tags missed), %d fused, latency %.1f ms mean, %.1f ms max%n" +
+            "Vision CPU: %.3f ms mean, %.3f ms max per loop",
+            positionError.getRMS(), positionError.getMax(), headingError.getRMS(), headingError.getMax(),
+            camera.getFramesCaptured(), camera.getFramesDropped(), camera.getTagsDropped(), latency.getCount(),
+            latency.getMean() * 1000.0, latency.getMax() * 1000.0,
+            processing.getMean() * 1000.0, processing.getMax() * 1000.0);
+    }
+}
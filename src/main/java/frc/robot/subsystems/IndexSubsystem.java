@@ -4,38 +4,29 @@
 
 package frc.robot.subsystems;
 
-import com.ctre.phoenix6.configs.TalonFXConfiguration;
-import com.ctre.phoenix6.controls.DutyCycleOut;
-import com.ctre.phoenix6.hardware.TalonFX;
-
 import dev.doglog.DogLog;
-import edu.wpi.first.wpilibj.DigitalInput;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.lib.io.InputsLogger;
 import frc.lib.util.TunableOption;
 import frc.robot.Constants;
+import frc.robot.io.IndexIO;
+import frc.robot.io.IndexIO.IndexIOInputs;
 import frc.robot.subsystems.LEDSubsystem.BaseState;
 
 public class IndexSubsystem extends SubsystemBase {
   private static IndexSubsystem instance = null;
-  private final TalonFX indexMotor;
-  private final DutyCycleOut indexSpeedDutyCycleOut;
-  private final DigitalInput leftIndexSensor;
-  private final DigitalInput rightIndexSensor;
+  private final IndexIO io;
+  private final IndexIOInputs inputs = new IndexIOInputs();
   private boolean haveNote = false;
   private static final TunableOption optLeftIndexSensorEnabled = new TunableOption("indexer/Left index sensor enabled", false);
   private static final TunableOption optRightIndexSensorEnabled = new TunableOption("indexer/Right index sensor enabled", true);
 
-  public IndexSubsystem() {
+  public IndexSubsystem(IndexIO io) {
     assert(instance == null);
     instance = this;
 
-    indexMotor = new TalonFX(Constants.Index.indexMotorID, Constants.Index.indexMotorCanBus);
-    indexSpeedDutyCycleOut = new DutyCycleOut(0);
-    applyConfigs();
-
-    leftIndexSensor = new DigitalInput(Constants.Index.leftIndexSensorID);
-    rightIndexSensor = new DigitalInput(Constants.Index.rightIndexSensorID);
+    this.io = io;
   }
 
   public static IndexSubsystem getInstance() {
@@ -43,46 +34,35 @@ public class IndexSubsystem extends SubsystemBase {
   }
 
   public boolean haveNote() {
-    return (optLeftIndexSensorEnabled.get() && !leftIndexSensor.get()) ||
-      (optRightIndexSensorEnabled.get() && !rightIndexSensor.get());
-  }
-
-  public void applyConfigs() {
-    /* Configure the Index Motor */
-    var m_indexConfiguration = new TalonFXConfiguration();
-    /* Set Index motor to Brake */
-    m_indexConfiguration.MotorOutput.NeutralMode = Constants.Index.motorNeutralValue;
-    /* Set the motor direction */
-    m_indexConfiguration.MotorOutput.Inverted = Constants.Index.motorOutputInverted;
-    /* Config the peak outputs */
-    m_indexConfiguration.Voltage.PeakForwardVoltage = Constants.Index.peakForwardVoltage;
-    m_indexConfiguration.Voltage.PeakReverseVoltage = Constants.Index.peakReverseVoltage;
-    /* Apply Index Motor Configs */
-    indexMotor.getConfigurator().apply(m_indexConfiguration);
+    return (optLeftIndexSensorEnabled.get() && !inputs.leftSensor) ||
+      (optRightIndexSensorEnabled.get() && !inputs.rightSensor);
   }
 
   public void index() {
-    indexMotor.setControl(indexSpeedDutyCycleOut.withOutput(Constants.Index.indexSpeed));
+    io.setDutyCycle(Constants.Index.indexSpeed);
   }
 
   public void feed() {
-    indexMotor.setControl(indexSpeedDutyCycleOut.withOutput(Constants.Index.feedSpeed));
+    io.setDutyCycle(Constants.Index.feedSpeed);
   }
 
   public void softfeed() {
-    indexMotor.setControl(indexSpeedDutyCycleOut.withOutput(Constants.Index.softFeedSpeed));
+    io.setDutyCycle(Constants.Index.softFeedSpeed);
   }
 
   public void stop() {
-    indexMotor.setControl(indexSpeedDutyCycleOut.withOutput(Constants.Index.stopSpeed));
+    io.setDutyCycle(Constants.Index.stopSpeed);
   }
 
   public void eject() {
-    indexMotor.setControl(indexSpeedDutyCycleOut.withOutput(Constants.Index.ejectSpeed));
+    io.setDutyCycle(Constants.Index.ejectSpeed);
   }
 
   @Override
   public void periodic() {
+    io.updateInputs(inputs);
+    InputsLogger.process("Index", inputs);
+
     boolean currentVal = haveNote();
 
     if (currentVal != haveNote) {
@@ -93,11 +73,11 @@ public class IndexSubsystem extends SubsystemBase {
       LEDSubsystem.setBaseState(haveNote ? BaseState.NOTE : BaseState.EMPTY);
     }
     SmartDashboard.putBoolean("indexer/Have note", haveNote);
-    SmartDashboard.putBoolean("indexer/Left sensor", leftIndexSensor.get());
-    SmartDashboard.putBoolean("indexer/Right sensor", rightIndexSensor.get());
+    SmartDashboard.putBoolean("indexer/Left sensor", inputs.leftSensor);
+    SmartDashboard.putBoolean("indexer/Right sensor", inputs.rightSensor);
 
     DogLog.log("Index/Have note", haveNote);
-    DogLog.log("Index/Left sensor", leftIndexSensor.get());
-    DogLog.log("Index/Right sensor", rightIndexSensor.get());
+    DogLog.log("Index/Left sensor", inputs.leftSensor);
+    DogLog.log("Index/Right sensor", inputs.rightSensor);
   }
 }
\ No newline at end of file
@@ -4,57 +4,42 @@
 
 package frc.robot.subsystems;
 
-import com.ctre.phoenix6.configs.TalonFXConfiguration;
-import com.ctre.phoenix6.controls.DutyCycleOut;
-import com.ctre.phoenix6.hardware.TalonFX;
-
 import dev.doglog.DogLog;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.lib.io.InputsLogger;
 import frc.robot.Constants;
+import frc.robot.io.IntakeIO;
+import frc.robot.io.IntakeIO.IntakeIOInputs;
 
 public class IntakeSubsystem extends SubsystemBase {
-  private final TalonFX intakeMotor;
-  private final DutyCycleOut intakeSpeedDutyCycleOut;
+  private final IntakeIO io;
+  private final IntakeIOInputs inputs = new IntakeIOInputs();
   static boolean intaking = false;
 
-  public IntakeSubsystem() {
-    intakeMotor = new TalonFX(Constants.Intake.intakeMotorID, Constants.Intake.intakeMotorCanBus);
-    intakeSpeedDutyCycleOut = new DutyCycleOut(0);
-
-    applyConfigs();
-  }
-
-  public void applyConfigs() {
-    /* Configure the Intake Motor */
-    var m_intakeConfiguration = new TalonFXConfiguration();
-    /* Set Intake motor to Brake */
-    m_intakeConfiguration.MotorOutput.NeutralMode = Constants.Intake.motorNeutralValue;
-    /* Set the motor direction */
-    m_intakeConfiguration.MotorOutput.Inverted = Constants.Intake.motorOutputInverted;
-    /* Config the peak outputs */
-    m_intakeConfiguration.Voltage.PeakForwardVoltage = Constants.Intake.peakForwardVoltage;
-    m_intakeConfiguration.Voltage.PeakReverseVoltage = Constants.Intake.peakReverseVoltage;
-    /* Apply Intake Motor Configs */
-    intakeMotor.getConfigurator().apply(m_intakeConfiguration);
+  public IntakeSubsystem(IntakeIO io) {
+    this.io = io;
   }
 
   public void intake() {
-    intakeMotor.setControl(intakeSpeedDutyCycleOut.withOutput(Constants.Intake.intakingSpeed));
+    io.setDutyCycle(Constants.Intake.intakingSpeed);
   }
 
   public void eject() {
-    intakeMotor.setControl(intakeSpeedDutyCycleOut.withOutput(Constants.Intake.ejectingSpeed));
+    io.setDutyCycle(Constants.Intake.ejectingSpeed);
   }
 
   public void stop() {
-    intakeMotor.setControl(intakeSpeedDutyCycleOut.withOutput(Constants.Intake.stoppingSpeed));
+    io.setDutyCycle(Constants.Intake.stoppingSpeed);
   }
 
 
   @Override
   public void periodic() {
-    double current = intakeMotor.getTorqueCurrent().getValueAsDouble();
+    io.updateInputs(inputs);
+    InputsLogger.process("Intake", inputs);
+
+    double current = inputs.torqueCurrentAmps;
     boolean active = (current > 20.0);
 
     if (active && !intaking) {
@@ -4,8 +4,6 @@
 
 package frc.robot.subsystems;
 
-import com.ctre.phoenix6.configs.Pigeon2Configuration;
-import com.ctre.phoenix6.hardware.Pigeon2;
 import com.pathplanner.lib.auto.AutoBuilder;
 import com.pathplanner.lib.util.HolonomicPathFollowerConfig;
 import com.pathplanner.lib.util.PIDConstants;
@@ -14,6 +12,7 @@ import com.pathplanner.lib.util.ReplanningConfig;
 
 import dev.doglog.DogLog;
 import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.VecBuilder;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator;
 import edu.wpi.first.math.geometry.Pose2d;
@@ -21,13 +20,20 @@ import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.util.Units;
 import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.smartdashboard.Field2d;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.lib.io.InputsLogger;
+import frc.lib.swerve.CollisionDetector;
 import frc.lib.util.TunableOption;
 import frc.robot.Constants;
 import frc.robot.Constants.Pose;
+import frc.robot.Gains;
 import frc.robot.Robot;
+import frc.robot.io.GyroIO;
+import frc.robot.io.GyroIO.GyroIOInputs;
+import frc.robot.sim.SwerveDriveSim;
 
 public class PoseSubsystem extends SubsystemBase {
     private static PoseSubsystem instance;
@@ -36,11 +42,18 @@ public class PoseSubsystem extends SubsystemBase {
 
     private final SwerveDrivePoseEstimator poseEstimator;
     private final Field2d field;
-    private final Pigeon2 gyro;
+    private final GyroIO gyroIO;
+    private final GyroIOInputs gyroInputs = new GyroIOInputs();
     private static Rotation2d targetAngle = null;
     private static Zone zone = Zone.SPEAKER;
+    private Pose2d autoTargetPose = null;
+    private final CollisionDetector collisionDetector = new CollisionDetector(Pose.impactJerk, Pose.skidAcceleration, Pose.collisionRecoveryTime);
+    private boolean recovering = false;
+    private double lastCollisionCheck = Double.NaN;
+    private double lastVisionCorrection = Double.NEGATIVE_INFINITY;
 
     private static final TunableOption optUpdatePoseWithVisionAuto = new TunableOption("pose/Update with vision in Auto", false);
+    private static final TunableOption optCollisionDetection = new TunableOption("pose/Trust vision more after collisions", true);
 
     public enum Zone {
         SPEAKER,
@@ -48,16 +61,18 @@ public class PoseSubsystem extends SubsystemBase {
         FAR
     }
 
-    public PoseSubsystem(Swerve s_Swerve, VisionSubsystem s_Vision) {
+    public PoseSubsystem(Swerve s_Swerve, VisionSubsystem s_Vision, GyroIO gyroIO) {
         assert(instance == null);
         instance = this;
         
         this.s_Swerve = s_Swerve;
         this.s_Vision = s_Vision;
 
-        gyro = new Pigeon2(Pose.pigeonID, Constants.Swerve.swerveCanBus);
-        gyro.getConfigurator().apply(new Pigeon2Configuration());
-        gyro.setYaw(0);        
+        this.gyroIO = gyroIO;
+        updateGyroInputs();
+
+        // Gains may have been tuned from their defaults
+        updateGains();
 
         Pose.rotationPID.enableContinuousInput(-180.0, 180.0);
         Pose.rotationPID.setIZone(Pose.rotationIZone); // Only use Integral term within this range
@@ -67,7 +82,9 @@ public class PoseSubsystem extends SubsystemBase {
         Pose.maintainPID.setIZone(Pose.rotationIZone); // Only use Integral term within this range
         Pose.maintainPID.reset();
 
-        poseEstimator = new SwerveDrivePoseEstimator(Constants.Swerve.swerveKinematics, getGyroYaw(), s_Swerve.getModulePositions(), new Pose2d());
+        poseEstimator = new SwerveDrivePoseEstimator(Constants.Swerve.swerveKinematics, getGyroYaw(), s_Swerve.getOdometryPositions(), new Pose2d(),
+            VecBuilder.fill(Pose.odometryStdDev, Pose.odometryStdDev, Pose.odometryStdDev),
+            VecBuilder.fill(Pose.visionStdDev, Pose.visionStdDev, Pose.visionStdDev));
 
         field = new Field2d();
         SmartDashboard.putData("pose/Field", field);
@@ -79,8 +96,8 @@ public class PoseSubsystem extends SubsystemBase {
             s_Swerve::driveRobotRelativeAuto,
             // TODO Configure PIDs
             new HolonomicPathFollowerConfig( // HolonomicPathFollowerConfig, this should likely live in your Constants class
-                new PIDConstants(8.0, 0.0, 0.0), // Translation PID constants
-                new PIDConstants(1.5, 0.0, 0.0), // Rotation PID constants
+                new PIDConstants(Gains.pathTranslationKP.get(), 0.0, 0.0), // Translation PID constants
+                new PIDConstants(Gains.pathRotationKP.get(), 0.0, 0.0), // Rotation PID constants
                 Constants.Swerve.maxSpeed, // Max module speed, in m/s
                 Constants.Swerve.driveRadius, // Drive base radius in meters. Distance from robot center to furthest module.
                 new ReplanningConfig() // Default path replanning config. See the API for the options here
@@ -90,9 +107,13 @@ public class PoseSubsystem extends SubsystemBase {
         );
 
         PathPlannerLogging.setLogTargetPoseCallback((targetPose) -> {
+            autoTargetPose = targetPose;
             DogLog.log("Pose/Auto Target Pose", targetPose);
         });
         PathPlannerLogging.setLogActivePathCallback((activePath) -> {
+            if (activePath.isEmpty()) {
+                autoTargetPose = null;
+            }
             DogLog.log("Pose/Active Path", activePath.toArray(Pose2d[]::new)); //we have to convert the List of poses PathPlanner gives us to an array because DogLog does not support list, fourtunetely aScope doesn't care whether its a list or an array
         });
         PathPlannerLogging.setLogCurrentPoseCallback((currentPose) -> {
@@ -101,6 +122,19 @@ public class PoseSubsystem extends SubsystemBase {
 
     }
 
+    /** Where the auto path follower wants the robot to be right now, or null when no path is being followed */
+    public Pose2d getAutoTargetPose() {
+        return autoTargetPose;
+    }
+
+    /** For path followers other than PathPlanner's to report where they want the robot; null when done */
+    public void setAutoTargetPose(Pose2d targetPose) {
+        autoTargetPose = targetPose;
+        if (targetPose != null) {
+            DogLog.log("Pose/Auto Target Pose", targetPose);
+        }
+    }
+
     public static PoseSubsystem getInstance() {
         return instance;
     }
@@ -109,17 +143,27 @@ public class PoseSubsystem extends SubsystemBase {
         return String.format("(%01.2f, %01.2f @ %01.1f)", pose.getX(), pose.getY(), pose.getRotation().getDegrees());
     }
     
+    private void updateGyroInputs() {
+        gyroIO.updateInputs(gyroInputs);
+        InputsLogger.process("Pose/Gyro", gyroInputs);
+    }
+
     public Rotation2d getGyroYaw() {
-        return Rotation2d.fromDegrees(gyro.getYaw().getValue());
+        return Rotation2d.fromDegrees(gyroInputs.yawDegrees);
+    }
+
+    /** Turn rate from the gyro, radians per second, counterclockwise positive */
+    public double getGyroYawRate() {
+        return Units.degreesToRadians(gyroInputs.yawRateDegreesPerSecond);
     }
 
     public void zeroGyro() {
-        gyro.setYaw(0);
+        gyroIO.setYaw(0);
         DogLog.log("Pose/Gyro/Status", "Zeroed Gyro Yaw");
     }
 
     public void hack() {
-        gyro.setYaw(gyro.getYaw().getValue() + 180.0);
+        gyroIO.setYaw(gyroInputs.yawDegrees + 180.0);
     }
 
     public Pose2d getPose() {
@@ -127,8 +171,12 @@ public class PoseSubsystem extends SubsystemBase {
     }
 
     public void setPose(Pose2d pose) {
-        poseEstimator.resetPosition(getGyroYaw(), s_Swerve.getModulePositions(), pose);
+        poseEstimator.resetPosition(getGyroYaw(), s_Swerve.getOdometryPositions(), pose);
         DogLog.log("Pose/Status/Setting Pose", pose);
+        if (SwerveDriveSim.getInstance() != null) {
+            // In simulation, move the simulated robot too so the two agree
+            SwerveDriveSim.getInstance().resetPose(pose);
+        }
     }
 
     public Rotation2d getHeading() {
@@ -136,7 +184,7 @@ public class PoseSubsystem extends SubsystemBase {
     }
 
     public void setHeading(Rotation2d heading) {
-        poseEstimator.resetPosition(getGyroYaw(), s_Swerve.getModulePositions(), new Pose2d(getPose().getTranslation(), heading));
+        poseEstimator.resetPosition(getGyroYaw(), s_Swerve.getOdometryPositions(), new Pose2d(getPose().getTranslation(), heading));
     }
 
     public void zeroHeading() {
@@ -322,7 +370,7 @@ public class PoseSubsystem extends SubsystemBase {
     public static double angleErrorToSpeed(Rotation2d angleError, PIDController pid) {
         double angleErrorDeg = angleError.getDegrees();
         double correction = pid.calculate(angleErrorDeg);
-        double feedForward = Pose.rotationKS * Math.signum(correction);
+        double feedForward = Gains.rotationKS.get() * Math.signum(correction);
         double output = MathUtil.clamp(correction + feedForward, -1.0, 1.0);
 
         DogLog.log("Pose/Angle Error", angleErrorDeg);
@@ -338,11 +386,56 @@ public class PoseSubsystem extends SubsystemBase {
         return zone;
     }
 
+    /**
+     * After an impact or skid, odometry has likely drifted, so vision is trusted more until the
+     * recovery window passes.  The estimator only weighs the two against each other, so trusting
+     * vision more is the same as trusting odometry less.  Heading comes from the gyro, which a
+     * collision doesn't upset, so its trust is unchanged.
+     */
+    private void checkCollisions() {
+        double now = Timer.getFPGATimestamp();
+        double dt = Double.isNaN(lastCollisionCheck) ? 0.0 : now - lastCollisionCheck;
+        lastCollisionCheck = now;
+        if (collisionDetector.update(now, gyroInputs.accelerationX, gyroInputs.accelerationY, gyroInputs.peakJerk, s_Swerve.getSpeeds(), dt)) {
+            DogLog.log("Pose/Status", collisionDetector.isImpact() ? "Impact detected" : "Skid detected");
+        }
+
+        boolean recover = optCollisionDetection.get() && collisionDetector.isRecovering(now);
+        if (recover != recovering) {
+            double translationStdDev = recover ? Pose.collisionVisionStdDev : Pose.visionStdDev;
+            poseEstimator.setVisionMeasurementStdDevs(VecBuilder.fill(translationStdDev, translationStdDev, Pose.visionStdDev));
+            recovering = recover;
+        }
+        DogLog.log("Pose/Collision/Recovering", recovering);
+        DogLog.log("Pose/Collision/Jerk mismatch", collisionDetector.getJerkMismatch());
+        DogLog.log("Pose/Collision/Acceleration mismatch", collisionDetector.getAccelerationMismatch());
+    }
+
+    /**
+     * Whether the pose is good enough to steer the driver by: vision has corrected it recently,
+     * and odometry isn't still suspect after a collision.
+     */
+    public boolean isPoseConfident() {
+        double now = Timer.getFPGATimestamp();
+        return now - lastVisionCorrection < Pose.assistVisionAge && !collisionDetector.isRecovering(now);
+    }
+
+    // Take up any gains tuned from the dashboard since the last loop
+    private static void updateGains() {
+        Pose.rotationPID.setP(Gains.rotationKP.get());
+        Pose.maintainPID.setP(Gains.maintainKP.get());
+    }
+
     @Override
     public void periodic() {
-        poseEstimator.update(getGyroYaw(), s_Swerve.getModulePositions());
+        updateGains();
+        updateGyroInputs();
+        checkCollisions();
+        poseEstimator.update(getGyroYaw(), s_Swerve.getOdometryPositions());
         if (!DriverStation.isAutonomousEnabled() || optUpdatePoseWithVisionAuto.get()) {
-            s_Vision.updatePoseEstimate(poseEstimator);
+            if (s_Vision.updatePoseEstimate(poseEstimator)) {
+                lastVisionCorrection = Timer.getFPGATimestamp();
+            }
         } else {
             s_Vision.updatePoseEstimate(null);
         }
@@ -365,6 +458,7 @@ public class PoseSubsystem extends SubsystemBase {
             zone = Zone.MIDDLE;
         }
         DogLog.log("Pose/Zone", zone);
+        DogLog.log("Pose/Confident", isPoseConfident());
         SmartDashboard.putString("pose/Zone", zone.toString());
 
         SmartDashboard.putNumber("pose/Gyro", getHeading().getDegrees());
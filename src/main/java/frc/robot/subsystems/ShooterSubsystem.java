@@ -7,33 +7,26 @@ package frc.robot.subsystems;
 import java.util.EnumMap;
 import java.util.Map;
 
-import com.ctre.phoenix6.configs.TalonFXConfiguration;
-//import com.ctre.phoenix6.controls.VelocityTorqueCurrentFOC;
-import com.ctre.phoenix6.controls.VelocityVoltage;
-import com.ctre.phoenix6.controls.VoltageOut;
-import com.ctre.phoenix6.hardware.TalonFX;
-
 import dev.doglog.DogLog;
 import edu.wpi.first.math.util.Units;
 import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.lib.io.InputsLogger;
 import frc.robot.Constants;
+import frc.robot.io.ShooterIO;
+import frc.robot.io.ShooterIO.ShooterIOInputs;
 import static frc.robot.Options.*;
 
 public class ShooterSubsystem extends SubsystemBase {
-  private static TalonFX top;
-  private static TalonFX bottom;
-  //private final VelocityTorqueCurrentFOC velocityTorqueCurrentFOC = new VelocityTorqueCurrentFOC(0);
-  private final VoltageOut voltageOut = new VoltageOut(0).withEnableFOC(true);
-  private final VelocityVoltage topControl = new VelocityVoltage(0).withEnableFOC(true);
-  private final VelocityVoltage bottomControl = new VelocityVoltage(0).withEnableFOC(true);
+  private final ShooterIO io;
+  private final ShooterIOInputs inputs = new ShooterIOInputs();
   private double topCurrentTarget = 0.0;
   private double bottomCurrentTarget = 0.0;
   SendableChooser<Speed> defaultShotChooser = new SendableChooser<>();
   private boolean autoAimingActive = false;
 
-  private class ShooterSpeed {
+  static class ShooterSpeed {
     double topMotorSpeed;
     double bottomMotorSpeed;
 
@@ -43,7 +36,7 @@ public class ShooterSubsystem extends SubsystemBase {
     }
   }
 
-  private class ShooterCalibration {
+  static class ShooterCalibration {
     double distance;
     ShooterSpeed speed;
 
@@ -100,7 +93,7 @@ public class ShooterSubsystem extends SubsystemBase {
       Map.entry(Speed.BLOOP, new ShooterSpeed(400, 400))
   ));
 
-  private final ShooterCalibration[] shooterCalibration = {
+  static final ShooterCalibration[] shooterCalibration = {
     new ShooterCalibration(35.9, new ShooterSpeed(1200, 3200)),
     new ShooterCalibration(46.9, new ShooterSpeed(1500, 2500)),
     new ShooterCalibration(59.5, new ShooterSpeed(2200, 2200)),
@@ -112,7 +105,7 @@ public class ShooterSubsystem extends SubsystemBase {
     new ShooterCalibration(132.0, new ShooterSpeed(2700, 1400))
   };
 
-  private final ShooterCalibration[] shuttleCalibration = {
+  static final ShooterCalibration[] shuttleCalibration = {
     new ShooterCalibration(210-33, new ShooterSpeed(1450, 1450)),
     new ShooterCalibration(292-33, new ShooterSpeed(2100, 2200)),
     new ShooterCalibration(384-33, new ShooterSpeed(2700, 3000)),
@@ -120,10 +113,8 @@ public class ShooterSubsystem extends SubsystemBase {
     new ShooterCalibration(506-33, new ShooterSpeed(3200, 3506)), // Thanks, YETI!
   };
 
-  public ShooterSubsystem() {
-    top = new TalonFX(Constants.Shooter.topShooterID, Constants.Shooter.shooterMotorCanBus);
-    bottom = new TalonFX(Constants.Shooter.bottomShooterID, Constants.Shooter.shooterMotorCanBus);
-    applyConfigs();
+  public ShooterSubsystem(ShooterIO io) {
+    this.io = io;
 
     SmartDashboard.putNumber("shooter/Top RPM adjustment", 0.0);
     SmartDashboard.putNumber("shooter/Bottom RPM adjustment", 0.0);
@@ -137,31 +128,6 @@ public class ShooterSubsystem extends SubsystemBase {
     SmartDashboard.putData("shooter/Default shot", defaultShotChooser);
   }
 
-  private void applyConfigs() {
-    /* Configure the Shooter Motors */
-    var m_ShooterMotorsConfiguration = new TalonFXConfiguration();
-    /* Set Shooter motors to Brake */
-    m_ShooterMotorsConfiguration.MotorOutput.NeutralMode = Constants.Shooter.motorNeutralValue;
-    /* Set the Shooters motor direction */
-    m_ShooterMotorsConfiguration.MotorOutput.Inverted = Constants.Shooter.motorOutputInverted;
-    /* Config the peak outputs */
-    m_ShooterMotorsConfiguration.Voltage.PeakForwardVoltage = Constants.Shooter.peakForwardVoltage;
-    m_ShooterMotorsConfiguration.Voltage.PeakReverseVoltage = Constants.Shooter.peakReverseVoltage;
-
-    // PID & FF configuration
-    m_ShooterMotorsConfiguration.Slot0.kP = Constants.Shooter.kP;
-    m_ShooterMotorsConfiguration.Slot0.kI = Constants.Shooter.kI;
-    m_ShooterMotorsConfiguration.Slot0.kD = Constants.Shooter.kD;
-    m_ShooterMotorsConfiguration.Slot0.kS = Constants.Shooter.kS;
-    m_ShooterMotorsConfiguration.Slot0.kV = 1.0 / toRPS(Constants.Shooter.RPMsPerVolt);
-    m_ShooterMotorsConfiguration.Slot0.kA = 0.0;
-    m_ShooterMotorsConfiguration.Slot0.kG = 0.0;
-
-    /* Apply Shooters Motor Configs */
-    top.getConfigurator().apply(m_ShooterMotorsConfiguration);
-    bottom.getConfigurator().apply(m_ShooterMotorsConfiguration);
-  }
-
   private double toRPM(double rps) {
     return rps * 60.0;
   }
@@ -178,7 +144,7 @@ public class ShooterSubsystem extends SubsystemBase {
     return autoAimingActive;
   }
 
-  private ShooterSpeed speedFromDistance(double meters, ShooterCalibration[] calibrationTable) {
+  static ShooterSpeed speedFromDistance(double meters, ShooterCalibration[] calibrationTable) {
     double distance = Units.metersToInches(meters);
     ShooterCalibration priorEntry = null;
     ShooterSpeed speed = null;
@@ -271,26 +237,31 @@ public class ShooterSubsystem extends SubsystemBase {
     return true;
   }
 
+  // Spin up for a speaker shot from the given distance, e.g. one predicted while moving
+  public boolean shootFromDistance(double meters) {
+    ShooterSpeed shooterSpeed = speedFromDistance(meters, shooterCalibration);
+    if (shooterSpeed == null) {
+      DogLog.log("Shooter/Status", String.format("ShooterSubsystem::shootFromDistance: distance of %01.1f too far", Units.metersToInches(meters)));
+      return false;
+    }
+    setCurrentSpeed(shooterSpeed);
+    return true;
+  }
+
   public void shoot(double topRPM, double bottomRPM) {
     setCurrentSpeed(new ShooterSpeed(topRPM, bottomRPM));
   }
 
-  /*private void setVelocityTorque(TalonFX motor, double rpm) {
-    motor.setControl(velocityTorqueCurrentFOC.withVelocity(toRPS(rpm)));
-  }*/
-
   private void setCurrentSpeed(ShooterSpeed speed) {
     topCurrentTarget = speed.topMotorSpeed + SmartDashboard.getNumber("shooter/Top RPM adjustment", 0.0);
     bottomCurrentTarget = speed.bottomMotorSpeed + SmartDashboard.getNumber("shooter/Bottom RPM adjustment", 0.0);
-    top.setControl(topControl.withVelocity(toRPS(topCurrentTarget)));
-    bottom.setControl(bottomControl.withVelocity(toRPS(bottomCurrentTarget)));
+    io.setVelocity(toRPS(topCurrentTarget), toRPS(bottomCurrentTarget));
     DogLog.log("Shooter/TopRPM", topCurrentTarget);
     DogLog.log("Shooter/BottomRPM", bottomCurrentTarget);
   }
 
   public void setVoltage(double voltage) {
-    top.setControl(voltageOut.withOutput(voltage));
-    bottom.setControl(voltageOut.withOutput(voltage));
+    io.setVoltage(voltage);
   }
 
   public void setRPM(double rpm) {
@@ -314,8 +285,14 @@ public class ShooterSubsystem extends SubsystemBase {
   }
 
   public boolean isReady(boolean precise) {
-    return (Math.abs(toRPM(top.getVelocity().getValueAsDouble()) - topCurrentTarget) < (precise ? Constants.Shooter.maxRPMErrorLong : Constants.Shooter.maxRPMError) &&
-      Math.abs(toRPM(bottom.getVelocity().getValueAsDouble()) - bottomCurrentTarget) < (precise ? Constants.Shooter.maxRPMErrorLong : Constants.Shooter.maxRPMError));
+    return (Math.abs(toRPM(inputs.topVelocityRPS) - topCurrentTarget) < (precise ? Constants.Shooter.maxRPMErrorLong : Constants.Shooter.maxRPMError) &&
+      Math.abs(toRPM(inputs.bottomVelocityRPS) - bottomCurrentTarget) < (precise ? Constants.Shooter.maxRPMErrorLong : Constants.Shooter.maxRPMError));
+  }
+
+  // Largest difference between either flywheel's speed and its target, in RPM
+  public double getRPMError() {
+    return Math.max(Math.abs(toRPM(inputs.topVelocityRPS) - topCurrentTarget),
+      Math.abs(toRPM(inputs.bottomVelocityRPS) - bottomCurrentTarget));
   }
 
   public boolean usingVision() { 
@@ -357,8 +334,11 @@ public class ShooterSubsystem extends SubsystemBase {
   @Override
   public void periodic() {
     // This method will be called once per scheduler run
-    double topVel = toRPM(top.getVelocity().getValueAsDouble());
-    double bottomVel = toRPM(bottom.getVelocity().getValueAsDouble());
+    io.updateInputs(inputs);
+    InputsLogger.process("Shooter", inputs);
+
+    double topVel = toRPM(inputs.topVelocityRPS);
+    double bottomVel = toRPM(inputs.bottomVelocityRPS);
     SmartDashboard.putNumber("shooter/Top RPM", topVel);
     SmartDashboard.putNumber("shooter/Bottom RPM", bottomVel);
     SmartDashboard.putNumber("shooter/Top RPM tgt", topCurrentTarget);
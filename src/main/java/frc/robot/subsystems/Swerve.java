@@ -1,32 +1,63 @@
 package frc.robot.subsystems;
 
+import frc.lib.swerve.SwerveSetpointGenerator;
+import frc.lib.swerve.TractionMonitor;
 import frc.robot.SwerveModule;
+import frc.robot.io.ModuleIO;
 import frc.robot.Constants;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
 import edu.wpi.first.math.kinematics.SwerveModulePosition;
 
 import dev.doglog.DogLog;
+import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.kinematics.SwerveModuleState;
 import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import static frc.robot.Options.*;
 
 public class Swerve extends SubsystemBase {
     private boolean speedLimit = false;
 
     public SwerveModule[] mSwerveMods;
 
-    public Swerve() {
-        Timer.delay(5); //Delaying the initalization of the swerve module should prevent a race condition with the CANcoders initializing, and causing just general funkiness
+    private final SwerveSetpointGenerator setpointGenerator = new SwerveSetpointGenerator(
+        Constants.Swerve.moduleLocations,
+        Constants.Swerve.chosenModule,
+        Constants.Swerve.wheelCircumference,
+        Constants.Swerve.robotMass / 4.0,
+        Constants.Swerve.driveCurrentLimit,
+        Constants.Swerve.maxSpeed,
+        Constants.Swerve.steerVelocityFraction);
+    private double lastSetpointTime = Double.NEGATIVE_INFINITY;
+
+    private final TractionMonitor tractionMonitor = new TractionMonitor(
+        Constants.Swerve.moduleLocations,
+        Constants.Swerve.slipThreshold,
+        Constants.Swerve.slipSpeedFraction,
+        Constants.Swerve.slipAcceleration);
+    /* Module distances for odometry, with slipping wheels' distances replaced by the ground's */
+    private final double[] odometryDistances = new double[4];
+    private final double[] lastDistances = new double[4];
+    private final boolean[] wasSlipping = new boolean[4];
+    private double lastTractionTime = Double.NaN;
+    private ChassisSpeeds commandedSpeeds = new ChassisSpeeds();
+    private double lastCommandTime = Double.NEGATIVE_INFINITY;
+
+    public Swerve(ModuleIO mod0IO, ModuleIO mod1IO, ModuleIO mod2IO, ModuleIO mod3IO) {
         mSwerveMods = new SwerveModule[] {
-            new SwerveModule(0, Constants.Swerve.Mod0.constants),
-            new SwerveModule(1, Constants.Swerve.Mod1.constants),
-            new SwerveModule(2, Constants.Swerve.Mod2.constants),
-            new SwerveModule(3, Constants.Swerve.Mod3.constants)
+            new SwerveModule(0, Constants.Swerve.Mod0.constants, mod0IO),
+            new SwerveModule(1, Constants.Swerve.Mod1.constants, mod1IO),
+            new SwerveModule(2, Constants.Swerve.Mod2.constants, mod2IO),
+            new SwerveModule(3, Constants.Swerve.Mod3.constants, mod3IO)
         };
+        for(SwerveModule mod : mSwerveMods) {
+            odometryDistances[mod.moduleNumber] = mod.getPosition().distanceMeters;
+            lastDistances[mod.moduleNumber] = odometryDistances[mod.moduleNumber];
+        }
     }
 
     public void drive(Translation2d translation, double rotation, boolean isOpenLoop) {
@@ -49,13 +80,114 @@ public class Swerve extends SubsystemBase {
     }
 
     public void driveRobotRelative(ChassisSpeeds desiredChassisSpeeds, boolean isOpenLoop) {
-        ChassisSpeeds.discretize(desiredChassisSpeeds, 0.02); 
+        desiredChassisSpeeds = ChassisSpeeds.discretize(desiredChassisSpeeds, 0.02); 
         
+        SwerveModuleState[] swerveModuleStates;
+        if (optSetpointGenerator.get()) {
+            // Pick up from what the modules are doing if the last setpoint is stale
+            double now = Timer.getFPGATimestamp();
+            if (now - lastSetpointTime > 0.1) {
+                setpointGenerator.reset(getSpeeds(), getModuleStates());
+            }
+            lastSetpointTime = now;
+            swerveModuleStates = setpointGenerator.generate(desiredChassisSpeeds, 0.02);
+        } else {
+            swerveModuleStates = Constants.Swerve.swerveKinematics.toSwerveModuleStates(desiredChassisSpeeds); 
+            SwerveDriveKinematics.desaturateWheelSpeeds(swerveModuleStates, Constants.Swerve.maxSpeed);
+        }
+
+        limitSlip(swerveModuleStates);
+        ChassisSpeeds previousSpeeds = commandedSpeeds;
+        boolean continuing = updateCommandedSpeeds(swerveModuleStates);
+
+        if (optSecondOrderKinematics.get() && continuing) {
+            driveSecondOrder(swerveModuleStates, previousSpeeds, commandedSpeeds, isOpenLoop);
+        } else {
+            for(SwerveModule mod : mSwerveMods) {
+                mod.setDesiredState(swerveModuleStates[mod.moduleNumber], isOpenLoop);
+            }
+        }
+    }
+
+    // Remember what the modules were told, returning whether the last command was recent enough to follow on from
+    private boolean updateCommandedSpeeds(SwerveModuleState[] swerveModuleStates) {
+        double now = Timer.getFPGATimestamp();
+        boolean continuing = now - lastCommandTime < 0.1;
+        lastCommandTime = now;
+        commandedSpeeds = Constants.Swerve.swerveKinematics.toChassisSpeeds(swerveModuleStates);
+        return continuing;
+    }
+
+    /**
+     * Send each module the acceleration and turn rate that follow from the change in chassis
+     * speeds, as well as its state.  When the robot translates while it rotates, every module has
+     * to keep turning just to hold the same direction on the field; without a feedforward for that
+     * turn rate the modules lag behind and the robot curves off toward where they point.
+     *
+     * <p>Everything here is in the robot's frame, which the modules turn with, so a module's
+     * acceleration is the chassis acceleration plus the angular acceleration's share at its corner.
+     */
+    private void driveSecondOrder(SwerveModuleState[] swerveModuleStates, ChassisSpeeds previous, ChassisSpeeds current, boolean isOpenLoop) {
+        double ax = (current.vxMetersPerSecond - previous.vxMetersPerSecond) / 0.02;
+        double ay = (current.vyMetersPerSecond - previous.vyMetersPerSecond) / 0.02;
+        double alpha = (current.omegaRadiansPerSecond - previous.omegaRadiansPerSecond) / 0.02;
+
+        for(SwerveModule mod : mSwerveMods) {
+            int i = mod.moduleNumber;
+            Translation2d location = Constants.Swerve.moduleLocations[i];
+            double vx = current.vxMetersPerSecond - current.omegaRadiansPerSecond * location.getY();
+            double vy = current.vyMetersPerSecond + current.omegaRadiansPerSecond * location.getX();
+            double moduleAx = ax - alpha * location.getY();
+            double moduleAy = ay + alpha * location.getX();
+
+            double speedSquared = vx * vx + vy * vy;
+            double acceleration = 0.0;
+            double steerVelocity = 0.0;
+            if (speedSquared > 1e-4) {
+                steerVelocity = (vx * moduleAy - vy * moduleAx) / speedSquared;
+                acceleration = (vx * moduleAx + vy * moduleAy) / Math.sqrt(speedSquared);
+            }
+            // The state may point the wheel the other way to the module's velocity
+            if (swerveModuleStates[i].speedMetersPerSecond < 0.0) {
+                acceleration = -acceleration;
+            }
+            mod.setDesiredState(swerveModuleStates[i], isOpenLoop, acceleration, steerVelocity);
+        }
+    }
+
+    /**
+     * Drive closed loop with a force feedforward for each module, e.g. from a Choreo trajectory.
+     * Forces are robot relative, in newtons, in module order.
+     */
+    public void driveRobotRelative(ChassisSpeeds desiredChassisSpeeds, double[] moduleForcesX, double[] moduleForcesY) {
+        lastSetpointTime = Double.NEGATIVE_INFINITY; // The trajectory is already feasible; the generator starts over afterwards
         SwerveModuleState[] swerveModuleStates = Constants.Swerve.swerveKinematics.toSwerveModuleStates(desiredChassisSpeeds); 
         SwerveDriveKinematics.desaturateWheelSpeeds(swerveModuleStates, Constants.Swerve.maxSpeed);
 
+        limitSlip(swerveModuleStates);
+        updateCommandedSpeeds(swerveModuleStates);
+
         for(SwerveModule mod : mSwerveMods) {
-            mod.setDesiredState(swerveModuleStates[mod.moduleNumber], isOpenLoop);
+            mod.setDesiredState(swerveModuleStates[mod.moduleNumber], moduleForcesX[mod.moduleNumber], moduleForcesY[mod.moduleNumber]);
+        }
+    }
+
+    /**
+     * Keep a slipping wheel's speed close to the ground's under it, so its motor stops spinning it
+     * and the tread can grip again.  Holding the velocity setpoint near the ground speed is what
+     * limits the torque, since the velocity loop and kA both ease off.
+     */
+    private void limitSlip(SwerveModuleState[] states) {
+        if (!optTractionControl.get()) {
+            return;
+        }
+        for(SwerveModule mod : mSwerveMods) {
+            int i = mod.moduleNumber;
+            if (tractionMonitor.isSlipping(i)) {
+                double ground = tractionMonitor.getGroundSpeed(i, states[i].angle);
+                states[i].speedMetersPerSecond = MathUtil.clamp(states[i].speedMetersPerSecond,
+                    ground - Constants.Swerve.slipAllowance, ground + Constants.Swerve.slipAllowance);
+            }
         }
     }
 
@@ -83,6 +215,48 @@ public class Swerve extends SubsystemBase {
         return positions;
     }
 
+    /**
+     * Module positions for odometry: the wheels' own distances while they grip, and how far the
+     * ground moved under them while they slip.  Use these, not {@link #getModulePositions()},
+     * everywhere the pose estimator is given module positions.
+     */
+    public SwerveModulePosition[] getOdometryPositions() {
+        SwerveModulePosition[] positions = new SwerveModulePosition[4];
+        for(SwerveModule mod : mSwerveMods){
+            positions[mod.moduleNumber] = new SwerveModulePosition(odometryDistances[mod.moduleNumber], mod.getPosition().angle);
+        }
+        return positions;
+    }
+
+    // Check for slipping wheels and carry the odometry distances forward
+    private void updateTraction() {
+        double now = Timer.getFPGATimestamp();
+        double dt = Double.isNaN(lastTractionTime) ? 0.0 : now - lastTractionTime;
+        lastTractionTime = now;
+        PoseSubsystem pose = PoseSubsystem.getInstance();
+        double gyroRate = pose == null ? getSpeeds().omegaRadiansPerSecond : pose.getGyroYawRate();
+        SwerveModuleState[] states = getModuleStates();
+        tractionMonitor.update(states, gyroRate, dt);
+
+        for(SwerveModule mod : mSwerveMods){
+            int i = mod.moduleNumber;
+            double distance = mod.getPosition().distanceMeters;
+            double weight = tractionMonitor.getWeight(i);
+            double groundDistance = tractionMonitor.getGroundSpeed(i, states[i].angle) * dt;
+            odometryDistances[i] += weight * (distance - lastDistances[i]) + (1.0 - weight) * groundDistance;
+            lastDistances[i] = distance;
+
+            boolean slipping = tractionMonitor.isSlipping(i);
+            if (slipping && !wasSlipping[i]) {
+                DogLog.log("Swerve/Status", "Module " + i + " slipping");
+            }
+            wasSlipping[i] = slipping;
+        }
+        DogLog.log("Swerve/Traction/Slipping", wasSlipping);
+        DogLog.log("Swerve/Traction/Residuals", new double[] {
+            tractionMonitor.getResidual(0), tractionMonitor.getResidual(1), tractionMonitor.getResidual(2), tractionMonitor.getResidual(3)});
+    }
+
     public void resetModulesToAbsolute() {
         for(SwerveModule mod : mSwerveMods){
             mod.resetToAbsolute();
@@ -138,6 +312,11 @@ public class Swerve extends SubsystemBase {
 
     @Override
     public void periodic() {
+        for(SwerveModule mod : mSwerveMods){
+            mod.updateInputs();
+        }
+        updateTraction();
+
         for(SwerveModule mod : mSwerveMods){
             SmartDashboard.putNumber("Swerve/Mod/" + mod.moduleNumber + " CANcoder", mod.getCANcoder().getDegrees());
             DogLog.log("Swerve/Mod/" + mod.moduleNumber + " CANcoder", mod.getCANcoder().getDegrees());
@@ -6,9 +6,12 @@ package frc.robot.subsystems;
 
 import edu.wpi.first.wpilibj2.command.Commands;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.lib.io.InputsLogger;
 import frc.lib.util.TunableOption;
 import frc.robot.Constants;
 import frc.robot.Robot;
+import frc.robot.io.VisionIO;
+import frc.robot.io.VisionIO.VisionIOInputs;
 import edu.wpi.first.apriltag.AprilTagFieldLayout;
 import edu.wpi.first.apriltag.AprilTagFields;
 import edu.wpi.first.math.estimator.PoseEstimator;
@@ -18,6 +21,7 @@ import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.kinematics.SwerveDriveWheelPositions;
 import edu.wpi.first.math.util.Units;
 import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.smartdashboard.Field2d;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 
@@ -25,7 +29,6 @@ import java.io.IOException;
 import java.util.Optional;
 
 import org.photonvision.EstimatedRobotPose;
-import org.photonvision.PhotonCamera;
 import org.photonvision.PhotonPoseEstimator;
 import org.photonvision.PhotonPoseEstimator.PoseStrategy;
 import org.photonvision.targeting.PhotonPipelineResult;
@@ -36,11 +39,16 @@ import dev.doglog.DogLog;
 
 public class VisionSubsystem extends SubsystemBase {
   private static VisionSubsystem instance;
-  private final PhotonCamera camera;
+  private final VisionIO io;
+  private final VisionIOInputs inputs = new VisionIOInputs();
   private final PhotonPoseEstimator photonEstimator;
-  private AprilTagFieldLayout kTagLayout;
+  private final AprilTagFieldLayout kTagLayout;
   private final Field2d field = new Field2d();
   private double lastEstTimestamp = 0.0;
+  private double lastMeasurementLatency = 0.0;
+  private int measurementCount = 0;
+  private double periodicSeconds = 0.0;
+  private double estimateSeconds = 0.0;
   private boolean haveTarget = false;
   private boolean haveSpeakerTarget = false;
   private boolean haveAmpTarget = false;
@@ -50,30 +58,21 @@ public class VisionSubsystem extends SubsystemBase {
   private boolean overrideRotation = false;
   private boolean overrideAmpRotation = false;
   private boolean overrideSourceRotation = false;
+  private Rotation2d shotRotationOverride = null;
   private int calibrateCount = -1;
   private final int calibrateMax = 30;
   private double calibrateSpeakerSum = 0.0;
   private double calibrateRawSum = 0.0;
   private static final TunableOption optUpdateVisionDashboard = new TunableOption("Update vision dashboard", false);
 
-  public VisionSubsystem() {
+  public VisionSubsystem(VisionIO io) {
     assert(instance == null);
     instance = this;
 
-    camera = new PhotonCamera(Constants.Vision.cameraName);
+    this.io = io;
+    kTagLayout = loadFieldLayout();
 
-    if (Constants.atHQ) {
-      try {
-        kTagLayout = new AprilTagFieldLayout(Filesystem.getDeployDirectory().toPath().resolve("2024-crescendo-hq.json"));
-      } catch (IOException e) {
-        e.printStackTrace();
-        System.exit(1);
-      }
-    } else {
-      kTagLayout = AprilTagFields.k2024Crescendo.loadAprilTagLayoutField();
-    }
-
-    photonEstimator = new PhotonPoseEstimator(kTagLayout, PoseStrategy.MULTI_TAG_PNP_ON_COPROCESSOR, camera, Constants.Vision.robotToCam);
+    photonEstimator = new PhotonPoseEstimator(kTagLayout, PoseStrategy.MULTI_TAG_PNP_ON_COPROCESSOR, Constants.Vision.robotToCam);
     photonEstimator.setMultiTagFallbackStrategy(PoseStrategy.LOWEST_AMBIGUITY);
 
     overrideRotation = false;
@@ -83,6 +82,19 @@ public class VisionSubsystem extends SubsystemBase {
     SmartDashboard.putData("vision/Calibrate", Commands.runOnce(this::calibrate, this).withName("Calibrate Vision").ignoringDisable(true));
   }
 
+  // Field layout for the current venue, shared with the camera simulation
+  public static AprilTagFieldLayout loadFieldLayout() {
+    if (Constants.atHQ) {
+      try {
+        return new AprilTagFieldLayout(Filesystem.getDeployDirectory().toPath().resolve("2024-crescendo-hq.json"));
+      } catch (IOException e) {
+        e.printStackTrace();
+        System.exit(1);
+      }
+    }
+    return AprilTagFields.k2024Crescendo.loadAprilTagLayoutField();
+  }
+
   public void enableRotationTargetOverride() { overrideRotation = true; }
   public void disableRotationTargetOverride() { overrideRotation = false; }
 
@@ -92,7 +104,14 @@ public class VisionSubsystem extends SubsystemBase {
   public void enableRotationSourceOverride() { overrideSourceRotation = true; }
   public void disableRotationSourceOverride() { overrideSourceRotation = false; }
 
+  // Heading to hold while shooting without stopping the path; takes priority over the other overrides
+  public void setShotRotationOverride(Rotation2d rotation) { shotRotationOverride = rotation; }
+  public void clearShotRotationOverride() { shotRotationOverride = null; }
+
   public Optional<Rotation2d> getRotationTargetOverride() {
+      if (shotRotationOverride != null) {
+          return Optional.of(shotRotationOverride);
+      }
       if (!overrideRotation || !haveSpeakerTarget()) {
           return Optional.empty();
       }
@@ -175,7 +194,14 @@ public class VisionSubsystem extends SubsystemBase {
   }
 
   public boolean updatePoseEstimate(PoseEstimator<SwerveDriveWheelPositions> poseEstimator) {
-    Optional<EstimatedRobotPose> optVisionEst = photonEstimator.update();
+    long start = System.nanoTime();
+    boolean updated = fusePoseEstimate(poseEstimator);
+    estimateSeconds = (System.nanoTime() - start) / 1e9;
+    return updated;
+  }
+
+  private boolean fusePoseEstimate(PoseEstimator<SwerveDriveWheelPositions> poseEstimator) {
+    Optional<EstimatedRobotPose> optVisionEst = photonEstimator.update(inputs.result);
     EstimatedRobotPose visionEst;
     double latestTimestamp;
     boolean newResult;
@@ -197,6 +223,10 @@ public class VisionSubsystem extends SubsystemBase {
     field.setRobotPose(lastPose);
     if (poseEstimator != null) {
       poseEstimator.addVisionMeasurement(lastPose, lastEstTimestamp);
+      // Time from the camera capturing the frame to the estimator receiving it
+      lastMeasurementLatency = Timer.getFPGATimestamp() - lastEstTimestamp;
+      measurementCount++;
+      DogLog.log("Vision/Measurement latency", lastMeasurementLatency);
     }
     return true;
   }
@@ -245,17 +275,23 @@ public class VisionSubsystem extends SubsystemBase {
     return lastPose;
   }
 
-  public void calibrate() {
-    calibrateCount = 0;
-    calibrateSpeakerSum = 0.0;
-    calibrateRawSum = 0.0;
-    SmartDashboard.putString("vision/Calibration", "Calibrating ...");
+  // Number of vision measurements fused into the pose estimate so far
+  public int getMeasurementCount() {
+    return measurementCount;
   }
 
-  @Override
-  public void periodic() {
-    PhotonPipelineResult result = camera.getLatestResult();
+  // Seconds from frame capture to fusion, for the most recent measurement
+  public double getLastMeasurementLatency() {
+    return lastMeasurementLatency;
+  }
+
+  // CPU time spent on vision during the last loop (periodic plus pose estimation)
+  public double getProcessingSeconds() {
+    return periodicSeconds + estimateSeconds;
+  }
 
+  // Work out which field elements are in view
+  void classifyTargets(PhotonPipelineResult result) {
     haveTarget = result.hasTargets();
     haveSpeakerTarget = false;
     haveAmpTarget = false;
@@ -266,7 +302,25 @@ public class VisionSubsystem extends SubsystemBase {
         haveAmpTarget = haveAmpTarget || isAmpId(t.getFiducialId());
         haveSourceTarget = haveSourceTarget || isSourceId(t.getFiducialId());
       } );
+    }
+  }
 
+  public void calibrate() {
+    calibrateCount = 0;
+    calibrateSpeakerSum = 0.0;
+    calibrateRawSum = 0.0;
+    SmartDashboard.putString("vision/Calibration", "Calibrating ...");
+  }
+
+  @Override
+  public void periodic() {
+    io.updateInputs(inputs);
+    long start = System.nanoTime(); // after reading the camera, so a simulated camera isn't counted
+    InputsLogger.process("Vision", inputs);
+    PhotonPipelineResult result = inputs.result;
+
+    classifyTargets(result);
+    if (haveTarget) {
       if (haveSpeakerTarget && calibrateCount >= 0) {
         calibrateCount++;
         calibrateSpeakerSum += distanceToSpeaker();
@@ -307,6 +361,7 @@ public class VisionSubsystem extends SubsystemBase {
       SmartDashboard.putNumber("vision/speakerOffset angle", angleToSpeaker().getDegrees());
       SmartDashboard.putNumber("vision/Angle error", angleError().getDegrees());
     }
+    periodicSeconds = (System.nanoTime() - start) / 1e9;
   }
 }
 
@@ -0,0 +1,79 @@
+package frc.lib.pathfinding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Distances are positive in the open, negative in obstacles, and the field ends where it ends */
+class SignedDistanceFieldTest {
+    private static final int columns = 10;
+    private static final int rows = 6;
+    private static final double fieldLength = 9.0;
+
+    @TempDir
+    static File dir;
+
+    private static SignedDistanceField field;
+
+    // A 10 x 6 grid of 1 m cells with one 1 x 2 m obstacle, on a field that stops a cell short of the grid
+    @BeforeAll
+    static void writeNavgrid() throws IOException {
+        StringBuilder json = new StringBuilder("{\"nodeSizeMeters\": 1.0, \"grid\": [");
+        for (int row = 0; row < rows; row++) {
+            json.append(row == 0 ? "[" : ", [");
+            for (int column = 0; column < columns; column++) {
+                boolean obstacle = column == 5 && (row == 2 || row == 3);
+                json.append(column == 0 ? "" : ", ").append(obstacle);
+            }
+            json.append("]");
+        }
+        json.append("]}");
+
+        File navgrid = new File(dir, "navgrid.json");
+        Files.write(navgrid.toPath(), json.toString().getBytes(StandardCharsets.UTF_8));
+        field = new SignedDistanceField(navgrid, fieldLength);
+    }
+
+    @Test
+    void positiveInTheOpen() {
+        assertEquals(2.5, field.distance(2.5, 2.5), 1e-6, "from the middle of a cell to the obstacle's face");
+        assertEquals(2.0, field.distance(3.0, 2.5), 1e-6, "between cell centers");
+        assertEquals(1.5, field.distance(5.5, 0.5), 1e-6, "below the obstacle");
+    }
+
+    @Test
+    void negativeInsideAnObstacle() {
+        assertEquals(-0.5, field.distance(5.5, 2.5), 1e-6);
+        assertEquals(-0.5, field.distance(5.5, 3.5), 1e-6);
+    }
+
+    @Test
+    void pastTheEndOfTheFieldIsAnObstacle() {
+        assertEquals(0.5, field.distance(8.5, 2.5), 1e-6, "the last cell on the field");
+        assertEquals(-0.5, field.distance(9.5, 2.5), 1e-6, "the grid cell past it");
+        assertTrue(field.distance(20.0, 2.5) < 0.0, "off the grid altogether");
+    }
+
+    @Test
+    void gradientPointsAwayFromTheNearestObstacle() {
+        double[] out = new double[2];
+        field.gradient(2.5, 2.5, out);
+        assertEquals(-1.0, out[0], 1e-6, "back from the obstacle ahead");
+        assertEquals(0.0, out[1], 1e-6);
+
+        field.gradient(5.5, 0.5, out);
+        assertEquals(-1.0, out[1], 1e-6, "down, away from the obstacle above");
+
+        field.gradient(5.5, 2.5, out);
+        assertEquals(1.0, out[0], 1e-6, "toward the open side, from inside");
+        assertEquals(0.0, out[1], 1e-6);
+    }
+}
@@ -0,0 +1,113 @@
+package frc.lib.swerve;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+
+/** Impacts and skids are what the wheels can't explain, and keep odometry distrusted for a while */
+class CollisionDetectorTest {
+    private static final double impactJerk = 100.0;
+    private static final double skidAcceleration = 3.0;
+    private static final double recoveryTime = 0.5;
+    private static final double dt = 0.02;
+    private static final ChassisSpeeds stopped = new ChassisSpeeds();
+
+    private static CollisionDetector detector() {
+        return new CollisionDetector(impactJerk, skidAcceleration, recoveryTime);
+    }
+
+    @Test
+    void firstUpdateOnlyRemembersTheWheels() {
+        CollisionDetector detector = detector();
+        assertFalse(detector.update(0.0, 0.0, 0.0, 1000.0, stopped, dt));
+        assertFalse(detector.update(0.02, 0.0, 0.0, 1000.0, stopped, 0.0), "no time has passed");
+        assertFalse(detector.isRecovering(0.02));
+    }
+
+    @Test
+    void hardAccelerationTheWheelsShowIsntAnImpact() {
+        CollisionDetector detector = detector();
+        detector.update(0.0, 0.0, 0.0, 0.0, stopped, dt);
+
+        // 5 m/s^2 from a standstill: a big jolt, but the wheels jolted just as much
+        assertFalse(detector.update(0.02, 5.0, 0.0, 250.0, new ChassisSpeeds(0.1, 0.0, 0.0), dt));
+        assertFalse(detector.update(0.04, 5.0, 0.0, 0.0, new ChassisSpeeds(0.2, 0.0, 0.0), dt));
+        assertFalse(detector.isImpact());
+        assertFalse(detector.isSkid());
+        assertEquals(0.0, detector.getJerkMismatch(), 1e-9);
+        assertEquals(0.0, detector.getAccelerationMismatch(), 1e-9);
+        assertFalse(detector.isRecovering(0.04));
+    }
+
+    @Test
+    void unexplainedJerkIsAnImpact() {
+        CollisionDetector detector = detector();
+        detector.update(0.0, 0.0, 0.0, 0.0, stopped, dt);
+
+        // Hit while standing still: the wheels never moved
+        assertTrue(detector.update(0.02, 0.0, 0.0, 300.0, stopped, dt));
+        assertTrue(detector.isImpact());
+        assertFalse(detector.isSkid());
+        assertEquals(300.0, detector.getJerkMismatch(), 1e-9);
+        assertTrue(detector.isRecovering(0.02 + recoveryTime - 0.01));
+        assertFalse(detector.isRecovering(0.02 + recoveryTime));
+    }
+
+    @Test
+    void wheelsSpeedingUpWithoutTheRobotIsASkid() {
+        CollisionDetector detector = detector();
+        detector.update(0.0, 0.0, 0.0, 0.0, stopped, dt);
+
+        // The wheels show 5 m/s^2 loop after loop, but the accelerometer feels nothing
+        assertTrue(detector.update(0.02, 0.0, 0.0, 0.0, new ChassisSpeeds(0.1, 0.0, 0.0), dt));
+        assertTrue(detector.isSkid());
+        assertFalse(detector.isImpact(), "the accelerometer felt no jolt");
+        for (int i = 2; i <= 10; i++) {
+            assertFalse(detector.update(i * dt, 0.0, 0.0, 0.0, new ChassisSpeeds(0.1 * i, 0.0, 0.0), dt), "already recovering");
+            assertTrue(detector.isSkid());
+            assertEquals(5.0, detector.getAccelerationMismatch(), 1e-9);
+        }
+        assertTrue(detector.isRecovering(10 * dt + recoveryTime - 0.01), "still skidding at the last update");
+    }
+
+    @Test
+    void laterEventsExtendRecovery() {
+        CollisionDetector detector = detector();
+        detector.update(0.0, 0.0, 0.0, 0.0, stopped, dt);
+        assertTrue(detector.update(0.02, 0.0, 0.0, 300.0, stopped, dt));
+
+        // Hit again before recovering: not new, but the window starts over
+        assertFalse(detector.update(0.3, 0.0, 0.0, 300.0, stopped, dt));
+        assertTrue(detector.isImpact());
+        assertTrue(detector.isRecovering(0.6), "past the first window");
+        assertTrue(detector.isRecovering(0.79));
+        assertFalse(detector.isRecovering(0.8));
+
+        // Quiet updates don't extend it
+        assertFalse(detector.update(0.5, 0.0, 0.0, 0.0, stopped, dt));
+        assertFalse(detector.isImpact());
+        assertFalse(detector.isRecovering(0.8));
+
+        // Once recovered, the next one is new again
+        assertTrue(detector.update(1.0, 0.0, 0.0, 300.0, stopped, dt));
+    }
+
+    @Test
+    void turningAtConstantSpeedIsntASkid() {
+        CollisionDetector detector = detector();
+        ChassisSpeeds turning = new ChassisSpeeds(2.0, 0.0, 1.5);
+        detector.update(0.0, 0.0, 3.0, 0.0, turning, dt);
+
+        // The accelerometer feels the centripetal 3 m/s^2 the wheels' speed and turning rate call for
+        for (int i = 1; i <= 10; i++) {
+            assertFalse(detector.update(i * dt, 0.0, 3.0, 0.0, turning, dt));
+            assertFalse(detector.isSkid(), "update " + i);
+            assertEquals(0.0, detector.getAccelerationMismatch(), 1e-9);
+        }
+        assertFalse(detector.isRecovering(10 * dt));
+    }
+}
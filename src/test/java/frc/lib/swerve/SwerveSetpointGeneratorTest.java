@@ -0,0 +1,110 @@
+package frc.lib.swerve;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import frc.lib.util.COTSTalonFXSwerveConstants;
+
+/** Setpoints stay within what the modules can do, and get to the request when they can */
+class SwerveSetpointGeneratorTest {
+    private static final Translation2d[] moduleLocations = {
+        new Translation2d(0.3, 0.3), new Translation2d(0.3, -0.3), new Translation2d(-0.3, 0.3), new Translation2d(-0.3, -0.3)};
+    private static final SwerveDriveKinematics kinematics = new SwerveDriveKinematics(moduleLocations);
+    private static final COTSTalonFXSwerveConstants module =
+        COTSTalonFXSwerveConstants.SDS.MK4i.KrakenX60(COTSTalonFXSwerveConstants.SDS.MK4i.driveRatios.L3);
+    private static final double maxSpeed = 4.5;
+    private static final double steerVelocityFraction = 0.5;
+    private static final double maxSteerVelocity = module.motor.freeSpeedRadPerSec / module.angleGearRatio * steerVelocityFraction;
+    private static final double dt = 0.02;
+
+    private static SwerveSetpointGenerator generator(double supplyCurrentLimit) {
+        return new SwerveSetpointGenerator(moduleLocations, module, module.wheelCircumference, 15.0, supplyCurrentLimit, maxSpeed, steerVelocityFraction);
+    }
+
+    // Run the generator toward one request for a while, returning the last setpoint
+    private static SwerveModuleState[] run(SwerveSetpointGenerator generator, ChassisSpeeds desired, double seconds) {
+        SwerveModuleState[] states = null;
+        for (int i = 0; i < Math.round(seconds / dt); i++) {
+            states = generator.generate(desired, dt);
+        }
+        return states;
+    }
+
+    @Test
+    void desaturatesKeepingDirection() {
+        SwerveSetpointGenerator generator = generator(60.0);
+        SwerveModuleState[] states = run(generator, new ChassisSpeeds(6.0, 0.0, 6.0), 3.0);
+
+        double fastest = 0.0;
+        for (SwerveModuleState state : states) {
+            fastest = Math.max(fastest, Math.abs(state.speedMetersPerSecond));
+        }
+        assertEquals(maxSpeed, fastest, 1e-3, "fastest module");
+        ChassisSpeeds reached = kinematics.toChassisSpeeds(states);
+        assertEquals(1.0, reached.vxMetersPerSecond / reached.omegaRadiansPerSecond, 0.01, "ratio of driving to turning");
+        assertEquals(0.0, reached.vyMetersPerSecond, 1e-3);
+    }
+
+    @Test
+    void limitsAcceleration() {
+        SwerveSetpointGenerator generator = generator(60.0);
+        ChassisSpeeds desired = new ChassisSpeeds(4.0, 0.0, 0.0);
+        double first = generator.generate(desired, dt)[0].speedMetersPerSecond;
+        assertTrue(first > 0.0 && first < 1.0, "first step " + first + " m/s");
+
+        // The motor has less to give as the wheel speeds up, so no step is bigger than the first
+        double last = first;
+        for (int i = 0; i < 10; i++) {
+            double speed = generator.generate(desired, dt)[0].speedMetersPerSecond;
+            assertTrue(speed > last, "still speeding up");
+            assertTrue(speed - last <= first * 1.001, "step of " + (speed - last) + " m/s after " + first);
+            last = speed;
+        }
+
+        // With less current there's less force
+        double limited = generator(20.0).generate(desired, dt)[0].speedMetersPerSecond;
+        assertTrue(limited < first, limited + " m/s with the lower limit, " + first + " without");
+
+        assertEquals(4.0, run(generator, desired, 3.0)[0].speedMetersPerSecond, 1e-6, "gets there in the end");
+    }
+
+    @Test
+    void limitsSteeringRate() {
+        SwerveSetpointGenerator generator = generator(60.0);
+        SwerveModuleState[] last = run(generator, new ChassisSpeeds(2.0, 0.0, 0.0), 2.0);
+        assertEquals(0.0, last[0].angle.getRadians(), 1e-6);
+
+        // Turn a quarter turn while moving
+        ChassisSpeeds sideways = new ChassisSpeeds(0.0, 2.0, 0.0);
+        for (int i = 0; i < 100; i++) {
+            SwerveModuleState[] states = generator.generate(sideways, dt);
+            for (int m = 0; m < states.length; m++) {
+                double turned = Math.abs(MathUtil.angleModulus(states[m].angle.getRadians() - last[m].angle.getRadians()));
+                assertTrue(turned <= maxSteerVelocity * dt + 1e-9, "module " + m + " turned " + turned + " rad in a loop");
+            }
+            last = states;
+        }
+        ChassisSpeeds reached = kinematics.toChassisSpeeds(last);
+        assertEquals(0.0, reached.vxMetersPerSecond, 1e-3);
+        assertEquals(2.0, reached.vyMetersPerSecond, 1e-3);
+    }
+
+    @Test
+    void holdsAngleWhenStopped() {
+        SwerveSetpointGenerator generator = generator(60.0);
+        run(generator, new ChassisSpeeds(0.0, 1.0, 0.0), 2.0);
+
+        SwerveModuleState[] states = run(generator, new ChassisSpeeds(), 2.0);
+        for (SwerveModuleState state : states) {
+            assertEquals(0.0, state.speedMetersPerSecond, 1e-9);
+            assertEquals(Math.PI / 2.0, state.angle.getRadians(), 1e-6, "kept pointing the way it last drove");
+        }
+    }
+}
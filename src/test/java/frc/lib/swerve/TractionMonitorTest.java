@@ -0,0 +1,95 @@
+package frc.lib.swerve;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+
+/** Slip is found where the wheels disagree with each other, with the gyro, or with what the tread can do */
+class TractionMonitorTest {
+    private static final Translation2d[] moduleLocations = {
+        new Translation2d(0.3, 0.3), new Translation2d(0.3, -0.3), new Translation2d(-0.3, 0.3), new Translation2d(-0.3, -0.3)};
+    private static final SwerveDriveKinematics kinematics = new SwerveDriveKinematics(moduleLocations);
+    private static final double dt = 0.02;
+
+    private static TractionMonitor monitor() {
+        return new TractionMonitor(moduleLocations, 0.2, 0.1, 1.5 * 1.19 * 9.81);
+    }
+
+    private static SwerveModuleState[] straight(double... speeds) {
+        SwerveModuleState[] states = new SwerveModuleState[speeds.length];
+        for (int i = 0; i < speeds.length; i++) {
+            states[i] = new SwerveModuleState(speeds[i], new Rotation2d());
+        }
+        return states;
+    }
+
+    @Test
+    void agreeingWheelsArentSlipping() {
+        TractionMonitor monitor = monitor();
+        monitor.update(straight(2.0, 2.0, 2.0, 2.0), 0.0, dt);
+        monitor.update(straight(2.0, 2.0, 2.0, 2.0), 0.0, dt);
+        for (int i = 0; i < 4; i++) {
+            assertFalse(monitor.isSlipping(i), "module " + i);
+            assertEquals(1.0, monitor.getWeight(i), 1e-9);
+            assertEquals(2.0, monitor.getGroundSpeed(i, new Rotation2d()), 1e-9);
+        }
+    }
+
+    @Test
+    void findsTheWheelThatDisagrees() {
+        TractionMonitor monitor = monitor();
+        monitor.update(straight(2.0, 2.0, 2.0, 2.0), 0.0, dt);
+        monitor.update(straight(2.2, 2.0, 2.0, 2.0), 0.0, dt);
+        assertFalse(monitor.isSlipping(0), "a little off is within the threshold");
+
+        monitor = monitor();
+        monitor.update(straight(4.0, 2.0, 2.0, 2.0), 0.0, dt);
+        assertTrue(monitor.isSlipping(0));
+        assertEquals(0.0, monitor.getWeight(0), 1e-9);
+        assertEquals(2.0, monitor.getGroundSpeed(0, new Rotation2d()), 1e-9, "the ground under it moves with the others");
+        for (int i = 1; i < 4; i++) {
+            assertFalse(monitor.isSlipping(i), "module " + i);
+            assertEquals(1.0, monitor.getWeight(i), 1e-9);
+        }
+    }
+
+    @Test
+    void wheelsTurningTheRobotMustAgreeWithTheGyro() {
+        SwerveModuleState[] turning = kinematics.toSwerveModuleStates(new ChassisSpeeds(0.0, 0.0, 2.0));
+
+        TractionMonitor monitor = monitor();
+        monitor.update(turning, 2.0, dt);
+        for (int i = 0; i < 4; i++) {
+            assertFalse(monitor.isSlipping(i), "turning as the gyro says, module " + i);
+        }
+
+        // Wheels spinning the robot round while the gyro says it isn't turning, e.g. pinned
+        monitor = monitor();
+        monitor.update(turning, 0.0, dt);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(monitor.isSlipping(i), "turning against the gyro, module " + i);
+            assertEquals(0.0, monitor.getWeight(i), 1e-9);
+        }
+    }
+
+    @Test
+    void wheelsSpeedingUpFasterThanTheyCanGripAreSlipping() {
+        TractionMonitor monitor = monitor();
+        monitor.update(straight(1.0, 1.0, 1.0, 1.0), 0.0, dt);
+
+        // All four agree with each other, but none could have gained 2 m/s in one loop
+        monitor.update(straight(3.0, 3.0, 3.0, 3.0), 0.0, dt);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(monitor.isSlipping(i), "module " + i);
+            assertEquals(1.0, monitor.getGroundSpeed(i, new Rotation2d()), 1e-9, "the robot carries on as it was");
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package frc.lib.trajectory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.wpi.first.math.MathUtil;
+
+/** Compiled trajectories read back as written, and sample between and beyond their points sensibly */
+class CompactTrajectoryTest {
+    @TempDir
+    File dir;
+
+    // Two modules: time, x, y, heading, vx, vy, omega, force x per module, force y per module
+    private static final double[][] choreoColumns = {
+        {0.0, 1.0, 2.0, 3.0},
+        {0.0, 1.0, 2.0, 3.0},
+        {0.0, 10.0, 20.0, 30.0},
+        {0.0, 3.0, -3.0, 0.0},
+        {1.0, 1.0, 1.0, 1.0},
+        {10.0, 10.0, 10.0, 10.0},
+        {0.0, 0.5, 1.0, 1.5},
+        {0.0, 100.0, 200.0, 300.0},
+        {0.0, -100.0, -200.0, -300.0},
+        {5.0, 5.0, 5.0, 5.0},
+        {0.0, 1.0, 2.0, 3.0},
+    };
+
+    // No modules, as compiled from PathPlanner
+    private static final double[][] pathColumns = {
+        {0.0, 2.0},
+        {1.0, 3.0},
+        {4.0, 4.0},
+        {0.0, 1.0},
+        {1.0, 1.0},
+        {0.0, 0.0},
+        {0.5, 0.5},
+    };
+
+    // Laid out the way TrajectoryCompiler writes them
+    private File write(int magic, int version, String[] names, int[] modules, double[][]... segments) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(magic);
+        buffer.putInt(version);
+        buffer.putInt(segments.length);
+        for (int s = 0; s < segments.length; s++) {
+            byte[] name = names[s].getBytes(StandardCharsets.UTF_8);
+            assertEquals(CompactTrajectory.columns(modules[s]), segments[s].length);
+            buffer.putInt(segments[s][0].length);
+            buffer.putInt(modules[s]);
+            buffer.putInt(name.length);
+            buffer.put(name);
+            buffer.position(CompactTrajectory.align(buffer.position()));
+            for (double[] column : segments[s]) {
+                for (double value : column) {
+                    buffer.putDouble(value);
+                }
+            }
+        }
+
+        File file = File.createTempFile("test", CompactTrajectory.extension, dir);
+        byte[] bytes = new byte[buffer.position()];
+        buffer.flip().get(bytes);
+        Files.write(file.toPath(), bytes);
+        return file;
+    }
+
+    private List<CompactTrajectory> load(String[] names, int[] modules, double[][]... segments) throws IOException {
+        return CompactTrajectory.load(write(CompactTrajectory.magic, CompactTrajectory.version, names, modules, segments));
+    }
+
+    private CompactTrajectory choreo() throws IOException {
+        return load(new String[] {"choreo"}, new int[] {2}, choreoColumns).get(0);
+    }
+
+    @Test
+    void readsStoredSamples() throws IOException {
+        CompactTrajectory trajectory = choreo();
+        assertEquals("choreo", trajectory.getName());
+        assertEquals(4, trajectory.size());
+        assertEquals(2, trajectory.getModuleCount());
+        assertEquals(3.0, trajectory.getTotalTime(), 1e-12);
+
+        CompactTrajectory.Sample sample = trajectory.get(2, trajectory.newSample());
+        assertEquals(2.0, sample.time, 1e-12);
+        assertEquals(2.0, sample.x, 1e-12);
+        assertEquals(20.0, sample.y, 1e-12);
+        assertEquals(-3.0, sample.heading, 1e-12);
+        assertEquals(1.0, sample.vx, 1e-12);
+        assertEquals(10.0, sample.vy, 1e-12);
+        assertEquals(1.0, sample.omega, 1e-12);
+        assertEquals(200.0, sample.forceX[0], 1e-12);
+        assertEquals(-200.0, sample.forceX[1], 1e-12);
+        assertEquals(5.0, sample.forceY[0], 1e-12);
+        assertEquals(2.0, sample.forceY[1], 1e-12);
+
+        // Sampling exactly on a stored time gives that sample
+        CompactTrajectory.Sample sampled = trajectory.sample(1.0, trajectory.newSample());
+        assertEquals(1.0, sampled.x, 1e-12);
+        assertEquals(3.0, sampled.heading, 1e-12);
+        assertEquals(100.0, sampled.forceX[0], 1e-12);
+    }
+
+    @Test
+    void clampsToTheEnds() throws IOException {
+        CompactTrajectory trajectory = choreo();
+        CompactTrajectory.Sample sample = trajectory.newSample();
+
+        trajectory.sample(-1.0, sample);
+        assertEquals(0.0, sample.time, 1e-12);
+        assertEquals(0.0, sample.x, 1e-12);
+        assertEquals(0.0, sample.forceX[1], 1e-12);
+
+        trajectory.sample(10.0, sample);
+        assertEquals(3.0, sample.time, 1e-12);
+        assertEquals(3.0, sample.x, 1e-12);
+        assertEquals(30.0, sample.y, 1e-12);
+        assertEquals(-300.0, sample.forceX[1], 1e-12);
+    }
+
+    @Test
+    void interpolatesBetweenSamples() throws IOException {
+        CompactTrajectory trajectory = choreo();
+        CompactTrajectory.Sample sample = trajectory.sample(0.25, trajectory.newSample());
+        assertEquals(0.25, sample.time, 1e-12);
+        assertEquals(0.25, sample.x, 1e-12);
+        assertEquals(2.5, sample.y, 1e-12);
+        assertEquals(0.75, sample.heading, 1e-12);
+        assertEquals(0.125, sample.omega, 1e-12);
+        assertEquals(25.0, sample.forceX[0], 1e-12);
+        assertEquals(-25.0, sample.forceX[1], 1e-12);
+        assertEquals(5.0, sample.forceY[0], 1e-12);
+        assertEquals(0.25, sample.forceY[1], 1e-12);
+    }
+
+    @Test
+    void headingTakesTheShortWayRoundAcrossPi() throws IOException {
+        CompactTrajectory trajectory = choreo();
+        CompactTrajectory.Sample sample = trajectory.newSample();
+
+        // From 3 to -3 rad is 0.28 rad through pi, not 6 rad back through zero
+        double step = MathUtil.angleModulus(-3.0 - 3.0);
+        trajectory.sample(1.25, sample);
+        assertEquals(3.0 + step * 0.25, sample.heading, 1e-9);
+        trajectory.sample(1.75, sample);
+        assertEquals(MathUtil.angleModulus(3.0 + step * 0.75), sample.heading, 1e-9);
+        assertEquals(-Math.PI + (step * 0.75 - (Math.PI - 3.0)), sample.heading, 1e-9, "wrapped to just past -pi");
+    }
+
+    @Test
+    void readsSeveralSegmentsPastTheirPaddedNames() throws IOException {
+        List<CompactTrajectory> trajectories = load(
+            new String[] {"first", "second-segment"}, new int[] {2, 0}, choreoColumns, pathColumns);
+        assertEquals(2, trajectories.size());
+        assertEquals("first", trajectories.get(0).getName());
+        assertEquals("second-segment", trajectories.get(1).getName());
+        assertEquals(3.0, trajectories.get(0).getTotalTime(), 1e-12);
+
+        CompactTrajectory path = trajectories.get(1);
+        assertEquals(0, path.getModuleCount());
+        assertEquals(2, path.size());
+        CompactTrajectory.Sample sample = path.sample(1.0, path.newSample());
+        assertEquals(2.0, sample.x, 1e-12);
+        assertEquals(4.0, sample.y, 1e-12);
+        assertEquals(0.5, sample.heading, 1e-12);
+        assertEquals(0.5, sample.omega, 1e-12);
+        assertEquals(0, sample.forceX.length);
+    }
+
+    @Test
+    void samplesWithFewerModulesThanTheTrajectory() throws IOException {
+        CompactTrajectory trajectory = choreo();
+        CompactTrajectory.Sample sample = trajectory.sample(0.5, new CompactTrajectory.Sample(0));
+        assertEquals(0.5, sample.x, 1e-12);
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        String[] names = {"choreo"};
+        int[] modules = {2};
+        File badMagic = write(0x12345678, CompactTrajectory.version, names, modules, choreoColumns);
+        assertThrows(IOException.class, () -> CompactTrajectory.load(badMagic));
+        File badVersion = write(CompactTrajectory.magic, CompactTrajectory.version + 1, names, modules, choreoColumns);
+        assertThrows(IOException.class, () -> CompactTrajectory.load(badVersion));
+    }
+}
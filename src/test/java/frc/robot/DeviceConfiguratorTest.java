@@ -0,0 +1,92 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.ctre.phoenix6.configs.CANcoderConfiguration;
+import com.ctre.phoenix6.configs.CANcoderConfigurator;
+import com.ctre.phoenix6.configs.Pigeon2Configuration;
+import com.ctre.phoenix6.configs.Pigeon2Configurator;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.configs.TalonFXConfigurator;
+import com.ctre.phoenix6.signals.NeutralModeValue;
+
+/** Comparing configs setting by setting, and picking the sections to write, on real Phoenix configs */
+class DeviceConfiguratorTest {
+    @Test
+    void comparesEverySetting() {
+        assertNull(DeviceConfigurator.mismatch("", new TalonFXConfiguration(), new TalonFXConfiguration()));
+
+        TalonFXConfiguration sent = new TalonFXConfiguration();
+        TalonFXConfiguration readBack = new TalonFXConfiguration();
+        sent.Slot0.kP = 1.0;
+        readBack.Slot0.kP = 1.0 + Constants.Configs.tolerance / 10.0;
+        assertNull(DeviceConfigurator.mismatch("", sent, readBack), "rounding by the device isn't a mismatch");
+
+        readBack.Slot0.kP = 2.0;
+        String error = DeviceConfigurator.mismatch("", sent, readBack);
+        assertNotNull(error);
+        assertTrue(error.startsWith("Slot0.kP"), error);
+
+        readBack.Slot0.kP = 1.0;
+        sent.MotorOutput.NeutralMode = NeutralModeValue.Brake;
+        readBack.MotorOutput.NeutralMode = NeutralModeValue.Coast;
+        error = DeviceConfigurator.mismatch("", sent, readBack);
+        assertNotNull(error);
+        assertTrue(error.startsWith("MotorOutput.NeutralMode"), error);
+    }
+
+    @Test
+    void writesOnlyChangedSections() {
+        TalonFXConfiguration config = new TalonFXConfiguration();
+        TalonFXConfiguration current = new TalonFXConfiguration();
+        assertTrue(DeviceConfigurator.changedSections(config, current).isEmpty());
+
+        config.Slot0.kV = 0.12;
+        config.CurrentLimits.StatorCurrentLimit = 60.0;
+        config.CurrentLimits.StatorCurrentLimitEnable = true;
+        assertEquals(Set.of("Slot0", "CurrentLimits"), names(DeviceConfigurator.changedSections(config, current)));
+
+        current.Slot0.kV = 0.12;
+        current.CurrentLimits.StatorCurrentLimit = 60.0;
+        current.CurrentLimits.StatorCurrentLimitEnable = true;
+        assertTrue(DeviceConfigurator.changedSections(config, current).isEmpty());
+    }
+
+    @Test
+    void everySectionCanBeWrittenAlone() {
+        // Otherwise every change to that section would fall back to writing the whole config
+        assertSectionsApply(TalonFXConfiguration.class, TalonFXConfigurator.class);
+        assertSectionsApply(CANcoderConfiguration.class, CANcoderConfigurator.class);
+        assertSectionsApply(Pigeon2Configuration.class, Pigeon2Configurator.class);
+    }
+
+    private static void assertSectionsApply(Class<?> config, Class<?> configurator) {
+        for (Field field : config.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+                continue;
+            }
+            assertDoesNotThrow(() -> configurator.getMethod("apply", field.getType(), double.class),
+                configurator.getSimpleName() + " can't apply " + field.getName());
+        }
+    }
+
+    private static Set<String> names(List<Field> fields) {
+        Set<String> names = new HashSet<>();
+        for (Field field : fields) {
+            names.add(field.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,77 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import frc.lib.util.SwerveModuleConstants;
+import frc.robot.io.ModuleIO;
+
+/** Second order setpoints keep their meaning when the module reverses its wheel instead of turning it round */
+class SwerveModuleTest {
+    private static final double kS = 0.1;
+    private static final double kV = 2.0;
+    private static final double kA = 0.5;
+
+    /** A module pointing straight ahead that keeps what it's told */
+    private static class RecordingModuleIO implements ModuleIO {
+        double angleRotations;
+        double angleFeedForwardVolts;
+        double driveVelocityRPS;
+        double driveFeedForwardVolts;
+
+        @Override
+        public void setAnglePosition(double rotations, double feedForwardVolts) {
+            angleRotations = rotations;
+            angleFeedForwardVolts = feedForwardVolts;
+        }
+
+        @Override
+        public void setDriveVelocity(double velocityRPS, double feedForwardVolts) {
+            driveVelocityRPS = velocityRPS;
+            driveFeedForwardVolts = feedForwardVolts;
+        }
+    }
+
+    @BeforeAll
+    static void initializeHAL() {
+        assertTrue(HAL.initialize(500, 0));
+    }
+
+    private static SwerveModule module(ModuleIO io) {
+        return new SwerveModule(0, new SwerveModuleConstants(1, 2, 3, "", new Rotation2d(), kS, kV, kA), io);
+    }
+
+    @Test
+    void reversedWheelFlipsAcceleration() {
+        RecordingModuleIO io = new RecordingModuleIO();
+        SwerveModule module = module(io);
+
+        // Asked to drive backwards by turning round, the module reverses its wheel instead
+        module.setDesiredState(new SwerveModuleState(1.0, Rotation2d.fromDegrees(180.0)), false, 2.0, 1.0);
+        assertEquals(0.0, io.angleRotations, 1e-9, "kept pointing ahead");
+        assertTrue(io.driveVelocityRPS < 0.0, "drives the wheel backwards");
+        assertEquals(-kS - kV * 1.0 - kA * 2.0, io.driveFeedForwardVolts, 1e-9, "speeding up backwards");
+        assertTrue(io.angleFeedForwardVolts > 0.0, "still fed forward to turn counterclockwise");
+
+        // The same motion asked for the way the module already points
+        RecordingModuleIO ahead = new RecordingModuleIO();
+        module(ahead).setDesiredState(new SwerveModuleState(-1.0, new Rotation2d()), false, -2.0, 1.0);
+        assertEquals(io.driveVelocityRPS, ahead.driveVelocityRPS, 1e-9);
+        assertEquals(io.driveFeedForwardVolts, ahead.driveFeedForwardVolts, 1e-9);
+        assertEquals(io.angleFeedForwardVolts, ahead.angleFeedForwardVolts, 1e-9);
+    }
+
+    @Test
+    void keepsAccelerationWhenNotReversed() {
+        RecordingModuleIO io = new RecordingModuleIO();
+        module(io).setDesiredState(new SwerveModuleState(1.0, Rotation2d.fromDegrees(10.0)), false, 2.0, 0.0);
+        assertEquals(kS + kV * 1.0 + kA * 2.0, io.driveFeedForwardVolts, 1e-9);
+        assertEquals(0.0, io.angleFeedForwardVolts, 1e-9);
+    }
+}
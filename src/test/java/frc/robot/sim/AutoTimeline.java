@@ -0,0 +1,195 @@
+package frc.robot.sim;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.Constants;
+import frc.robot.commands.TimedCommand;
+import frc.robot.subsystems.IndexSubsystem;
+import frc.robot.subsystems.PoseSubsystem;
+
+/**
+ * Runs one auto headless and breaks down where its 15 seconds went: total duration, time spent
+ * standing still, time in each named command, time to the first shot and how closely the paths
+ * were followed.  Shots are judged from the true pose as the note leaves.
+ *
+ * <p>With a seed, the run happens under a random {@link SimVariation}: the robot is placed a
+ * little off, and the camera and pickups perform differently.
+ *
+ * <p>Usage: {@code AutoTimeline <auto name> [seed]}, printing one {@value #resultPrefix} line of JSON,
+ * or {@code AutoTimeline --list} to print the autos in the chooser.  Normally run for every auto
+ * by {@link AutoTimelineSuite}.
+ */
+public final class AutoTimeline {
+    public static final String resultPrefix = "AUTO ";
+    public static final double autoLength = 15.0;
+    public static final double stationarySpeed = 0.05; // m/s, and rad/s for turning
+
+    private AutoTimeline() {}
+
+    /** Timeline of one auto run */
+    public static class Result {
+        public String name;
+        public boolean completed;
+        public double duration;
+        public double stationaryTime;
+        public double timeToFirstShot = Double.NaN;
+        public int shots;
+        public int speakerScored;
+        public double trackingErrorRMS;
+        public double trackingErrorMax;
+        public Map<String, Double> namedCommandTime;
+
+        @SuppressWarnings("unchecked")
+        public String toJson() {
+            JSONObject json = new JSONObject();
+            json.put("name", name);
+            json.put("completed", completed);
+            json.put("duration", duration);
+            json.put("stationaryTime", stationaryTime);
+            json.put("timeToFirstShot", Double.isNaN(timeToFirstShot) ? null : timeToFirstShot);
+            json.put("shots", shots);
+            json.put("speakerScored", speakerScored);
+            json.put("trackingErrorRMS", trackingErrorRMS);
+            json.put("trackingErrorMax", trackingErrorMax);
+            JSONObject commands = new JSONObject();
+            commands.putAll(namedCommandTime);
+            json.put("namedCommandTime", commands);
+            return json.toJSONString();
+        }
+    }
+
+    /** Parse one result line */
+    static JSONObject parse(String json) {
+        try {
+            return (JSONObject) new JSONParser().parse(json);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Not a JSON object: " + json, e);
+        }
+    }
+
+    /** A number from a parsed result, or NaN if it's null */
+    static double number(JSONObject json, String key) {
+        Object value = json.get(key);
+        return value == null ? Double.NaN : ((Number) value).doubleValue();
+    }
+
+    public static Result run(SimulationHarness harness, String autoName) {
+        harness.selectAuto(autoName);
+        harness.disable();
+        harness.run(0.5);
+
+        TimedCommand.resetTotals();
+        harness.enableAutonomous();
+        harness.step();
+        misplaceRobot(SimVariation.get());
+
+        Result result = new Result();
+        result.name = autoName;
+        Command auto = harness.getRobot().getAutonomousCommand();
+        IndexSubsystem index = IndexSubsystem.getInstance();
+        PoseSubsystem pose = PoseSubsystem.getInstance();
+        double period = harness.getRobot().getPeriod();
+        double start = harness.getTime() - period;
+        boolean hadNote = index.haveNote();
+        double trackingSumSquares = 0.0;
+        long trackingSamples = 0;
+
+        while (auto != null && auto.isScheduled() && harness.getTime() - start < autoLength) {
+            DriverStationSim.setMatchTime(autoLength - (harness.getTime() - start));
+            harness.step();
+            double elapsed = harness.getTime() - start;
+
+            ChassisSpeeds speeds = SwerveDriveSim.getInstance().getSpeeds();
+            if (Math.hypot(speeds.vxMetersPerSecond, speeds.vyMetersPerSecond) < stationarySpeed
+                    && Math.abs(speeds.omegaRadiansPerSecond) < stationarySpeed) {
+                result.stationaryTime += period;
+            }
+
+            boolean haveNote = index.haveNote();
+            if (hadNote && !haveNote) {
+                result.shots++;
+                if (onTarget(SwerveDriveSim.getInstance().getPose(), pose.speakerLocation())) {
+                    result.speakerScored++;
+                }
+                if (Double.isNaN(result.timeToFirstShot)) {
+                    result.timeToFirstShot = elapsed;
+                }
+            }
+            hadNote = haveNote;
+
+            Pose2d target = pose.getAutoTargetPose();
+            if (target != null) {
+                double error = target.getTranslation().getDistance(pose.getPose().getTranslation());
+                trackingSumSquares += error * error;
+                trackingSamples++;
+                result.trackingErrorMax = Math.max(result.trackingErrorMax, error);
+            }
+        }
+
+        result.duration = harness.getTime() - start;
+        result.completed = auto != null && !auto.isScheduled();
+        result.trackingErrorRMS = trackingSamples == 0 ? 0.0 : Math.sqrt(trackingSumSquares / trackingSamples);
+        result.namedCommandTime = new LinkedHashMap<>(TimedCommand.getTotals());
+        harness.disable();
+        harness.step();
+        return result;
+    }
+
+    // The auto has just set where it thinks the robot starts; put the real robot a little off
+    private static void misplaceRobot(SimVariation variation) {
+        if (variation.startErrorX == 0.0 && variation.startErrorY == 0.0 && variation.startErrorHeading == 0.0) {
+            return;
+        }
+        SwerveDriveSim drive = SwerveDriveSim.getInstance();
+        Pose2d expected = drive.getPose();
+        drive.resetPose(new Pose2d(
+            expected.getX() + variation.startErrorX,
+            expected.getY() + variation.startErrorY,
+            expected.getRotation().plus(Rotation2d.fromDegrees(variation.startErrorHeading))));
+    }
+
+    // Whether a note leaving the robot here would go in the speaker, judged from the true pose
+    static boolean onTarget(Pose2d truth, Translation2d speaker) {
+        double distance = truth.getTranslation().getDistance(speaker) + Constants.Vision.centerToReferenceOffset;
+        // Same convention as PoseSubsystem.angleToSpeaker(): the shooter faces away from the heading
+        Rotation2d wanted = truth.getTranslation().minus(speaker).getAngle();
+        double error = wanted.minus(truth.getRotation()).getDegrees();
+        return distance <= Constants.Sim.maxScoringDistance && Math.abs(error) < Constants.Sim.scoringAngleTolerance;
+    }
+
+    public static void main(String... args) {
+        if (args.length < 1) {
+            System.err.println("Usage: AutoTimeline <auto name> [variation seed] | --list");
+            System.exit(2);
+        }
+        if (args.length > 1) {
+            SimVariation.set(SimVariation.random(Long.parseLong(args[1])));
+        }
+
+        try (SimulationHarness harness = new SimulationHarness()) {
+            if (args[0].equals("--list")) {
+                harness.step();
+                for (String option : SmartDashboard.getStringArray("auto/Auto Chooser/options", new String[0])) {
+                    if (!option.equals("None")) {
+                        System.out.println(resultPrefix + option);
+                    }
+                }
+            } else {
+                System.out.println(resultPrefix + run(harness, args[0]).toJson());
+            }
+        }
+        System.exit(0);
+    }
+}
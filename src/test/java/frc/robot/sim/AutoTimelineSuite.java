@@ -0,0 +1,102 @@
+package frc.robot.sim;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import org.json.simple.JSONObject;
+
+/**
+ * Runs every auto in the chooser through {@link AutoTimeline}, each in its own JVM, and writes
+ * the timelines as a JSON array along with a table ranked by duration.
+ *
+ * <p>Usage: {@code AutoTimelineSuite <output.json> [auto name regex]}, or
+ * {@code ./gradlew autoTimeline [-Pautos=regex]}
+ */
+public final class AutoTimelineSuite {
+    private AutoTimelineSuite() {}
+
+    public static void main(String... args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: AutoTimelineSuite <output.json> [auto name regex]");
+            System.exit(2);
+        }
+        Path output = Paths.get(args[0]);
+        Pattern filter = Pattern.compile(args.length > 1 ? args[1] : ".*");
+
+        List<String> autos = new ArrayList<>();
+        for (String name : SimProcess.run(AutoTimeline.class, List.of("--list"), AutoTimeline.resultPrefix, false)) {
+            if (filter.matcher(name).find()) {
+                autos.add(name);
+            }
+        }
+        System.out.println("Running " + autos.size() + " autos");
+
+        // Each simulation is single threaded, so run one per core
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors()));
+        List<Future<String>> runs = new ArrayList<>();
+        for (String name : autos) {
+            runs.add(pool.submit(() -> {
+                try {
+                    List<String> lines = SimProcess.run(AutoTimeline.class, List.of(name), AutoTimeline.resultPrefix, false);
+                    return lines.isEmpty() ? null : lines.get(lines.size() - 1);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+
+        List<JSONObject> results = new ArrayList<>();
+        boolean failed = false;
+        for (int i = 0; i < autos.size(); i++) {
+            try {
+                String json = runs.get(i).get();
+                if (json == null) {
+                    System.err.println(autos.get(i) + ": no result");
+                    failed = true;
+                } else {
+                    results.add(AutoTimeline.parse(json));
+                }
+            } catch (Exception e) {
+                System.err.println(autos.get(i) + ": " + e.getMessage());
+                failed = true;
+            }
+        }
+        pool.shutdown();
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(output)) {
+            List<String> lines = new ArrayList<>();
+            for (JSONObject result : results) {
+                lines.add(result.toJSONString());
+            }
+            writer.write("[\n  " + String.join(",\n  ", lines) + "\n]\n");
+        }
+        printTable(results);
+        System.out.println("Wrote " + output);
+        System.exit(failed ? 1 : 0);
+    }
+
+    private static void printTable(List<JSONObject> results) {
+        List<JSONObject> rows = new ArrayList<>(results);
+        rows.sort((a, b) -> Double.compare(AutoTimeline.number(a, "duration"), AutoTimeline.number(b, "duration")));
+
+        System.out.printf("%-45s %5s %8s %10s %10s %5s %6s %9s %9s%n", "Auto", "Done", "Time (s)", "Still (s)", "Shot 1 (s)", "Shots", "Scored", "RMS (m)", "Max (m)");
+        for (JSONObject row : rows) {
+            System.out.printf("%-45s %5s %8.3f %10.3f %10.3f %5d %6d %9.4f %9.4f%n",
+                row.get("name"), row.get("completed"), AutoTimeline.number(row, "duration"),
+                AutoTimeline.number(row, "stationaryTime"), AutoTimeline.number(row, "timeToFirstShot"),
+                ((Number) row.get("shots")).intValue(), ((Number) row.get("speakerScored")).intValue(),
+                AutoTimeline.number(row, "trackingErrorRMS"), AutoTimeline.number(row, "trackingErrorMax"));
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package frc.robot.sim;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import frc.lib.util.TunableNumber;
+import frc.robot.Gains;
+
+/**
+ * Searches for better controller gains by running {@link GainTrial} on many candidate sets in
+ * parallel, one JVM per core, and keeping the ones that aim and follow paths best.
+ *
+ * <p>The search is a separable CMA-ES (only the variance of each gain is adapted, not their
+ * correlations) over the log of each gain relative to its default, so every gain is searched in
+ * proportion to its size and can never change sign.  The best gains found are written along with
+ * their aim step response, to be copied into Constants once they look sensible.
+ *
+ * <p>Usage: {@code GainOptimizer <output.json> [generations] [gain key regex] [seed]}, or
+ * {@code ./gradlew optimizeGains [-Pgenerations=20] [-Pgains=regex] [-Pseed=1]}
+ */
+public final class GainOptimizer {
+    public static final int defaultGenerations = 20;
+    public static final double initialStepSize = 0.5; // in log space, so about a factor of 1.6 either way
+
+    /* Cost of a trial; roughly one unit for each thing a driver would notice */
+    public static final double settleTimeWeight = 1.0; // per second to settle on the speaker
+    public static final double overshootWeight = 0.05; // per degree of overshoot
+    public static final double trackingWeight = 10.0; // per meter RMS of path tracking error
+    public static final double incompletePenalty = 5.0; // auto didn't finish in 15 seconds
+
+    /** The gains GainTrial actually exercises; the maintain gain only matters while driving in teleop */
+    private static final List<TunableNumber> exercised = List.of(
+        Gains.rotationKP, Gains.rotationKS, Gains.pathTranslationKP, Gains.pathRotationKP,
+        Gains.driveKS, Gains.driveKV, Gains.driveKA);
+
+    private GainOptimizer() {}
+
+    /** One evaluated set of gains */
+    private static class Candidate {
+        final double[] x; // log(gain / default)
+        final double[] z; // standard normal sample it was drawn from
+        JSONObject trial;
+        double cost = Double.POSITIVE_INFINITY;
+
+        Candidate(double[] x, double[] z) {
+            this.x = x;
+            this.z = z;
+        }
+    }
+
+    public static double cost(JSONObject trial) {
+        double cost = settleTimeWeight * AutoTimeline.number(trial, "settleTime")
+            + overshootWeight * AutoTimeline.number(trial, "overshoot")
+            + trackingWeight * AutoTimeline.number(trial, "trackingErrorRMS");
+        if (!Boolean.TRUE.equals(trial.get("completed"))) {
+            cost += incompletePenalty;
+        }
+        return cost;
+    }
+
+    private static double[] gains(List<TunableNumber> tuned, double[] x) {
+        double[] values = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            values[i] = tuned.get(i).getDefault() * Math.exp(x[i]);
+        }
+        return values;
+    }
+
+    private static List<String> trialArgs(List<TunableNumber> tuned, double[] x, boolean response) {
+        List<String> args = new ArrayList<>();
+        if (response) {
+            args.add("--response");
+        }
+        double[] values = gains(tuned, x);
+        for (int i = 0; i < values.length; i++) {
+            args.add(tuned.get(i).getKey() + "=" + values[i]);
+        }
+        return args;
+    }
+
+    private static void evaluate(ExecutorService pool, List<TunableNumber> tuned, List<Candidate> candidates) {
+        List<Future<String>> runs = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            List<String> args = trialArgs(tuned, candidate.x, false);
+            runs.add(pool.submit(() -> {
+                try {
+                    List<String> lines = SimProcess.run(GainTrial.class, args, GainTrial.resultPrefix, false);
+                    return lines.isEmpty() ? null : lines.get(lines.size() - 1);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+        for (int i = 0; i < candidates.size(); i++) {
+            Candidate candidate = candidates.get(i);
+            try {
+                String line = runs.get(i).get();
+                candidate.trial = line == null ? null : AutoTimeline.parse(line);
+            } catch (Exception e) {
+                System.err.println("Trial failed: " + e.getMessage());
+            }
+            // A trial that failed outright ranks last
+            if (candidate.trial != null) {
+                candidate.cost = cost(candidate.trial);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void main(String... args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: GainOptimizer <output.json> [generations] [gain key regex] [seed]");
+            System.exit(2);
+        }
+        Path output = Paths.get(args[0]);
+        int generations = args.length > 1 ? Integer.parseInt(args[1]) : defaultGenerations;
+        Pattern filter = Pattern.compile(args.length > 2 ? args[2] : ".*");
+        Random random = new Random(args.length > 3 ? Long.parseLong(args[3]) : 1);
+
+        List<TunableNumber> tuned = new ArrayList<>();
+        for (TunableNumber gain : exercised) {
+            if (filter.matcher(gain.getKey()).find()) {
+                tuned.add(gain);
+            }
+        }
+        int n = tuned.size();
+        if (n == 0) {
+            System.err.println("No gains match " + filter);
+            System.exit(2);
+        }
+
+        // Standard CMA-ES settings (Hansen), with the covariance learning rates raised for the
+        // separable version as in Ros and Hansen, "A Simple Modification in CMA-ES" (2008)
+        int lambda = 4 + (int) Math.floor(3.0 * Math.log(n));
+        int mu = lambda / 2;
+        double[] weights = new double[mu];
+        double weightSum = 0.0;
+        for (int i = 0; i < mu; i++) {
+            weights[i] = Math.log(mu + 0.5) - Math.log(i + 1);
+            weightSum += weights[i];
+        }
+        double weightSquares = 0.0;
+        for (int i = 0; i < mu; i++) {
+            weights[i] /= weightSum;
+            weightSquares += weights[i] * weights[i];
+        }
+        double mueff = 1.0 / weightSquares;
+        double cc = (4.0 + mueff / n) / (n + 4.0 + 2.0 * mueff / n);
+        double cs = (mueff + 2.0) / (n + mueff + 5.0);
+        double c1 = Math.min(1.0, 2.0 / ((n + 1.3) * (n + 1.3) + mueff) * (n + 2.0) / 3.0);
+        double cmu = Math.min(1.0 - c1, 2.0 * (mueff - 2.0 + 1.0 / mueff) / ((n + 2.0) * (n + 2.0) + mueff) * (n + 2.0) / 3.0);
+        double damps = 1.0 + 2.0 * Math.max(0.0, Math.sqrt((mueff - 1.0) / (n + 1.0)) - 1.0) + cs;
+        double chiN = Math.sqrt(n) * (1.0 - 1.0 / (4.0 * n) + 1.0 / (21.0 * n * n));
+
+        double[] mean = new double[n];
+        double[] variance = new double[n];
+        Arrays.fill(variance, 1.0);
+        double[] pc = new double[n];
+        double[] ps = new double[n];
+        double sigma = initialStepSize;
+
+        int cores = Math.max(1, Runtime.getRuntime().availableProcessors());
+        ExecutorService pool = Executors.newFixedThreadPool(cores);
+        System.out.printf("Tuning %d gains, %d generations of %d trials on %d cores%n", n, generations, lambda, cores);
+
+        // The defaults, to compare against
+        Candidate baseline = new Candidate(new double[n], new double[n]);
+        evaluate(pool, tuned, List.of(baseline));
+        Candidate best = baseline;
+        System.out.printf("Defaults: cost %.4f%n", baseline.cost);
+        List<Double> history = new ArrayList<>();
+
+        for (int generation = 0; generation < generations; generation++) {
+            List<Candidate> candidates = new ArrayList<>();
+            for (int k = 0; k < lambda; k++) {
+                double[] z = new double[n];
+                double[] x = new double[n];
+                for (int i = 0; i < n; i++) {
+                    z[i] = random.nextGaussian();
+                    x[i] = mean[i] + sigma * Math.sqrt(variance[i]) * z[i];
+                }
+                candidates.add(new Candidate(x, z));
+            }
+            evaluate(pool, tuned, candidates);
+            candidates.sort(Comparator.comparingDouble(c -> c.cost));
+            if (candidates.get(0).cost < best.cost) {
+                best = candidates.get(0);
+            }
+            history.add(candidates.get(0).cost);
+
+            // Move the mean towards the best mu candidates
+            double[] yw = new double[n];
+            double[] zw = new double[n];
+            for (int k = 0; k < mu; k++) {
+                Candidate candidate = candidates.get(k);
+                for (int i = 0; i < n; i++) {
+                    zw[i] += weights[k] * candidate.z[i];
+                    yw[i] += weights[k] * Math.sqrt(variance[i]) * candidate.z[i];
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                mean[i] += sigma * yw[i];
+            }
+
+            // Evolution paths
+            double psNorm = 0.0;
+            for (int i = 0; i < n; i++) {
+                ps[i] = (1.0 - cs) * ps[i] + Math.sqrt(cs * (2.0 - cs) * mueff) * zw[i];
+                psNorm += ps[i] * ps[i];
+            }
+            psNorm = Math.sqrt(psNorm);
+            boolean hsig = psNorm / Math.sqrt(1.0 - Math.pow(1.0 - cs, 2.0 * (generation + 1))) / chiN < 1.4 + 2.0 / (n + 1.0);
+            for (int i = 0; i < n; i++) {
+                pc[i] = (1.0 - cc) * pc[i] + (hsig ? Math.sqrt(cc * (2.0 - cc) * mueff) * yw[i] : 0.0);
+            }
+
+            // Per-gain variances and the overall step size
+            for (int i = 0; i < n; i++) {
+                double rankMu = 0.0;
+                for (int k = 0; k < mu; k++) {
+                    double y = Math.sqrt(variance[i]) * candidates.get(k).z[i];
+                    rankMu += weights[k] * y * y;
+                }
+                double rankOne = pc[i] * pc[i] + (hsig ? 0.0 : cc * (2.0 - cc) * variance[i]);
+                variance[i] = (1.0 - c1 - cmu) * variance[i] + c1 * rankOne + cmu * rankMu;
+            }
+            sigma *= Math.exp(cs / damps * (psNorm / chiN - 1.0));
+
+            System.out.printf("Generation %2d: best %.4f, overall best %.4f, step %.3f%n",
+                generation + 1, candidates.get(0).cost, best.cost, sigma);
+        }
+
+        // Run the best once more for its step response
+        List<String> lines = SimProcess.run(GainTrial.class, trialArgs(tuned, best.x, true), GainTrial.resultPrefix, false);
+        pool.shutdown();
+        JSONObject bestTrial = lines.isEmpty() ? best.trial : AutoTimeline.parse(lines.get(lines.size() - 1));
+
+        double[] values = gains(tuned, best.x);
+        JSONArray costs = new JSONArray();
+        costs.addAll(history);
+        JSONObject bestGains = new JSONObject();
+        for (int i = 0; i < n; i++) {
+            bestGains.put(tuned.get(i).getKey(), values[i]);
+        }
+        JSONObject json = new JSONObject();
+        json.put("baselineCost", baseline.cost);
+        json.put("bestCost", best.cost);
+        json.put("history", costs);
+        json.put("gains", bestGains);
+        json.put("trial", bestTrial);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(output)) {
+            writer.write(json.toJSONString() + "\n");
+        }
+
+        System.out.println();
+        System.out.printf("%-30s %10s %10s%n", "Gain", "Default", "Best");
+        for (int i = 0; i < n; i++) {
+            System.out.printf("%-30s %10.4f %10.4f%n", tuned.get(i).getKey(), tuned.get(i).getDefault(), values[i]);
+        }
+        System.out.printf("Cost %.4f -> %.4f%n", baseline.cost, best.cost);
+        if (bestTrial != null) {
+            System.out.printf("Aim settles in %.3f s with %.3f degrees overshoot; path tracking RMS %.4f m%n",
+                AutoTimeline.number(bestTrial, "settleTime"), AutoTimeline.number(bestTrial, "overshoot"),
+                AutoTimeline.number(bestTrial, "trackingErrorRMS"));
+        }
+        System.out.println("Wrote " + output);
+        System.exit(0);
+    }
+}
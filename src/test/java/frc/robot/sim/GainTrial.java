@@ -0,0 +1,130 @@
+package frc.robot.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.subsystems.PoseSubsystem;
+
+/**
+ * Scores one set of {@link frc.robot.Gains} in simulation: how closely a representative auto
+ * follows its paths, and how quickly and cleanly the robot turns to face the speaker from 30
+ * degrees off while the driver holds the shoot button.
+ *
+ * <p>Gains are given as {@code key=value} using their dashboard keys and are put on the dashboard
+ * before the robot is constructed, so everything that reads them at startup sees them.  Any gain
+ * not given keeps its default.
+ *
+ * <p>Usage: {@code GainTrial [--auto=<name>] [--response] [key=value ...]}, printing one
+ * {@value #resultPrefix} line of JSON.  Normally run many times by {@link GainOptimizer}.
+ */
+public final class GainTrial {
+    public static final String resultPrefix = "TRIAL ";
+    public static final String defaultAuto = "Smart HG";
+
+    /* Aim step */
+    public static final Pose2d stepStart = new Pose2d(2.5, 5.55, Rotation2d.fromDegrees(30.0)); // 30 degrees off aiming at the blue speaker
+    public static final double stepDuration = 2.0; // seconds
+    public static final double settledError = 2.0; // degrees
+
+    private GainTrial() {}
+
+    /** How the robot turned to face the speaker */
+    public static class StepResponse {
+        public double initialError;
+        public double settleTime;
+        public double overshoot; // degrees past the target, in the direction it was turning
+        public final List<double[]> samples = new ArrayList<>(); // time, error in degrees
+    }
+
+    public static StepResponse aimStep(SimulationHarness harness) {
+        PoseSubsystem pose = PoseSubsystem.getInstance();
+        harness.disable();
+        harness.run(0.2);
+        pose.setPose(stepStart);
+        harness.enableTeleop();
+
+        StepResponse response = new StepResponse();
+        response.initialError = speakerError(pose);
+        response.settleTime = 0.0;
+        double direction = Math.signum(response.initialError);
+        harness.run(stepDuration, (t, driver) -> {
+            driver.setRightBumper(true);
+            double error = speakerError(pose);
+            response.samples.add(new double[] {t, error});
+            response.overshoot = Math.max(response.overshoot, -direction * error);
+            if (Math.abs(error) > settledError) {
+                // Not settled until it stays within tolerance
+                response.settleTime = t + harness.getRobot().getPeriod();
+            }
+        });
+        harness.getDriver().setRightBumper(false);
+        harness.disable();
+        harness.step();
+        response.settleTime = Math.min(response.settleTime, stepDuration);
+        return response;
+    }
+
+    // Heading error to the speaker from the true pose, the same convention as AutoTimeline.onTarget()
+    private static double speakerError(PoseSubsystem pose) {
+        Pose2d truth = SwerveDriveSim.getInstance().getPose();
+        Rotation2d wanted = truth.getTranslation().minus(pose.speakerLocation()).getAngle();
+        return wanted.minus(truth.getRotation()).getDegrees();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void main(String... args) {
+        String autoName = defaultAuto;
+        boolean includeResponse = false;
+        JSONObject gains = new JSONObject();
+        for (String arg : args) {
+            if (arg.startsWith("--auto=")) {
+                autoName = arg.substring("--auto=".length());
+            } else if (arg.equals("--response")) {
+                includeResponse = true;
+            } else {
+                int equals = arg.lastIndexOf('=');
+                if (equals < 0) {
+                    System.err.println("Usage: GainTrial [--auto=<name>] [--response] [key=value ...]");
+                    System.exit(2);
+                }
+                String key = arg.substring(0, equals);
+                double value = Double.parseDouble(arg.substring(equals + 1));
+                SmartDashboard.putNumber(key, value);
+                gains.put(key, value);
+            }
+        }
+
+        try (SimulationHarness harness = new SimulationHarness()) {
+            AutoTimeline.Result auto = AutoTimeline.run(harness, autoName);
+            StepResponse step = aimStep(harness);
+
+            JSONObject json = new JSONObject();
+            json.put("gains", gains);
+            json.put("auto", autoName);
+            json.put("completed", auto.completed);
+            json.put("trackingErrorRMS", auto.trackingErrorRMS);
+            json.put("trackingErrorMax", auto.trackingErrorMax);
+            json.put("initialError", step.initialError);
+            json.put("settleTime", step.settleTime);
+            json.put("overshoot", step.overshoot);
+            if (includeResponse) {
+                JSONArray response = new JSONArray();
+                for (double[] sample : step.samples) {
+                    JSONArray point = new JSONArray();
+                    point.add(sample[0]);
+                    point.add(sample[1]);
+                    response.add(point);
+                }
+                json.put("response", response);
+            }
+            System.out.println(resultPrefix + json.toJSONString());
+        }
+        System.exit(0);
+    }
+}
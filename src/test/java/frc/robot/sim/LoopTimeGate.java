@@ -0,0 +1,170 @@
+package frc.robot.sim;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import frc.robot.subsystems.PoseSubsystem;
+
+/**
+ * Scripted scenarios run through the whole robot program, and the cost of each of their loops, so
+ * new features can't quietly eat into the 20 ms budget.  {@link LoopTimeTest} checks them against
+ * checked-in baselines.
+ *
+ * <p>Every loop is timed and the bytes it allocates are counted.  Before a scenario is measured,
+ * the robot spends {@link #warmupSeconds} driving, aiming, picking up and shooting while the JIT
+ * settles, and ends holding a note; the scenario itself is then measured from its first loop to
+ * its last.
+ */
+public final class LoopTimeGate {
+    public static final double warmupSeconds = 9.5; // ends just after a pickup, so the scenario starts with a note
+
+    private LoopTimeGate() {}
+
+    /** Robot start position for the teleop scenarios: in front of the blue speaker */
+    private static final Pose2d speakerPose = new Pose2d(2.0, 5.55, Rotation2d.fromDegrees(180.0));
+
+    public enum Scenario {
+        /** Drive around while holding the shoot button, so TeleopSwerve is aiming the whole time */
+        teleopAiming {
+            @Override
+            void run(SimulationHarness harness) {
+                PoseSubsystem.getInstance().setPose(speakerPose);
+                harness.enableTeleop();
+                harness.run(60.0, (t, driver) -> {
+                    driver.setLeftY(-0.5 * Math.sin(t * 0.5));
+                    driver.setLeftX(0.5 * Math.sin(t));
+                    driver.setRightBumper(true);
+                });
+            }
+        },
+
+        /** Sit in front of the speaker, repeatedly picking up a note and taking a vision shot */
+        visionShots {
+            @Override
+            void run(SimulationHarness harness) {
+                PoseSubsystem.getInstance().setPose(speakerPose);
+                harness.enableTeleop();
+                harness.run(60.0, (t, driver) -> {
+                    double cycle = t % 4.0;
+                    driver.setLeftBumper(cycle < 1.5);
+                    driver.setRightBumper(cycle >= 2.0 && cycle < 3.5);
+                });
+            }
+        },
+
+        /** The Smart HG auto, start to finish */
+        smartHG {
+            @Override
+            void run(SimulationHarness harness) {
+                harness.selectAuto("Smart HG");
+                harness.disable();
+                harness.run(0.5);
+                harness.enableAutonomous();
+                harness.run(15.0);
+            }
+        };
+
+        abstract void run(SimulationHarness harness);
+    }
+
+    /** Loop cost over one scenario */
+    public static class Result {
+        public final long loops;
+        public final double p50Millis;
+        public final double p99Millis;
+        public final double maxMillis;
+        public final double bytesPerLoop;
+
+        Result(long[] loopNanos, long bytes) {
+            long[] sorted = loopNanos.clone();
+            Arrays.sort(sorted);
+            loops = sorted.length;
+            p50Millis = percentile(sorted, 0.50) / 1e6;
+            p99Millis = percentile(sorted, 0.99) / 1e6;
+            maxMillis = sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6;
+            bytesPerLoop = sorted.length == 0 ? 0.0 : (double) bytes / sorted.length;
+        }
+
+        private static double percentile(long[] sorted, double fraction) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(fraction * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d loops: p50 %.3f ms, p99 %.3f ms, max %.3f ms, %.0f bytes/loop",
+                loops, p50Millis, p99Millis, maxMillis, bytesPerLoop);
+        }
+    }
+
+    /** Times every loop the harness runs while it's recording */
+    private static class LoopRecorder implements SimulationHarness.LoopListener {
+        private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        private long[] loopNanos = new long[8192];
+        private int count = 0;
+        private boolean recording = false;
+        private long bytes = 0;
+        private long start;
+        private long startBytes;
+
+        @Override
+        public void beforeLoop() {
+            startBytes = threads.getCurrentThreadAllocatedBytes();
+            start = System.nanoTime();
+        }
+
+        @Override
+        public void afterLoop() {
+            long elapsed = System.nanoTime() - start;
+            long allocated = threads.getCurrentThreadAllocatedBytes() - startBytes;
+            if (!recording) {
+                return;
+            }
+            if (count == loopNanos.length) {
+                loopNanos = Arrays.copyOf(loopNanos, count * 2);
+            }
+            loopNanos[count++] = elapsed;
+            bytes += allocated;
+        }
+
+        Result getResult() {
+            return new Result(Arrays.copyOf(loopNanos, count), bytes);
+        }
+    }
+
+    /** Warm up, then run the scenario and measure every one of its loops */
+    public static Result measure(SimulationHarness harness, Scenario scenario) {
+        LoopRecorder recorder = new LoopRecorder();
+        harness.setLoopListener(recorder);
+        warmUp(harness);
+        recorder.recording = true;
+        scenario.run(harness);
+        recorder.recording = false;
+        return recorder.getResult();
+    }
+
+    // Exercise the teleop code paths, ending just after a pickup and disabled, with the sticks released
+    private static void warmUp(SimulationHarness harness) {
+        PoseSubsystem.getInstance().setPose(speakerPose);
+        harness.enableTeleop();
+        harness.run(warmupSeconds, (t, driver) -> {
+            double cycle = t % 4.0;
+            driver.setLeftY(-0.3 * Math.sin(t));
+            driver.setLeftX(0.3 * Math.sin(t * 0.5));
+            driver.setLeftBumper(cycle < 1.5);
+            driver.setRightBumper(cycle >= 2.0 && cycle < 3.5);
+        });
+        harness.getDriver().setLeftY(0.0);
+        harness.getDriver().setLeftX(0.0);
+        harness.getDriver().setLeftBumper(false);
+        harness.getDriver().setRightBumper(false);
+        harness.disable();
+        harness.run(0.5);
+    }
+}
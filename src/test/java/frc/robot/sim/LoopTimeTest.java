@@ -0,0 +1,73 @@
+package frc.robot.sim;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Fails if a {@link LoopTimeGate.Scenario}'s loops have got slower at the 99th percentile, or
+ * allocate more per loop, than its baseline by more than the tolerance in the baselines file.
+ *
+ * <p>Run by {@code ./gradlew loopTimeGate}, on the machine the baselines were recorded on, since
+ * loop times depend on it; with {@code -PupdateBaselines} the scenario's measurements are written
+ * as its new baseline instead.  A scenario with no baseline yet is skipped.  Each subclass runs
+ * one scenario, since the robot can only be built once per JVM.
+ */
+@Tag("loopTime")
+abstract class LoopTimeTest extends SimulationTest {
+    private static final double defaultTolerance = 0.25;
+
+    abstract LoopTimeGate.Scenario scenario();
+
+    @Test
+    void staysWithinBaseline() throws IOException {
+        String name = scenario().name();
+        LoopTimeGate.Result result = LoopTimeGate.measure(harness, scenario());
+        System.out.println(name + ": " + result);
+
+        String file = System.getProperty("loopTime.baselines");
+        assertNotNull(file, "loopTime.baselines isn't set; run this through ./gradlew loopTimeGate");
+        Path path = Paths.get(file);
+        Properties baselines = new Properties();
+        if (Files.exists(path)) {
+            try (Reader reader = Files.newBufferedReader(path)) {
+                baselines.load(reader);
+            }
+        }
+
+        if (Boolean.getBoolean("loopTime.update")) {
+            baselines.setProperty(name + ".p99Millis", String.format(Locale.ROOT, "%.3f", result.p99Millis));
+            baselines.setProperty(name + ".bytesPerLoop", String.format(Locale.ROOT, "%.0f", result.bytesPerLoop));
+            baselines.putIfAbsent("tolerance", Double.toString(defaultTolerance));
+            try (Writer writer = Files.newBufferedWriter(path)) {
+                baselines.store(writer, "Loop-time baselines; regenerate with ./gradlew loopTimeGate -PupdateBaselines");
+            }
+            System.out.println("Recorded baseline for " + name + " in " + path);
+            return;
+        }
+
+        String p99 = baselines.getProperty(name + ".p99Millis");
+        String bytes = baselines.getProperty(name + ".bytesPerLoop");
+        assumeTrue(p99 != null && bytes != null,
+            "No baseline for " + name + " in " + path + "; record one with ./gradlew loopTimeGate -PupdateBaselines");
+        double tolerance = Double.parseDouble(baselines.getProperty("tolerance", Double.toString(defaultTolerance)));
+        double p99Limit = Double.parseDouble(p99) * (1.0 + tolerance);
+        double bytesLimit = Double.parseDouble(bytes) * (1.0 + tolerance);
+        assertTrue(result.p99Millis <= p99Limit,
+            String.format("%s p99 loop time %.3f ms is over the %.3f ms limit", name, result.p99Millis, p99Limit));
+        assertTrue(result.bytesPerLoop <= bytesLimit,
+            String.format("%s allocates %.0f bytes/loop, over the %.0f limit", name, result.bytesPerLoop, bytesLimit));
+    }
+}
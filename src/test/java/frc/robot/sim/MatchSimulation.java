@@ -0,0 +1,51 @@
+package frc.robot.sim;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Simulates a full match headless and reports how long it took.
+ *
+ * <p>Usage: {@code MatchSimulation [auto name]}, or {@code ./gradlew simulateHeadless -Pauto=...}
+ */
+public final class MatchSimulation {
+    private MatchSimulation() {}
+
+    /** Drives a slow figure-eight while periodically spinning the intake and shooting */
+    public static final SimulationHarness.DriverScript figureEight = (t, driver) -> {
+        driver.setLeftY(-0.6 * Math.sin(t * 0.5));
+        driver.setLeftX(0.6 * Math.sin(t));
+        driver.setRightX(0.3 * Math.sin(t * 0.25));
+
+        double cycle = t % 10.0;
+        driver.setLeftBumper(cycle < 3.0);
+        driver.setRightBumper(cycle >= 7.0 && cycle < 8.0);
+    };
+
+    public static void main(String... args) {
+        String autoName = args.length > 0 ? args[0] : null;
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        long wallStart = System.nanoTime();
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long loops;
+        double simTime;
+
+        try (SimulationHarness harness = new SimulationHarness()) {
+            long setup = System.nanoTime();
+            harness.runMatch(autoName, figureEight);
+            loops = harness.getLoops();
+            simTime = harness.getTime();
+            System.out.printf("Robot start-up took %.2f s%n", (setup - wallStart) / 1e9);
+            if (VisionSimMetrics.getInstance() != null) {
+                System.out.println(VisionSimMetrics.getInstance().summary());
+            }
+        }
+
+        double wall = (System.nanoTime() - wallStart) / 1e9;
+        double cpu = (threads.getCurrentThreadCpuTime() - cpuStart) / 1e9;
+        System.out.printf("Simulated %d loops (%.1f s of match time) in %.2f s wall, %.2f s CPU (%.0fx real time)%n",
+            loops, simTime, wall, cpu, simTime / wall);
+        System.exit(0);
+    }
+}
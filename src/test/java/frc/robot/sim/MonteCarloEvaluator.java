@@ -0,0 +1,198 @@
+package frc.robot.sim;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import frc.robot.Constants;
+
+/**
+ * Runs each auto many times under random conditions ({@link SimVariation}) and reports how likely
+ * it is to score, so autos can be picked by expected points instead of one lucky run.
+ *
+ * <p>Every run is a separate JVM running {@link AutoTimeline}, spread across all the cores.  Run
+ * {@code i} of every auto uses the same seed, so autos are compared under the same conditions.
+ *
+ * <p>Usage: {@code MonteCarloEvaluator <output.json> [runs per auto] [auto name regex] [first seed]},
+ * or {@code ./gradlew monteCarloAutos [-Pruns=50] [-Pautos=regex] [-Pseed=1]}
+ */
+public final class MonteCarloEvaluator {
+    public static final int defaultRuns = 50;
+
+    private MonteCarloEvaluator() {}
+
+    /** What the runs of one auto add up to */
+    public static class Summary {
+        public final String name;
+        public final int runs;
+        public final int failedRuns;
+        public final double completionRate;
+        public final double[] scoredProbability; // [k] = chance of scoring at least k notes
+        public final double expectedPoints;
+        public final double p10Duration;
+        public final double p50Duration;
+        public final double p90Duration;
+
+        Summary(String name, List<JSONObject> results, int failedRuns) {
+            this.name = name;
+            this.failedRuns = failedRuns;
+            runs = results.size();
+
+            int completed = 0;
+            int maxScored = 0;
+            int[] scored = new int[runs];
+            double[] durations = new double[runs];
+            for (int i = 0; i < runs; i++) {
+                JSONObject result = results.get(i);
+                if (Boolean.TRUE.equals(result.get("completed"))) {
+                    completed++;
+                }
+                scored[i] = ((Number) result.get("speakerScored")).intValue();
+                durations[i] = AutoTimeline.number(result, "duration");
+                maxScored = Math.max(maxScored, scored[i]);
+            }
+
+            completionRate = runs == 0 ? 0.0 : (double) completed / runs;
+            scoredProbability = new double[maxScored + 1];
+            double totalScored = 0.0;
+            for (int count : scored) {
+                totalScored += count;
+                for (int k = 0; k <= count; k++) {
+                    scoredProbability[k] += 1.0 / runs;
+                }
+            }
+            expectedPoints = runs == 0 ? 0.0 : totalScored / runs * Constants.Sim.pointsPerAutoSpeakerNote;
+
+            Arrays.sort(durations);
+            p10Duration = percentile(durations, 0.10);
+            p50Duration = percentile(durations, 0.50);
+            p90Duration = percentile(durations, 0.90);
+        }
+
+        private static double percentile(double[] sorted, double fraction) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(fraction * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        @SuppressWarnings("unchecked")
+        public String toJson() {
+            JSONArray probabilities = new JSONArray();
+            for (double probability : scoredProbability) {
+                probabilities.add(probability);
+            }
+            JSONObject duration = new JSONObject();
+            duration.put("p10", p10Duration);
+            duration.put("p50", p50Duration);
+            duration.put("p90", p90Duration);
+
+            JSONObject json = new JSONObject();
+            json.put("name", name);
+            json.put("runs", runs);
+            json.put("failedRuns", failedRuns);
+            json.put("completionRate", completionRate);
+            json.put("expectedPoints", expectedPoints);
+            json.put("scoredAtLeast", probabilities);
+            json.put("duration", duration);
+            return json.toJSONString();
+        }
+    }
+
+    public static void main(String... args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: MonteCarloEvaluator <output.json> [runs per auto] [auto name regex] [first seed]");
+            System.exit(2);
+        }
+        Path output = Paths.get(args[0]);
+        int runsPerAuto = args.length > 1 ? Integer.parseInt(args[1]) : defaultRuns;
+        Pattern filter = Pattern.compile(args.length > 2 ? args[2] : ".*");
+        long firstSeed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        List<String> autos = new ArrayList<>();
+        for (String name : SimProcess.run(AutoTimeline.class, List.of("--list"), AutoTimeline.resultPrefix, false)) {
+            if (filter.matcher(name).find()) {
+                autos.add(name);
+            }
+        }
+        int cores = Math.max(1, Runtime.getRuntime().availableProcessors());
+        System.out.printf("Running %d autos x %d runs on %d cores%n", autos.size(), runsPerAuto, cores);
+
+        ExecutorService pool = Executors.newFixedThreadPool(cores);
+        List<List<Future<String>>> runs = new ArrayList<>();
+        for (String name : autos) {
+            List<Future<String>> autoRuns = new ArrayList<>();
+            for (int i = 0; i < runsPerAuto; i++) {
+                String seed = Long.toString(firstSeed + i);
+                autoRuns.add(pool.submit(() -> {
+                    try {
+                        List<String> lines = SimProcess.run(AutoTimeline.class, List.of(name, seed), AutoTimeline.resultPrefix, false);
+                        return lines.isEmpty() ? null : lines.get(lines.size() - 1);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+            runs.add(autoRuns);
+        }
+
+        List<Summary> summaries = new ArrayList<>();
+        for (int a = 0; a < autos.size(); a++) {
+            List<JSONObject> results = new ArrayList<>();
+            int failed = 0;
+            for (Future<String> run : runs.get(a)) {
+                try {
+                    String json = run.get();
+                    if (json == null) {
+                        failed++;
+                    } else {
+                        results.add(AutoTimeline.parse(json));
+                    }
+                } catch (Exception e) {
+                    failed++;
+                }
+            }
+            Summary summary = new Summary(autos.get(a), results, failed);
+            summaries.add(summary);
+            System.out.printf("%-45s %5.1f points expected%n", summary.name, summary.expectedPoints);
+        }
+        pool.shutdown();
+
+        summaries.sort((x, y) -> Double.compare(y.expectedPoints, x.expectedPoints));
+        List<String> json = new ArrayList<>();
+        for (Summary summary : summaries) {
+            json.add(summary.toJson());
+        }
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(output)) {
+            writer.write("[\n  " + String.join(",\n  ", json) + "\n]\n");
+        }
+
+        System.out.println();
+        System.out.printf("%-45s %7s %6s %6s %9s %9s %9s  %s%n", "Auto", "Points", "Done", "Failed", "p10 (s)", "p50 (s)", "p90 (s)", "P(scored >= 1, 2, ...)");
+        for (Summary summary : summaries) {
+            StringBuilder probabilities = new StringBuilder();
+            for (int k = 1; k < summary.scoredProbability.length; k++) {
+                probabilities.append(String.format("%.2f ", summary.scoredProbability[k]));
+            }
+            System.out.printf("%-45s %7.2f %6.2f %6d %9.2f %9.2f %9.2f  %s%n", summary.name, summary.expectedPoints,
+                summary.completionRate, summary.failedRuns, summary.p10Duration, summary.p50Duration, summary.p90Duration, probabilities);
+        }
+        System.out.println("Wrote " + output);
+        System.exit(0);
+    }
+}
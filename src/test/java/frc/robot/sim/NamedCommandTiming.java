@@ -0,0 +1,129 @@
+package frc.robot.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.pathplanner.lib.auto.NamedCommands;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.Commands;
+import frc.robot.subsystems.IndexSubsystem;
+import frc.robot.subsystems.PoseSubsystem;
+
+/**
+ * Measures how long each of the autonomous named commands takes in simulation, from being
+ * scheduled to finishing, so changes to how they are put together can be compared.
+ *
+ * <p>Each command is also timed the way it used to be put together, with its status messages
+ * logged by {@code Commands.runOnce} steps before and after it, and the difference reported.  The
+ * steps are added around the current command, so only how the command is chained differs.
+ *
+ * <p>Usage: {@code NamedCommandTiming [command names...]}, or
+ * {@code ./gradlew timeNamedCommands}
+ */
+public final class NamedCommandTiming {
+    private NamedCommandTiming() {}
+
+    public static final double commandTimeout = 10.0;
+
+    public static final List<String> defaultCommands = List.of(
+        "Intake note",
+        "Shoot",
+        "Shoot without aiming",
+        "Fixed SW shot",
+        "Fixed AS shot",
+        "Shoot OTF",
+        "Amp-side OTF Shot",
+        "Source-side OTF Shot",
+        "Amp Shot",
+        "Bloop Shot",
+        "Slide Shot",
+        "Short Slide Shot",
+        "Special Shot");
+
+    /**
+     * How many runOnce steps ran before and after each command when they logged their progress
+     * with them.  Steps in the branches of a race ran side by side, so they're counted once.
+     */
+    public static final Map<String, int[]> legacySteps = Map.ofEntries(
+        Map.entry("Intake note", new int[] {1, 1}),
+        Map.entry("Shoot", new int[] {2, 3}),
+        Map.entry("Shoot without aiming", new int[] {1, 1}),
+        Map.entry("Fixed SW shot", new int[] {2, 1}),
+        Map.entry("Fixed AS shot", new int[] {2, 1}),
+        Map.entry("Shoot OTF", new int[] {2, 1}),
+        Map.entry("Amp-side OTF Shot", new int[] {2, 1}),
+        Map.entry("Source-side OTF Shot", new int[] {2, 1}),
+        Map.entry("Amp Shot", new int[] {2, 1}),
+        Map.entry("Bloop Shot", new int[] {2, 1}),
+        Map.entry("Slide Shot", new int[] {2, 1}),
+        Map.entry("Short Slide Shot", new int[] {2, 1}),
+        Map.entry("Special Shot", new int[] {2, 1}));
+
+    public static void main(String... args) {
+        List<String> names = args.length > 0 ? List.of(args) : defaultCommands;
+
+        try (SimulationHarness harness = new SimulationHarness()) {
+            // In front of the blue speaker, where every shot can be taken
+            PoseSubsystem.getInstance().setPose(new Pose2d(1.4, 5.55, Rotation2d.fromDegrees(0.0)));
+            harness.enableAutonomous();
+            harness.run(0.5);
+
+            double period = harness.getRobot().getPeriod();
+            double legacyTotal = 0.0;
+            double total = 0.0;
+            System.out.printf("%-24s %10s %10s %16s%n", "Command", "Legacy", "Current", "Saved");
+            for (String name : names) {
+                if (!NamedCommands.hasCommand(name)) {
+                    System.out.printf("%-24s not registered%n", name);
+                    continue;
+                }
+                int[] steps = legacySteps.getOrDefault(name, new int[] {0, 0});
+                double legacy = time(harness, name, legacyChain(name, steps[0], steps[1]));
+                double seconds = time(harness, name, NamedCommands.getCommand(name));
+                legacyTotal += legacy;
+                total += seconds;
+                System.out.printf("%-24s %8.3f s %8.3f s %8.3f s (%d loops)%n",
+                    name, legacy, seconds, legacy - seconds, Math.round((legacy - seconds) / period));
+            }
+            System.out.printf("%-24s %8.3f s %8.3f s %8.3f s (%d loops)%n",
+                "Total", legacyTotal, total, legacyTotal - total, Math.round((legacyTotal - total) / period));
+        }
+        System.exit(0);
+    }
+
+    // The named command with do-nothing runOnce steps before and after it, as it was when it logged with them
+    private static Command legacyChain(String name, int stepsBefore, int stepsAfter) {
+        List<Command> chain = new ArrayList<>();
+        for (int i = 0; i < stepsBefore; i++) {
+            chain.add(Commands.runOnce(() -> {}));
+        }
+        chain.add(NamedCommands.getCommand(name));
+        for (int i = 0; i < stepsAfter; i++) {
+            chain.add(Commands.runOnce(() -> {}));
+        }
+        return Commands.sequence(chain.toArray(Command[]::new));
+    }
+
+    // From the same starting point every time: stopped, with a note loaded unless this is the intake
+    private static double time(SimulationHarness harness, String name, Command command) {
+        if (!name.equals("Intake note") && !IndexSubsystem.getInstance().haveNote()) {
+            run(harness, NamedCommands.getCommand("Intake note"));
+        }
+        harness.run(1.0);
+        return run(harness, command);
+    }
+
+    private static double run(SimulationHarness harness, Command command) {
+        double start = harness.getTime();
+        command.schedule();
+        while (command.isScheduled() && harness.getTime() - start < commandTimeout) {
+            harness.step();
+        }
+        command.cancel();
+        return harness.getTime() - start;
+    }
+}
@@ -0,0 +1,62 @@
+package frc.robot.sim;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a simulation in a child JVM with the same classpath and native libraries as this one.
+ *
+ * <p>Only one {@link SimulationHarness} can exist per JVM, so tools that run many scenarios run
+ * each one in its own process.  Children report results on lines starting with a prefix, and
+ * everything else they print is passed through to this process's output when asked.
+ */
+public final class SimProcess {
+    private SimProcess() {}
+
+    public static Process start(Class<?> mainClass, List<String> args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        String libraryPath = System.getProperty("java.library.path");
+        if (libraryPath != null) {
+            command.add("-Djava.library.path=" + libraryPath);
+        }
+        command.add(mainClass.getName());
+        command.addAll(args);
+
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.redirectErrorStream(true);
+        return builder.start();
+    }
+
+    /**
+     * Run a child to completion and return the lines it printed that start with the prefix, with
+     * the prefix removed.
+     *
+     * @param echo also print the child's other output, e.g. to see why it failed
+     */
+    public static List<String> run(Class<?> mainClass, List<String> args, String prefix, boolean echo) throws IOException, InterruptedException {
+        Process process = start(mainClass, args);
+        List<String> results = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(prefix)) {
+                    results.add(line.substring(prefix.length()));
+                } else if (echo) {
+                    System.out.println(line);
+                }
+            }
+        }
+        int status = process.waitFor();
+        if (status != 0) {
+            throw new IOException(mainClass.getSimpleName() + " " + String.join(" ", args) + " exited with status " + status);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,184 @@
+package frc.robot.sim;
+
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj.simulation.XboxControllerSim;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.Robot;
+
+/**
+ * Runs the full robot program headless against simulated hardware, as fast as the CPU allows.
+ *
+ * <p>The simulated FPGA clock is paused and advanced by exactly one loop period per
+ * {@link #step()}, so a run is deterministic and independent of wall-clock time.  Driver station
+ * mode changes and the driver's controller are scripted through this class.
+ *
+ * <p>Subsystems are singletons and register with the global CommandScheduler, so only one harness
+ * can be created per JVM.  Run each scenario in its own process: tests extend
+ * {@link SimulationTest}, and the test task forks a JVM for every test class.
+ */
+public class SimulationHarness implements AutoCloseable {
+    private static boolean created = false;
+
+    private final Robot robot;
+    private final XboxControllerSim driver = new XboxControllerSim(0);
+    private LoopListener loopListener = null;
+    private long loops = 0;
+
+    public SimulationHarness() {
+        this(AllianceStationID.Blue1);
+    }
+
+    public SimulationHarness(AllianceStationID station) {
+        if (created) {
+            throw new IllegalStateException("Only one SimulationHarness can be created per JVM");
+        }
+        created = true;
+
+        if (!HAL.initialize(500, 0)) {
+            throw new IllegalStateException("Failed to initialize the HAL");
+        }
+        SimHooks.pauseTiming();
+        SimHooks.restartTiming();
+
+        DriverStationSim.resetData();
+        DriverStationSim.setDsAttached(true);
+        DriverStationSim.setAllianceStationId(station);
+        DriverStationSim.setEnabled(false);
+        DriverStationSim.notifyNewData();
+
+        Robot.setMode(Robot.Mode.SIM);
+        Robot.setStepped(true);
+        robot = new Robot();
+        robot.robotInit();
+    }
+
+    public Robot getRobot() {
+        return robot;
+    }
+
+    public XboxControllerSim getDriver() {
+        return driver;
+    }
+
+    /** Number of robot loops run so far */
+    public long getLoops() {
+        return loops;
+    }
+
+    /** Simulated time since the harness started, in seconds */
+    public double getTime() {
+        return RobotController.getFPGATime() / 1e6;
+    }
+
+    /** Be told when each robot loop starts and ends, e.g. to time them */
+    public void setLoopListener(LoopListener listener) {
+        loopListener = listener;
+    }
+
+    /** Pick an auto from the chooser by name, as a driver would on the dashboard */
+    public void selectAuto(String name) {
+        SmartDashboard.putString("auto/Auto Chooser/selected", name);
+    }
+
+    public void disable() {
+        setMode(false, false, false);
+    }
+
+    public void enableAutonomous() {
+        setMode(true, true, false);
+    }
+
+    public void enableTeleop() {
+        setMode(true, false, false);
+    }
+
+    public void enableTest() {
+        setMode(true, false, true);
+    }
+
+    private void setMode(boolean enabled, boolean autonomous, boolean test) {
+        DriverStationSim.setAutonomous(autonomous);
+        DriverStationSim.setTest(test);
+        DriverStationSim.setEnabled(enabled);
+        DriverStationSim.notifyNewData();
+    }
+
+    /** Run a single robot loop and advance the clock by one period */
+    public void step() {
+        SimHooks.stepTiming(robot.getPeriod());
+        driver.notifyNewData();
+        if (loopListener != null) {
+            loopListener.beforeLoop();
+        }
+        robot.runLoopIteration();
+        if (loopListener != null) {
+            loopListener.afterLoop();
+        }
+        loops++;
+    }
+
+    /** Run the robot for the given amount of simulated time */
+    public void run(double seconds) {
+        run(seconds, null);
+    }
+
+    /**
+     * Run the robot for the given amount of simulated time, calling the script before every loop
+     * with the time since this call started.  The script can move the sticks or press buttons.
+     */
+    public void run(double seconds, DriverScript script) {
+        double start = getTime();
+        double end = start + seconds;
+        while (getTime() < end - 1e-9) {
+            double matchTime = end - getTime();
+            DriverStationSim.setMatchTime(matchTime);
+            if (script != null) {
+                script.update(getTime() - start, driver);
+            }
+            step();
+        }
+    }
+
+    /** Run a standard match: 15 s autonomous, a short disabled gap, then 135 s of teleop */
+    public void runMatch(String autoName, DriverScript teleopScript) {
+        if (autoName != null) {
+            selectAuto(autoName);
+        }
+        disable();
+        run(0.5);
+        enableAutonomous();
+        run(15.0);
+        disable();
+        run(0.5);
+        enableTeleop();
+        run(135.0, teleopScript);
+        disable();
+        run(0.5);
+    }
+
+    @Override
+    public void close() {
+        robot.close();
+        DataLogManager.stop();
+        SimHooks.resumeTiming();
+        HAL.shutdown();
+    }
+
+    /** Scripted driver input, called before every simulated loop */
+    @FunctionalInterface
+    public interface DriverScript {
+        void update(double elapsedSeconds, XboxControllerSim driver);
+    }
+
+    /** Called around each robot loop, excluding the harness's own work */
+    public interface LoopListener {
+        void beforeLoop();
+
+        void afterLoop();
+    }
+}
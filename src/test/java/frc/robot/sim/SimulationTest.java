@@ -0,0 +1,33 @@
+package frc.robot.sim;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+/**
+ * Base for tests that run the whole robot program headless in a {@link SimulationHarness}.  A
+ * harness is opened before each test and closed after it, so the test only scripts the driver
+ * and checks what happened.
+ *
+ * <p>Only one harness can exist per JVM, and the test task forks a new JVM for every test class,
+ * so each class extending this holds a single test.
+ */
+public abstract class SimulationTest {
+    protected SimulationHarness harness;
+
+    /** Anything that has to be in place before the robot is constructed, e.g. a SimVariation */
+    protected void beforeRobot() {}
+
+    @BeforeEach
+    void openHarness() {
+        beforeRobot();
+        harness = new SimulationHarness();
+    }
+
+    @AfterEach
+    void closeHarness() {
+        if (harness != null) {
+            harness.close();
+            harness = null;
+        }
+    }
+}
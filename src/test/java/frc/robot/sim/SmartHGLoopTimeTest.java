@@ -0,0 +1,9 @@
+package frc.robot.sim;
+
+/** The Smart HG auto stays within its loop-time baseline */
+class SmartHGLoopTimeTest extends LoopTimeTest {
+    @Override
+    LoopTimeGate.Scenario scenario() {
+        return LoopTimeGate.Scenario.smartHG;
+    }
+}
@@ -0,0 +1,9 @@
+package frc.robot.sim;
+
+/** Driving around while aiming at the speaker stays within its loop-time baseline */
+class TeleopAimingLoopTimeTest extends LoopTimeTest {
+    @Override
+    LoopTimeGate.Scenario scenario() {
+        return LoopTimeGate.Scenario.teleopAiming;
+    }
+}
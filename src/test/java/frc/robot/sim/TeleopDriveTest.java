@@ -0,0 +1,36 @@
+package frc.robot.sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import frc.robot.subsystems.PoseSubsystem;
+
+/** Pushing the left stick forward in teleop drives the robot downfield */
+class TeleopDriveTest extends SimulationTest {
+    // Blue wing, well clear of the stage and the walls
+    private static final Pose2d clearOfObstacles = new Pose2d(2.0, 7.0, new Rotation2d());
+
+    @Test
+    void leftStickDrivesDownfield() {
+        SwerveDriveSim.getInstance().resetPose(clearOfObstacles);
+        PoseSubsystem.getInstance().setPose(clearOfObstacles);
+        harness.enableTeleop();
+        harness.run(0.5);
+        Pose2d start = SwerveDriveSim.getInstance().getPose();
+
+        harness.run(1.5, (t, driver) -> driver.setLeftY(-0.5));
+        harness.getDriver().setLeftY(0.0);
+        harness.run(1.0);
+        Pose2d end = SwerveDriveSim.getInstance().getPose();
+
+        double forward = end.getX() - start.getX();
+        double sideways = end.getY() - start.getY();
+        assertTrue(forward > 0.5, "drove " + forward + " m downfield");
+        assertTrue(Math.abs(sideways) < 0.25 * forward, "drifted " + sideways + " m sideways");
+        assertEquals(0.0, end.getRotation().minus(start.getRotation()).getDegrees(), 5.0, "turned while driving straight");
+    }
+}
@@ -0,0 +1,9 @@
+package frc.robot.sim;
+
+/** Picking up notes and taking vision shots stays within its loop-time baseline */
+class VisionShotsLoopTimeTest extends LoopTimeTest {
+    @Override
+    LoopTimeGate.Scenario scenario() {
+        return LoopTimeGate.Scenario.visionShots;
+    }
+}